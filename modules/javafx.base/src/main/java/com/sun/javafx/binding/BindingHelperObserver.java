@@ -49,6 +49,9 @@ public class BindingHelperObserver implements InvalidationListener, WeakListener
         if (binding == null) {
             observable.removeListener(this);
         } else {
+            if (BindingProfiler.isEnabled()) {
+                BindingProfiler.dependencyInvalidated(binding);
+            }
             binding.invalidate();
         }
     }
@@ -0,0 +1,400 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.beans.Observable;
+
+/**
+ * Opt-in instrumentation of bindings. When the system property
+ * {@code javafx.bindingProfiler} is set to {@code true}, the binding classes
+ * in {@code javafx.beans.binding} report every evaluation of
+ * {@code computeValue()} and every invalidation to this class, which keeps
+ * per binding counters of the number of evaluations, the time spent
+ * evaluating, the number of invalidations and the number of listeners
+ * notified by those invalidations (the invalidation fan-out).
+ * <p>
+ * If Java Flight Recorder is available, the statistics are also exported as
+ * {@code javafx.BindingEvaluation} and {@code javafx.BindingStatistics} events,
+ * alongside the {@code javafx.PulsePhase} events of the pulse logger.
+ * <p>
+ * All methods can be called from any thread. When profiling is disabled the
+ * binding classes do not call into this class, other than to check
+ * {@link #isEnabled()}.
+ */
+public final class BindingProfiler {
+
+    private static boolean enabled = isBindingProfilerRequested();
+
+    private static final String JFR_RECORDER = "com.sun.javafx.logging.jfr.JFRBindingLogger";
+
+    private static final Recorder recorder = enabled ? loadRecorder() : null;
+
+    private static final Map<Key, Entry> statistics = new HashMap<>();
+    private static final ReferenceQueue<Observable> queue = new ReferenceQueue<>();
+
+    private BindingProfiler() {}
+
+    /**
+     * Returns whether the binding classes report to the profiler.
+     *
+     * @return {@code true} if the {@code javafx.bindingProfiler} system property
+     *     was set to {@code true}
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    // Used by tests
+    static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Receives the evaluations recorded by the profiler, for example to
+     * export them as events.
+     */
+    public interface Recorder {
+        void evaluated(String label, long evaluationTime);
+    }
+
+    /**
+     * Called before a binding evaluates its value.
+     *
+     * @return the start time to pass to {@link #evaluationFinished(Observable, long)}
+     */
+    public static long evaluationStarted() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Called after a binding evaluated its value.
+     *
+     * @param binding the binding that was evaluated
+     * @param startTime the value returned by {@link #evaluationStarted()}
+     */
+    public static void evaluationFinished(Observable binding, long startTime) {
+        final long evaluationTime = System.nanoTime() - startTime;
+        final String label;
+        synchronized (statistics) {
+            final Entry entry = getEntry(binding);
+            entry.total.evaluated(evaluationTime);
+            entry.interval.evaluated(evaluationTime);
+            label = entry.total.label;
+        }
+        if (recorder != null) {
+            recorder.evaluated(label, evaluationTime);
+        }
+    }
+
+    /**
+     * Called when a valid binding becomes invalid, before its listeners are
+     * notified.
+     *
+     * @param binding the binding that was invalidated
+     * @param fanOut the number of listeners that will be notified
+     */
+    public static void invalidated(Observable binding, int fanOut) {
+        synchronized (statistics) {
+            final Entry entry = getEntry(binding);
+            entry.total.invalidated(fanOut);
+            entry.interval.invalidated(fanOut);
+        }
+    }
+
+    /**
+     * Called when one of the dependencies of a binding reports an
+     * invalidation, whether or not the binding was valid at that time.
+     *
+     * @param binding the binding that was notified
+     */
+    public static void dependencyInvalidated(Observable binding) {
+        synchronized (statistics) {
+            final Entry entry = getEntry(binding);
+            entry.total.dependencyNotifications++;
+            entry.interval.dependencyNotifications++;
+        }
+    }
+
+    /**
+     * Labels a binding with the function that computes its value. This helps
+     * to identify bindings created through {@code Bindings.createXxxBinding},
+     * which otherwise all share the same anonymous class.
+     *
+     * @param binding the binding
+     * @param function the function computing the value of the binding
+     */
+    public static void setFunction(Observable binding, Object function) {
+        synchronized (statistics) {
+            final Entry entry = getEntry(binding);
+            entry.total.label = entry.interval.label = binding.getClass().getName() + "[" + function.getClass().getName() + "]";
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of all bindings that are still
+     * reachable, accumulated since profiling started or since the last call of
+     * {@link #reset()}, ordered by the time spent evaluating them, highest first.
+     * This method does not reset any counters.
+     *
+     * @return the statistics, never {@code null}
+     */
+    public static List<Statistics> getStatistics() {
+        final List<Statistics> result = new ArrayList<>();
+        synchronized (statistics) {
+            expungeStaleEntries();
+            for (Entry entry : statistics.values()) {
+                result.add(new Statistics(entry.total));
+            }
+        }
+        result.sort(Comparator.comparingLong(Statistics::getEvaluationTime).reversed());
+        return result;
+    }
+
+    /**
+     * Returns the statistics of the bindings that were active since the last
+     * call of this method, and starts a new interval. This is used to emit
+     * periodic events. The totals returned by {@link #getStatistics()} are not
+     * affected.
+     *
+     * @return the statistics accumulated since the last call, never {@code null}
+     */
+    public static List<Statistics> pollStatistics() {
+        final List<Statistics> result = new ArrayList<>();
+        synchronized (statistics) {
+            expungeStaleEntries();
+            for (Entry entry : statistics.values()) {
+                if (entry.interval.isActive()) {
+                    result.add(new Statistics(entry.interval));
+                    entry.interval.clear();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Clears all statistics.
+     */
+    public static void reset() {
+        synchronized (statistics) {
+            statistics.clear();
+            while (queue.poll() != null) {
+                // discard
+            }
+        }
+    }
+
+    private static Entry getEntry(Observable binding) {
+        expungeStaleEntries();
+        final Key key = new Key(binding, queue);
+        Entry entry = statistics.get(key);
+        if (entry == null) {
+            entry = new Entry(binding.getClass().getName());
+            statistics.put(key, entry);
+        }
+        return entry;
+    }
+
+    private static void expungeStaleEntries() {
+        Object key;
+        while ((key = queue.poll()) != null) {
+            statistics.remove(key);
+        }
+    }
+
+    @SuppressWarnings("removal")
+    private static boolean isBindingProfilerRequested() {
+        return AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.bindingProfiler"));
+    }
+
+    // Loading the recorder reflectively, in case jdk.jfr isn't available
+    private static Recorder loadRecorder() {
+        try {
+            Class<?> klass = Class.forName(JFR_RECORDER);
+            Method method = klass.getDeclaredMethod("createInstance");
+            return (Recorder) method.invoke(null);
+        } catch (NoClassDefFoundError | ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            // Ignore
+        }
+        return null;
+    }
+
+    /**
+     * Weak key which compares bindings by identity, so bindings that override
+     * {@code equals} are still tracked individually.
+     */
+    private static final class Key extends WeakReference<Observable> {
+        private final int hash;
+
+        Key(Observable binding, ReferenceQueue<Observable> queue) {
+            super(binding, queue);
+            this.hash = System.identityHashCode(binding);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof Key other) {
+                final Observable binding = get();
+                return binding != null && binding == other.get();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * The counters of a single binding, in total and since the last call of
+     * {@link #pollStatistics()}.
+     */
+    private static final class Entry {
+        private final Statistics total;
+        private final Statistics interval;
+
+        Entry(String label) {
+            this.total = new Statistics(label);
+            this.interval = new Statistics(label);
+        }
+    }
+
+    /**
+     * The counters recorded for a single binding.
+     */
+    public static final class Statistics {
+        private String label;
+        private long evaluationCount;
+        private long evaluationTime;
+        private long invalidationCount;
+        private long listenersNotified;
+        private int maxFanOut;
+        private long dependencyNotifications;
+
+        private Statistics(String label) {
+            this.label = label;
+        }
+
+        private Statistics(Statistics other) {
+            this.label = other.label;
+            this.evaluationCount = other.evaluationCount;
+            this.evaluationTime = other.evaluationTime;
+            this.invalidationCount = other.invalidationCount;
+            this.listenersNotified = other.listenersNotified;
+            this.maxFanOut = other.maxFanOut;
+            this.dependencyNotifications = other.dependencyNotifications;
+        }
+
+        private void evaluated(long time) {
+            evaluationCount++;
+            evaluationTime += time;
+        }
+
+        private void invalidated(int fanOut) {
+            invalidationCount++;
+            listenersNotified += fanOut;
+            maxFanOut = Math.max(maxFanOut, fanOut);
+        }
+
+        private boolean isActive() {
+            return evaluationCount > 0 || invalidationCount > 0 || dependencyNotifications > 0;
+        }
+
+        private void clear() {
+            evaluationCount = 0;
+            evaluationTime = 0;
+            invalidationCount = 0;
+            listenersNotified = 0;
+            maxFanOut = 0;
+            dependencyNotifications = 0;
+        }
+
+        /**
+         * @return the class name of the binding, followed by the class name of
+         *     its function for bindings created through {@code Bindings}
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        public long getEvaluationCount() {
+            return evaluationCount;
+        }
+
+        /**
+         * @return the time spent in {@code computeValue()} in nanoseconds,
+         *     including the evaluation of other bindings it depends on
+         */
+        public long getEvaluationTime() {
+            return evaluationTime;
+        }
+
+        public long getInvalidationCount() {
+            return invalidationCount;
+        }
+
+        /**
+         * @return the total number of listeners notified by all invalidations
+         */
+        public long getListenersNotified() {
+            return listenersNotified;
+        }
+
+        public int getMaxFanOut() {
+            return maxFanOut;
+        }
+
+        public long getDependencyNotifications() {
+            return dependencyNotifications;
+        }
+
+        @Override
+        public String toString() {
+            return label + " [evaluations: " + evaluationCount
+                    + ", evaluationTime: " + evaluationTime / 1000 + "us"
+                    + ", invalidations: " + invalidationCount
+                    + ", listenersNotified: " + listenersNotified
+                    + ", maxFanOut: " + maxFanOut
+                    + ", dependencyNotifications: " + dependencyNotifications + "]";
+        }
+    }
+}
@@ -92,6 +92,17 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
         }
     }
 
+    /**
+     * Returns the number of listeners registered with the given helper, which
+     * is the number of listeners notified by {@link #fireValueChangedEvent(ExpressionHelper)}.
+     *
+     * @param helper the helper, can be {@code null}
+     * @return the number of invalidation and change listeners
+     */
+    public static int getListenerCount(ExpressionHelper<?> helper) {
+        return (helper == null)? 0 : helper.getListenerCount();
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Common implementations
 
@@ -109,6 +120,8 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
 
     protected abstract void fireValueChangedEvent();
 
+    protected abstract int getListenerCount();
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Implementations
 
@@ -141,6 +154,11 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             return this;
         }
 
+        @Override
+        protected int getListenerCount() {
+            return 1;
+        }
+
         @Override
         protected void fireValueChangedEvent() {
             try {
@@ -182,6 +200,11 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             return (listener.equals(this.listener))? null : this;
         }
 
+        @Override
+        protected int getListenerCount() {
+            return 1;
+        }
+
         @Override
         protected void fireValueChangedEvent() {
             final T oldValue = currentValue;
@@ -203,9 +226,17 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
         private ChangeListener<? super T>[] changeListeners;
         private int invalidationSize;
         private int changeSize;
-        private boolean locked;
         private T currentValue;
 
+        /*
+         * The listener arrays are shared with fireValueChangedEvent() while a
+         * notification is in progress. The first modification during that time
+         * copies the array (copy-on-write); later modifications work on the copy,
+         * so a dispatch allocates at most one new array per listener type.
+         */
+        private boolean invalidationShared;
+        private boolean changeShared;
+
         private Generic(ObservableValue<T> observable, InvalidationListener listener0, InvalidationListener listener1) {
             super(observable);
             this.invalidationListeners = new InvalidationListener[] {listener0, listener1};
@@ -233,11 +264,13 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             if (invalidationListeners == null) {
                 invalidationListeners = new InvalidationListener[] {listener};
                 invalidationSize = 1;
+                invalidationShared = false;
             } else {
                 final int oldCapacity = invalidationListeners.length;
-                if (locked) {
+                if (invalidationShared) {
                     final int newCapacity = (invalidationSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     invalidationListeners = Arrays.copyOf(invalidationListeners, newCapacity);
+                    invalidationShared = false;
                 } else if (invalidationSize == oldCapacity) {
                     invalidationSize = trim(invalidationSize, invalidationListeners);
                     if (invalidationSize == oldCapacity) {
@@ -266,17 +299,16 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = invalidationSize - index - 1;
                             final InvalidationListener[] oldListeners = invalidationListeners;
-                            if (locked) {
+                            if (invalidationShared) {
                                 invalidationListeners = new InvalidationListener[invalidationListeners.length];
                                 System.arraycopy(oldListeners, 0, invalidationListeners, 0, index);
+                                invalidationShared = false;
                             }
                             if (numMoved > 0) {
                                 System.arraycopy(oldListeners, index+1, invalidationListeners, index, numMoved);
                             }
                             invalidationSize--;
-                            if (!locked) {
-                                invalidationListeners[invalidationSize] = null; // Let gc do its work
-                            }
+                            invalidationListeners[invalidationSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -290,11 +322,13 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             if (changeListeners == null) {
                 changeListeners = new ChangeListener[] {listener};
                 changeSize = 1;
+                changeShared = false;
             } else {
                 final int oldCapacity = changeListeners.length;
-                if (locked) {
+                if (changeShared) {
                     final int newCapacity = (changeSize < oldCapacity)? oldCapacity : (oldCapacity * 3)/2 + 1;
                     changeListeners = Arrays.copyOf(changeListeners, newCapacity);
+                    changeShared = false;
                 } else if (changeSize == oldCapacity) {
                     changeSize = trim(changeSize, changeListeners);
                     if (changeSize == oldCapacity) {
@@ -327,17 +361,16 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                         } else {
                             final int numMoved = changeSize - index - 1;
                             final ChangeListener<? super T>[] oldListeners = changeListeners;
-                            if (locked) {
+                            if (changeShared) {
                                 changeListeners = new ChangeListener[changeListeners.length];
                                 System.arraycopy(oldListeners, 0, changeListeners, 0, index);
+                                changeShared = false;
                             }
                             if (numMoved > 0) {
                                 System.arraycopy(oldListeners, index+1, changeListeners, index, numMoved);
                             }
                             changeSize--;
-                            if (!locked) {
-                                changeListeners[changeSize] = null; // Let gc do its work
-                            }
+                            changeListeners[changeSize] = null; // Let gc do its work
                         }
                         break;
                     }
@@ -346,15 +379,23 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
             return this;
         }
 
+        @Override
+        protected int getListenerCount() {
+            return invalidationSize + changeSize;
+        }
+
         @Override
         protected void fireValueChangedEvent() {
             final InvalidationListener[] curInvalidationList = invalidationListeners;
             final int curInvalidationSize = invalidationSize;
             final ChangeListener<? super T>[] curChangeList = changeListeners;
             final int curChangeSize = changeSize;
+            final boolean wasInvalidationShared = invalidationShared;
+            final boolean wasChangeShared = changeShared;
 
             try {
-                locked = true;
+                invalidationShared = true;
+                changeShared = true;
                 for (int i = 0; i < curInvalidationSize; i++) {
                     try {
                         curInvalidationList[i].invalidated(observable);
@@ -377,7 +418,10 @@ public abstract class ExpressionHelper<T> extends ExpressionHelperBase {
                     }
                 }
             } finally {
-                locked = false;
+                // The arrays stay shared only if an enclosing notification is
+                // still iterating over them, i.e. they were not replaced meanwhile
+                invalidationShared = wasInvalidationShared && (invalidationListeners == curInvalidationList);
+                changeShared = wasChangeShared && (changeListeners == curChangeList);
             }
         }
     }
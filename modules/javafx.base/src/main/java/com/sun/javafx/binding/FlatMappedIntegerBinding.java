@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.binding;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import javafx.beans.value.ObservableIntegerValue;
+import javafx.beans.value.ObservableValue;
+import javafx.util.Subscription;
+
+/**
+ * A {@code int} specialization of {@link FlatMappedBinding}. The value of
+ * the indirect source is read through {@link ObservableIntegerValue#get()}, so it is not boxed.
+ * If the source holds {@code null} or the mapping results in {@code null}, the
+ * value of this binding is zero.
+ *
+ * @param <S> the type of the source
+ */
+public class FlatMappedIntegerBinding<S> extends LazyIntegerBinding {
+
+    private final ObservableValue<S> source;
+    private final Function<? super S, ? extends ObservableIntegerValue> mapper;
+
+    private Subscription indirectSourceSubscription = Subscription.EMPTY;
+    private ObservableIntegerValue indirectSource;
+
+    public FlatMappedIntegerBinding(ObservableValue<S> source, Function<? super S, ? extends ObservableIntegerValue> mapper) {
+        this.source = Objects.requireNonNull(source, "source cannot be null");
+        this.mapper = Objects.requireNonNull(mapper, "mapper cannot be null");
+    }
+
+    @Override
+    protected int computeValue() {
+        S value = source.getValue();
+        ObservableIntegerValue newIndirectSource = value == null ? null : mapper.apply(value);
+
+        if (isObserved() && indirectSource != newIndirectSource) {  // only resubscribe when observed and the indirect source changed
+            indirectSourceSubscription.unsubscribe();
+            indirectSourceSubscription = newIndirectSource == null ? Subscription.EMPTY : newIndirectSource.subscribe(this::invalidate);
+            indirectSource = newIndirectSource;
+        }
+
+        return newIndirectSource == null ? 0 : newIndirectSource.get();
+    }
+
+    @Override
+    protected Subscription observeSources() {
+        Subscription subscription = source.subscribe(this::invalidateAll);
+
+        return () -> {
+            subscription.unsubscribe();
+            unsubscribeIndirectSource();
+        };
+    }
+
+    /**
+     * Called when the primary source changes. Invalidates this binding and unsubscribes the indirect source
+     * to avoid holding a strong reference to it.
+     *
+     * @see FlatMappedBinding
+     */
+    private void invalidateAll() {
+        unsubscribeIndirectSource();
+        invalidate();
+    }
+
+    private void unsubscribeIndirectSource() {
+        indirectSourceSubscription.unsubscribe();
+        indirectSourceSubscription = Subscription.EMPTY;
+        indirectSource = null;
+    }
+}
@@ -229,6 +229,12 @@ public class ObservableListWrapper<E> extends ModifiableObservableListBase<E> im
         fireChange(new SimplePermutationChange<>(0, size(), perm, this));
     }
 
+    @Override
+    public void permute(int[] permutation) {
+        SortHelper.permute(backingList, permutation);
+        fireChange(new SimplePermutationChange<>(0, size(), permutation, this));
+    }
+
     private SortHelper getSortHelper() {
         if (helper == null) {
             helper = new SortHelper();
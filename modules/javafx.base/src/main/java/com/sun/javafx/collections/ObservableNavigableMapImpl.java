@@ -0,0 +1,1304 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.collections;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedSet;
+
+import javafx.beans.InvalidationListener;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableListBase;
+import javafx.collections.ObservableNavigableMap;
+import javafx.collections.WeakMapChangeListener;
+
+/**
+ * An {@link ObservableNavigableMap} backed by a balanced binary search tree in
+ * which every node knows the size of its subtree. This allows the position of
+ * a key, the entry at a position and the size of a range view to be determined
+ * in logarithmic time.
+ * <p>
+ * All views of a map share the same tree. Changes are reported by the map that
+ * was created with the public constructor; range views listen to it (weakly) as
+ * soon as they have listeners themselves and forward the changes to keys in
+ * their range.
+ */
+public final class ObservableNavigableMapImpl<K, V> extends AbstractMap<K, V> implements ObservableNavigableMap<K, V> {
+
+    private final Tree<K, V> tree;
+
+    // The range of this view in ascending order of the tree
+    private final boolean fromStart;
+    private final K lo;
+    private final boolean loInclusive;
+    private final boolean toEnd;
+    private final K hi;
+    private final boolean hiInclusive;
+    private final boolean descending;
+
+    private MapListenerHelper<K, V> listenerHelper;
+    private MapChangeListener<K, V> sourceListener;
+    private WeakMapChangeListener<K, V> weakSourceListener;
+
+    private EntrySet entrySet;
+    private KeySet keySet;
+    private EntryList entryList;
+    private ObservableNavigableMapImpl<K, V> descendingMap;
+
+    public ObservableNavigableMapImpl(Comparator<? super K> comparator) {
+        this.tree = new Tree<>(comparator, this);
+        this.fromStart = true;
+        this.lo = null;
+        this.loInclusive = false;
+        this.toEnd = true;
+        this.hi = null;
+        this.hiInclusive = false;
+        this.descending = false;
+    }
+
+    private ObservableNavigableMapImpl(Tree<K, V> tree,
+            boolean fromStart, K lo, boolean loInclusive,
+            boolean toEnd, K hi, boolean hiInclusive,
+            boolean descending) {
+        if (!fromStart && !toEnd) {
+            if (tree.compare(lo, hi) > 0) {
+                throw new IllegalArgumentException("fromKey > toKey");
+            }
+        } else {
+            // type and null check
+            if (!fromStart) {
+                tree.compare(lo, lo);
+            }
+            if (!toEnd) {
+                tree.compare(hi, hi);
+            }
+        }
+        this.tree = tree;
+        this.fromStart = fromStart;
+        this.lo = lo;
+        this.loInclusive = loInclusive;
+        this.toEnd = toEnd;
+        this.hi = hi;
+        this.hiInclusive = hiInclusive;
+        this.descending = descending;
+    }
+
+    private boolean isSource() {
+        return tree.source == this;
+    }
+
+    /* *********************************************************************
+     *                                                                     *
+     * Listeners                                                           *
+     *                                                                     *
+     **********************************************************************/
+
+    private class SimpleChange extends MapChangeListener.Change<K, V> {
+
+        private final K key;
+        private final V old;
+        private final V added;
+        private final boolean wasAdded;
+        private final boolean wasRemoved;
+
+        public SimpleChange(K key, V old, V added, boolean wasAdded, boolean wasRemoved) {
+            super(ObservableNavigableMapImpl.this);
+            assert(wasAdded || wasRemoved);
+            this.key = key;
+            this.old = old;
+            this.added = added;
+            this.wasAdded = wasAdded;
+            this.wasRemoved = wasRemoved;
+        }
+
+        @Override
+        public boolean wasAdded() {
+            return wasAdded;
+        }
+
+        @Override
+        public boolean wasRemoved() {
+            return wasRemoved;
+        }
+
+        @Override
+        public K getKey() {
+            return key;
+        }
+
+        @Override
+        public V getValueAdded() {
+            return added;
+        }
+
+        @Override
+        public V getValueRemoved() {
+            return old;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            if (wasAdded) {
+                if (wasRemoved) {
+                    builder.append(old).append(" replaced by ").append(added);
+                } else {
+                    builder.append(added).append(" added");
+                }
+            } else {
+                builder.append(old).append(" removed");
+            }
+            builder.append(" at key ").append(key);
+            return builder.toString();
+        }
+
+    }
+
+    private void callObservers(MapChangeListener.Change<K, V> change) {
+        MapListenerHelper.fireValueChangedEvent(listenerHelper, change);
+    }
+
+    private void fireChange(K key, V old, V added, boolean wasAdded, boolean wasRemoved) {
+        tree.source.callObservers(tree.source.new SimpleChange(key, old, added, wasAdded, wasRemoved));
+    }
+
+    @Override
+    public void addListener(InvalidationListener listener) {
+        listenerHelper = MapListenerHelper.addListener(listenerHelper, listener);
+        updateSourceListener();
+    }
+
+    @Override
+    public void removeListener(InvalidationListener listener) {
+        listenerHelper = MapListenerHelper.removeListener(listenerHelper, listener);
+        updateSourceListener();
+    }
+
+    @Override
+    public void addListener(MapChangeListener<? super K, ? super V> listener) {
+        listenerHelper = MapListenerHelper.addListener(listenerHelper, listener);
+        updateSourceListener();
+    }
+
+    @Override
+    public void removeListener(MapChangeListener<? super K, ? super V> listener) {
+        listenerHelper = MapListenerHelper.removeListener(listenerHelper, listener);
+        updateSourceListener();
+    }
+
+    /*
+     * Views only listen to the source map while they have listeners
+     * themselves, so that views without listeners can be collected.
+     */
+    private void updateSourceListener() {
+        if (isSource()) {
+            return;
+        }
+        boolean hasListeners = MapListenerHelper.hasListeners(listenerHelper);
+        if (hasListeners && weakSourceListener == null) {
+            if (sourceListener == null) {
+                sourceListener = c -> {
+                    if (inRange(c.getKey())) {
+                        callObservers(new SimpleChange(c.getKey(), c.getValueRemoved(), c.getValueAdded(),
+                                c.wasAdded(), c.wasRemoved()));
+                    }
+                };
+            }
+            weakSourceListener = new WeakMapChangeListener<>(sourceListener);
+            tree.source.addListener(weakSourceListener);
+        } else if (!hasListeners && weakSourceListener != null) {
+            tree.source.removeListener(weakSourceListener);
+            weakSourceListener = null;
+        }
+    }
+
+    /* *********************************************************************
+     *                                                                     *
+     * Range                                                               *
+     *                                                                     *
+     **********************************************************************/
+
+    private boolean tooLow(Object key) {
+        if (!fromStart) {
+            int c = tree.compare(key, lo);
+            if (c < 0 || (c == 0 && !loInclusive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean tooHigh(Object key) {
+        if (!toEnd) {
+            int c = tree.compare(key, hi);
+            if (c > 0 || (c == 0 && !hiInclusive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean inRange(Object key) {
+        return !tooLow(key) && !tooHigh(key);
+    }
+
+    private boolean inClosedRange(Object key) {
+        return (fromStart || tree.compare(key, lo) >= 0)
+                && (toEnd || tree.compare(hi, key) >= 0);
+    }
+
+    private boolean inRange(Object key, boolean inclusive) {
+        return inclusive ? inRange(key) : inClosedRange(key);
+    }
+
+    // Number of keys in the tree that precede the range
+    private int lowRank() {
+        return fromStart ? 0 : loInclusive ? tree.countLess(lo) : tree.countLessOrEqual(lo);
+    }
+
+    // Number of keys in the tree that precede the end of the range
+    private int highRank() {
+        return toEnd ? tree.size : hiInclusive ? tree.countLessOrEqual(hi) : tree.countLess(hi);
+    }
+
+    /*
+     * Navigation in ascending order of the tree, restricted to the range
+     */
+
+    private Node<K, V> absLowest() {
+        Node<K, V> e = fromStart ? tree.first() : loInclusive ? tree.ceiling(lo) : tree.higher(lo);
+        return (e == null || tooHigh(e.key)) ? null : e;
+    }
+
+    private Node<K, V> absHighest() {
+        Node<K, V> e = toEnd ? tree.last() : hiInclusive ? tree.floor(hi) : tree.lower(hi);
+        return (e == null || tooLow(e.key)) ? null : e;
+    }
+
+    private Node<K, V> absCeiling(Object key) {
+        if (tooLow(key)) {
+            return absLowest();
+        }
+        Node<K, V> e = tree.ceiling(key);
+        return (e == null || tooHigh(e.key)) ? null : e;
+    }
+
+    private Node<K, V> absHigher(Object key) {
+        if (tooLow(key)) {
+            return absLowest();
+        }
+        Node<K, V> e = tree.higher(key);
+        return (e == null || tooHigh(e.key)) ? null : e;
+    }
+
+    private Node<K, V> absFloor(Object key) {
+        if (tooHigh(key)) {
+            return absHighest();
+        }
+        Node<K, V> e = tree.floor(key);
+        return (e == null || tooLow(e.key)) ? null : e;
+    }
+
+    private Node<K, V> absLower(Object key) {
+        if (tooHigh(key)) {
+            return absHighest();
+        }
+        Node<K, V> e = tree.lower(key);
+        return (e == null || tooLow(e.key)) ? null : e;
+    }
+
+    /*
+     * Navigation in the order of this view
+     */
+
+    private Node<K, V> firstNode() {
+        return descending ? absHighest() : absLowest();
+    }
+
+    private Node<K, V> lastNode() {
+        return descending ? absLowest() : absHighest();
+    }
+
+    private Node<K, V> nextNode(Node<K, V> e) {
+        if (descending) {
+            e = Tree.predecessor(e);
+            return (e == null || tooLow(e.key)) ? null : e;
+        } else {
+            e = Tree.successor(e);
+            return (e == null || tooHigh(e.key)) ? null : e;
+        }
+    }
+
+    /*
+     * Position a key has, or would have, in this view. Used to report
+     * changes of the entry list after the map has been modified.
+     */
+    private int position(K key) {
+        return descending
+                ? highRank() - tree.countLessOrEqual(key)
+                : tree.countLess(key) - lowRank();
+    }
+
+    private static <K, V> Map.Entry<K, V> exportEntry(Node<K, V> e) {
+        return (e == null) ? null : new AbstractMap.SimpleImmutableEntry<>(e.key, e.value);
+    }
+
+    private static <K> K keyOrNull(Node<K, ?> e) {
+        return (e == null) ? null : e.key;
+    }
+
+    private static <K> K key(Node<K, ?> e) {
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e.key;
+    }
+
+    private V removeNode(Node<K, V> e) {
+        K key = e.key;
+        V value = e.value;
+        tree.delete(e);
+        fireChange(key, value, null, false, true);
+        return value;
+    }
+
+    /* *********************************************************************
+     *                                                                     *
+     * Map                                                                 *
+     *                                                                     *
+     **********************************************************************/
+
+    @Override
+    public int size() {
+        if (fromStart && toEnd) {
+            return tree.size;
+        }
+        return Math.max(0, highRank() - lowRank());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return (fromStart && toEnd) ? tree.size == 0 : absLowest() == null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return inRange(key) && tree.getNode(key) != null;
+    }
+
+    @Override
+    public V get(Object key) {
+        if (!inRange(key)) {
+            return null;
+        }
+        Node<K, V> e = tree.getNode(key);
+        return (e == null) ? null : e.value;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        if (!inRange(key)) {
+            throw new IllegalArgumentException("key out of range");
+        }
+        Node<K, V> e = tree.getNode(key);
+        if (e != null) {
+            V old = e.value;
+            e.value = value;
+            if (!Objects.equals(old, value)) {
+                fireChange(key, old, value, true, true);
+            }
+            return old;
+        }
+        tree.insert(key, value);
+        fireChange(key, null, value, true, false);
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        if (!inRange(key)) {
+            return null;
+        }
+        Node<K, V> e = tree.getNode(key);
+        return (e == null) ? null : removeNode(e);
+    }
+
+    @Override
+    public void clear() {
+        for (Iterator<Entry<K, V>> i = entrySet().iterator(); i.hasNext(); ) {
+            i.next();
+            i.remove();
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return navigableKeySet();
+    }
+
+    /* *********************************************************************
+     *                                                                     *
+     * NavigableMap                                                        *
+     *                                                                     *
+     **********************************************************************/
+
+    @Override
+    public Comparator<? super K> comparator() {
+        return descending ? Collections.reverseOrder(tree.comparator) : tree.comparator;
+    }
+
+    @Override
+    public K firstKey() {
+        return key(firstNode());
+    }
+
+    @Override
+    public K lastKey() {
+        return key(lastNode());
+    }
+
+    @Override
+    public Entry<K, V> firstEntry() {
+        return exportEntry(firstNode());
+    }
+
+    @Override
+    public Entry<K, V> lastEntry() {
+        return exportEntry(lastNode());
+    }
+
+    @Override
+    public Entry<K, V> pollFirstEntry() {
+        Node<K, V> e = firstNode();
+        Entry<K, V> result = exportEntry(e);
+        if (e != null) {
+            removeNode(e);
+        }
+        return result;
+    }
+
+    @Override
+    public Entry<K, V> pollLastEntry() {
+        Node<K, V> e = lastNode();
+        Entry<K, V> result = exportEntry(e);
+        if (e != null) {
+            removeNode(e);
+        }
+        return result;
+    }
+
+    @Override
+    public Entry<K, V> lowerEntry(K key) {
+        return exportEntry(descending ? absHigher(key) : absLower(key));
+    }
+
+    @Override
+    public K lowerKey(K key) {
+        return keyOrNull(descending ? absHigher(key) : absLower(key));
+    }
+
+    @Override
+    public Entry<K, V> floorEntry(K key) {
+        return exportEntry(descending ? absCeiling(key) : absFloor(key));
+    }
+
+    @Override
+    public K floorKey(K key) {
+        return keyOrNull(descending ? absCeiling(key) : absFloor(key));
+    }
+
+    @Override
+    public Entry<K, V> ceilingEntry(K key) {
+        return exportEntry(descending ? absFloor(key) : absCeiling(key));
+    }
+
+    @Override
+    public K ceilingKey(K key) {
+        return keyOrNull(descending ? absFloor(key) : absCeiling(key));
+    }
+
+    @Override
+    public Entry<K, V> higherEntry(K key) {
+        return exportEntry(descending ? absLower(key) : absHigher(key));
+    }
+
+    @Override
+    public K higherKey(K key) {
+        return keyOrNull(descending ? absLower(key) : absHigher(key));
+    }
+
+    @Override
+    public NavigableSet<K> navigableKeySet() {
+        if (keySet == null) {
+            keySet = new KeySet();
+        }
+        return keySet;
+    }
+
+    @Override
+    public NavigableSet<K> descendingKeySet() {
+        return descendingMap().navigableKeySet();
+    }
+
+    @Override
+    public ObservableNavigableMap<K, V> descendingMap() {
+        if (descendingMap == null) {
+            descendingMap = new ObservableNavigableMapImpl<>(tree,
+                    fromStart, lo, loInclusive, toEnd, hi, hiInclusive, !descending);
+        }
+        return descendingMap;
+    }
+
+    @Override
+    public ObservableNavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive) {
+        if (!inRange(fromKey, fromInclusive)) {
+            throw new IllegalArgumentException("fromKey out of range");
+        }
+        if (!inRange(toKey, toInclusive)) {
+            throw new IllegalArgumentException("toKey out of range");
+        }
+        return descending
+                ? new ObservableNavigableMapImpl<>(tree, false, toKey, toInclusive, false, fromKey, fromInclusive, true)
+                : new ObservableNavigableMapImpl<>(tree, false, fromKey, fromInclusive, false, toKey, toInclusive, false);
+    }
+
+    @Override
+    public ObservableNavigableMap<K, V> headMap(K toKey, boolean inclusive) {
+        if (!inRange(toKey, inclusive)) {
+            throw new IllegalArgumentException("toKey out of range");
+        }
+        return descending
+                ? new ObservableNavigableMapImpl<>(tree, false, toKey, inclusive, toEnd, hi, hiInclusive, true)
+                : new ObservableNavigableMapImpl<>(tree, fromStart, lo, loInclusive, false, toKey, inclusive, false);
+    }
+
+    @Override
+    public ObservableNavigableMap<K, V> tailMap(K fromKey, boolean inclusive) {
+        if (!inRange(fromKey, inclusive)) {
+            throw new IllegalArgumentException("fromKey out of range");
+        }
+        return descending
+                ? new ObservableNavigableMapImpl<>(tree, fromStart, lo, loInclusive, false, fromKey, inclusive, true)
+                : new ObservableNavigableMapImpl<>(tree, false, fromKey, inclusive, toEnd, hi, hiInclusive, false);
+    }
+
+    @Override
+    public ObservableNavigableMap<K, V> subMap(K fromKey, K toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public ObservableNavigableMap<K, V> headMap(K toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public ObservableNavigableMap<K, V> tailMap(K fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    /* *********************************************************************
+     *                                                                     *
+     * Positional access                                                   *
+     *                                                                     *
+     **********************************************************************/
+
+    @Override
+    public int indexOf(Object key) {
+        if (!inRange(key) || tree.getNode(key) == null) {
+            return -1;
+        }
+        int index = tree.countLess(key) - lowRank();
+        return descending ? size() - 1 - index : index;
+    }
+
+    @Override
+    public Entry<K, V> getEntry(int index) {
+        Objects.checkIndex(index, size());
+        return exportEntry(tree.select(descending ? highRank() - 1 - index : lowRank() + index));
+    }
+
+    @Override
+    public ObservableList<Entry<K, V>> entryList() {
+        if (entryList == null) {
+            entryList = new EntryList();
+        }
+        return entryList;
+    }
+
+    /* *********************************************************************
+     *                                                                     *
+     * Views                                                               *
+     *                                                                     *
+     **********************************************************************/
+
+    private abstract class ViewIterator<T> implements Iterator<T> {
+
+        private Node<K, V> next = firstNode();
+        private Node<K, V> lastReturned;
+        private int expectedModCount = tree.modCount;
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        Node<K, V> nextNode() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            if (tree.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            lastReturned = next;
+            next = ObservableNavigableMapImpl.this.nextNode(next);
+            return lastReturned;
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            if (tree.modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            // Deleting a node with two children moves the contents of its
+            // successor into it
+            if (!descending && next != null && lastReturned.left != null && lastReturned.right != null) {
+                next = lastReturned;
+            }
+            Node<K, V> e = lastReturned;
+            lastReturned = null;
+            K key = e.key;
+            V value = e.value;
+            tree.delete(e);
+            expectedModCount = tree.modCount;
+            fireChange(key, value, null, false, true);
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new ViewIterator<>() {
+                @Override
+                public Entry<K, V> next() {
+                    Node<K, V> e = nextNode();
+                    return new SimpleEntry<>(e.key, e.value) {
+                        @Override
+                        public V setValue(V value) {
+                            put(getKey(), value);
+                            return super.setValue(value);
+                        }
+                    };
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return ObservableNavigableMapImpl.this.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return ObservableNavigableMapImpl.this.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry<?, ?> entry)) {
+                return false;
+            }
+            Object key = entry.getKey();
+            if (!inRange(key)) {
+                return false;
+            }
+            Node<K, V> e = tree.getNode(key);
+            return e != null && Objects.equals(e.value, entry.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            removeNode(tree.getNode(((Map.Entry<?, ?>) o).getKey()));
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            ObservableNavigableMapImpl.this.clear();
+        }
+    }
+
+    private class KeySet extends AbstractSet<K> implements NavigableSet<K> {
+
+        @Override
+        public Iterator<K> iterator() {
+            return new ViewIterator<>() {
+                @Override
+                public K next() {
+                    return nextNode().key;
+                }
+            };
+        }
+
+        @Override
+        public Iterator<K> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public int size() {
+            return ObservableNavigableMapImpl.this.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return ObservableNavigableMapImpl.this.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!containsKey(o)) {
+                return false;
+            }
+            ObservableNavigableMapImpl.this.remove(o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            ObservableNavigableMapImpl.this.clear();
+        }
+
+        @Override
+        public Comparator<? super K> comparator() {
+            return ObservableNavigableMapImpl.this.comparator();
+        }
+
+        @Override
+        public K first() {
+            return firstKey();
+        }
+
+        @Override
+        public K last() {
+            return lastKey();
+        }
+
+        @Override
+        public K lower(K k) {
+            return lowerKey(k);
+        }
+
+        @Override
+        public K floor(K k) {
+            return floorKey(k);
+        }
+
+        @Override
+        public K ceiling(K k) {
+            return ceilingKey(k);
+        }
+
+        @Override
+        public K higher(K k) {
+            return higherKey(k);
+        }
+
+        @Override
+        public K pollFirst() {
+            Entry<K, V> e = pollFirstEntry();
+            return (e == null) ? null : e.getKey();
+        }
+
+        @Override
+        public K pollLast() {
+            Entry<K, V> e = pollLastEntry();
+            return (e == null) ? null : e.getKey();
+        }
+
+        @Override
+        public NavigableSet<K> descendingSet() {
+            return descendingMap().navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> subSet(K fromElement, boolean fromInclusive, K toElement, boolean toInclusive) {
+            return subMap(fromElement, fromInclusive, toElement, toInclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> headSet(K toElement, boolean inclusive) {
+            return headMap(toElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public NavigableSet<K> tailSet(K fromElement, boolean inclusive) {
+            return tailMap(fromElement, inclusive).navigableKeySet();
+        }
+
+        @Override
+        public SortedSet<K> subSet(K fromElement, K toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> headSet(K toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<K> tailSet(K fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+
+    /*
+     * The entry list translates changes of this map into list changes at
+     * the position of the changed key.
+     */
+    private class EntryList extends ObservableListBase<Entry<K, V>> {
+
+        private final MapChangeListener<K, V> mapListener = c -> {
+            int index = position(c.getKey());
+            beginChange();
+            if (c.wasAdded() && c.wasRemoved()) {
+                nextSet(index, new SimpleImmutableEntry<>(c.getKey(), c.getValueRemoved()));
+            } else if (c.wasAdded()) {
+                nextAdd(index, index + 1);
+            } else {
+                nextRemove(index, new SimpleImmutableEntry<>(c.getKey(), c.getValueRemoved()));
+            }
+            endChange();
+        };
+
+        private EntryList() {
+            ObservableNavigableMapImpl.this.addListener(mapListener);
+        }
+
+        @Override
+        public Entry<K, V> get(int index) {
+            return getEntry(index);
+        }
+
+        @Override
+        public int size() {
+            return ObservableNavigableMapImpl.this.size();
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (!(o instanceof Map.Entry<?, ?> entry) || !contains(entry)) {
+                return -1;
+            }
+            return ObservableNavigableMapImpl.this.indexOf(entry.getKey());
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return entrySet().contains(o);
+        }
+    }
+
+    /* *********************************************************************
+     *                                                                     *
+     * Tree                                                                *
+     *                                                                     *
+     **********************************************************************/
+
+    private static final class Node<K, V> {
+        K key;
+        V value;
+        Node<K, V> left;
+        Node<K, V> right;
+        Node<K, V> parent;
+        int height = 1;
+        int size = 1;
+
+        Node(K key, V value, Node<K, V> parent) {
+            this.key = key;
+            this.value = value;
+            this.parent = parent;
+        }
+    }
+
+    /*
+     * AVL tree in which every node stores the size of its subtree.
+     */
+    private static final class Tree<K, V> {
+
+        private final Comparator<? super K> comparator;
+        private final ObservableNavigableMapImpl<K, V> source;
+        private Node<K, V> root;
+        private int size;
+        private int modCount;
+
+        private Tree(Comparator<? super K> comparator, ObservableNavigableMapImpl<K, V> source) {
+            this.comparator = comparator;
+            this.source = source;
+        }
+
+        @SuppressWarnings("unchecked")
+        private int compare(Object k1, Object k2) {
+            return (comparator == null)
+                    ? ((Comparable<Object>) k1).compareTo(k2)
+                    : comparator.compare((K) k1, (K) k2);
+        }
+
+        private Node<K, V> getNode(Object key) {
+            Node<K, V> p = root;
+            while (p != null) {
+                int c = compare(key, p.key);
+                if (c < 0) {
+                    p = p.left;
+                } else if (c > 0) {
+                    p = p.right;
+                } else {
+                    return p;
+                }
+            }
+            return null;
+        }
+
+        private void insert(K key, V value) {
+            Node<K, V> p = root;
+            if (p == null) {
+                compare(key, key); // type and null check
+                root = new Node<>(key, value, null);
+            } else {
+                while (true) {
+                    int c = compare(key, p.key);
+                    if (c < 0) {
+                        if (p.left == null) {
+                            p.left = new Node<>(key, value, p);
+                            break;
+                        }
+                        p = p.left;
+                    } else {
+                        assert c > 0;
+                        if (p.right == null) {
+                            p.right = new Node<>(key, value, p);
+                            break;
+                        }
+                        p = p.right;
+                    }
+                }
+                rebalance(p);
+            }
+            size++;
+            modCount++;
+        }
+
+        private void delete(Node<K, V> p) {
+            // If p has two children, copy the contents of its successor into
+            // p and delete the successor instead
+            if (p.left != null && p.right != null) {
+                Node<K, V> s = successor(p);
+                p.key = s.key;
+                p.value = s.value;
+                p = s;
+            }
+            Node<K, V> child = (p.left != null) ? p.left : p.right;
+            Node<K, V> parent = p.parent;
+            if (child != null) {
+                child.parent = parent;
+            }
+            replaceChild(parent, p, child);
+            p.left = p.right = p.parent = null;
+            rebalance(parent);
+            size--;
+            modCount++;
+        }
+
+        private Node<K, V> first() {
+            Node<K, V> p = root;
+            if (p != null) {
+                while (p.left != null) {
+                    p = p.left;
+                }
+            }
+            return p;
+        }
+
+        private Node<K, V> last() {
+            Node<K, V> p = root;
+            if (p != null) {
+                while (p.right != null) {
+                    p = p.right;
+                }
+            }
+            return p;
+        }
+
+        private Node<K, V> ceiling(Object key) {
+            Node<K, V> p = root;
+            Node<K, V> result = null;
+            while (p != null) {
+                int c = compare(key, p.key);
+                if (c < 0) {
+                    result = p;
+                    p = p.left;
+                } else if (c > 0) {
+                    p = p.right;
+                } else {
+                    return p;
+                }
+            }
+            return result;
+        }
+
+        private Node<K, V> higher(Object key) {
+            Node<K, V> p = root;
+            Node<K, V> result = null;
+            while (p != null) {
+                if (compare(key, p.key) < 0) {
+                    result = p;
+                    p = p.left;
+                } else {
+                    p = p.right;
+                }
+            }
+            return result;
+        }
+
+        private Node<K, V> floor(Object key) {
+            Node<K, V> p = root;
+            Node<K, V> result = null;
+            while (p != null) {
+                int c = compare(key, p.key);
+                if (c > 0) {
+                    result = p;
+                    p = p.right;
+                } else if (c < 0) {
+                    p = p.left;
+                } else {
+                    return p;
+                }
+            }
+            return result;
+        }
+
+        private Node<K, V> lower(Object key) {
+            Node<K, V> p = root;
+            Node<K, V> result = null;
+            while (p != null) {
+                if (compare(key, p.key) > 0) {
+                    result = p;
+                    p = p.right;
+                } else {
+                    p = p.left;
+                }
+            }
+            return result;
+        }
+
+        // Number of keys less than the specified key
+        private int countLess(Object key) {
+            Node<K, V> p = root;
+            int count = 0;
+            while (p != null) {
+                if (compare(key, p.key) <= 0) {
+                    p = p.left;
+                } else {
+                    count += size(p.left) + 1;
+                    p = p.right;
+                }
+            }
+            return count;
+        }
+
+        // Number of keys less than or equal to the specified key
+        private int countLessOrEqual(Object key) {
+            Node<K, V> p = root;
+            int count = 0;
+            while (p != null) {
+                if (compare(key, p.key) < 0) {
+                    p = p.left;
+                } else {
+                    count += size(p.left) + 1;
+                    p = p.right;
+                }
+            }
+            return count;
+        }
+
+        // Node with the specified number of smaller keys
+        private Node<K, V> select(int index) {
+            Node<K, V> p = root;
+            while (p != null) {
+                int leftSize = size(p.left);
+                if (index < leftSize) {
+                    p = p.left;
+                } else if (index > leftSize) {
+                    index -= leftSize + 1;
+                    p = p.right;
+                } else {
+                    return p;
+                }
+            }
+            throw new IndexOutOfBoundsException();
+        }
+
+        private static <K, V> Node<K, V> successor(Node<K, V> p) {
+            if (p.right != null) {
+                p = p.right;
+                while (p.left != null) {
+                    p = p.left;
+                }
+                return p;
+            }
+            Node<K, V> parent = p.parent;
+            while (parent != null && p == parent.right) {
+                p = parent;
+                parent = parent.parent;
+            }
+            return parent;
+        }
+
+        private static <K, V> Node<K, V> predecessor(Node<K, V> p) {
+            if (p.left != null) {
+                p = p.left;
+                while (p.right != null) {
+                    p = p.right;
+                }
+                return p;
+            }
+            Node<K, V> parent = p.parent;
+            while (parent != null && p == parent.left) {
+                p = parent;
+                parent = parent.parent;
+            }
+            return parent;
+        }
+
+        private static int height(Node<?, ?> p) {
+            return (p == null) ? 0 : p.height;
+        }
+
+        private static int size(Node<?, ?> p) {
+            return (p == null) ? 0 : p.size;
+        }
+
+        private static void update(Node<?, ?> p) {
+            p.height = 1 + Math.max(height(p.left), height(p.right));
+            p.size = 1 + size(p.left) + size(p.right);
+        }
+
+        private void replaceChild(Node<K, V> parent, Node<K, V> oldChild, Node<K, V> newChild) {
+            if (parent == null) {
+                root = newChild;
+            } else if (parent.left == oldChild) {
+                parent.left = newChild;
+            } else {
+                parent.right = newChild;
+            }
+        }
+
+        private Node<K, V> rotateLeft(Node<K, V> p) {
+            Node<K, V> r = p.right;
+            p.right = r.left;
+            if (r.left != null) {
+                r.left.parent = p;
+            }
+            r.parent = p.parent;
+            replaceChild(p.parent, p, r);
+            r.left = p;
+            p.parent = r;
+            update(p);
+            update(r);
+            return r;
+        }
+
+        private Node<K, V> rotateRight(Node<K, V> p) {
+            Node<K, V> l = p.left;
+            p.left = l.right;
+            if (l.right != null) {
+                l.right.parent = p;
+            }
+            l.parent = p.parent;
+            replaceChild(p.parent, p, l);
+            l.right = p;
+            p.parent = l;
+            update(p);
+            update(l);
+            return l;
+        }
+
+        // Restores heights, sizes and balance on the path from p to the root
+        private void rebalance(Node<K, V> p) {
+            while (p != null) {
+                update(p);
+                int balance = height(p.left) - height(p.right);
+                if (balance > 1) {
+                    if (height(p.left.left) < height(p.left.right)) {
+                        rotateLeft(p.left);
+                    }
+                    p = rotateRight(p);
+                } else if (balance < -1) {
+                    if (height(p.right.right) < height(p.right.left)) {
+                        rotateRight(p.right);
+                    }
+                    p = rotateLeft(p);
+                }
+                p = p.parent;
+            }
+        }
+    }
+}
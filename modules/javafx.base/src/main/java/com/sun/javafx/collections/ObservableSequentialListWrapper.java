@@ -249,6 +249,12 @@ public class ObservableSequentialListWrapper<E> extends ModifiableObservableList
         fireChange(new SimplePermutationChange<>(0, size(), perm, this));
     }
 
+    @Override
+    public void permute(int[] permutation) {
+        SortHelper.permute(backingList, permutation);
+        fireChange(new SimplePermutationChange<>(0, size(), permutation, this));
+    }
+
     private SortHelper getSortHelper() {
         if (helper == null) {
             helper = new SortHelper();
@@ -57,6 +57,25 @@ public class SortHelper {
         return result;
     }
 
+    // Used only by Observable[Sequential]ListWrapper, permutation[i] is the new index of the element at index i
+    public static <T> void permute(List<T> list, int[] permutation) {
+        if (permutation.length != list.size()) {
+            throw new IllegalArgumentException("permutation length(" + permutation.length + ") != size(" + list.size() + ")");
+        }
+        Object[] a = list.toArray();
+        Object[] result = new Object[a.length];
+        for (int j = 0; j < a.length; j++) {
+            result[permutation[j]] = a[j];
+        }
+        ListIterator<T> i = list.listIterator();
+        for (int j = 0; j < result.length; j++) {
+            i.next();
+            @SuppressWarnings("unchecked")
+            T e = (T) result[j];
+            i.set(e);
+        }
+    }
+
     private <T> int[] sort(T[] items, Comparator<? super T> comparator) {
         T[] aux = items.clone();
         int[] result = initPermutation(items.length);
@@ -56,4 +56,14 @@ public interface SortableList<E> extends ObservableList<E> {
      * @param comparator the comparator for the sorting; never {@code null}
      */
     void doSort(Comparator<? super E> comparator);
+
+    /**
+     * Moves each element to the index given by a precomputed permutation and reports it as one change event,
+     * in the same way as {@link #doSort(Comparator)} would. This allows an order that was computed elsewhere,
+     * for example on a background thread, to be applied in linear time.
+     *
+     * @param permutation the new index of the element at each index; must be a permutation of
+     *        {@code 0 .. size() - 1}
+     */
+    void permute(int[] permutation);
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.logging.jfr;
+
+import com.sun.javafx.binding.BindingProfiler;
+
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Exports the data collected by {@link BindingProfiler} as JFR events.
+ */
+public final class JFRBindingLogger implements BindingProfiler.Recorder {
+
+    public static BindingProfiler.Recorder createInstance() {
+        return new JFRBindingLogger();
+    }
+
+    private JFRBindingLogger() {
+        FlightRecorder.register(JFRBindingEvaluationEvent.class);
+        FlightRecorder.addPeriodicEvent(JFRBindingStatisticsEvent.class, JFRBindingLogger::emitStatistics);
+    }
+
+    @Override
+    public void evaluated(String label, long evaluationTime) {
+        JFRBindingEvaluationEvent event = new JFRBindingEvaluationEvent();
+        if (event.isEnabled()) {
+            event.setPulseId(JFRPulseLogger.getCurrentPulseId());
+            event.setBinding(label);
+            event.setEvaluationTime(evaluationTime);
+            event.commit();
+        }
+    }
+
+    private static void emitStatistics() {
+        for (BindingProfiler.Statistics statistics : BindingProfiler.pollStatistics()) {
+            JFRBindingStatisticsEvent event = new JFRBindingStatisticsEvent();
+            event.setBinding(statistics.getLabel());
+            event.setEvaluations(statistics.getEvaluationCount());
+            event.setEvaluationTime(statistics.getEvaluationTime());
+            event.setInvalidations(statistics.getInvalidationCount());
+            event.setListenersNotified(statistics.getListenersNotified());
+            event.setMaxFanOut(statistics.getMaxFanOut());
+            event.setDependencyNotifications(statistics.getDependencyNotifications());
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.logging.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("javafx.BindingStatistics")
+@Label("JavaFX Binding Statistics")
+@Category("JavaFX")
+@Description("Evaluations and invalidations of a binding since the previous period, recorded when binding profiling is enabled")
+@StackTrace(false)
+@Enabled(false)
+@Period("1 s")
+public final class JFRBindingStatisticsEvent extends Event {
+    @Label("Binding")
+    @Description("Class of the binding, and of its function for bindings created through Bindings")
+    private String binding;
+
+    @Label("Evaluations")
+    private long evaluations;
+
+    @Label("Evaluation Time")
+    @Description("Total time spent in computeValue(), including dependent bindings")
+    @Timespan(Timespan.NANOSECONDS)
+    private long evaluationTime;
+
+    @Label("Invalidations")
+    private long invalidations;
+
+    @Label("Listeners Notified")
+    @Description("Total number of listeners notified by the invalidations")
+    private long listenersNotified;
+
+    @Label("Maximum Fan-out")
+    @Description("Highest number of listeners notified by a single invalidation")
+    private int maxFanOut;
+
+    @Label("Dependency Notifications")
+    @Description("Number of invalidations received from dependencies")
+    private long dependencyNotifications;
+
+    public void setBinding(String binding) {
+        this.binding = binding;
+    }
+
+    public void setEvaluations(long evaluations) {
+        this.evaluations = evaluations;
+    }
+
+    public void setEvaluationTime(long evaluationTime) {
+        this.evaluationTime = evaluationTime;
+    }
+
+    public void setInvalidations(long invalidations) {
+        this.invalidations = invalidations;
+    }
+
+    public void setListenersNotified(long listenersNotified) {
+        this.listenersNotified = listenersNotified;
+    }
+
+    public void setMaxFanOut(int maxFanOut) {
+        this.maxFanOut = maxFanOut;
+    }
+
+    public void setDependencyNotifications(long dependencyNotifications) {
+        this.dependencyNotifications = dependencyNotifications;
+    }
+}
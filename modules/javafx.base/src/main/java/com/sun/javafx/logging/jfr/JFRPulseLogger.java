@@ -33,6 +33,8 @@ public final class JFRPulseLogger extends Logger {
     private final ThreadLocal<JFRPulsePhaseEvent> currentPulsePhaseEvent;
     private final ThreadLocal<JFRInputEvent> currentInputEvent;
 
+    private static volatile int currentPulseId;
+
     private int pulseNumber;
     private int fxPulseNumber;
     private int renderPulseNumber;
@@ -62,10 +64,20 @@ public final class JFRPulseLogger extends Logger {
         };
     }
 
+    /**
+     * Returns the id of the pulse the FX thread is currently processing, or 0
+     * if it is not processing a pulse. Used to relate other JavaFX events to
+     * the pulse phase events.
+     */
+    static int getCurrentPulseId() {
+        return currentPulseId;
+    }
+
     @Override
     public void pulseStart() {
         ++pulseNumber;
         fxPulseNumber = pulseNumber;
+        currentPulseId = pulseNumber;
         if (fxThread == null) {
             fxThread = Thread.currentThread();
         }
@@ -76,6 +88,7 @@ public final class JFRPulseLogger extends Logger {
     public void pulseEnd() {
         newPhase(null);
         fxPulseNumber = 0;
+        currentPulseId = 0;
     }
 
     @Override
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.property;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.beans.property.ReadOnlyProperty;
+
+import com.sun.javafx.reflect.ReflectUtil;
+
+/**
+ * A resolved accessor for the property-getter ({@code nameProperty()}) of a
+ * class. In contrast to {@link PropertyReference}, which reflects on the class
+ * every time it is created and invokes the property-getter reflectively,
+ * accessors are resolved once per class and property name, cached, and invoke
+ * the property-getter through a {@link MethodHandle}.
+ * <p>
+ * If the property-getter cannot be accessed with a public lookup (for example,
+ * because it is declared in a package that is only opened to
+ * {@code javafx.base}), the accessor falls back to {@link MethodHelper}.
+ */
+public final class PropertyAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final ClassValue<Map<String, PropertyAccessor>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, PropertyAccessor> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Class<?> clazz;
+    private final String name;
+    private final Method propertyGetter;
+    private final MethodHandle handle;
+
+    private PropertyAccessor(Class<?> clazz, String name) {
+        this.clazz = clazz;
+        this.name = name;
+
+        Method getter = null;
+        try {
+            final Method m = clazz.getMethod(name + "Property");
+            if (Modifier.isPublic(m.getModifiers())) {
+                getter = m;
+            }
+        } catch (NoSuchMethodException ex) {
+            // This is a legitimate error
+        }
+        this.propertyGetter = getter;
+
+        MethodHandle mh = null;
+        if (getter != null && !Modifier.isStatic(getter.getModifiers())) {
+            try {
+                mh = MethodHandles.publicLookup().unreflect(getter).asType(GETTER_TYPE);
+            } catch (IllegalAccessException ex) {
+                // Not accessible without opening the package, use MethodHelper
+            }
+        }
+        this.handle = mh;
+    }
+
+    /**
+     * Returns the accessor for a property of a class. Accessors are cached,
+     * calling this method repeatedly with the same arguments returns the same
+     * instance.
+     *
+     * @param clazz
+     *            The class that contains the property
+     * @param name
+     *            The name of the property
+     * @return the accessor
+     * @throws NullPointerException
+     *             if {@code clazz} or {@code name} are null
+     * @throws IllegalArgumentException
+     *             if {@code name} is an empty {@code String}
+     */
+    public static PropertyAccessor getAccessor(Class<?> clazz, String name) {
+        if (name == null)
+            throw new NullPointerException("Name must be specified");
+        if (clazz == null)
+            throw new NullPointerException("Class must be specified");
+        ReflectUtil.checkPackageAccess(clazz);
+        final Map<String, PropertyAccessor> accessors = ACCESSORS.get(clazz);
+        PropertyAccessor accessor = accessors.get(name);
+        if (accessor == null) {
+            if (name.trim().length() == 0)
+                throw new IllegalArgumentException("Name must be specified");
+            accessor = accessors.computeIfAbsent(name, n -> new PropertyAccessor(clazz, n));
+        }
+        return accessor;
+    }
+
+    /**
+     * Returns the name of the property.
+     *
+     * @return name of the property
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the class that contains the property.
+     *
+     * @return the class
+     */
+    public Class<?> getContainingClass() {
+        return clazz;
+    }
+
+    /**
+     * Can be used to determine if the class provides a property-getter for
+     * this property.
+     *
+     * @return {@code true}, if a property-getter was found, {@code false}
+     *         otherwise
+     */
+    public boolean hasProperty() {
+        return propertyGetter != null;
+    }
+
+    /**
+     * Gets the property of a bean by calling its property-getter.
+     *
+     * @param bean
+     *            The bean instance
+     * @return the property
+     * @throws IllegalStateException
+     *             if the class has no property-getter for this property
+     */
+    public ReadOnlyProperty<?> getProperty(Object bean) {
+        if (propertyGetter == null)
+            throw new IllegalStateException("Cannot get property " + name);
+        final Object result;
+        if (handle != null) {
+            try {
+                result = handle.invokeExact(bean);
+            } catch (Error err) {
+                throw err;
+            } catch (Throwable ex) {
+                // Report exceptions of the property-getter the same way as
+                // reflective invocation does
+                throw new RuntimeException(new InvocationTargetException(ex));
+            }
+        } else {
+            try {
+                result = MethodHelper.invoke(propertyGetter, bean, (Object[])null);
+            } catch (InvocationTargetException ex) {
+                if (ex.getCause() instanceof Error err) {
+                    throw err;
+                }
+                throw new RuntimeException(ex);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                throw new RuntimeException(ex);
+            }
+        }
+        return (ReadOnlyProperty<?>) result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
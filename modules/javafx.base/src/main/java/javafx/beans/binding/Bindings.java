@@ -51,6 +51,7 @@ import javafx.collections.ObservableSet;
 import javafx.util.StringConverter;
 import com.sun.javafx.binding.BidirectionalBinding;
 import com.sun.javafx.binding.BidirectionalContentBinding;
+import com.sun.javafx.binding.BindingProfiler;
 import com.sun.javafx.binding.ContentBinding;
 import com.sun.javafx.binding.DoubleConstant;
 import com.sun.javafx.binding.FloatConstant;
@@ -149,6 +150,9 @@ public final class Bindings {
         return new BooleanBinding() {
             {
                 bind(dependencies);
+                if (BindingProfiler.isEnabled()) {
+                    BindingProfiler.setFunction(this, func);
+                }
             }
 
             @Override
@@ -195,6 +199,9 @@ public final class Bindings {
         return new DoubleBinding() {
             {
                 bind(dependencies);
+                if (BindingProfiler.isEnabled()) {
+                    BindingProfiler.setFunction(this, func);
+                }
             }
 
             @Override
@@ -241,6 +248,9 @@ public final class Bindings {
         return new FloatBinding() {
             {
                 bind(dependencies);
+                if (BindingProfiler.isEnabled()) {
+                    BindingProfiler.setFunction(this, func);
+                }
             }
 
             @Override
@@ -287,6 +297,9 @@ public final class Bindings {
         return new IntegerBinding() {
             {
                 bind(dependencies);
+                if (BindingProfiler.isEnabled()) {
+                    BindingProfiler.setFunction(this, func);
+                }
             }
 
             @Override
@@ -333,6 +346,9 @@ public final class Bindings {
         return new LongBinding() {
             {
                 bind(dependencies);
+                if (BindingProfiler.isEnabled()) {
+                    BindingProfiler.setFunction(this, func);
+                }
             }
 
             @Override
@@ -380,6 +396,9 @@ public final class Bindings {
         return new ObjectBinding<>() {
             {
                 bind(dependencies);
+                if (BindingProfiler.isEnabled()) {
+                    BindingProfiler.setFunction(this, func);
+                }
             }
 
             @Override
@@ -426,6 +445,9 @@ public final class Bindings {
         return new StringBinding() {
             {
                 bind(dependencies);
+                if (BindingProfiler.isEnabled()) {
+                    BindingProfiler.setFunction(this, func);
+                }
             }
 
             @Override
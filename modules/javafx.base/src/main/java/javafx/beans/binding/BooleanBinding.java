@@ -32,6 +32,7 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import com.sun.javafx.binding.BindingHelperObserver;
+import com.sun.javafx.binding.BindingProfiler;
 import com.sun.javafx.binding.ExpressionHelper;
 
 /**
@@ -158,7 +159,11 @@ public abstract class BooleanBinding extends BooleanExpression implements
     @Override
     public final boolean get() {
         if (!valid) {
+            final long startTime = BindingProfiler.isEnabled() ? BindingProfiler.evaluationStarted() : 0L;
             value = computeValue();
+            if (BindingProfiler.isEnabled()) {
+                BindingProfiler.evaluationFinished(this, startTime);
+            }
             valid = true;
         }
         return value;
@@ -177,6 +182,9 @@ public abstract class BooleanBinding extends BooleanExpression implements
         if (valid) {
             valid = false;
             onInvalidating();
+            if (BindingProfiler.isEnabled()) {
+                BindingProfiler.invalidated(this, ExpressionHelper.getListenerCount(helper));
+            }
             ExpressionHelper.fireValueChangedEvent(helper);
         }
     }
@@ -32,6 +32,7 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import com.sun.javafx.binding.BindingHelperObserver;
+import com.sun.javafx.binding.BindingProfiler;
 import com.sun.javafx.binding.ExpressionHelper;
 
 /**
@@ -113,6 +114,7 @@ public abstract class DoubleBinding extends DoubleExpression implements
 
     private double value;
     private boolean valid;
+    private boolean observed;
 
     /**
      * Invalidation listener used for observing dependencies.  This
@@ -131,22 +133,26 @@ public abstract class DoubleBinding extends DoubleExpression implements
 
     @Override
     public void addListener(InvalidationListener listener) {
+        observed = observed || listener != null;
         helper = ExpressionHelper.addListener(helper, this, listener);
     }
 
     @Override
     public void removeListener(InvalidationListener listener) {
         helper = ExpressionHelper.removeListener(helper, listener);
+        observed = helper != null;
     }
 
     @Override
     public void addListener(ChangeListener<? super Number> listener) {
+        observed = observed || listener != null;
         helper = ExpressionHelper.addListener(helper, this, listener);
     }
 
     @Override
     public void removeListener(ChangeListener<? super Number> listener) {
         helper = ExpressionHelper.removeListener(helper, listener);
+        observed = helper != null;
     }
 
     /**
@@ -210,7 +216,17 @@ public abstract class DoubleBinding extends DoubleExpression implements
     @Override
     public final double get() {
         if (!valid) {
-            value = computeValue();
+            final long startTime = BindingProfiler.isEnabled() ? BindingProfiler.evaluationStarted() : 0L;
+            double computed = computeValue();
+            if (BindingProfiler.isEnabled()) {
+                BindingProfiler.evaluationFinished(this, startTime);
+            }
+
+            if (!allowValidation()) {
+                return computed;
+            }
+
+            value = computed;
             valid = true;
         }
         return value;
@@ -229,6 +245,9 @@ public abstract class DoubleBinding extends DoubleExpression implements
         if (valid) {
             valid = false;
             onInvalidating();
+            if (BindingProfiler.isEnabled()) {
+                BindingProfiler.invalidated(this, ExpressionHelper.getListenerCount(helper));
+            }
             ExpressionHelper.fireValueChangedEvent(helper);
         }
     }
@@ -238,6 +257,34 @@ public abstract class DoubleBinding extends DoubleExpression implements
         return valid;
     }
 
+    /**
+     * Checks if the binding has at least one listener registered on it. This
+     * is useful for subclasses which want to conserve resources when not observed.
+     *
+     * @return {@code true} if this binding currently has one or more
+     *     listeners registered on it, otherwise {@code false}
+     * @since 22
+     */
+    protected final boolean isObserved() {
+        return observed;
+    }
+
+    /**
+     * Checks if the binding is allowed to become valid. Overriding classes can
+     * prevent a binding from becoming valid. This is useful in subclasses which
+     * do not always listen for invalidations of their dependencies and prefer to
+     * recompute the current value instead.
+     * <p>
+     * The default implementation always allows bindings to become valid.
+     *
+     * @return {@code true} if this binding is allowed to become valid, otherwise
+     *     {@code false}
+     * @since 22
+     */
+    protected boolean allowValidation() {
+        return true;
+    }
+
     /**
      * Calculates the current value of this binding.
      * <p>
@@ -25,6 +25,10 @@
 
 package javafx.beans.value;
 
+import java.util.function.DoubleUnaryOperator;
+
+import com.sun.javafx.binding.MappedDoubleBinding;
+
 /**
  * An observable double value.
  *
@@ -42,4 +46,33 @@ public interface ObservableDoubleValue extends ObservableNumberValue {
      * @return The current value
      */
     double get();
+
+    /**
+     * Returns an {@code ObservableDoubleValue} that holds the result of applying the
+     * given mapping function on this value. The result is updated when this
+     * {@code ObservableDoubleValue} changes.
+     * <p>
+     * This is the {@code double} specialization of {@link #map(java.util.function.Function) map}:
+     * the mapping function receives and produces a primitive {@code double}, so
+     * neither the value of this {@code ObservableDoubleValue} nor the result of the
+     * mapping is boxed. Like {@code map}, the returned value only observes this
+     * value while it is observed itself.
+     * <p>
+     * For example:
+     * <pre>{@code
+     * var width = new SimpleDoubleProperty(100.0);
+     * ObservableDoubleValue half = width.mapToDouble(w -> w / 2);
+     *
+     * half.get();  // Returns 50.0
+     * }</pre>
+     *
+     * @param mapper the mapping function to apply to a value, cannot be {@code null}
+     * @return an {@code ObservableDoubleValue} that holds the result of applying the given
+     *     mapping function on this value; never returns {@code null}
+     * @throws NullPointerException if the mapping function is {@code null}
+     * @since 22
+     */
+    default ObservableDoubleValue mapToDouble(DoubleUnaryOperator mapper) {
+        return new MappedDoubleBinding(this, mapper);
+    }
 }
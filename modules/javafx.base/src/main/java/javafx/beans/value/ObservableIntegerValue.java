@@ -25,6 +25,10 @@
 
 package javafx.beans.value;
 
+import java.util.function.IntUnaryOperator;
+
+import com.sun.javafx.binding.MappedIntegerBinding;
+
 /**
  * An observable integer value.
  *
@@ -42,4 +46,33 @@ public interface ObservableIntegerValue extends ObservableNumberValue {
      * @return The current value
      */
     int get();
+
+    /**
+     * Returns an {@code ObservableIntegerValue} that holds the result of applying the
+     * given mapping function on this value. The result is updated when this
+     * {@code ObservableIntegerValue} changes.
+     * <p>
+     * This is the {@code int} specialization of {@link #map(java.util.function.Function) map}:
+     * the mapping function receives and produces a primitive {@code int}, so
+     * neither the value of this {@code ObservableIntegerValue} nor the result of the
+     * mapping is boxed. Like {@code map}, the returned value only observes this
+     * value while it is observed itself.
+     * <p>
+     * For example:
+     * <pre>{@code
+     * var index = new SimpleIntegerProperty(4);
+     * ObservableIntegerValue next = index.mapToInt(i -> i + 1);
+     *
+     * next.get();  // Returns 5
+     * }</pre>
+     *
+     * @param mapper the mapping function to apply to a value, cannot be {@code null}
+     * @return an {@code ObservableIntegerValue} that holds the result of applying the given
+     *     mapping function on this value; never returns {@code null}
+     * @throws NullPointerException if the mapping function is {@code null}
+     * @since 22
+     */
+    default ObservableIntegerValue mapToInt(IntUnaryOperator mapper) {
+        return new MappedIntegerBinding(this, mapper);
+    }
 }
@@ -25,6 +25,10 @@
 
 package javafx.beans.value;
 
+import java.util.function.LongUnaryOperator;
+
+import com.sun.javafx.binding.MappedLongBinding;
+
 /**
  * An observable long value.
  *
@@ -42,4 +46,33 @@ public interface ObservableLongValue extends ObservableNumberValue {
      * @return The current value
      */
     long get();
+
+    /**
+     * Returns an {@code ObservableLongValue} that holds the result of applying the
+     * given mapping function on this value. The result is updated when this
+     * {@code ObservableLongValue} changes.
+     * <p>
+     * This is the {@code long} specialization of {@link #map(java.util.function.Function) map}:
+     * the mapping function receives and produces a primitive {@code long}, so
+     * neither the value of this {@code ObservableLongValue} nor the result of the
+     * mapping is boxed. Like {@code map}, the returned value only observes this
+     * value while it is observed itself.
+     * <p>
+     * For example:
+     * <pre>{@code
+     * var seconds = new SimpleLongProperty(3L);
+     * ObservableLongValue millis = seconds.mapToLong(s -> s * 1000);
+     *
+     * millis.get();  // Returns 3000
+     * }</pre>
+     *
+     * @param mapper the mapping function to apply to a value, cannot be {@code null}
+     * @return an {@code ObservableLongValue} that holds the result of applying the given
+     *     mapping function on this value; never returns {@code null}
+     * @throws NullPointerException if the mapping function is {@code null}
+     * @since 22
+     */
+    default ObservableLongValue mapToLong(LongUnaryOperator mapper) {
+        return new MappedLongBinding(this, mapper);
+    }
 }
@@ -32,6 +32,9 @@ import java.util.function.Function;
 
 import com.sun.javafx.binding.ConditionalBinding;
 import com.sun.javafx.binding.FlatMappedBinding;
+import com.sun.javafx.binding.FlatMappedDoubleBinding;
+import com.sun.javafx.binding.FlatMappedIntegerBinding;
+import com.sun.javafx.binding.FlatMappedLongBinding;
 import com.sun.javafx.binding.MappedBinding;
 import com.sun.javafx.binding.OrElseBinding;
 
@@ -257,6 +260,72 @@ public interface ObservableValue<T> extends Observable {
         return new FlatMappedBinding<>(this, mapper);
     }
 
+    /**
+     * Returns an {@code ObservableDoubleValue} that holds the value of an {@code ObservableDoubleValue}
+     * produced by applying the given mapping function on this value. The result is updated
+     * when either this {@code ObservableValue} or the {@code ObservableDoubleValue} produced by
+     * the mapping changes. If this value is {@code null}, or the mapping resulted in
+     * {@code null}, the resulting value is zero.
+     * <p>
+     * This is the {@code double} specialization of {@link #flatMap(Function)}: the value
+     * of the {@code ObservableDoubleValue} produced by the mapping is read as a primitive
+     * {@code double} and is not boxed.
+     *
+     * @param mapper the mapping function to apply to a value, cannot be {@code null}
+     * @return an {@code ObservableDoubleValue} that holds the value of an {@code ObservableDoubleValue}
+     *     produced by applying the given mapping function on this value, or zero
+     *     when the value is {@code null}; never returns {@code null}
+     * @throws NullPointerException if the mapping function is {@code null}
+     * @since 22
+     */
+    default ObservableDoubleValue flatMapToDouble(Function<? super T, ? extends ObservableDoubleValue> mapper) {
+        return new FlatMappedDoubleBinding<>(this, mapper);
+    }
+
+    /**
+     * Returns an {@code ObservableIntegerValue} that holds the value of an {@code ObservableIntegerValue}
+     * produced by applying the given mapping function on this value. The result is updated
+     * when either this {@code ObservableValue} or the {@code ObservableIntegerValue} produced by
+     * the mapping changes. If this value is {@code null}, or the mapping resulted in
+     * {@code null}, the resulting value is zero.
+     * <p>
+     * This is the {@code int} specialization of {@link #flatMap(Function)}: the value
+     * of the {@code ObservableIntegerValue} produced by the mapping is read as a primitive
+     * {@code int} and is not boxed.
+     *
+     * @param mapper the mapping function to apply to a value, cannot be {@code null}
+     * @return an {@code ObservableIntegerValue} that holds the value of an {@code ObservableIntegerValue}
+     *     produced by applying the given mapping function on this value, or zero
+     *     when the value is {@code null}; never returns {@code null}
+     * @throws NullPointerException if the mapping function is {@code null}
+     * @since 22
+     */
+    default ObservableIntegerValue flatMapToInt(Function<? super T, ? extends ObservableIntegerValue> mapper) {
+        return new FlatMappedIntegerBinding<>(this, mapper);
+    }
+
+    /**
+     * Returns an {@code ObservableLongValue} that holds the value of an {@code ObservableLongValue}
+     * produced by applying the given mapping function on this value. The result is updated
+     * when either this {@code ObservableValue} or the {@code ObservableLongValue} produced by
+     * the mapping changes. If this value is {@code null}, or the mapping resulted in
+     * {@code null}, the resulting value is zero.
+     * <p>
+     * This is the {@code long} specialization of {@link #flatMap(Function)}: the value
+     * of the {@code ObservableLongValue} produced by the mapping is read as a primitive
+     * {@code long} and is not boxed.
+     *
+     * @param mapper the mapping function to apply to a value, cannot be {@code null}
+     * @return an {@code ObservableLongValue} that holds the value of an {@code ObservableLongValue}
+     *     produced by applying the given mapping function on this value, or zero
+     *     when the value is {@code null}; never returns {@code null}
+     * @throws NullPointerException if the mapping function is {@code null}
+     * @since 22
+     */
+    default ObservableLongValue flatMapToLong(Function<? super T, ? extends ObservableLongValue> mapper) {
+        return new FlatMappedLongBinding<>(this, mapper);
+    }
+
     /**
      * Returns an {@code ObservableValue} that holds this value and is updated only
      * when {@code condition} holds {@code true}.
@@ -51,6 +51,7 @@ import javafx.beans.InvalidationListener;
 
 import com.sun.javafx.collections.ObservableListWrapper;
 import com.sun.javafx.collections.ObservableMapWrapper;
+import com.sun.javafx.collections.ObservableNavigableMapImpl;
 import com.sun.javafx.collections.ObservableSetWrapper;
 import com.sun.javafx.collections.MapAdapterChange;
 import com.sun.javafx.collections.ObservableFloatArrayImpl;
@@ -369,6 +370,36 @@ public class FXCollections {
         return observableMap(new HashMap<K, V>());
     }
 
+    /**
+     * Creates a new empty observable navigable map that is sorted according
+     * to the natural ordering of its keys. The position of a key in the map
+     * and the entry at a position are determined in logarithmic time.
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @return a newly created ObservableNavigableMap
+     * @see ObservableNavigableMap
+     * @since 22
+     */
+    public static <K, V> ObservableNavigableMap<K, V> observableNavigableMap() {
+        return new ObservableNavigableMapImpl<>(null);
+    }
+
+    /**
+     * Creates a new empty observable navigable map that is sorted according
+     * to the specified comparator. The position of a key in the map and the
+     * entry at a position are determined in logarithmic time.
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @param comparator the comparator that will be used to order the keys,
+     *        or {@code null} to use the natural ordering of the keys
+     * @return a newly created ObservableNavigableMap
+     * @see ObservableNavigableMap
+     * @since 22
+     */
+    public static <K, V> ObservableNavigableMap<K, V> observableNavigableMap(Comparator<? super K> comparator) {
+        return new ObservableNavigableMapImpl<>(comparator);
+    }
+
     /**
      * Concatenates more observable lists into one. The resulting list
      * would be backed by an array list.
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package javafx.collections;
+
+import java.util.Map;
+import java.util.NavigableMap;
+
+/**
+ * An {@link ObservableMap} that keeps its entries sorted by key. In addition to
+ * the operations of a {@link NavigableMap}, an {@code ObservableNavigableMap}
+ * can report the position of a key and the entry at a position, and it provides
+ * an {@linkplain #entryList() observable list view} of its entries. This allows
+ * a sorted, keyed data set, such as an order book by price, to be shown in a
+ * list-based control without copying it into a list and sorting it again on
+ * every change.
+ * <p>
+ * The views returned by {@link #subMap(Object, boolean, Object, boolean) subMap},
+ * {@link #headMap(Object, boolean) headMap}, {@link #tailMap(Object, boolean) tailMap}
+ * and {@link #descendingMap() descendingMap} are observable as well. Listeners
+ * registered on such a view are only notified of changes to keys within the
+ * range of the view, and the positions reported by the view are relative to it.
+ * <p>
+ * Implementations can be created using
+ * {@link FXCollections#observableNavigableMap() FXCollections.observableNavigableMap}.
+ *
+ * @see MapChangeListener
+ * @param <K> the map key element type
+ * @param <V> the map value element type
+ * @since 22
+ */
+public interface ObservableNavigableMap<K, V> extends ObservableMap<K, V>, NavigableMap<K, V> {
+
+    /**
+     * Returns the position of the specified key in the iteration order of this
+     * map, or -1 if this map does not contain the key. The position is
+     * determined in logarithmic time.
+     *
+     * @param key the key to look for
+     * @return the position of the key, or -1 if this map does not contain it
+     * @throws ClassCastException if the key cannot be compared with the keys
+     *         currently in the map
+     * @throws NullPointerException if the key is null and this map does not
+     *         permit null keys
+     */
+    int indexOf(Object key);
+
+    /**
+     * Returns a snapshot of the entry at the specified position in the
+     * iteration order of this map. The entry is determined in logarithmic time.
+     *
+     * @param index the position of the entry
+     * @return the entry at the position
+     * @throws IndexOutOfBoundsException if the index is negative or not less
+     *         than the size of this map
+     */
+    Map.Entry<K, V> getEntry(int index);
+
+    /**
+     * Returns an unmodifiable observable list view of the entries of this map,
+     * in iteration order. The list contains snapshots of the entries and
+     * reflects changes of the map: adding a key is reported as an addition,
+     * removing a key as a removal and replacing the value of a key as a
+     * replacement at the position of the key.
+     *
+     * @return the list view of the entries of this map
+     */
+    ObservableList<Map.Entry<K, V>> entryList();
+
+    @Override
+    ObservableNavigableMap<K, V> descendingMap();
+
+    @Override
+    ObservableNavigableMap<K, V> subMap(K fromKey, boolean fromInclusive, K toKey, boolean toInclusive);
+
+    @Override
+    ObservableNavigableMap<K, V> headMap(K toKey, boolean inclusive);
+
+    @Override
+    ObservableNavigableMap<K, V> tailMap(K fromKey, boolean inclusive);
+
+    @Override
+    ObservableNavigableMap<K, V> subMap(K fromKey, K toKey);
+
+    @Override
+    ObservableNavigableMap<K, V> headMap(K toKey);
+
+    @Override
+    ObservableNavigableMap<K, V> tailMap(K fromKey);
+}
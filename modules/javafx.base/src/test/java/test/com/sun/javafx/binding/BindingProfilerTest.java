@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.binding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.javafx.binding.BindingProfiler;
+import com.sun.javafx.binding.BindingProfilerShim;
+import com.sun.javafx.binding.ExpressionHelper;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.binding.StringBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ObservableValueStub;
+import test.util.memory.JMemoryBuddy;
+
+public class BindingProfilerTest {
+
+    @BeforeEach
+    public void setUp() {
+        BindingProfilerShim.setEnabled(true);
+        BindingProfiler.reset();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        BindingProfilerShim.setEnabled(false);
+        BindingProfiler.reset();
+    }
+
+    @Test
+    public void testBindingReportsEvaluationsAndInvalidations() {
+        DoubleProperty a = new SimpleDoubleProperty(1);
+        DoubleProperty b = new SimpleDoubleProperty(1);
+        DoubleBinding binding = Bindings.createDoubleBinding(() -> a.get() + b.get(), a, b);
+        binding.addListener(obs -> {});
+        binding.addListener(obs -> {});
+
+        assertEquals(2.0, binding.get(), 0.0);
+        assertEquals(2.0, binding.get(), 0.0);
+        a.set(2);
+        b.set(3);
+        assertEquals(5.0, binding.get(), 0.0);
+
+        List<BindingProfiler.Statistics> statistics = BindingProfiler.getStatistics();
+        assertEquals(1, statistics.size());
+        BindingProfiler.Statistics s = statistics.get(0);
+        assertEquals(2, s.getEvaluationCount());
+        // the change of b finds the binding already invalid
+        assertEquals(1, s.getInvalidationCount());
+        assertEquals(2, s.getListenersNotified());
+        assertEquals(2, s.getMaxFanOut());
+        assertEquals(2, s.getDependencyNotifications());
+        assertTrue(s.getLabel().startsWith(binding.getClass().getName() + "["));
+    }
+
+    @Test
+    public void testSubclassedBindingReportsEvaluations() {
+        DoubleProperty property = new SimpleDoubleProperty(1);
+        StringBinding binding = new StringBinding() {
+            {
+                bind(property);
+            }
+
+            @Override
+            protected String computeValue() {
+                return Double.toString(property.get());
+            }
+        };
+
+        binding.get();
+        property.set(2);
+        binding.get();
+
+        BindingProfiler.Statistics s = BindingProfiler.getStatistics().get(0);
+        assertEquals(binding.getClass().getName(), s.getLabel());
+        assertEquals(2, s.getEvaluationCount());
+        assertEquals(1, s.getInvalidationCount());
+        assertEquals(0, s.getMaxFanOut());
+    }
+
+    @Test
+    public void testBindingsDoNotReportWhenDisabled() {
+        BindingProfilerShim.setEnabled(false);
+        DoubleProperty property = new SimpleDoubleProperty(1);
+        DoubleBinding binding = Bindings.createDoubleBinding(() -> property.get() * 2, property);
+
+        binding.get();
+        property.set(2);
+        binding.get();
+
+        assertTrue(BindingProfiler.getStatistics().isEmpty());
+    }
+
+    @Test
+    public void testEvaluationsAreCountedPerBinding() {
+        DoubleBinding a = Bindings.createDoubleBinding(() -> 1.0);
+        DoubleBinding b = Bindings.createDoubleBinding(() -> 2.0);
+
+        BindingProfiler.evaluationFinished(a, BindingProfiler.evaluationStarted());
+        BindingProfiler.evaluationFinished(a, BindingProfiler.evaluationStarted());
+        BindingProfiler.evaluationFinished(b, BindingProfiler.evaluationStarted());
+
+        List<BindingProfiler.Statistics> statistics = BindingProfiler.getStatistics();
+        assertEquals(2, statistics.size());
+        long total = statistics.stream().mapToLong(BindingProfiler.Statistics::getEvaluationCount).sum();
+        assertEquals(3, total);
+    }
+
+    @Test
+    public void testStatisticsAreOrderedByEvaluationTime() {
+        DoubleBinding fast = Bindings.createDoubleBinding(() -> 1.0);
+        DoubleBinding slow = Bindings.createDoubleBinding(() -> 2.0);
+
+        long now = System.nanoTime();
+        BindingProfiler.evaluationFinished(fast, now);
+        BindingProfiler.evaluationFinished(slow, now - 1_000_000_000L);
+
+        List<BindingProfiler.Statistics> statistics = BindingProfiler.getStatistics();
+        assertTrue(statistics.get(0).getEvaluationTime() >= 1_000_000_000L);
+        assertTrue(statistics.get(1).getEvaluationTime() < 1_000_000_000L);
+    }
+
+    @Test
+    public void testInvalidationFanOutIsRecorded() {
+        DoubleBinding binding = Bindings.createDoubleBinding(() -> 1.0);
+
+        BindingProfiler.invalidated(binding, 3);
+        BindingProfiler.invalidated(binding, 5);
+        BindingProfiler.dependencyInvalidated(binding);
+
+        BindingProfiler.Statistics statistics = BindingProfiler.getStatistics().get(0);
+        assertEquals(2, statistics.getInvalidationCount());
+        assertEquals(8, statistics.getListenersNotified());
+        assertEquals(5, statistics.getMaxFanOut());
+        assertEquals(1, statistics.getDependencyNotifications());
+    }
+
+    @Test
+    public void testPollStatisticsStartsNewInterval() {
+        DoubleBinding binding = Bindings.createDoubleBinding(() -> 1.0);
+
+        BindingProfiler.evaluationFinished(binding, BindingProfiler.evaluationStarted());
+        assertEquals(1, BindingProfiler.pollStatistics().size());
+        assertEquals(0, BindingProfiler.pollStatistics().size());
+
+        BindingProfiler.invalidated(binding, 1);
+        List<BindingProfiler.Statistics> statistics = BindingProfiler.pollStatistics();
+        assertEquals(1, statistics.size());
+        assertEquals(0, statistics.get(0).getEvaluationCount());
+        assertEquals(1, statistics.get(0).getInvalidationCount());
+    }
+
+    @Test
+    public void testPollStatisticsDoesNotResetTotals() {
+        DoubleBinding binding = Bindings.createDoubleBinding(() -> 1.0);
+
+        BindingProfiler.evaluationFinished(binding, BindingProfiler.evaluationStarted());
+        BindingProfiler.invalidated(binding, 3);
+        BindingProfiler.pollStatistics();
+        BindingProfiler.evaluationFinished(binding, BindingProfiler.evaluationStarted());
+
+        BindingProfiler.Statistics total = BindingProfiler.getStatistics().get(0);
+        assertEquals(2, total.getEvaluationCount());
+        assertEquals(1, total.getInvalidationCount());
+        assertEquals(3, total.getMaxFanOut());
+
+        BindingProfiler.Statistics interval = BindingProfiler.pollStatistics().get(0);
+        assertEquals(1, interval.getEvaluationCount());
+        assertEquals(0, interval.getInvalidationCount());
+        assertEquals(0, interval.getMaxFanOut());
+    }
+
+    @Test
+    public void testFunctionIsUsedAsLabel() {
+        Runnable function = () -> {};
+        DoubleBinding binding = Bindings.createDoubleBinding(() -> 1.0);
+
+        BindingProfiler.setFunction(binding, function);
+
+        String label = BindingProfiler.getStatistics().get(0).getLabel();
+        assertTrue(label.startsWith(binding.getClass().getName()));
+        assertTrue(label.contains(function.getClass().getName()));
+    }
+
+    @Test
+    public void testListenerCount() {
+        ObservableValueStub<Object> observable = new ObservableValueStub<>(new Object());
+        InvalidationListener listener1 = obs -> {};
+        InvalidationListener listener2 = obs -> {};
+        ExpressionHelper<Object> helper = null;
+
+        assertEquals(0, ExpressionHelper.getListenerCount(helper));
+        helper = ExpressionHelper.addListener(helper, observable, listener1);
+        assertEquals(1, ExpressionHelper.getListenerCount(helper));
+        helper = ExpressionHelper.addListener(helper, observable, listener2);
+        helper = ExpressionHelper.addListener(helper, observable, (obs, o, n) -> {});
+        assertEquals(3, ExpressionHelper.getListenerCount(helper));
+        helper = ExpressionHelper.removeListener(helper, listener1);
+        assertEquals(2, ExpressionHelper.getListenerCount(helper));
+    }
+
+    @Test
+    public void testBindingsAreNotRetained() {
+        JMemoryBuddy.memoryTest(api -> {
+            SimpleDoubleProperty property = new SimpleDoubleProperty();
+            BindingProfiler.invalidated(property, 1);
+
+            api.assertCollectable(property);
+        });
+    }
+}
@@ -43,6 +43,7 @@ import com.sun.javafx.binding.ExpressionHelperShim;
 
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
+import javafx.beans.WeakListener;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
@@ -500,6 +501,68 @@ public class ExpressionHelperTest {
         changeListener[2].check(null, UNDEFINED, UNDEFINED, 0);
     }
 
+    @Test
+    public void testRemoveInvalidationAfterNestedNotification() {
+        final AtomicInteger depth = new AtomicInteger();
+        final InvalidationListener nestingListener = observable -> {
+            if (depth.getAndIncrement() == 0) {
+                ExpressionHelper.fireValueChangedEvent(helper);
+                helper = ExpressionHelper.removeListener(helper, invalidationListener[0]);
+            }
+        };
+        helper = ExpressionHelper.addListener(helper, observable, nestingListener);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
+        helper = ExpressionHelper.addListener(helper, observable, invalidationListener[1]);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        // once from the nested and once from the outer notification
+        invalidationListener[0].check(observable, 2);
+        invalidationListener[1].check(observable, 2);
+
+        ExpressionHelper.fireValueChangedEvent(helper);
+        invalidationListener[0].check(null, 0);
+        invalidationListener[1].check(observable, 1);
+    }
+
+    @Test
+    public void testMappedValueStopsObservingWhenWeakListenersAreCollected() {
+        final StringProperty source = new SimpleStringProperty("a");
+        final ObservableValue<String> mapped = source.map(v -> v + "+map");
+        final CollectableInvalidationListener[] listeners = new CollectableInvalidationListener[3];
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i] = new CollectableInvalidationListener();
+            mapped.addListener(listeners[i]);
+        }
+        assertEquals(1, ExpressionHelperUtility.getInvalidationListeners(source).size());
+
+        for (CollectableInvalidationListener listener : listeners) {
+            listener.collected = true;
+        }
+        source.set("b");
+
+        // the collected listeners remove themselves through the mapped value,
+        // which then stops observing its source
+        assertTrue(ExpressionHelperUtility.getInvalidationListeners(source).isEmpty());
+    }
+
+    /**
+     * Behaves like a {@link javafx.beans.WeakInvalidationListener} whose
+     * referent was garbage collected once {@code collected} is set.
+     */
+    private static class CollectableInvalidationListener implements InvalidationListener, WeakListener {
+        private boolean collected;
+
+        @Override public void invalidated(Observable observable) {
+            if (collected) {
+                observable.removeListener(this);
+            }
+        }
+
+        @Override public boolean wasGarbageCollected() {
+            return collected;
+        }
+    }
+
     @Test
     public void testFireValueChangedEvent() {
         helper = ExpressionHelper.addListener(helper, observable, invalidationListener[0]);
@@ -738,4 +738,26 @@ public class ListListenerHelperTest {
         assertEquals(4, called.get());
     }
 
+    @Test
+    public void testRemoveInvalidationListenerAfterNestedNotification() {
+        final AtomicInteger depth = new AtomicInteger();
+        final InvalidationListener nestingListener = observable -> {
+            if (depth.getAndIncrement() == 0) {
+                ListListenerHelper.fireValueChangedEvent(helper, change);
+                helper = ListListenerHelper.removeListener(helper, invalidationListenerMock[0]);
+            }
+        };
+        helper = ListListenerHelper.addListener(helper, nestingListener);
+        helper = ListListenerHelper.addListener(helper, invalidationListenerMock[0]);
+        helper = ListListenerHelper.addListener(helper, invalidationListenerMock[1]);
+
+        ListListenerHelper.fireValueChangedEvent(helper, change);
+        // once from the nested and once from the outer notification
+        invalidationListenerMock[0].check(list, 2);
+        invalidationListenerMock[1].check(list, 2);
+
+        ListListenerHelper.fireValueChangedEvent(helper, change);
+        invalidationListenerMock[0].check(null, 0);
+        invalidationListenerMock[1].check(list, 1);
+    }
 }
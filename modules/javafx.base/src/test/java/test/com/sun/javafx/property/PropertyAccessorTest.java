@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.javafx.property;
+
+import com.sun.javafx.property.PropertyAccessor;
+import java.lang.reflect.InvocationTargetException;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PropertyAccessorTest {
+
+    public static class Bean {
+        private final StringProperty name = new SimpleStringProperty(this, "name", "bean");
+
+        public StringProperty nameProperty() {
+            return name;
+        }
+
+        public String getName() {
+            return name.get();
+        }
+    }
+
+    public static class SubBean extends Bean {
+    }
+
+    public static class FailingBean {
+        public StringProperty nameProperty() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    public static class ErrorBean {
+        public StringProperty nameProperty() {
+            throw new StackOverflowError();
+        }
+    }
+
+    @Test
+    public void testAccessorsAreCachedPerClassAndName() {
+        PropertyAccessor accessor = PropertyAccessor.getAccessor(Bean.class, "name");
+        assertSame(accessor, PropertyAccessor.getAccessor(Bean.class, "name"));
+        assertNotSame(accessor, PropertyAccessor.getAccessor(SubBean.class, "name"));
+        assertNotSame(accessor, PropertyAccessor.getAccessor(Bean.class, "other"));
+        assertEquals(Bean.class, accessor.getContainingClass());
+        assertEquals("name", accessor.getName());
+    }
+
+    @Test
+    public void testGetProperty() {
+        Bean bean = new Bean();
+        PropertyAccessor accessor = PropertyAccessor.getAccessor(Bean.class, "name");
+        assertTrue(accessor.hasProperty());
+        assertSame(bean.nameProperty(), accessor.getProperty(bean));
+
+        SubBean subBean = new SubBean();
+        assertSame(subBean.nameProperty(), PropertyAccessor.getAccessor(SubBean.class, "name").getProperty(subBean));
+    }
+
+    @Test
+    public void testMissingProperty() {
+        PropertyAccessor accessor = PropertyAccessor.getAccessor(Bean.class, "other");
+        assertFalse(accessor.hasProperty());
+        assertThrows(IllegalStateException.class, () -> accessor.getProperty(new Bean()));
+    }
+
+    @Test
+    public void testExceptionInPropertyGetterIsWrapped() {
+        PropertyAccessor accessor = PropertyAccessor.getAccessor(FailingBean.class, "name");
+        RuntimeException ex = assertThrows(RuntimeException.class, () -> accessor.getProperty(new FailingBean()));
+        assertTrue(ex.getCause() instanceof InvocationTargetException);
+        assertTrue(ex.getCause().getCause() instanceof UnsupportedOperationException);
+    }
+
+    @Test
+    public void testErrorInPropertyGetterIsNotWrapped() {
+        PropertyAccessor accessor = PropertyAccessor.getAccessor(ErrorBean.class, "name");
+        assertThrows(StackOverflowError.class, () -> accessor.getProperty(new ErrorBean()));
+    }
+
+    @Test
+    public void testNullBean() {
+        PropertyAccessor accessor = PropertyAccessor.getAccessor(Bean.class, "name");
+        assertThrows(RuntimeException.class, () -> accessor.getProperty(null));
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        assertThrows(NullPointerException.class, () -> PropertyAccessor.getAccessor(null, "name"));
+        assertThrows(NullPointerException.class, () -> PropertyAccessor.getAccessor(Bean.class, null));
+        assertThrows(IllegalArgumentException.class, () -> PropertyAccessor.getAccessor(Bean.class, " "));
+    }
+
+    @Test
+    public void testReturnsReadOnlyProperty() {
+        ReadOnlyProperty<?> property = PropertyAccessor.getAccessor(Bean.class, "name").getProperty(new Bean());
+        assertEquals("bean", property.getValue());
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.beans.value;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import test.com.sun.javafx.binding.ExpressionHelperUtility;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.binding.DoubleBinding;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.LongProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.beans.value.ObservableIntegerValue;
+import javafx.beans.value.ObservableLongValue;
+
+public class ObservableValuePrimitiveFluentBindingsTest {
+
+    @Test
+    void mapToDoubleShouldRejectNullMapper() {
+        DoubleProperty property = new SimpleDoubleProperty();
+
+        assertThrows(NullPointerException.class, () -> property.mapToDouble(null));
+    }
+
+    @Test
+    void mapToDoubleShouldApplyMappingWhenUnobserved() {
+        DoubleProperty property = new SimpleDoubleProperty(2);
+        AtomicInteger calls = new AtomicInteger();
+        ObservableDoubleValue mapped = property.mapToDouble(v -> {
+            calls.incrementAndGet();
+            return v * 10;
+        });
+
+        assertEquals(20.0, mapped.get());
+        property.set(3);
+        assertEquals(30.0, mapped.get());
+
+        // not observed, so each call recomputes the value
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void mapToDoubleShouldNotObserveSourceWhenUnobserved() {
+        DoubleProperty property = new SimpleDoubleProperty(2);
+        ObservableDoubleValue mapped = property.mapToDouble(v -> v * 10);
+        InvalidationListener listener = obs -> {};
+
+        mapped.get();
+        assertEquals(0, ExpressionHelperUtility.getInvalidationListeners(property).size());
+
+        mapped.addListener(listener);
+        assertEquals(1, ExpressionHelperUtility.getInvalidationListeners(property).size());
+
+        mapped.removeListener(listener);
+        assertEquals(0, ExpressionHelperUtility.getInvalidationListeners(property).size());
+    }
+
+    @Test
+    void mapToDoubleShouldNotifyChangesAndCacheValueWhenObserved() {
+        DoubleProperty property = new SimpleDoubleProperty(2);
+        AtomicInteger calls = new AtomicInteger();
+        ObservableDoubleValue mapped = property.mapToDouble(v -> {
+            calls.incrementAndGet();
+            return v * 10;
+        });
+        List<Number> values = new ArrayList<>();
+        ChangeListener<Number> listener = (obs, old, current) -> values.add(current);
+
+        mapped.addListener(listener);
+        calls.set(0);
+
+        property.set(3);
+        property.set(4);
+        mapped.get();
+        mapped.get();
+
+        assertEquals(List.of(30.0, 40.0), values);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void mapToDoubleShouldBeChainable() {
+        DoubleProperty property = new SimpleDoubleProperty(2);
+        ObservableDoubleValue mapped = property.mapToDouble(v -> v + 1).mapToDouble(v -> v * 2);
+        List<Number> values = new ArrayList<>();
+
+        mapped.addListener((obs, old, current) -> values.add(current));
+        property.set(4);
+
+        assertEquals(10.0, mapped.get());
+        assertEquals(List.of(10.0), values);
+    }
+
+    @Test
+    void mapToIntShouldApplyMapping() {
+        IntegerProperty property = new SimpleIntegerProperty(4);
+        ObservableIntegerValue mapped = property.mapToInt(i -> i + 1);
+        List<Number> values = new ArrayList<>();
+
+        assertEquals(5, mapped.get());
+        mapped.addListener((obs, old, current) -> values.add(current));
+        property.set(9);
+
+        assertEquals(10, mapped.get());
+        assertEquals(List.of(10), values);
+    }
+
+    @Test
+    void mapToLongShouldApplyMapping() {
+        LongProperty property = new SimpleLongProperty(3);
+        ObservableLongValue mapped = property.mapToLong(s -> s * 1000);
+        List<Number> values = new ArrayList<>();
+
+        assertEquals(3000L, mapped.get());
+        mapped.addListener((obs, old, current) -> values.add(current));
+        property.set(5);
+
+        assertEquals(5000L, mapped.get());
+        assertEquals(List.of(5000L), values);
+    }
+
+    @Test
+    void flatMapToDoubleShouldFollowIndirectSource() {
+        DoubleProperty a = new SimpleDoubleProperty(1);
+        DoubleProperty b = new SimpleDoubleProperty(2);
+        ObjectProperty<DoubleProperty> property = new SimpleObjectProperty<>(a);
+        ObservableDoubleValue mapped = property.flatMapToDouble(p -> p);
+        List<Number> values = new ArrayList<>();
+
+        assertEquals(1.0, mapped.get());
+        mapped.addListener((obs, old, current) -> values.add(current));
+
+        a.set(3);
+        property.set(b);
+        b.set(4);
+        a.set(5);  // no longer the indirect source
+
+        assertEquals(4.0, mapped.get());
+        assertEquals(List.of(3.0, 2.0, 4.0), values);
+    }
+
+    @Test
+    void flatMapToDoubleShouldBeZeroForNullValues() {
+        DoubleProperty a = new SimpleDoubleProperty(1);
+        ObjectProperty<String> property = new SimpleObjectProperty<>("a");
+        ObservableDoubleValue mapped = property.flatMapToDouble(s -> s.equals("a") ? a : null);
+
+        assertEquals(1.0, mapped.get());
+        property.set("b");
+        assertEquals(0.0, mapped.get());
+        property.set(null);
+        assertEquals(0.0, mapped.get());
+    }
+
+    @Test
+    void flatMapToDoubleShouldUnsubscribeIndirectSourceWhenUnobserved() {
+        DoubleProperty a = new SimpleDoubleProperty(1);
+        ObjectProperty<DoubleProperty> property = new SimpleObjectProperty<>(a);
+        ObservableDoubleValue mapped = property.flatMapToDouble(p -> p);
+        InvalidationListener listener = obs -> {};
+
+        mapped.addListener(listener);
+        assertEquals(1, ExpressionHelperUtility.getInvalidationListeners(a).size());
+
+        mapped.removeListener(listener);
+        assertEquals(0, ExpressionHelperUtility.getInvalidationListeners(a).size());
+    }
+
+    @Test
+    void flatMapToIntAndLongShouldFollowIndirectSource() {
+        IntegerProperty i = new SimpleIntegerProperty(7);
+        LongProperty l = new SimpleLongProperty(8);
+        ObjectProperty<String> property = new SimpleObjectProperty<>("x");
+
+        assertEquals(7, property.flatMapToInt(s -> i).get());
+        assertEquals(8L, property.flatMapToLong(s -> l).get());
+    }
+
+    @Test
+    void primitiveBindingsShouldTrackObservedState() {
+        AtomicInteger calls = new AtomicInteger();
+        DoubleBinding binding = new DoubleBinding() {
+            @Override
+            protected double computeValue() {
+                calls.incrementAndGet();
+                return 1;
+            }
+
+            @Override
+            protected boolean allowValidation() {
+                return isObserved();
+            }
+        };
+
+        binding.get();
+        binding.get();
+        assertFalse(binding.isValid());
+        assertEquals(2, calls.get());
+
+        InvalidationListener listener = obs -> {};
+        binding.addListener(listener);
+        binding.get();
+        binding.get();
+        assertTrue(binding.isValid());
+        assertEquals(3, calls.get());
+    }
+}
@@ -61,6 +61,8 @@ public class ObservableMapTest {
         Object[][] data = new Object[][] {
             { TestedObservableMaps.HASH_MAP },
             { TestedObservableMaps.TREE_MAP },
+            { TestedObservableMaps.NAVIGABLE_MAP },
+            { TestedObservableMaps.DESCENDING_NAVIGABLE_MAP },
             { TestedObservableMaps.LINKED_HASH_MAP },
             { TestedObservableMaps.CONCURRENT_HASH_MAP },
             { TestedObservableMaps.CHECKED_OBSERVABLE_HASH_MAP },
@@ -151,8 +153,9 @@ public class ObservableMapTest {
     @Test
     public void testPutRemove_NullKey() {
         if (mapFactory instanceof TestedObservableMaps.CallableConcurrentHashMapImpl ||
-                mapFactory instanceof TestedObservableMaps.CallableTreeMapImpl) {
-            return; // Do not perform on ConcurrentHashMap and TreeMap, as they doesn't accept null keys
+                mapFactory instanceof TestedObservableMaps.CallableTreeMapImpl ||
+                mapFactory instanceof TestedObservableMaps.CallableNavigableMapImpl) {
+            return; // Do not perform on ConcurrentHashMap and sorted maps, as they doesn't accept null keys
         }
 
         observableMap.put(null, "abc");
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.javafx.collections;
+
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeMap;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.ObservableNavigableMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObservableNavigableMapTest {
+
+    private ObservableNavigableMap<Integer, String> map;
+    private TreeMap<Integer, String> expected;
+
+    @BeforeEach
+    public void setUp() {
+        map = FXCollections.observableNavigableMap();
+        expected = new TreeMap<>();
+    }
+
+    private void put(int key) {
+        assertEquals(expected.put(key, "v" + key), map.put(key, "v" + key));
+    }
+
+    private static void assertSameMap(NavigableMap<Integer, String> expected, ObservableNavigableMap<Integer, String> actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), actual.size());
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+        int index = 0;
+        for (Map.Entry<Integer, String> e : expected.entrySet()) {
+            assertEquals(index, actual.indexOf(e.getKey()));
+            assertEquals(e, actual.getEntry(index));
+            index++;
+        }
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entryList()));
+    }
+
+    @Test
+    public void testSortedIteration() {
+        for (int key : new int[] { 5, 3, 9, 1, 7 }) {
+            put(key);
+        }
+        assertSameMap(expected, map);
+        assertEquals(1, (int) map.firstKey());
+        assertEquals(9, (int) map.lastKey());
+    }
+
+    @Test
+    public void testIndexOf() {
+        for (int i = 0; i < 100; i += 2) {
+            put(i);
+        }
+        assertEquals(0, map.indexOf(0));
+        assertEquals(10, map.indexOf(20));
+        assertEquals(49, map.indexOf(98));
+        assertEquals(-1, map.indexOf(21));
+        assertEquals(-1, map.indexOf(100));
+    }
+
+    @Test
+    public void testGetEntryOutOfBounds() {
+        put(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> map.getEntry(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> map.getEntry(1));
+    }
+
+    @Test
+    public void testNavigation() {
+        for (int i = 0; i < 10; i += 2) {
+            put(i);
+        }
+        for (int key = -1; key <= 10; key++) {
+            assertEquals(expected.lowerKey(key), map.lowerKey(key));
+            assertEquals(expected.floorKey(key), map.floorKey(key));
+            assertEquals(expected.ceilingKey(key), map.ceilingKey(key));
+            assertEquals(expected.higherKey(key), map.higherKey(key));
+            assertEquals(expected.ceilingEntry(key), map.ceilingEntry(key));
+        }
+        assertEquals(expected.pollFirstEntry(), map.pollFirstEntry());
+        assertEquals(expected.pollLastEntry(), map.pollLastEntry());
+        assertSameMap(expected, map);
+    }
+
+    @Test
+    public void testEmptyMap() {
+        assertTrue(map.isEmpty());
+        assertNull(map.firstEntry());
+        assertNull(map.pollFirstEntry());
+        assertThrows(NoSuchElementException.class, () -> map.firstKey());
+        assertTrue(map.entryList().isEmpty());
+    }
+
+    @Test
+    public void testComparator() {
+        ObservableNavigableMap<Integer, String> reversed = FXCollections.observableNavigableMap(Comparator.reverseOrder());
+        reversed.put(1, "a");
+        reversed.put(3, "c");
+        reversed.put(2, "b");
+        assertEquals(List.of(3, 2, 1), new ArrayList<>(reversed.keySet()));
+        assertEquals(0, reversed.indexOf(3));
+        assertEquals(2, reversed.indexOf(1));
+    }
+
+    @Test
+    public void testRangeViews() {
+        for (int i = 0; i < 20; i++) {
+            put(i);
+        }
+        assertSameMap(expected.subMap(3, true, 12, false), map.subMap(3, true, 12, false));
+        assertSameMap(expected.headMap(7, true), map.headMap(7, true));
+        assertSameMap(expected.tailMap(15, false), map.tailMap(15, false));
+        assertSameMap(expected.descendingMap(), map.descendingMap());
+        assertSameMap(expected.descendingMap().subMap(15, true, 4, false), map.descendingMap().subMap(15, 4));
+        assertSameMap(expected.subMap(2, true, 18, false).descendingMap().headMap(10, true),
+                map.subMap(2, 18).descendingMap().headMap(10, true));
+        assertEquals(-1, map.subMap(3, 12).indexOf(12));
+    }
+
+    @Test
+    public void testRangeViewRejectsKeysOutOfRange() {
+        ObservableNavigableMap<Integer, String> view = map.subMap(0, 10);
+        assertThrows(IllegalArgumentException.class, () -> view.put(10, "x"));
+        assertThrows(IllegalArgumentException.class, () -> view.subMap(5, 11));
+        assertThrows(IllegalArgumentException.class, () -> map.subMap(10, 0));
+        view.put(5, "x");
+        assertEquals("x", map.get(5));
+    }
+
+    @Test
+    public void testRangeViewListenerOnlyReceivesChangesInRange() {
+        ObservableNavigableMap<Integer, String> view = map.subMap(10, 20);
+        MockMapObserver<Integer, String> observer = new MockMapObserver<>();
+        view.addListener(observer);
+
+        map.put(5, "a");
+        map.put(15, "b");
+        map.put(25, "c");
+        map.put(15, "d");
+        map.remove(5);
+        map.remove(15);
+
+        assertEquals(3, observer.getCallsNumber());
+        observer.assertAdded(0, MockMapObserver.Tuple.tup(15, "b"));
+        observer.assertAdded(1, MockMapObserver.Tuple.tup(15, "d"));
+        observer.assertRemoved(1, MockMapObserver.Tuple.tup(15, "b"));
+        observer.assertRemoved(2, MockMapObserver.Tuple.tup(15, "d"));
+
+        view.removeListener(observer);
+        map.put(16, "e");
+        assertEquals(3, observer.getCallsNumber());
+    }
+
+    @Test
+    public void testEntryListChanges() {
+        ObservableList<Map.Entry<Integer, String>> list = map.entryList();
+        List<ListChangeListener.Change<? extends Map.Entry<Integer, String>>> changes = new ArrayList<>();
+        list.addListener((ListChangeListener<Map.Entry<Integer, String>>) c -> {
+            while (c.next()) {
+                if (c.wasReplaced()) {
+                    assertEquals(List.of(new SimpleImmutableEntry<>(2, "b")), c.getRemoved());
+                    assertEquals(List.of(new SimpleImmutableEntry<>(2, "x")), c.getAddedSubList());
+                }
+            }
+            changes.add(c);
+        });
+
+        map.put(1, "a");
+        map.put(3, "c");
+        map.put(2, "b");
+        assertEquals(List.of(1, 2, 3), list.stream().map(Map.Entry::getKey).toList());
+        map.put(2, "x");
+        map.remove(1);
+        assertEquals(List.of(new SimpleImmutableEntry<>(2, "x"), new SimpleImmutableEntry<>(3, "c")), list);
+        assertEquals(5, changes.size());
+        assertEquals(0, list.indexOf(new SimpleImmutableEntry<>(2, "x")));
+        assertEquals(-1, list.indexOf(new SimpleImmutableEntry<>(2, "b")));
+        assertThrows(UnsupportedOperationException.class, () -> list.add(new SimpleImmutableEntry<>(5, "e")));
+    }
+
+    @Test
+    public void testRandomOperationsOnViewsMatchTreeMap() {
+        Random random = new Random(42);
+        ObservableNavigableMap<Integer, String> view = map.subMap(100, true, 400, true).descendingMap();
+        NavigableMap<Integer, String> expectedView = expected.subMap(100, true, 400, true).descendingMap();
+
+        // Replay the changes of the entry list of the view on a plain list
+        List<Map.Entry<Integer, String>> replay = new ArrayList<>();
+        view.entryList().addListener((ListChangeListener<Map.Entry<Integer, String>>) c -> {
+            while (c.next()) {
+                replay.subList(c.getFrom(), c.getFrom() + c.getRemovedSize()).clear();
+                replay.addAll(c.getFrom(), c.getAddedSubList());
+            }
+        });
+
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(500);
+            switch (random.nextInt(3)) {
+                case 0, 1 -> assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+                default -> assertEquals(expected.remove(key), map.remove(key));
+            }
+            if (i % 500 == 0) {
+                assertSameMap(expected, map);
+                assertSameMap(expectedView, view);
+            }
+        }
+        assertSameMap(expected, map);
+        assertSameMap(expectedView, view);
+        assertEquals(new ArrayList<>(expectedView.entrySet()), replay);
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        for (int i = 0; i < 50; i++) {
+            put(i);
+        }
+        for (Iterator<Integer> it = map.keySet().iterator(); it.hasNext(); ) {
+            if (it.next() % 3 == 0) {
+                it.remove();
+            }
+        }
+        for (Iterator<Integer> it = map.descendingKeySet().iterator(); it.hasNext(); ) {
+            if (it.next() % 5 == 0) {
+                it.remove();
+            }
+        }
+        expected.keySet().removeIf(k -> k % 3 == 0 || k % 5 == 0);
+        assertSameMap(expected, map);
+    }
+
+    @Test
+    public void testClearView() {
+        for (int i = 0; i < 20; i++) {
+            put(i);
+        }
+        map.subMap(5, 15).clear();
+        expected.subMap(5, 15).clear();
+        assertSameMap(expected, map);
+    }
+}
@@ -32,6 +32,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import javafx.beans.property.SimpleMapProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableMap;
+import javafx.collections.ObservableNavigableMap;
 
 public interface TestedObservableMaps {
 
@@ -47,6 +48,10 @@ public interface TestedObservableMaps {
 
     Callable<ObservableMap<String, String>> SYNCHRONIZED_OBSERVABLE_HASH_MAP = () -> FXCollections.synchronizedObservableMap(FXCollections.observableMap(new HashMap<String, String>()));
 
+    Callable<ObservableMap<String, String>> NAVIGABLE_MAP = new CallableNavigableMapImpl(false);
+
+    Callable<ObservableMap<String, String>> DESCENDING_NAVIGABLE_MAP = new CallableNavigableMapImpl(true);
+
     Callable<ObservableMap<String, String>> OBSERVABLE_MAP_PROPERTY = () -> new SimpleMapProperty<>(FXCollections.observableMap(new HashMap<String, String>()));
 
     static class CallableTreeMapImpl implements Callable<ObservableMap<String, String>> {
@@ -59,6 +64,20 @@ public interface TestedObservableMaps {
         }
     }
 
+    static class CallableNavigableMapImpl implements Callable<ObservableMap<String, String>> {
+        private final boolean descending;
+
+        public CallableNavigableMapImpl(boolean descending) {
+            this.descending = descending;
+        }
+
+        @Override
+        public ObservableMap<String, String> call() throws Exception {
+            ObservableNavigableMap<String, String> map = FXCollections.observableNavigableMap();
+            return descending ? map.descendingMap() : map;
+        }
+    }
+
     static class CallableConcurrentHashMapImpl implements Callable<ObservableMap<String, String>> {
         public CallableConcurrentHashMapImpl() {
         }
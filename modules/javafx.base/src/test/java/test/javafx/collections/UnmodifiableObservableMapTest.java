@@ -59,6 +59,8 @@ public class UnmodifiableObservableMapTest {
         Object[][] data = new Object[][] {
             { TestedObservableMaps.HASH_MAP },
             { TestedObservableMaps.TREE_MAP },
+            { TestedObservableMaps.NAVIGABLE_MAP },
+            { TestedObservableMaps.DESCENDING_NAVIGABLE_MAP },
             { TestedObservableMaps.LINKED_HASH_MAP },
             { TestedObservableMaps.CONCURRENT_HASH_MAP },
             { TestedObservableMaps.CHECKED_OBSERVABLE_HASH_MAP },
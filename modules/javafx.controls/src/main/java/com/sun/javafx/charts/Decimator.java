@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.charts;
+
+import java.util.Arrays;
+
+/**
+ * A buffer of the display positions of the points of a chart series, which
+ * can be reduced to the resolution of the plot area before the points are
+ * turned into path elements. This keeps the number of path elements of a
+ * series proportional to the width of the chart rather than to the number of
+ * data items.
+ */
+public final class Decimator {
+
+    private double[] xs = new double[64];
+    private double[] ys = new double[64];
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public double getX(int index) {
+        return xs[index];
+    }
+
+    public double getY(int index) {
+        return ys[index];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(double x, double y) {
+        if (size == xs.length) {
+            xs = Arrays.copyOf(xs, size * 2);
+            ys = Arrays.copyOf(ys, size * 2);
+        }
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+
+    /**
+     * Sorts the points by x, keeping points with the same x in the order in
+     * which they were added. Points that are already sorted are left alone.
+     */
+    public void sortByX() {
+        int i = 1;
+        while (i < size && xs[i - 1] <= xs[i]) {
+            i++;
+        }
+        if (i >= size) return;
+
+        final int[] order = new int[size];
+        for (int j = 0; j < size; j++) {
+            order[j] = j;
+        }
+        mergeSort(order, new int[size], 0, size);
+        double[] sortedX = new double[xs.length];
+        double[] sortedY = new double[ys.length];
+        for (int j = 0; j < size; j++) {
+            sortedX[j] = xs[order[j]];
+            sortedY[j] = ys[order[j]];
+        }
+        xs = sortedX;
+        ys = sortedY;
+    }
+
+    /*
+     * Sorts the indices from start (inclusive) to end (exclusive) by the x of
+     * their points. Merge sort is stable, and sorting primitive indices rather
+     * than boxed ones avoids an object per point.
+     */
+    private void mergeSort(int[] order, int[] tmp, int start, int end) {
+        if (end - start < 2) return;
+        final int mid = (start + end) >>> 1;
+        mergeSort(order, tmp, start, mid);
+        mergeSort(order, tmp, mid, end);
+        if (xs[order[mid - 1]] <= xs[order[mid]]) return;
+
+        System.arraycopy(order, start, tmp, start, end - start);
+        int i = start;
+        int j = mid;
+        for (int k = start; k < end; k++) {
+            if (j >= end || (i < mid && xs[tmp[i]] <= xs[tmp[j]])) {
+                order[k] = tmp[i++];
+            } else {
+                order[k] = tmp[j++];
+            }
+        }
+    }
+
+    /**
+     * Replaces the points with the points of the given decimator.
+     *
+     * @param other the decimator whose points are copied
+     */
+    public void setAll(Decimator other) {
+        if (xs.length < other.size) {
+            xs = new double[other.xs.length];
+            ys = new double[other.ys.length];
+        }
+        System.arraycopy(other.xs, 0, xs, 0, other.size);
+        System.arraycopy(other.ys, 0, ys, 0, other.size);
+        size = other.size;
+    }
+
+    /**
+     * Reduces the points, which must be sorted by x, to at most four points
+     * for each column of the given width: the first and the last point in the
+     * column, and the points with the smallest and the largest y. A line
+     * through the remaining points covers the same columns and the same range
+     * of y in each column as a line through all points.
+     *
+     * @param columnWidth the width of a column, usually one pixel
+     */
+    public void reduceMinMax(double columnWidth) {
+        int out = 0;
+        int i = 0;
+        while (i < size) {
+            final double column = Math.floor(xs[i] / columnWidth);
+            final int first = i;
+            int min = i;
+            int max = i;
+            for (i++; i < size && Math.floor(xs[i] / columnWidth) == column; i++) {
+                if (ys[i] < ys[min]) min = i;
+                if (ys[i] > ys[max]) max = i;
+            }
+            final int last = i - 1;
+            final int low = Math.min(min, max);
+            final int high = Math.max(min, max);
+
+            // first <= low <= high <= last, and each point is moved to an
+            // index that is not greater than its own, so none of them is
+            // overwritten before it is moved
+            out = move(first, out);
+            if (low > first) out = move(low, out);
+            if (high > low) out = move(high, out);
+            if (last > high) out = move(last, out);
+        }
+        size = out;
+    }
+
+    /**
+     * Reduces the points, which must be sorted by x, to the given number of
+     * points with the Largest-Triangle-Three-Buckets algorithm. The first and
+     * the last point are kept, and the other points are divided into buckets,
+     * from each of which the point that forms the largest triangle with the
+     * point kept from the previous bucket and the average of the next bucket
+     * is kept. This preserves the visual shape of the line better than taking
+     * every nth point.
+     *
+     * @param threshold the number of points to keep, at least three
+     */
+    public void reduceLargestTriangle(int threshold) {
+        if (threshold < 3 || size <= threshold) return;
+
+        final double bucketSize = (double) (size - 2) / (threshold - 2);
+        double ax = xs[0];
+        double ay = ys[0];
+        int out = 1;
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            final int start = (int) (bucket * bucketSize) + 1;
+            final int end = Math.min((int) ((bucket + 1) * bucketSize) + 1, size - 1);
+            final int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, size);
+
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = end; j < nextEnd; j++) {
+                avgX += xs[j];
+                avgY += ys[j];
+            }
+            avgX /= nextEnd - end;
+            avgY /= nextEnd - end;
+
+            int best = start;
+            double bestArea = -1;
+            for (int j = start; j < end; j++) {
+                final double area = Math.abs((ax - avgX) * (ys[j] - ay) - (ax - xs[j]) * (avgY - ay));
+                if (area > bestArea) {
+                    bestArea = area;
+                    best = j;
+                }
+            }
+
+            // out <= start, and the next buckets are not written to yet
+            ax = xs[best];
+            ay = ys[best];
+            out = move(best, out);
+        }
+        size = move(size - 1, out);
+    }
+
+    private int move(int from, int to) {
+        xs[to] = xs[from];
+        ys[to] = ys[from];
+        return to + 1;
+    }
+}
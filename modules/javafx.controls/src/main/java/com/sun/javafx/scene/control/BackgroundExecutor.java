@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene.control;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.javafx.tk.Toolkit;
+
+/**
+ * The executors on which controls run their background work, unless the
+ * application provides an executor of its own: {@link #get()} for work that
+ * keeps a processor busy, such as sorting, filtering or measuring text, and
+ * {@link #getForBlockingWork()} for work that mostly waits, such as loading
+ * tree items from a file system or a database.
+ *
+ * <p>The work runs on bounded pools of daemon threads, which are created on
+ * demand, end after they have been idle for a while, and are shut down when
+ * the toolkit exits. Work submitted while all threads are busy is queued.
+ * Blocking work has a pool of its own, so that it never delays the other
+ * background work of the controls.</p>
+ */
+public final class BackgroundExecutor {
+
+    private static final int THREADS = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+    private static final int BLOCKING_THREADS = 16;
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private static ThreadPoolExecutor pool;
+    private static ThreadPoolExecutor blockingPool;
+
+    // set by tests to control when background work runs
+    private static Executor executor;
+
+    private BackgroundExecutor() {
+    }
+
+    /**
+     * Returns the executor for background work of controls.
+     */
+    public static synchronized Executor get() {
+        if (executor != null) {
+            return executor;
+        }
+        if (pool == null) {
+            pool = createPool(THREADS, "JavaFX Control Worker-");
+        }
+        return pool;
+    }
+
+    /**
+     * Returns the executor for background work of controls that blocks, for
+     * example on I/O.
+     */
+    public static synchronized Executor getForBlockingWork() {
+        if (executor != null) {
+            return executor;
+        }
+        if (blockingPool == null) {
+            blockingPool = createPool(BLOCKING_THREADS, "JavaFX Control Loader-");
+        }
+        return blockingPool;
+    }
+
+    /**
+     * Replaces the executors returned by {@link #get()} and
+     * {@link #getForBlockingWork()}, or restores the shared pools if
+     * {@code value} is null. Only meant to be used by tests.
+     */
+    public static synchronized void setExecutor(Executor value) {
+        executor = value;
+    }
+
+    private static ThreadPoolExecutor createPool(int threads, String name) {
+        final AtomicInteger count = new AtomicInteger();
+        final ThreadFactory factory = r -> {
+            Thread thread = new Thread(r, name + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        final ThreadPoolExecutor threadPool = new ThreadPoolExecutor(threads, threads,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), factory);
+        threadPool.allowCoreThreadTimeOut(true);
+        Toolkit.getToolkit().addShutdownHook(BackgroundExecutor::shutdown);
+        return threadPool;
+    }
+
+    private static synchronized void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+            pool = null;
+        }
+        if (blockingPool != null) {
+            blockingPool.shutdownNow();
+            blockingPool = null;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.scene.control;
+
+import java.util.Arrays;
+
+/**
+ * Caches the sizes (height for vertical, width for horizontal) of the items of
+ * a virtualized control. The cache is not expected to be complete: the size of
+ * an item is unknown until it has been set.
+ *
+ * <p>Sizes are stored in a primitive array. Two Fenwick trees keep the prefix
+ * sums of the known sizes and the prefix counts of the known items, so that the
+ * offset of an item and the item at an offset can be determined in logarithmic
+ * time, using an estimated size for the items whose size is unknown.</p>
+ */
+public final class ItemSizeCache {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Sizes of the items, NaN if unknown
+    private double[] sizes = new double[0];
+
+    // Fenwick trees (1-based) over the known sizes and the number of known items
+    private double[] sumTree = new double[1];
+    private int[] countTree = new int[1];
+
+    private int size;
+
+    /**
+     * Returns the number of items the cache has room for. The sizes of items
+     * at or beyond this index are unknown.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all sizes from the cache.
+     */
+    public void clear() {
+        Arrays.fill(sizes, 0, size, Double.NaN);
+        Arrays.fill(sumTree, 0d);
+        Arrays.fill(countTree, 0);
+        size = 0;
+    }
+
+    /**
+     * Returns the size of an item, or -1 if the size is not known.
+     */
+    public double get(int index) {
+        if (index < 0 || index >= size) {
+            return -1;
+        }
+        double value = sizes[index];
+        return Double.isNaN(value) ? -1 : value;
+    }
+
+    /**
+     * Sets the size of an item, making room for it in the cache if needed.
+     */
+    public void set(int index, double value) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (index >= size) {
+            ensureCapacity(index + 1);
+            size = index + 1;
+        }
+        double old = sizes[index];
+        sizes[index] = value;
+        if (Double.isNaN(old)) {
+            update(index, value, 1);
+        } else {
+            update(index, value - old, 0);
+        }
+    }
+
+    /**
+     * Returns the sum of the known sizes of the items before {@code end}.
+     */
+    public double knownSum(int end) {
+        double sum = 0;
+        for (int i = Math.min(end, size); i > 0; i -= i & -i) {
+            sum += sumTree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number of items before {@code end} whose size is known.
+     */
+    public int knownCount(int end) {
+        int count = 0;
+        for (int i = Math.min(end, size); i > 0; i -= i & -i) {
+            count += countTree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Returns the offset of the start of an item, which is the sum of the sizes
+     * of all items before it. Items with an unknown size, including all items
+     * beyond the end of the cache, are assumed to have the estimated size.
+     */
+    public double offsetOf(int index, double estimate) {
+        if (index <= 0) {
+            return 0;
+        }
+        return knownSum(index) + (index - knownCount(index)) * estimate;
+    }
+
+    /**
+     * Returns the index of the item that contains the specified offset, which
+     * is the largest index whose {@link #offsetOf(int, double) offset} is not
+     * greater than the specified offset. Items with an unknown size, including
+     * all items beyond the end of the cache, are assumed to have the estimated
+     * size, which must not be negative. The returned index is not bounded by
+     * the size of the cache; {@code Integer.MAX_VALUE} is returned if the
+     * offset is never reached.
+     */
+    public int indexAt(double offset, double estimate) {
+        int pos = 0;
+        double remaining = offset;
+        for (int step = Integer.highestOneBit(Math.max(size, 1)); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= size) {
+                double length = sumTree[next] + (step - countTree[next]) * estimate;
+                if (length <= remaining) {
+                    pos = next;
+                    remaining -= length;
+                }
+            }
+        }
+        if (pos < size || remaining < 0) {
+            return pos;
+        }
+        // The offset lies beyond the cached items
+        if (!(estimate > 0)) {
+            return Integer.MAX_VALUE;
+        }
+        double beyond = Math.floor(remaining / estimate);
+        return beyond >= Integer.MAX_VALUE - pos ? Integer.MAX_VALUE : pos + (int) beyond;
+    }
+
+    private void update(int index, double delta, int countDelta) {
+        for (int i = index + 1; i < sumTree.length; i += i & -i) {
+            sumTree[i] += delta;
+            countTree[i] += countDelta;
+        }
+    }
+
+    private void ensureCapacity(int minCapacity) {
+        int capacity = sizes.length;
+        if (minCapacity <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(minCapacity, Math.max(INITIAL_CAPACITY, capacity * 2));
+        sizes = Arrays.copyOf(sizes, newCapacity);
+        Arrays.fill(sizes, capacity, newCapacity, Double.NaN);
+
+        // Rebuild the trees in linear time
+        sumTree = new double[newCapacity + 1];
+        countTree = new int[newCapacity + 1];
+        for (int i = 1; i <= newCapacity; i++) {
+            double value = sizes[i - 1];
+            if (!Double.isNaN(value)) {
+                sumTree[i] += value;
+                countTree[i]++;
+            }
+            int parent = i + (i & -i);
+            if (parent <= newCapacity) {
+                sumTree[parent] += sumTree[i];
+                countTree[parent] += countTree[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene.control;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+
+/**
+ * An index of the text of the items of an observable list, sorted so that the
+ * items whose text starts with a given prefix can be found without converting
+ * every item to text. Matching ignores case.
+ * <p>
+ * The index is kept up to date from the changes of the list, converting only
+ * the added and updated items to text. Each change produces a new immutable
+ * {@link Snapshot}, which may be searched on any thread.
+ */
+public final class PrefixIndex<T> {
+
+    private final ObservableList<T> items;
+    private final Function<? super T, String> converter;
+
+    private final ListChangeListener<T> itemsListener = this::itemsChanged;
+    private final WeakListChangeListener<T> weakItemsListener = new WeakListChangeListener<>(itemsListener);
+
+    private Snapshot snapshot;
+    private Runnable onChanged;
+
+    /**
+     * Creates an index of the given items, converted to text by the given
+     * function. The function is only called on the thread that modifies the
+     * items.
+     */
+    public PrefixIndex(ObservableList<T> items, Function<? super T, String> converter) {
+        this(items, converter, snapshotOf(items, converter));
+    }
+
+    /**
+     * Creates an index of the given items from a snapshot of them, which was
+     * created by {@link #snapshotOf} with the same function, and which must
+     * reflect the current items.
+     */
+    public PrefixIndex(ObservableList<T> items, Function<? super T, String> converter, Snapshot snapshot) {
+        this.items = items;
+        this.converter = converter;
+        this.snapshot = snapshot;
+        items.addListener(weakItemsListener);
+    }
+
+    /**
+     * Creates a snapshot of the text of the given items. Unlike the index
+     * itself, this may be called on any thread, for example to index a copy
+     * of a large list in the background.
+     */
+    public static <T> Snapshot snapshotOf(List<T> items, Function<? super T, String> converter) {
+        final int size = items.size();
+        final String[] keys = new String[size];
+        final int[] rows = new int[size];
+        for (int row = 0; row < size; row++) {
+            keys[row] = normalize(converter.apply(items.get(row)));
+            rows[row] = row;
+        }
+        return sorted(keys, rows, size);
+    }
+
+    /**
+     * Returns the first row at or after {@code start} whose text starts with
+     * the given prefix, continuing from the first row if there is no such
+     * row, or -1 if no text starts with the prefix, like
+     * {@link Snapshot#find}, but by converting the items one by one rather
+     * than using an index.
+     */
+    public static <T> int find(List<T> items, Function<? super T, String> converter, String prefix, int start) {
+        final String p = normalize(prefix);
+        final int size = items.size();
+        final int first = Math.max(0, Math.min(start, size));
+        for (int i = 0; i < size; i++) {
+            final int row = (first + i) % size;
+            if (normalize(converter.apply(items.get(row))).startsWith(p)) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the items this index was created for.
+     */
+    public ObservableList<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Returns the current state of the index.
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Sets a callback to run after the index is updated from a change of the
+     * items.
+     */
+    public void setOnChanged(Runnable onChanged) {
+        this.onChanged = onChanged;
+    }
+
+    /**
+     * Stops updating the index from the changes of the items.
+     */
+    public void dispose() {
+        items.removeListener(weakItemsListener);
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private String key(T item) {
+        return normalize(converter.apply(item));
+    }
+
+    private void itemsChanged(ListChangeListener.Change<? extends T> c) {
+        Snapshot s = snapshot;
+        while (c.next()) {
+            final int from = c.getFrom();
+            final int to = c.getTo();
+            if (c.wasPermutated()) {
+                final int[] rows = s.rows.clone();
+                for (int i = 0; i < rows.length; i++) {
+                    if (rows[i] >= from && rows[i] < to) {
+                        rows[i] = c.getPermutation(rows[i]);
+                    }
+                }
+                s = new Snapshot(s.keys, rows);
+            } else if (c.wasUpdated()) {
+                s = s.remove(from, to, 0).insert(from, to, row -> key(items.get(row)));
+            } else {
+                final int removed = c.getRemovedSize();
+                final int added = c.getAddedSize();
+                s = s.remove(from, from + removed, added - removed);
+                if (added > 0) {
+                    s = s.insert(from, from + added, row -> key(items.get(row)));
+                }
+            }
+        }
+        snapshot = s;
+        if (onChanged != null) {
+            onChanged.run();
+        }
+    }
+
+    private interface KeyFunction {
+        String key(int row);
+    }
+
+    private static Snapshot sorted(String[] keys, int[] rows, int size) {
+        final Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i1, i2) -> keys[i1].compareTo(keys[i2]));
+        final String[] sortedKeys = new String[size];
+        final int[] sortedRows = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedKeys[i] = keys[order[i]];
+            sortedRows[i] = rows[order[i]];
+        }
+        return new Snapshot(sortedKeys, sortedRows);
+    }
+
+    /**
+     * The state of a {@code PrefixIndex} at one point in time: the normalized
+     * text of every item in ascending order, with the row of the item.
+     */
+    public static final class Snapshot {
+        private final String[] keys;
+        private final int[] rows;
+
+        private Snapshot(String[] keys, int[] rows) {
+            this.keys = keys;
+            this.rows = rows;
+        }
+
+        /**
+         * Returns the number of indexed items.
+         */
+        public int size() {
+            return keys.length;
+        }
+
+        /**
+         * Returns the first row at or after {@code start} whose text starts
+         * with the given prefix, continuing from the first row if there is no
+         * such row, or -1 if no text starts with the prefix.
+         */
+        public int find(String prefix, int start) {
+            final String p = normalize(prefix);
+            int first = -1;
+            int next = -1;
+            for (int i = lowerBound(p); i < keys.length && keys[i].startsWith(p); i++) {
+                final int row = rows[i];
+                if (first == -1 || row < first) {
+                    first = row;
+                }
+                if (row >= start && (next == -1 || row < next)) {
+                    next = row;
+                }
+            }
+            return next != -1 ? next : first;
+        }
+
+        /**
+         * Returns the rows whose text starts with the given prefix, in
+         * ascending order.
+         */
+        public int[] match(String prefix) {
+            final String p = normalize(prefix);
+            final int lo = lowerBound(p);
+            int hi = lo;
+            while (hi < keys.length && keys[hi].startsWith(p)) {
+                hi++;
+            }
+            final int[] result = Arrays.copyOfRange(rows, lo, hi);
+            Arrays.sort(result);
+            return result;
+        }
+
+        private int lowerBound(String key) {
+            int lo = 0;
+            int hi = keys.length;
+            while (lo < hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (keys[mid].compareTo(key) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        // removes the entries of the rows from start to end, and moves the
+        // rows from end by the given shift
+        private Snapshot remove(int start, int end, int shift) {
+            final String[] newKeys = new String[keys.length - (end - start)];
+            final int[] newRows = new int[newKeys.length];
+            int n = 0;
+            for (int i = 0; i < keys.length; i++) {
+                final int row = rows[i];
+                if (row >= start && row < end) {
+                    continue;
+                }
+                newKeys[n] = keys[i];
+                newRows[n] = row >= end ? row + shift : row;
+                n++;
+            }
+            return new Snapshot(newKeys, newRows);
+        }
+
+        // adds entries for the rows from start to end, which must not be in
+        // this snapshot
+        private Snapshot insert(int start, int end, KeyFunction keyFunction) {
+            final int count = end - start;
+            final String[] keysToAdd = new String[count];
+            final int[] rowsToAdd = new int[count];
+            for (int row = start; row < end; row++) {
+                keysToAdd[row - start] = keyFunction.key(row);
+                rowsToAdd[row - start] = row;
+            }
+            final Snapshot added = sorted(keysToAdd, rowsToAdd, count);
+
+            // merge the two sorted snapshots
+            final String[] newKeys = new String[keys.length + count];
+            final int[] newRows = new int[newKeys.length];
+            int i = 0;
+            int j = 0;
+            for (int n = 0; n < newKeys.length; n++) {
+                if (j == count || (i < keys.length && keys[i].compareTo(added.keys[j]) <= 0)) {
+                    newKeys[n] = keys[i];
+                    newRows[n] = rows[i++];
+                } else {
+                    newKeys[n] = added.keys[j];
+                    newRows[n] = added.rows[j++];
+                }
+            }
+            return new Snapshot(newKeys, newRows);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package com.sun.javafx.scene.control;
+
+/**
+ * A fixed-size sequence of non-negative row counts, such as the number of rows
+ * each child of a tree item occupies. A Fenwick tree keeps the prefix sums of
+ * the counts, so that the row at which an element starts and the element that
+ * contains a given row can be determined in logarithmic time.
+ */
+public final class RowCountIndex {
+
+    private final int[] counts;
+
+    // Fenwick tree (1-based) over the counts
+    private final int[] tree;
+
+    private int total;
+
+    /**
+     * Creates an index over the given counts. The array is owned by the index
+     * after this call, and must not be modified by the caller.
+     */
+    public RowCountIndex(int[] counts) {
+        this.counts = counts;
+        int size = counts.length;
+        tree = new int[size + 1];
+
+        // Build the tree in linear time
+        for (int i = 1; i <= size; i++) {
+            tree[i] += counts[i - 1];
+            total += counts[i - 1];
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of elements in the index.
+     */
+    public int size() {
+        return counts.length;
+    }
+
+    /**
+     * Returns the sum of all counts.
+     */
+    public int total() {
+        return total;
+    }
+
+    /**
+     * Returns the count of an element.
+     */
+    public int get(int index) {
+        return counts[index];
+    }
+
+    /**
+     * Sets the count of an element.
+     */
+    public void set(int index, int count) {
+        int delta = count - counts[index];
+        if (delta == 0) {
+            return;
+        }
+        counts[index] = count;
+        total += delta;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the sum of the counts of the elements before {@code end}, which
+     * is the row at which the element at {@code end} starts.
+     */
+    public int sum(int end) {
+        int sum = 0;
+        for (int i = Math.min(end, counts.length); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the index of the element that contains the given row, which is
+     * the first element with a non-zero count whose rows extend past
+     * {@code row}, or {@link #size()} if {@code row} is not less than the
+     * {@link #total()}.
+     */
+    public int indexAt(int row) {
+        int size = counts.length;
+        int pos = 0;
+        int remaining = row;
+        for (int step = Integer.highestOneBit(Math.max(size, 1)); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= size && tree[next] <= remaining) {
+                pos = next;
+                remaining -= tree[next];
+            }
+        }
+        return pos;
+    }
+}
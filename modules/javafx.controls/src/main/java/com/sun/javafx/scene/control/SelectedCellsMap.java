@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -22,203 +22,895 @@
  * or visit www.oracle.com if you need additional information or have any
  * questions.
  */
+
 package com.sun.javafx.scene.control;
 
-import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
-import javafx.collections.ObservableList;
-import javafx.collections.transformation.SortedList;
 import javafx.scene.control.TablePositionBase;
 
-import java.util.*;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
 
 /**
  * Implementation code used by the TableSelectionModel implementations. In short
  * this code exists to speed up some common use cases which were incredibly
  * slow in the old approach. The old approach essentially required a lot of
- * iterating through the selectedCells list. The new approach is to keep this
- * list for what it is good for (representing selection order primarily), and
- * introduce a Map<Integer, BitSet> to speed up the slow parts - namely looking
- * up whether a given row/column intersection is selected or not.
+ * iterating through the selectedCells list, and kept one position object per
+ * selected cell, so selecting all cells of a large table could allocate
+ * millions of objects.
+ *
+ * The selection is now kept as a sorted list of disjoint row ranges, where
+ * each range maps to the sorted indices of the columns that are selected in
+ * every row of the range. Selecting all cells of a table is therefore a single
+ * range, and looking up whether a given row/column intersection is selected, or
+ * which cell is at a given index of the (row, then column ordered) selection,
+ * is a binary search. The column index -1 represents a position without a
+ * column, such as a row selected in row selection mode. Lower column indices
+ * are left to the owner of the map, for example to keep the cells of hidden
+ * columns selected.
  *
- * Note that a map that contains an empty bitset is used to represent that the
- * row is selected.
+ * Positions that are added explicitly are retained and returned as-is, while
+ * positions that are selected as part of a range are only created, using the
+ * cell factory, when they are requested. Change events describe the affected
+ * cells as index ranges of the selection, and the removed cells as a lazy
+ * snapshot of the previous selection.
  *
  * Refer to RT-33442 for more information on this issue.
  */
 // T == TablePosition<S,?>
 public abstract class SelectedCellsMap<T extends TablePositionBase> {
-    private final ObservableList<T> selectedCells;
-    private final ObservableList<T> sortedSelectedCells;
 
-    private final Map<Integer, BitSet> selectedCellBitSetMap;
+    /**
+     * Creates the position for the given row and visible column index, for
+     * cells that were selected as part of a range.
+     *
+     * @param <T> the type of the position
+     */
+    @FunctionalInterface
+    public interface CellFactory<T> {
+        T createCell(int row, int column);
+    }
+
+    /**
+     * The column index to which {@link #remapColumns} maps the columns whose
+     * cells are to be deselected.
+     */
+    public static final int DESELECTED = Integer.MIN_VALUE;
+
+    private static final int[] NO_COLUMNS = new int[0];
+    private static final int[] EMPTY_PERM = new int[0];
+
+    // orders positions by row and then by column
+    private final Comparator<T> cellOrder = (a, b) -> a.getRow() != b.getRow() ?
+            Integer.compare(a.getRow(), b.getRow()) : Integer.compare(a.getColumn(), b.getColumn());
+
+    private final ListChangeListener<T> listener;
+    private final CellFactory<T> cellFactory;
+    private final SelectedCellsList selectedCells = new SelectedCellsList();
+
+    private Ranges ranges = Ranges.EMPTY;
+
+    // the positions that were added explicitly, keyed by row and column. The
+    // map is shared with snapshots of the selection, so it is copied before it
+    // is modified if a snapshot was taken.
+    private Map<Long, T> cells = new HashMap<>();
+    private boolean cellsShared;
 
     public SelectedCellsMap(final ListChangeListener<T> listener) {
-        selectedCells = FXCollections.<T>observableArrayList();
-        sortedSelectedCells = new SortedList<>(selectedCells, (T o1, T o2) -> {
-            int result = o1.getRow() - o2.getRow();
-            return result == 0 ? (o1.getColumn() - o2.getColumn()) : result;
-        });
-        sortedSelectedCells.addListener(listener);
+        this(listener, null);
+    }
 
-        selectedCellBitSetMap = new TreeMap<>((o1, o2) -> o1.compareTo(o2));
+    /**
+     * Creates a map that supports selecting ranges of cells, using the given
+     * factory to create the positions of those cells when they are requested.
+     */
+    public SelectedCellsMap(final ListChangeListener<T> listener, final CellFactory<T> cellFactory) {
+        this.listener = listener;
+        this.cellFactory = cellFactory;
     }
 
     public abstract boolean isCellSelectionEnabled();
 
     public int size() {
-        return selectedCells.size();
+        return toInt(ranges.size());
     }
 
     public T get(int i) {
         if (i < 0) {
             return null;
         }
-        return sortedSelectedCells.get(i);
+        Objects.checkIndex(i, size());
+        return getCell(ranges, cells, cellFactory, i);
     }
 
     public void add(T tp) {
         final int row = tp.getRow();
         final int columnIndex = tp.getColumn();
 
-        // update the bitset map
-        boolean isNewBitSet = false;
-        BitSet bitset;
-        if (! selectedCellBitSetMap.containsKey(row)) {
-            bitset = new BitSet();
-            selectedCellBitSetMap.put(row, bitset);
-            isNewBitSet = true;
-        } else {
-            bitset = selectedCellBitSetMap.get(row);
+        // in row selection mode, only the first position added to a row is kept
+        final boolean isAlreadySet = isCellSelectionEnabled() ?
+                ranges.indexOf(row, columnIndex) >= 0 : ranges.containsRow(row);
+        if (isAlreadySet) {
+            return;
         }
 
-        final boolean cellSelectionModeEnabled = isCellSelectionEnabled();
+        ranges = ranges.merge(Ranges.of(row, row + 1, new int[] { columnIndex }), true);
+        putCell(tp);
 
-        if (cellSelectionModeEnabled) {
-            if (columnIndex >= 0) {
-                boolean isAlreadySet = bitset.get(columnIndex);
+        final int index = toInt(ranges.indexOf(row, columnIndex));
+        fireChange(new int[] { index, index + 1 }, Collections.emptyList());
+    }
+
+    public void addAll(Collection<T> cells) {
+        if (cells.isEmpty()) {
+            return;
+        }
 
-                if (!isAlreadySet) {
-                    bitset.set(columnIndex);
+        final List<T> sortedCells = new ArrayList<>(cells);
+        sortedCells.sort(cellOrder);
 
-                    // add into the list
-                    selectedCells.add(tp);
-                }
-            } else {
-                // FIXME slow path (for now)
-                if (!selectedCells.contains(tp)) {
-                    selectedCells.add(tp);
-                }
+        copyCellsIfShared();
+        for (T tp : sortedCells) {
+            if (ranges.indexOf(tp.getRow(), tp.getColumn()) < 0) {
+                this.cells.putIfAbsent(key(tp.getRow(), tp.getColumn()), tp);
             }
+        }
+
+        final Ranges oldRanges = ranges;
+        final Ranges added = rangesOf(sortedCells);
+        ranges = oldRanges.merge(added, true);
+        fireChange(added(oldRanges, ranges, added.firstRow(), added.lastRow() + 1), Collections.emptyList());
+    }
+
+    /**
+     * Selects the cells in the rows from {@code fromRow} (inclusive) to
+     * {@code toRow} (exclusive) and the columns from {@code fromColumn}
+     * (inclusive) to {@code toColumn} (exclusive), without creating their
+     * positions.
+     */
+    public void addAll(int fromRow, int toRow, int fromColumn, int toColumn) {
+        final Ranges added = Ranges.of(fromRow, toRow, columns(fromColumn, toColumn));
+        if (added.isEmpty()) {
+            return;
+        }
+
+        final Ranges oldRanges = ranges;
+        ranges = oldRanges.merge(added, true);
+        fireChange(added(oldRanges, ranges, fromRow, toRow), Collections.emptyList());
+    }
+
+    public void setAll(Collection<T> cells) {
+        final List<T> sortedCells = new ArrayList<>(cells);
+        sortedCells.sort(cellOrder);
+
+        final Map<Long, T> newCells = new HashMap<>();
+        for (T tp : sortedCells) {
+            newCells.putIfAbsent(key(tp.getRow(), tp.getColumn()), tp);
+        }
+        replace(rangesOf(sortedCells), newCells);
+    }
+
+    /**
+     * Replaces the selection with the cells in the rows from {@code fromRow}
+     * (inclusive) to {@code toRow} (exclusive) and the columns from
+     * {@code fromColumn} (inclusive) to {@code toColumn} (exclusive), without
+     * creating their positions.
+     */
+    public void setAll(int fromRow, int toRow, int fromColumn, int toColumn) {
+        replace(Ranges.of(fromRow, toRow, columns(fromColumn, toColumn)), new HashMap<>());
+    }
+
+    public void remove(T tp) {
+        final int row = tp.getRow();
+        final int columnIndex = tp.getColumn();
+
+        final long index = ranges.indexOf(row, columnIndex);
+        if (index < 0) {
+            return;
+        }
+
+        final T removed = getCell(ranges, cells, cellFactory, index);
+        ranges = ranges.merge(Ranges.of(row, row + 1, new int[] { columnIndex }), false);
+        if (cells.containsKey(key(row, columnIndex))) {
+            copyCellsIfShared();
+            cells.remove(key(row, columnIndex));
+        }
+
+        fireChange(new int[] { toInt(index), toInt(index) }, Collections.singletonList(removed));
+    }
+
+    public void clear() {
+        replace(Ranges.EMPTY, new HashMap<>());
+    }
+
+    /**
+     * Updates the column indices of the selection after the visible columns
+     * have changed, for example because a column was hidden, moved or removed.
+     * {@code columnMap} returns the new index of the cells at the given column
+     * index, or {@link #DESELECTED} to remove them from the selection. It is
+     * not called for the column index -1.
+     */
+    public void remapColumns(IntUnaryOperator columnMap) {
+        final Ranges newRanges = ranges.remap(columnMap);
+        if (newRanges == ranges) {
+            return;
+        }
+
+        // the positions of cells that moved are created again by the cell
+        // factory, so that they report their new column index
+        final Map<Long, T> newCells = new HashMap<>();
+        for (Map.Entry<Long, T> entry : cells.entrySet()) {
+            final int column = (int) entry.getKey().longValue();
+            final int newColumn = mapColumn(columnMap, column);
+            final T tp = entry.getValue();
+            if (newColumn == column) {
+                newCells.put(entry.getKey(), tp);
+            } else if (cellFactory == null && newColumn != DESELECTED) {
+                newCells.put(key(tp.getRow(), newColumn), tp);
+            }
+        }
+        replace(newRanges, newCells);
+    }
+
+    public boolean isSelected(int row, int columnIndex) {
+        if (columnIndex < 0) {
+            return ranges.containsRow(row);
         } else {
-            if (isNewBitSet) {
-                if (columnIndex >= 0) {
-                    bitset.set(columnIndex);
+            return ranges.indexOf(row, columnIndex) >= 0;
+        }
+    }
+
+    /**
+     * Returns the index of the cell at the row and column of the given
+     * position, or -1 if that cell is not selected.
+     */
+    public int indexOf(T tp) {
+        return toInt(ranges.indexOf(tp.getRow(), tp.getColumn()));
+    }
+
+    public boolean isEmpty() {
+        return ranges.isEmpty();
+    }
+
+    /**
+     * Returns a live, read-only view of the selected cells, ordered by row
+     * and then by column.
+     */
+    public ReadOnlyUnbackedObservableList<T> getSelectedCells() {
+        return selectedCells;
+    }
+
+    /**
+     * Returns the positions of the selected cells in the given row.
+     */
+    public List<T> getSelectedCells(int row) {
+        final int i = ranges.find(row);
+        if (i < 0) {
+            return Collections.emptyList();
+        }
+
+        final int[] columns = ranges.columns[i];
+        final long firstIndex = ranges.indexOf(row, columns[0]);
+        final List<T> result = new ArrayList<>(columns.length);
+        for (int c = 0; c < columns.length; c++) {
+            result.add(getCell(ranges, cells, cellFactory, firstIndex + c));
+        }
+        return result;
+    }
+
+    /**
+     * Returns a copy of the current selection. The copy shares its state with
+     * this map, so it is cheap to create regardless of the number of selected
+     * cells, and it only creates the positions of the cells that are read.
+     */
+    public Cells<T> snapshot() {
+        cellsShared = true;
+        return new Cells<>(ranges, cells, cellFactory, 0, size());
+    }
+
+    /**
+     * Returns the distinct rows of the given positions, in the order in which
+     * they occur. This avoids creating the positions of lists that were
+     * returned by this class.
+     */
+    public static IntStream rowsOf(List<? extends TablePositionBase<?>> positions) {
+        if (positions instanceof Cells) {
+            return ((Cells<?>) positions).rows();
+        }
+        return positions.stream().mapToInt(TablePositionBase::getRow).distinct();
+    }
+
+    private void replace(Ranges newRanges, Map<Long, T> newCells) {
+        final Cells<T> removed = snapshot();
+
+        ranges = newRanges;
+        cells = newCells;
+        cellsShared = false;
+
+        if (!removed.isEmpty() || !newRanges.isEmpty()) {
+            fireChange(new int[] { 0, size() }, removed);
+        }
+    }
+
+    private void putCell(T tp) {
+        copyCellsIfShared();
+        cells.put(key(tp.getRow(), tp.getColumn()), tp);
+    }
+
+    private void copyCellsIfShared() {
+        if (cellsShared) {
+            cells = new HashMap<>(cells);
+            cellsShared = false;
+        }
+    }
+
+    private void fireChange(int[] bounds, List<T> removed) {
+        if (bounds.length > 0) {
+            listener.onChanged(new RangeChange(bounds, removed));
+        }
+    }
+
+    private int[] columns(int fromColumn, int toColumn) {
+        if (cellFactory == null) {
+            throw new IllegalStateException("A cell factory is required to select a range of cells");
+        }
+        return fromColumn < toColumn ? IntStream.range(fromColumn, toColumn).toArray() : NO_COLUMNS;
+    }
+
+    // the positions must be sorted by row and column
+    private Ranges rangesOf(List<T> positions) {
+        final Builder builder = new Builder();
+        int[] columns = new int[8];
+        int i = 0;
+        while (i < positions.size()) {
+            final int row = positions.get(i).getRow();
+            int n = 0;
+            for (; i < positions.size() && positions.get(i).getRow() == row; i++) {
+                final int column = positions.get(i).getColumn();
+                if (n == 0 || columns[n - 1] != column) {
+                    columns = ensureCapacity(columns, n + 1);
+                    columns[n++] = column;
                 }
-                selectedCells.add(tp);
             }
+            builder.add(row, row + 1, Arrays.copyOf(columns, n));
         }
+        return builder.build();
     }
 
-    public void addAll(Collection<T> cells) {
-        // update bitset
-        for (T tp : cells) {
-            final int row = tp.getRow();
-            final int columnIndex = tp.getColumn();
-
-            // update the bitset map
-            BitSet bitset;
-            if (! selectedCellBitSetMap.containsKey(row)) {
-                bitset = new BitSet();
-                selectedCellBitSetMap.put(row, bitset);
-            } else {
-                bitset = selectedCellBitSetMap.get(row);
+    private static int mapColumn(IntUnaryOperator columnMap, int column) {
+        return column == -1 ? column : columnMap.applyAsInt(column);
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static int toInt(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+
+    private static <T> T getCell(Ranges ranges, Map<Long, T> cells, CellFactory<T> cellFactory, long index) {
+        final int i = ranges.rangeAt(index);
+        final int[] columns = ranges.columns[i];
+        final long offset = index - ranges.offsets[i];
+        final int row = ranges.from[i] + (int) (offset / columns.length);
+        final int column = columns[(int) (offset % columns.length)];
+
+        T cell = cells.get(key(row, column));
+        if (cell == null) {
+            if (cellFactory == null) {
+                throw new IllegalStateException("No position was added for row " + row + ", column " + column);
             }
+            cell = cellFactory.createCell(row, column);
+        }
+        return cell;
+    }
 
-            if (columnIndex < 0) {
+    /*
+     * Returns the index ranges, as consecutive from/to pairs, of the cells in
+     * the given rows that are in the new ranges but not in the old ranges,
+     * where the new ranges contain all cells of the old ranges in these rows.
+     */
+    private static int[] added(Ranges oldRanges, Ranges newRanges, int fromRow, int toRow) {
+        int[] bounds = new int[8];
+        int size = 0;
+
+        int row = fromRow;
+        while (row < toRow) {
+            final int i = newRanges.find(row);
+            if (i < 0) {
+                final int next = -i - 1;
+                row = next < newRanges.count ? Math.min(newRanges.from[next], toRow) : toRow;
                 continue;
             }
 
-            bitset.set(columnIndex);
+            // find the rows from here on that share both their new and their old columns
+            int end = Math.min(newRanges.to[i], toRow);
+            final int[] oldColumns;
+            final int j = oldRanges.find(row);
+            if (j >= 0) {
+                end = Math.min(end, oldRanges.to[j]);
+                oldColumns = oldRanges.columns[j];
+            } else {
+                final int next = -j - 1;
+                if (next < oldRanges.count) {
+                    end = Math.min(end, oldRanges.from[next]);
+                }
+                oldColumns = NO_COLUMNS;
+            }
+
+            final int[] columns = newRanges.columns[i];
+            long index = newRanges.offsets[i] + (long) (row - newRanges.from[i]) * columns.length;
+            if (oldColumns.length == 0) {
+                // all cells of these rows are new, and they are contiguous
+                final long endIndex = index + (long) (end - row) * columns.length;
+                if (size > 0 && bounds[size - 1] == index) {
+                    bounds[size - 1] = toInt(endIndex);
+                } else {
+                    bounds = ensureCapacity(bounds, size + 2);
+                    bounds[size++] = toInt(index);
+                    bounds[size++] = toInt(endIndex);
+                }
+            } else if (oldColumns.length < columns.length) {
+                for (int r = row; r < end; r++) {
+                    for (int c = 0; c < columns.length; c++, index++) {
+                        if (Arrays.binarySearch(oldColumns, columns[c]) >= 0) {
+                            continue;
+                        }
+                        if (size > 0 && bounds[size - 1] == index) {
+                            bounds[size - 1]++;
+                        } else {
+                            bounds = ensureCapacity(bounds, size + 2);
+                            bounds[size++] = toInt(index);
+                            bounds[size++] = toInt(index + 1);
+                        }
+                    }
+                }
+            }
+            row = end;
         }
+        return Arrays.copyOf(bounds, size);
+    }
 
-        // add into the list
-        selectedCells.addAll(cells);
+    private static int[] ensureCapacity(int[] array, int capacity) {
+        return capacity <= array.length ? array : Arrays.copyOf(array, Math.max(capacity, array.length * 2));
     }
 
-    public void setAll(Collection<T> cells) {
-        // update bitset
-        selectedCellBitSetMap.clear();
-        for (T tp : cells) {
-            final int row = tp.getRow();
-            final int columnIndex = tp.getColumn();
-
-            // update the bitset map
-            BitSet bitset;
-            if (! selectedCellBitSetMap.containsKey(row)) {
-                bitset = new BitSet();
-                selectedCellBitSetMap.put(row, bitset);
+    private static int[] union(int[] a, int[] b) {
+        final int[] result = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                result[n++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                result[n++] = b[j++];
             } else {
-                bitset = selectedCellBitSetMap.get(row);
+                result[n++] = a[i++];
+                j++;
             }
+        }
+        return n == a.length ? a : Arrays.copyOf(result, n);
+    }
 
-            if (columnIndex < 0) {
-                continue;
+    private static int[] difference(int[] a, int[] b) {
+        final int[] result = new int[a.length];
+        int n = 0;
+        for (int value : a) {
+            if (Arrays.binarySearch(b, value) < 0) {
+                result[n++] = value;
             }
+        }
+        return n == a.length ? a : Arrays.copyOf(result, n);
+    }
 
-            bitset.set(columnIndex);
+    /*
+     * An immutable, sorted list of disjoint row ranges, along with the number
+     * of cells that precede each range.
+     */
+    private static final class Ranges {
+        static final Ranges EMPTY = new Ranges(new int[0], new int[0], new int[0][], 0);
+
+        final int[] from;
+        final int[] to;
+        final int[][] columns;
+        final long[] offsets;
+        final int count;
+
+        Ranges(int[] from, int[] to, int[][] columns, int count) {
+            this.from = from;
+            this.to = to;
+            this.columns = columns;
+            this.count = count;
+            this.offsets = new long[count + 1];
+            for (int i = 0; i < count; i++) {
+                offsets[i + 1] = offsets[i] + (long) (to[i] - from[i]) * columns[i].length;
+            }
         }
 
-        // add into the list
-        selectedCells.setAll(cells);
-    }
+        static Ranges of(int fromRow, int toRow, int[] columns) {
+            final Builder builder = new Builder();
+            builder.add(fromRow, toRow, columns);
+            return builder.build();
+        }
 
-    public void remove(T tp) {
-        final int row = tp.getRow();
-        final int columnIndex = tp.getColumn();
+        boolean isEmpty() {
+            return count == 0;
+        }
+
+        long size() {
+            return offsets[count];
+        }
 
-        // update the bitset map
-        if (selectedCellBitSetMap.containsKey(row)) {
-            BitSet bitset = selectedCellBitSetMap.get(row);
+        int firstRow() {
+            return from[0];
+        }
 
-            if (columnIndex >= 0) {
-                bitset.clear(columnIndex);
+        int lastRow() {
+            return to[count - 1] - 1;
+        }
+
+        /*
+         * Returns the index of the range containing the given row, or
+         * (-(insertion point) - 1) if no range contains it.
+         */
+        int find(int row) {
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                if (to[mid] <= row) {
+                    low = mid + 1;
+                } else if (from[mid] > row) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
             }
+            return -(low + 1);
+        }
+
+        boolean containsRow(int row) {
+            return find(row) >= 0;
+        }
 
-            if (bitset.isEmpty()) {
-                selectedCellBitSetMap.remove(row);
+        long indexOf(int row, int column) {
+            final int i = find(row);
+            if (i < 0) {
+                return -1;
             }
+            final int c = Arrays.binarySearch(columns[i], column);
+            if (c < 0) {
+                return -1;
+            }
+            return offsets[i] + (long) (row - from[i]) * columns[i].length + c;
         }
 
-        // update list
-        selectedCells.remove(tp);
-    }
+        // returns the index of the range containing the cell at the given index
+        int rangeAt(long index) {
+            int low = 0;
+            int high = count - 1;
+            while (low < high) {
+                final int mid = (low + high + 1) >>> 1;
+                if (offsets[mid] <= index) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
 
-    public void clear() {
-        // update bitset
-        selectedCellBitSetMap.clear();
+        int rowAt(long index) {
+            final int i = rangeAt(index);
+            return from[i] + (int) ((index - offsets[i]) / columns[i].length);
+        }
+
+        /*
+         * Returns the ranges with their column indices mapped through the given
+         * column map (see remapColumns), or these ranges if no column index
+         * changed.
+         */
+        Ranges remap(IntUnaryOperator columnMap) {
+            final Builder builder = new Builder();
+            boolean changed = false;
+            for (int i = 0; i < count; i++) {
+                final int[] cols = columns[i];
+                int[] mapped = new int[cols.length];
+                int n = 0;
+                for (int column : cols) {
+                    final int newColumn = mapColumn(columnMap, column);
+                    changed |= newColumn != column;
+                    if (newColumn != DESELECTED) {
+                        mapped[n++] = newColumn;
+                    }
+                }
+                Arrays.sort(mapped, 0, n);
+                int distinct = 0;
+                for (int c = 0; c < n; c++) {
+                    if (distinct == 0 || mapped[distinct - 1] != mapped[c]) {
+                        mapped[distinct++] = mapped[c];
+                    }
+                }
+                builder.add(from[i], to[i], distinct == cols.length ? mapped : Arrays.copyOf(mapped, distinct));
+            }
+            return changed ? builder.build() : this;
+        }
 
-        // update list
-        selectedCells.clear();
+        /*
+         * Returns the ranges with the columns of the given ranges added to, or
+         * removed from, the rows they have in common with these ranges.
+         */
+        Ranges merge(Ranges other, boolean add) {
+            final Builder builder = new Builder();
+            int i = 0;
+            int j = 0;
+            int row = Integer.MIN_VALUE;
+            while (i < count || j < other.count) {
+                if (i < count && to[i] <= row) {
+                    i++;
+                    continue;
+                }
+                if (j < other.count && other.to[j] <= row) {
+                    j++;
+                    continue;
+                }
+
+                final int start1 = i < count ? Math.max(from[i], row) : Integer.MAX_VALUE;
+                final int start2 = j < other.count ? Math.max(other.from[j], row) : Integer.MAX_VALUE;
+                final int start = Math.min(start1, start2);
+                final boolean inThis = start1 == start;
+                final boolean inOther = start2 == start;
+                final int end = Math.min(inThis ? to[i] : start1, inOther ? other.to[j] : start2);
+
+                final int[] cols;
+                if (inThis && inOther) {
+                    cols = add ? union(columns[i], other.columns[j]) : difference(columns[i], other.columns[j]);
+                } else if (inThis) {
+                    cols = columns[i];
+                } else {
+                    cols = add ? other.columns[j] : NO_COLUMNS;
+                }
+                builder.add(start, end, cols);
+                row = end;
+            }
+            return builder.build();
+        }
     }
 
-    public boolean isSelected(int row, int columnIndex) {
-        if (columnIndex < 0) {
-            return selectedCellBitSetMap.containsKey(row);
-        } else {
-            return selectedCellBitSetMap.containsKey(row) ? selectedCellBitSetMap.get(row).get(columnIndex) : false;
+    private static final class Builder {
+        private int[] from = new int[8];
+        private int[] to = new int[8];
+        private int[][] columns = new int[8][];
+        private int count;
+
+        void add(int start, int end, int[] cols) {
+            if (start >= end || cols.length == 0) {
+                return;
+            }
+            if (count > 0 && to[count - 1] == start && Arrays.equals(columns[count - 1], cols)) {
+                to[count - 1] = end;
+                return;
+            }
+            if (count == from.length) {
+                from = Arrays.copyOf(from, count * 2);
+                to = Arrays.copyOf(to, count * 2);
+                columns = Arrays.copyOf(columns, count * 2);
+            }
+            from[count] = start;
+            to[count] = end;
+            columns[count] = cols;
+            count++;
+        }
+
+        Ranges build() {
+            return count == 0 ? Ranges.EMPTY : new Ranges(from, to, columns, count);
         }
     }
 
-    public int indexOf(T tp) {
-        return sortedSelectedCells.indexOf(tp);
+    /**
+     * A read-only copy of (a part of) the selection, which creates the
+     * positions of the cells as they are requested. The full copy returned by
+     * {@link #snapshot()} additionally supports removing cells.
+     *
+     * @param <T> the type of the position
+     */
+    public static final class Cells<T> extends AbstractList<T> implements RandomAccess {
+        private final Map<Long, T> cells;
+        private final CellFactory<T> cellFactory;
+        private final long offset;
+        private Ranges ranges;
+        private int size;
+
+        private Cells(Ranges ranges, Map<Long, T> cells, CellFactory<T> cellFactory, long offset, int size) {
+            this.ranges = ranges;
+            this.cells = cells;
+            this.cellFactory = cellFactory;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        @Override public T get(int index) {
+            Objects.checkIndex(index, size);
+            return getCell(ranges, cells, cellFactory, offset + index);
+        }
+
+        @Override public int size() {
+            return size;
+        }
+
+        @Override public int indexOf(Object o) {
+            if (!(o instanceof TablePositionBase)) {
+                return -1;
+            }
+            final TablePositionBase<?> tp = (TablePositionBase<?>) o;
+            final long index = ranges.indexOf(tp.getRow(), tp.getColumn()) - offset;
+            return index >= 0 && index < size && o.equals(get((int) index)) ? (int) index : -1;
+        }
+
+        @Override public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+
+        @Override public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        @Override public T remove(int index) {
+            if (offset != 0 || size != ranges.size()) {
+                throw new UnsupportedOperationException();
+            }
+            final T cell = get(index);
+            final TablePositionBase<?> tp = (TablePositionBase<?>) cell;
+            ranges = ranges.merge(Ranges.of(tp.getRow(), tp.getRow() + 1, new int[] { tp.getColumn() }), false);
+            size--;
+            modCount++;
+            return cell;
+        }
+
+        @Override public boolean remove(Object o) {
+            final int index = indexOf(o);
+            if (index < 0) {
+                return false;
+            }
+            remove(index);
+            return true;
+        }
+
+        @Override public List<T> subList(int fromIndex, int toIndex) {
+            Objects.checkFromToIndex(fromIndex, toIndex, size);
+            return new Cells<>(ranges, cells, cellFactory, offset + fromIndex, toIndex - fromIndex);
+        }
+
+        /**
+         * Returns the index of the first cell in the given row, or -1 if
+         * there is no such cell.
+         */
+        public int indexOfRow(int row) {
+            final int i = ranges.find(row);
+            if (i < 0) {
+                return -1;
+            }
+            final int[] columns = ranges.columns[i];
+            final long first = ranges.offsets[i] + (long) (row - ranges.from[i]) * columns.length - offset;
+            if (first + columns.length <= 0 || first >= size) {
+                return -1;
+            }
+            return (int) Math.max(first, 0);
+        }
+
+        /**
+         * Returns the distinct rows of the cells, in ascending order.
+         */
+        public IntStream rows() {
+            if (size == 0) {
+                return IntStream.empty();
+            }
+            final Ranges r = ranges;
+            final long last = offset + size - 1;
+            final int firstRow = r.rowAt(offset);
+            final int lastRow = r.rowAt(last);
+            return IntStream.rangeClosed(r.rangeAt(offset), r.rangeAt(last))
+                    .flatMap(i -> IntStream.range(Math.max(r.from[i], firstRow), Math.min(r.to[i], lastRow + 1)));
+        }
     }
 
-    public boolean isEmpty() {
-        return selectedCells.isEmpty();
+    /*
+     * The live view of the selected cells, in row and column order.
+     */
+    private final class SelectedCellsList extends ReadOnlyUnbackedObservableList<T> {
+        @Override public T get(int i) {
+            return SelectedCellsMap.this.get(i);
+        }
+
+        @Override public int size() {
+            return SelectedCellsMap.this.size();
+        }
+
+        @Override public int indexOf(Object o) {
+            if (!(o instanceof TablePositionBase)) {
+                return -1;
+            }
+            final TablePositionBase<?> tp = (TablePositionBase<?>) o;
+            final long index = ranges.indexOf(tp.getRow(), tp.getColumn());
+            return index >= 0 && o.equals(get(toInt(index))) ? toInt(index) : -1;
+        }
+
+        @Override public int lastIndexOf(Object o) {
+            return indexOf(o);
+        }
+
+        /**
+         * Returns a copy of the cells in the given range, which avoids
+         * creating the positions of the cells that are not read.
+         */
+        @Override public List<T> subList(final int fromIndex, final int toIndex) {
+            if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("[ fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + size() + " ]");
+            }
+            cellsShared = true;
+            return new Cells<>(ranges, cells, cellFactory, fromIndex, toIndex - fromIndex);
+        }
     }
 
-    public ObservableList<T> getSelectedCells() {
-        return selectedCells;
+    /*
+     * A change consisting of one or more additions, in ascending order, where
+     * only the first one may also have removed cells.
+     */
+    private final class RangeChange extends ListChangeListener.Change<T> {
+        private final int[] bounds;
+        private final List<T> removed;
+        private int cursor = -2;
+
+        RangeChange(int[] bounds, List<T> removed) {
+            super(selectedCells);
+            this.bounds = bounds;
+            this.removed = removed;
+        }
+
+        @Override public boolean next() {
+            cursor += 2;
+            return cursor < bounds.length;
+        }
+
+        @Override public void reset() {
+            cursor = -2;
+        }
+
+        @Override public int getFrom() {
+            checkState();
+            return bounds[cursor];
+        }
+
+        @Override public int getTo() {
+            checkState();
+            return bounds[cursor + 1];
+        }
+
+        @Override public List<T> getRemoved() {
+            checkState();
+            return cursor == 0 ? removed : Collections.emptyList();
+        }
+
+        @Override protected int[] getPermutation() {
+            checkState();
+            return EMPTY_PERM;
+        }
+
+        private void checkState() {
+            if (cursor < 0 || cursor >= bounds.length) {
+                throw new IllegalStateException("Invalid Change state: next() must be called before inspecting the Change.");
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2021, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,10 +25,17 @@
 
 package com.sun.javafx.scene.control.behavior;
 
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import javafx.beans.Observable;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.ComboBoxBase;
 import javafx.scene.control.SelectionModel;
+import javafx.scene.input.KeyEvent;
 import com.sun.javafx.scene.control.inputmap.InputMap;
+import com.sun.javafx.scene.control.inputmap.KeyBinding;
+import com.sun.javafx.scene.control.inputmap.KeyBinding.OptionalBoolean;
 
 import static javafx.scene.input.KeyCode.DOWN;
 import static javafx.scene.input.KeyCode.UP;
@@ -53,9 +60,34 @@ public class ComboBoxListViewBehavior<T> extends ComboBoxBaseBehavior<T> {
             new InputMap.KeyMapping(UP, e -> selectPrevious()),
             new InputMap.KeyMapping(DOWN, e -> selectNext())
         );
+
+        // type-ahead for non-editable combo boxes, whose typed keys are not
+        // taken by the editor
+        InputMap.KeyMapping typeAheadMapping = new InputMap.KeyMapping(
+                new KeyBinding(null, KeyEvent.KEY_TYPED).shift(OptionalBoolean.ANY),
+                this::typeAhead, e -> comboBox.isEditable());
+        typeAheadMapping.setAutoConsume(false);
+        comboBoxListViewInputMap.getMappings().add(typeAheadMapping);
         addDefaultChildMap(getInputMap(), comboBoxListViewInputMap);
     }
 
+    @Override public void dispose() {
+        typeAhead.dispose();
+        super.dispose();
+    }
+
+    @Override protected void focusChanged(Observable o) {
+        super.focusChanged(o);
+
+        // index the items for type-ahead before the user starts typing
+        ComboBox<T> comboBox = getComboBox();
+        if (comboBox.isFocused() && !comboBox.isEditable()) {
+            typeAhead.prepare(comboBox.getItems(), comboBox.getConverter());
+        } else {
+            typeAhead.dispose();
+        }
+    }
+
     /***************************************************************************
      *                                                                         *
      * Key event handling                                                      *
@@ -66,15 +98,62 @@ public class ComboBoxListViewBehavior<T> extends ComboBoxBaseBehavior<T> {
         return (ComboBox<T>) getNode();
     }
 
+    private Supplier<int[]> shownRows;
+
+    /**
+     * Sets the supplier of the rows of the items shown in the popup, in
+     * ascending order, or null if all items are shown. The up and down keys
+     * move between the shown items.
+     */
+    public void setShownRows(Supplier<int[]> shownRows) {
+        this.shownRows = shownRows;
+    }
+
+    private int[] getShownRows() {
+        return shownRows == null ? null : shownRows.get();
+    }
+
     private void selectPrevious() {
         SelectionModel<T> sm = getComboBox().getSelectionModel();
         if (sm == null) return;
+        int[] rows = getShownRows();
+        if (rows != null) {
+            int i = Arrays.binarySearch(rows, sm.getSelectedIndex());
+            int previous = i >= 0 ? i - 1 : -i - 2;
+            if (previous >= 0) {
+                sm.select(rows[previous]);
+            }
+            return;
+        }
         sm.selectPrevious();
     }
 
     private void selectNext() {
         SelectionModel<T> sm = getComboBox().getSelectionModel();
         if (sm == null) return;
+        int[] rows = getShownRows();
+        if (rows != null) {
+            int i = Arrays.binarySearch(rows, sm.getSelectedIndex());
+            int next = i >= 0 ? i + 1 : -i - 1;
+            if (next < rows.length) {
+                sm.select(rows[next]);
+            }
+            return;
+        }
         sm.selectNext();
     }
+
+    private final TypeAhead<T> typeAhead = new TypeAhead<>();
+
+    private void typeAhead(KeyEvent e) {
+        ComboBox<T> comboBox = getComboBox();
+        SelectionModel<T> sm = comboBox.getSelectionModel();
+        if (sm == null) return;
+
+        int row = typeAhead.find(e, comboBox.getItems(), comboBox.getConverter(), sm.getSelectedIndex());
+        if (row == -1) return;
+
+        e.consume();
+        sm.select(row);
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,6 +26,8 @@ package com.sun.javafx.scene.control.behavior;
 
 import com.sun.javafx.PlatformUtil;
 import com.sun.javafx.scene.control.skin.Utils;
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.beans.value.WeakChangeListener;
@@ -40,9 +42,11 @@ import javafx.scene.control.MultipleSelectionModel;
 import javafx.scene.control.SelectionMode;
 import com.sun.javafx.scene.control.inputmap.InputMap;
 import com.sun.javafx.scene.control.inputmap.KeyBinding;
+import com.sun.javafx.scene.control.inputmap.KeyBinding.OptionalBoolean;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 import javafx.util.Callback;
+import javafx.util.StringConverter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -118,6 +122,15 @@ public class ListViewBehavior<T> extends BehaviorBase<ListView<T>> {
             new MouseMapping(MouseEvent.MOUSE_PRESSED, this::mousePressed)
         );
 
+        // type-ahead: typing the start of the text of an item selects it, when
+        // a type-ahead converter is set. The ComboBox does this for the
+        // ListView in its popup
+        KeyMapping typeAheadMapping = new KeyMapping(
+                new KeyBinding(null, KeyEvent.KEY_TYPED).shift(OptionalBoolean.ANY), this::typeAhead,
+                e -> isListViewOfComboBox != null || control.getTypeAheadConverter() == null);
+        typeAheadMapping.setAutoConsume(false);
+        addDefaultMapping(listViewInputMap, typeAheadMapping);
+
         // create OS-specific child mappings
         // --- mac OS
         InputMap<ListView<T>> macInputMap = new InputMap<>(control);
@@ -193,6 +206,8 @@ public class ListViewBehavior<T> extends BehaviorBase<ListView<T>> {
             control.getItems().addListener(weakItemsListListener);
         }
 
+        control.focusedProperty().addListener(weakFocusedListener);
+
         // Fix for RT-16565
         control.selectionModelProperty().addListener(weakSelectionModelListener);
         if (control.getSelectionModel() != null) {
@@ -228,8 +243,10 @@ public class ListViewBehavior<T> extends BehaviorBase<ListView<T>> {
         if (control.getItems() != null) {
             control.getItems().removeListener(weakItemsListListener);
         }
+        control.focusedProperty().removeListener(weakFocusedListener);
 
         if (tlFocus != null) tlFocus.dispose();
+        typeAhead.dispose();
         control.removeEventFilter(KeyEvent.ANY, keyEventListener);
         super.dispose();
     }
@@ -249,6 +266,7 @@ public class ListViewBehavior<T> extends BehaviorBase<ListView<T>> {
     private Runnable onSelectNextRow;
     private Runnable onMoveToFirstCell;
     private Runnable onMoveToLastCell;
+    private Runnable onScrollToFocusedRow;
 
     public void setOnScrollPageUp(Callback<Boolean, Integer> c) { onScrollPageUp = c; }
     public void setOnScrollPageDown(Callback<Boolean, Integer> c) { onScrollPageDown = c; }
@@ -258,6 +276,9 @@ public class ListViewBehavior<T> extends BehaviorBase<ListView<T>> {
     public void setOnSelectNextRow(Runnable r) { onSelectNextRow = r; }
     public void setOnMoveToFirstCell(Runnable r) { onMoveToFirstCell = r; }
     public void setOnMoveToLastCell(Runnable r) { onMoveToLastCell = r; }
+    public void setOnScrollToFocusedRow(Runnable r) { onScrollToFocusedRow = r; }
+
+    private final TypeAhead<T> typeAhead = new TypeAhead<>();
 
     private boolean selectionChanging = false;
 
@@ -349,6 +370,20 @@ public class ListViewBehavior<T> extends BehaviorBase<ListView<T>> {
         }
     };
 
+    // index the items for type-ahead before the user starts typing
+    private final InvalidationListener focusedListener = o -> {
+        ListView<T> control = getNode();
+        StringConverter<T> converter = control.getTypeAheadConverter();
+        if (control.isFocused() && converter != null) {
+            typeAhead.prepare(control.getItems(), converter);
+        } else {
+            typeAhead.dispose();
+        }
+    };
+
+    private final WeakInvalidationListener weakFocusedListener =
+            new WeakInvalidationListener(focusedListener);
+
     private final WeakChangeListener<ObservableList<T>> weakItemsListener =
             new WeakChangeListener<>(itemsListener);
     private final WeakListChangeListener<Integer> weakSelectedIndicesListener =
@@ -607,6 +642,21 @@ public class ListViewBehavior<T> extends BehaviorBase<ListView<T>> {
         if (onSelectNextRow != null) onSelectNextRow.run();
     }
 
+    private void typeAhead(KeyEvent e) {
+        ListView<T> control = getNode();
+        MultipleSelectionModel<T> sm = control.getSelectionModel();
+        if (sm == null) return;
+
+        FocusModel<T> fm = control.getFocusModel();
+        int row = typeAhead.find(e, control.getItems(), control.getTypeAheadConverter(),
+                fm == null ? sm.getSelectedIndex() : fm.getFocusedIndex());
+        if (row == -1) return;
+
+        e.consume();
+        sm.clearAndSelect(row);
+        if (onScrollToFocusedRow != null) onScrollToFocusedRow.run();
+    }
+
     private void selectFirstRow() {
         MultipleSelectionModel<T> selectionModel = getNode().getSelectionModel();
         if (selectionModel == null) {
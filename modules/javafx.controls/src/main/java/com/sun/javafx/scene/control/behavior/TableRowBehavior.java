@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -27,10 +27,12 @@ package com.sun.javafx.scene.control.behavior;
 
 import javafx.collections.ObservableList;
 import javafx.scene.control.FocusModel;
+import javafx.scene.control.TableColumn;
 import javafx.scene.control.TablePositionBase;
 import javafx.scene.control.TableRow;
 import javafx.scene.control.TableSelectionModel;
 import javafx.scene.control.TableView;
+import javafx.scene.input.MouseButton;
 
 public class TableRowBehavior<T> extends TableRowBehaviorBase<TableRow<T>> {
 
@@ -75,4 +77,56 @@ public class TableRowBehavior<T> extends TableRowBehaviorBase<TableRow<T>> {
     @Override protected void edit(TableRow<T> cell) {
         // no-op (for now)
     }
+
+    @Override protected boolean isClickPositionValid(final double x, final double y) {
+        // lightweight rows have no cells, so the row handles all the clicks
+        return isLightweight() || super.isClickPositionValid(x, y);
+    }
+
+    @Override protected void doSelect(final double x, final double y, final MouseButton button,
+                   final int clickCount, final boolean shiftDown, final boolean shortcutDown) {
+        TableSelectionModel<T> sm = getSelectionModel();
+        if (isLightweight() && sm != null && sm.isCellSelectionEnabled()) {
+            selectCell(x, shortcutDown);
+        } else {
+            super.doSelect(x, y, button, clickCount, shiftDown, shortcutDown);
+        }
+    }
+
+    /*
+     * Selects the cell at the given x position of a lightweight row, or
+     * toggles its selection if the shortcut key is down.
+     */
+    private void selectCell(double x, boolean shortcutDown) {
+        TableView<T> tableView = getCellContainer();
+        TableRow<T> row = getNode();
+        if (row.isEmpty()) return;
+
+        TableColumn<T, ?> column = null;
+        double columnX = row.snappedLeftInset();
+        for (TableColumn<T, ?> c : tableView.getVisibleLeafColumns()) {
+            columnX += c.getWidth();
+            if (x < columnX) {
+                column = c;
+                break;
+            }
+        }
+        if (column == null) return;
+
+        int index = getIndex();
+        TableSelectionModel<T> sm = getSelectionModel();
+        if (shortcutDown && sm.isSelected(index, column)) {
+            sm.clearSelection(index, column);
+            tableView.getFocusModel().focus(index, column);
+        } else if (shortcutDown) {
+            sm.select(index, column);
+        } else {
+            sm.clearAndSelect(index, column);
+        }
+    }
+
+    private boolean isLightweight() {
+        TableView<T> tableView = getCellContainer();
+        return tableView != null && tableView.isLightweightRows() && tableView.getFixedCellSize() > 0;
+    }
 }
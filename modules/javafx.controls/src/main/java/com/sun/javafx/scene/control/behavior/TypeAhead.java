@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene.control.behavior;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
+import javafx.scene.input.KeyEvent;
+import javafx.util.StringConverter;
+
+import com.sun.javafx.scene.control.BackgroundExecutor;
+import com.sun.javafx.scene.control.PrefixIndex;
+
+/**
+ * Finds the item to select when the user types the start of its text.
+ * Characters typed in quick succession form a prefix, which is looked up in
+ * a {@link PrefixIndex} of the items. Typing the same character repeatedly
+ * cycles through the items whose text starts with it.
+ * <p>
+ * The index is built when {@link #prepare} is called, or when a character
+ * is typed for items that are not indexed yet. Large lists are indexed on the
+ * {@link BackgroundExecutor} from a copy of the items, and searched one by
+ * one until the index is ready.
+ */
+final class TypeAhead<T> {
+
+    // characters typed further apart than this start a new prefix
+    private static final long TIMEOUT = 1_000_000_000L;
+
+    // lists of at least this many items are indexed in the background
+    static final int MIN_BACKGROUND_INDEX_SIZE = 10_000;
+
+    private final StringBuilder prefix = new StringBuilder();
+    private long lastTypedTime;
+
+    // the items and converter that are indexed, or being indexed
+    private ObservableList<T> indexItems;
+    private StringConverter<T> indexConverter;
+    private PrefixIndex<T> index;
+
+    // incremented to discard an index that is being built
+    private int generation;
+
+    // restarts the index that is being built when the items change
+    private final ListChangeListener<T> pendingItemsListener = c -> {
+        ObservableList<T> items = indexItems;
+        StringConverter<T> converter = indexConverter;
+        dispose();
+        prepare(items, converter);
+    };
+    private final WeakListChangeListener<T> weakPendingItemsListener =
+            new WeakListChangeListener<>(pendingItemsListener);
+
+    /**
+     * Starts indexing the given items in the background, unless they are
+     * indexed already.
+     *
+     * @param converter converts the items to text, or null to use toString
+     */
+    void prepare(ObservableList<T> items, StringConverter<T> converter) {
+        if (items == indexItems && converter == indexConverter) {
+            return;
+        }
+        dispose();
+        if (items == null) {
+            return;
+        }
+
+        indexItems = items;
+        indexConverter = converter;
+        final Function<T, String> toText = item -> toString(converter, item);
+        if (items.size() < MIN_BACKGROUND_INDEX_SIZE) {
+            index = new PrefixIndex<>(items, toText);
+            return;
+        }
+
+        final int expectedGeneration = generation;
+        final List<T> copy = new ArrayList<>(items);
+        items.addListener(weakPendingItemsListener);
+        BackgroundExecutor.get().execute(() -> {
+            PrefixIndex.Snapshot snapshot = PrefixIndex.snapshotOf(copy, toText);
+            Platform.runLater(() -> {
+                if (generation == expectedGeneration) {
+                    items.removeListener(weakPendingItemsListener);
+                    index = new PrefixIndex<>(items, toText, snapshot);
+                }
+            });
+        });
+    }
+
+    /**
+     * Returns the row of the item to select for the given typed key, searching
+     * from the current row, or -1 if the key does not select an item.
+     *
+     * @param converter converts the items to text, or null to use toString
+     */
+    int find(KeyEvent e, ObservableList<T> items, StringConverter<T> converter, int current) {
+        final String character = e.getCharacter();
+        if (items == null || character.isEmpty() || Character.isISOControl(character.charAt(0))
+                || e.isControlDown() || e.isAltDown() || e.isMetaDown()) {
+            return -1;
+        }
+
+        final long now = System.nanoTime();
+        if (now - lastTypedTime > TIMEOUT) {
+            prefix.setLength(0);
+        }
+        lastTypedTime = now;
+        if (prefix.length() == 0 && character.isBlank()) {
+            // a space on its own keeps its usual meaning
+            return -1;
+        }
+        prefix.append(character);
+
+        prepare(items, converter);
+
+        final String text = prefix.toString();
+        if (text.length() == 1) {
+            // a new prefix moves on from the current item
+            return find(text, current + 1);
+        }
+        final int row = find(text, current);
+        if (row == -1 && text.chars().allMatch(c -> c == text.charAt(0))) {
+            return find(character, current + 1);
+        }
+        return row;
+    }
+
+    void dispose() {
+        generation++;
+        if (indexItems != null) {
+            indexItems.removeListener(weakPendingItemsListener);
+            indexItems = null;
+            indexConverter = null;
+        }
+        if (index != null) {
+            index.dispose();
+            index = null;
+        }
+    }
+
+    private int find(String text, int start) {
+        if (index != null) {
+            return index.getSnapshot().find(text, start);
+        }
+        final StringConverter<T> converter = indexConverter;
+        return PrefixIndex.find(indexItems, item -> toString(converter, item), text, start);
+    }
+
+    private static <T> String toString(StringConverter<T> converter, T item) {
+        if (item == null) return null;
+        return converter != null ? converter.toString(item) : item.toString();
+    }
+}
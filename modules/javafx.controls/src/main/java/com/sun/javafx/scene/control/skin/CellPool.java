@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package com.sun.javafx.scene.control.skin;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.scene.control.IndexedCell;
+
+/**
+ * A bounded pool of cells of a single kind that can be shared by several
+ * VirtualFlow instances, such as those of the skins a control has over time.
+ * Cells are returned to the pool when the skin that owns them is disposed,
+ * and are handed out again instead of creating new cells, saving the
+ * creation of the cells and of their skins.
+ * <p>
+ * A returned cell is only kept if it is still of the same class and has the
+ * same style classes as the first cell created by the pool, and has no inline
+ * style, so that a cell that has been customized is never handed out to
+ * another control. A cell handed out again has its index, selection and
+ * visibility reset.
+ * <p>
+ * The pool is only used on the JavaFX Application Thread. On other threads,
+ * where a control may be laid out before it is shown, {@link #borrow} creates
+ * a new cell and {@link #release} drops the cell, without touching the pool.
+ *
+ * @param <C> the type of the cells
+ */
+public final class CellPool<C extends IndexedCell<?>> {
+
+    private final int capacity;
+    private final ArrayDeque<C> cells = new ArrayDeque<>();
+
+    private Class<?> cellClass;
+    private List<String> styleClass;
+
+    private int createdCount;
+    private int reusedCount;
+    private int releasedCount;
+    private int discardedCount;
+
+    /**
+     * Creates a pool that keeps at most the given number of cells.
+     *
+     * @param capacity the maximum number of cells in the pool
+     */
+    public CellPool(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns a cell from the pool, or a cell created by the given factory if
+     * the pool is empty.
+     *
+     * @param factory creates a new cell
+     * @return a cell that is not part of any scene graph
+     */
+    public C borrow(Supplier<? extends C> factory) {
+        if (!Platform.isFxApplicationThread()) {
+            return factory.get();
+        }
+        C cell = cells.pollFirst();
+        if (cell != null) {
+            reusedCount++;
+            cell.updateIndex(-1);
+            cell.updateSelected(false);
+            cell.setVisible(true);
+            return cell;
+        }
+        cell = factory.get();
+        if (cellClass == null) {
+            cellClass = cell.getClass();
+            styleClass = List.copyOf(cell.getStyleClass());
+        }
+        createdCount++;
+        return cell;
+    }
+
+    /**
+     * Returns whether the given cell is of the kind of cells kept by this
+     * pool: of the same class and with the same style classes as the cells
+     * created by the pool, and without an inline style.
+     *
+     * @param cell the cell
+     * @return true if the cell can be returned to the pool
+     */
+    public boolean accepts(C cell) {
+        return cell.getClass() == cellClass
+                && (cell.getStyle() == null || cell.getStyle().isEmpty())
+                && styleClass.equals(cell.getStyleClass());
+    }
+
+    /**
+     * Returns a cell to the pool. The cell must already have been removed
+     * from its parent and detached from its control. The cell is dropped if
+     * the pool is full or if the pool does not {@link #accepts accept} it.
+     *
+     * @param cell the cell to return
+     */
+    public void release(C cell) {
+        if (!Platform.isFxApplicationThread()) {
+            return;
+        }
+        if (cells.size() < capacity && cell.getParent() == null && accepts(cell)) {
+            cells.addFirst(cell);
+            releasedCount++;
+        } else {
+            discardedCount++;
+        }
+    }
+
+    /**
+     * Removes all the cells from the pool. Does nothing when not called on
+     * the JavaFX Application Thread.
+     */
+    public void clear() {
+        if (!Platform.isFxApplicationThread()) {
+            return;
+        }
+        discardedCount += cells.size();
+        cells.clear();
+    }
+
+    /**
+     * Returns the number of cells currently in the pool.
+     *
+     * @return the number of cells in the pool
+     */
+    public int size() {
+        return cells.size();
+    }
+
+    /**
+     * Returns the number of cells created because the pool was empty.
+     *
+     * @return the number of cells created
+     */
+    public int getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     * Returns the number of cells handed out from the pool.
+     *
+     * @return the number of cells reused
+     */
+    public int getReusedCount() {
+        return reusedCount;
+    }
+
+    /**
+     * Returns the number of cells returned to and kept by the pool.
+     *
+     * @return the number of cells released
+     */
+    public int getReleasedCount() {
+        return releasedCount;
+    }
+
+    /**
+     * Returns the number of returned cells that were dropped because the
+     * pool was full or the cells did not match, or because the pool was
+     * cleared.
+     *
+     * @return the number of cells discarded
+     */
+    public int getDiscardedCount() {
+        return discardedCount;
+    }
+
+    @Override public String toString() {
+        return "CellPool[size=" + cells.size() + ", capacity=" + capacity
+                + ", created=" + createdCount + ", reused=" + reusedCount
+                + ", released=" + releasedCount + ", discarded=" + discardedCount + "]";
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -40,7 +40,6 @@ import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ObservableList;
-import javafx.geometry.Bounds;
 import javafx.geometry.HPos;
 import javafx.geometry.Point2D;
 import javafx.geometry.VPos;
@@ -59,6 +58,7 @@ import javafx.scene.text.Text;
 import javafx.scene.text.TextBoundsType;
 
 import java.text.Bidi;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.function.Consumer;
@@ -97,6 +97,22 @@ public class Utils {
      * */
     static final TextLayout layout = Toolkit.getToolkit().getTextLayoutFactory().createLayout();
 
+    /* The most recent results of computeClippedText. Labeled skins clip their
+     * text on every layout, which for cells that are truncated with an
+     * ellipsis means measuring the text many times, so the results are kept
+     * for as long as the same text is clipped to the same width.
+     */
+    private static final int CLIPPED_TEXT_CACHE_SIZE = 512;
+    private static final LinkedHashMap<ClippedText, String> clippedTextCache =
+            new LinkedHashMap<>(CLIPPED_TEXT_CACHE_SIZE, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(java.util.Map.Entry<ClippedText, String> eldest) {
+            return size() > CLIPPED_TEXT_CACHE_SIZE;
+        }
+    };
+
+    private record ClippedText(Font font, String text, double width, OverrunStyle type, String ellipsisString) {
+    }
+
     public static double getAscent(Font font, TextBoundsType boundsType) {
         layout.setContent("", FontHelper.getNativeFont(font));
         layout.setWrapWidth(0);
@@ -196,21 +212,17 @@ public class Utils {
     }
 
     public static int computeTruncationIndex(Font font, String text, double width) {
-        helper.setText(text);
-        helper.setFont(font);
-        helper.setWrappingWidth(0);
-        helper.setLineSpacing(0);
+        // Hit test the text layout directly, as a Text node would do, in the
+        // middle of the line.
+        layout.setContent(text != null ? text : "", FontHelper.getNativeFont(font));
+        layout.setWrapWidth(0);
+        layout.setLineSpacing(0);
+        layout.setBoundsType(0);
         // The -2 is a fudge to make sure the result more often matches
         // what we get from using computeTextWidth instead. It's not yet
         // clear what causes the small discrepancies.
-        Bounds bounds = helper.getLayoutBounds();
-        Point2D endPoint = new Point2D(width - 2, bounds.getMinY() + bounds.getHeight() / 2);
-        final int index = helper.hitTest(endPoint).getCharIndex();
-        // RESTORE STATE
-        helper.setWrappingWidth(DEFAULT_WRAPPING_WIDTH);
-        helper.setLineSpacing(DEFAULT_LINE_SPACING);
-        helper.setText(DEFAULT_TEXT);
-        return index;
+        float lineHeight = layout.getBounds().getHeight();
+        return layout.getHitInfo((float)(width - 2), lineHeight / 2).getCharIndex();
     }
 
     public static String computeClippedText(Font font, String text, double width,
@@ -218,12 +230,28 @@ public class Utils {
         if (font == null) {
             throw new IllegalArgumentException("Must specify a font");
         }
-        OverrunStyle style = (type == null || type == CLIP) ? ELLIPSIS : type;
-        final String ellipsis = (type == CLIP) ? "" : ellipsisString;
         // if the text is empty or null or no ellipsis, then it always fits
         if (text == null || "".equals(text)) {
             return text;
         }
+        ClippedText key = new ClippedText(font, text, width, type, ellipsisString);
+        String result;
+        synchronized (clippedTextCache) {
+            result = clippedTextCache.get(key);
+        }
+        if (result == null) {
+            result = clipText(font, text, width, type, ellipsisString);
+            synchronized (clippedTextCache) {
+                clippedTextCache.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    private static String clipText(Font font, String text, double width,
+                                   OverrunStyle type, String ellipsisString) {
+        OverrunStyle style = (type == null || type == CLIP) ? ELLIPSIS : type;
+        final String ellipsis = (type == CLIP) ? "" : ellipsisString;
         // if the string width is < the available width, then it fits and
         // doesn't need to be clipped.  We use a double point comparison
         // of 0.001 (1/1000th of a pixel) to account for any numerical
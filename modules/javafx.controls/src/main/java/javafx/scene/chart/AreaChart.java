@@ -36,6 +36,8 @@ import javafx.application.Platform;
 import javafx.beans.NamedArg;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
@@ -52,12 +54,14 @@ import javafx.scene.shape.PathElement;
 import javafx.scene.shape.StrokeLineJoin;
 import javafx.util.Duration;
 
+import com.sun.javafx.charts.Decimator;
 import com.sun.javafx.charts.Legend.LegendItem;
 import javafx.css.converter.BooleanConverter;
 import javafx.css.CssMetaData;
 import javafx.css.Styleable;
 import javafx.css.StyleableBooleanProperty;
 import javafx.css.StyleableProperty;
+import javafx.scene.chart.LineChart.Decimation;
 import javafx.scene.chart.LineChart.SortingPolicy;
 
 /**
@@ -72,6 +76,8 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
     /** A multiplier for the Y values that we store for each series, it is used to animate in a new series */
     private Map<Series<X,Y>, DoubleProperty> seriesYMultiplierMap = new HashMap<>();
     private Timeline timeline;
+    /** The reduced line of each series, which is kept between layouts */
+    private final Map<Series<X,Y>, DecimatedLine> decimatedLines = new HashMap<>();
 
     // -------------- PUBLIC PROPERTIES ----------------------------------------
 
@@ -128,6 +134,52 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
     public final BooleanProperty createSymbolsProperty() { return createSymbols; }
 
 
+    /**
+     * Indicates whether the line of each series is reduced to the resolution
+     * of the plot area before it is drawn. For series with many more data items
+     * than the plot area is wide, this keeps the number of elements of the line
+     * proportional to the width of the chart, rather than to the number of data
+     * items. The line is only reduced when the data is ordered by the x axis.
+     * While the line is reduced, no symbols are created for data items, as a
+     * symbol for each data item would defeat the reduction. Symbols that data
+     * items already have are kept.
+     *
+     * @since 22
+     * @see Decimation
+     * @defaultValue Decimation#NONE
+     */
+    private ObjectProperty<Decimation> decimation = new ObjectPropertyBase<Decimation>(Decimation.NONE) {
+        @Override protected void invalidated() {
+            if (get() == Decimation.NONE && getCreateSymbols()) {
+                // create the symbols that were skipped while the line was reduced
+                for (int seriesIndex = 0; seriesIndex < getData().size(); seriesIndex++) {
+                    Series<X,Y> series = getData().get(seriesIndex);
+                    for (int itemIndex = 0; itemIndex < series.getData().size(); itemIndex++) {
+                        Data<X,Y> item = series.getData().get(itemIndex);
+                        if (item.getNode() == null) {
+                            getPlotChildren().add(createSymbol(series, seriesIndex, item, itemIndex));
+                        }
+                    }
+                }
+            }
+            requestChartLayout();
+        }
+
+        @Override
+        public Object getBean() {
+            return AreaChart.this;
+        }
+
+        @Override
+        public String getName() {
+            return "decimation";
+        }
+    };
+
+    public final Decimation getDecimation() { return decimation.getValue(); }
+    public final void setDecimation(Decimation value) { decimation.setValue(value); }
+    public final ObjectProperty<Decimation> decimationProperty() { return decimation; }
+
     // -------------- CONSTRUCTORS ----------------------------------------------
 
     /**
@@ -169,10 +221,7 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
         if(ya.isAutoRanging()) yData = new ArrayList<>();
         if(xData != null || yData != null) {
             for(Series<X,Y> series : getData()) {
-                for(Data<X,Y> data: series.getData()) {
-                    if(xData != null) xData.add(data.getXValue());
-                    if(yData != null) yData.add(data.getYValue());
-                }
+                addAxisData(series, xData, yData);
             }
             if(xData != null && !(xData.size() == 1 && getXAxis().toNumericValue(xData.get(0)) == 0)) {
                 xa.invalidateRange(xData);
@@ -184,6 +233,7 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
     }
 
     @Override protected void dataItemAdded(Series<X,Y> series, int itemIndex, Data<X,Y> item) {
+        DecimatedLine.itemAdded(decimatedLines.get(series), itemIndex);
         final Node symbol = createSymbol(series, getData().indexOf(series), item, itemIndex);
         if (shouldAnimate()) {
             boolean animate = false;
@@ -251,6 +301,7 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
     }
 
     @Override protected  void dataItemRemoved(final Data<X,Y> item, final Series<X,Y> series) {
+        DecimatedLine.invalidate(decimatedLines.get(series));
         final Node symbol = item.getNode();
 
         if (symbol != null) {
@@ -337,6 +388,7 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
 
     /** {@inheritDoc} */
     @Override protected void dataItemChanged(Data<X, Y> item) {
+        decimatedLines.values().forEach(DecimatedLine::invalidate);
     }
 
     @Override protected void seriesChanged(ListChangeListener.Change<? extends Series> c) {
@@ -409,6 +461,7 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
     @Override protected  void seriesRemoved(final Series<X,Y> series) {
         // remove series Y multiplier
         seriesYMultiplierMap.remove(series);
+        decimatedLines.remove(series);
         // remove all symbol nodes
         if (shouldAnimate()) {
             timeline = new Timeline(createSeriesRemoveTimeLine(series, 400));
@@ -430,14 +483,16 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
             Path fillPath = (Path) children.get(0);
             Path linePath = (Path) children.get(1);
             makePaths(this, series, constructedPath, fillPath, linePath,
-                      seriesYAnimMultiplier.get(), SortingPolicy.X_AXIS);
+                      seriesYAnimMultiplier.get(), SortingPolicy.X_AXIS, getDecimation(),
+                      decimatedLines.computeIfAbsent(series, s -> new DecimatedLine()));
         }
     }
 
     static <X,Y> void makePaths(XYChart<X, Y> chart, Series<X, Y> series,
                                 List<LineTo> constructedPath,
                                 Path fillPath, Path linePath,
-                                double yAnimMultiplier, SortingPolicy sortAxis)
+                                double yAnimMultiplier, SortingPolicy sortAxis,
+                                Decimation decimation, DecimatedLine decimatedLine)
     {
         final Axis<X> axisX = chart.getXAxis();
         final Axis<Y> axisY = chart.getYAxis();
@@ -448,8 +503,25 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
         final double dataXMax = sortX ? axisX.getWidth() + hlw : Double.POSITIVE_INFINITY;
         final double dataYMin = sortY ? -hlw : Double.NEGATIVE_INFINITY;
         final double dataYMax = sortY ? axisY.getHeight() + hlw : Double.POSITIVE_INFINITY;
+        // the points of a line sorted by x can be reduced to the width of the plot area
+        final boolean decimate = sortX && decimation != null && decimation != Decimation.NONE;
         LineTo prevDataPoint = null;
         LineTo nextDataPoint = null;
+        int from = 0;
+        double[] mapping = null;
+        if (decimate) {
+            // the reduced line only has to be extended with the data items that
+            // were appended since the last layout, as long as the display
+            // positions of the other data items cannot have changed
+            mapping = chart.shouldAnimate() ? null : DecimatedLine.mapping(axisX, axisY, yAnimMultiplier, hlw, decimation);
+            if (decimatedLine.isExtensible(series, mapping)) {
+                from = decimatedLine.itemCount;
+                prevDataPoint = decimatedLine.prevDataPoint;
+                nextDataPoint = decimatedLine.nextDataPoint;
+            } else {
+                decimatedLine.reset();
+            }
+        }
         ObservableList<PathElement> lineElements = linePath.getElements();
         ObservableList<PathElement> fillElements = null;
         if (fillPath != null) {
@@ -458,8 +530,9 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
         }
         lineElements.clear();
         constructedPath.clear();
-        for (Iterator<Data<X, Y>> it = chart.getDisplayedDataIterator(series); it.hasNext(); ) {
-            Data<X, Y> item = it.next();
+        final int dataSize = series.getDataSize();
+        for (int i = from; i < dataSize; i++) {
+            Data<X, Y> item = series.getItem(i);
             double x = axisX.getDisplayPosition(item.getCurrentX());
             double y = axisY.getDisplayPosition(
                     axisY.toRealValue(axisY.toNumericValue(item.getCurrentY()) * yAnimMultiplier));
@@ -485,7 +558,11 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
                     prevDataPoint.setY(y);
                 }
             } else if (x <= dataXMax && y <= dataYMax) {
-                constructedPath.add(new LineTo(x, y));
+                if (decimate) {
+                    decimatedLine.points.add(x, y);
+                } else {
+                    constructedPath.add(new LineTo(x, y));
+                }
             } else {
                 if (nextDataPoint == null) {
                     nextDataPoint = new LineTo(x, y);
@@ -498,8 +575,28 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
             }
         }
 
+        if (decimate) {
+            // the points are kept reduced to one pixel columns, so that the
+            // next layout only has to reduce them together with the new points
+            final Decimator points = decimatedLine.points;
+            points.sortByX();
+            points.reduceMinMax(1);
+            Decimator reduced = points;
+            if (decimation == Decimation.LARGEST_TRIANGLE_THREE_BUCKETS) {
+                reduced = decimatedLine.output;
+                reduced.setAll(points);
+                reduced.reduceLargestTriangle(Math.max(3, 2 * (int) Math.ceil(axisX.getWidth())));
+            }
+            for (int i = 0; i < reduced.size(); i++) {
+                constructedPath.add(new LineTo(reduced.getX(i), reduced.getY(i)));
+            }
+            decimatedLine.update(series, mapping, prevDataPoint, nextDataPoint);
+        }
+
         if (!constructedPath.isEmpty() || prevDataPoint != null || nextDataPoint != null) {
-            if (sortX) {
+            if (decimate) {
+                // already sorted
+            } else if (sortX) {
                 Collections.sort(constructedPath, (e1, e2) -> Double.compare(e1.getX(), e2.getX()));
             } else if (sortY) {
                 Collections.sort(constructedPath, (e1, e2) -> Double.compare(e1.getY(), e2.getY()));
@@ -531,10 +628,93 @@ public class AreaChart<X,Y> extends XYChart<X,Y> {
         }
     }
 
+    /**
+     * The reduced line of a series, which is kept between layouts, so that a
+     * layout after data items have been appended to the series only has to
+     * convert and reduce the new data items. The points of the line are kept
+     * reduced to one pixel columns with {@link Decimator#reduceMinMax(double)},
+     * which does not change when it is applied again together with new points.
+     */
+    static final class DecimatedLine {
+        /** The points of the displayed data items, reduced to one pixel columns */
+        final Decimator points = new Decimator();
+        /** The points reduced further, for decimations other than MIN_MAX */
+        final Decimator output = new Decimator();
+        /** The number of displayed data items in points, or -1 if they have to be recomputed */
+        int itemCount = -1;
+        LineTo prevDataPoint;
+        LineTo nextDataPoint;
+        private double[] mapping;
+        private Data<?, ?> lastItem;
+
+        /**
+         * Returns the values that determine the display positions of the data
+         * items, or null if the line cannot be kept because they are unknown.
+         */
+        static double[] mapping(Axis<?> axisX, Axis<?> axisY, double yAnimMultiplier, double hlw,
+                                Decimation decimation) {
+            if (!(axisX instanceof ValueAxis<?> x) || !(axisY instanceof ValueAxis<?> y)) {
+                return null;
+            }
+            return new double[] {
+                displayPosition(x, x.getLowerBound()), displayPosition(x, x.getUpperBound()),
+                x.getScale(), x.getWidth(), x.getHeight(),
+                displayPosition(y, y.getLowerBound()), displayPosition(y, y.getUpperBound()),
+                y.getScale(), y.getWidth(), y.getHeight(),
+                yAnimMultiplier, hlw, decimation.ordinal()
+            };
+        }
+
+        private static <T extends Number> double displayPosition(ValueAxis<T> axis, double value) {
+            return axis.getDisplayPosition(axis.toRealValue(value));
+        }
+
+        static void itemAdded(DecimatedLine line, int itemIndex) {
+            if (line != null && itemIndex < line.itemCount) {
+                line.itemCount = -1;
+            }
+        }
+
+        static void invalidate(DecimatedLine line) {
+            if (line != null) {
+                line.itemCount = -1;
+            }
+        }
+
+        /**
+         * Returns whether the line holds the first data items of the series,
+         * converted with the given mapping, so that it can be extended with
+         * the remaining data items.
+         */
+        boolean isExtensible(Series<?, ?> series, double[] mapping) {
+            return mapping != null && itemCount >= 0 && itemCount <= series.getDataSize()
+                    && Arrays.equals(mapping, this.mapping)
+                    && (itemCount == 0 || series.getItem(itemCount - 1) == lastItem);
+        }
+
+        void reset() {
+            points.clear();
+            output.clear();
+            itemCount = 0;
+            prevDataPoint = null;
+            nextDataPoint = null;
+            mapping = null;
+            lastItem = null;
+        }
+
+        void update(Series<?, ?> series, double[] mapping, LineTo prevDataPoint, LineTo nextDataPoint) {
+            this.mapping = mapping;
+            this.prevDataPoint = prevDataPoint;
+            this.nextDataPoint = nextDataPoint;
+            itemCount = (mapping == null) ? -1 : series.getDataSize();
+            lastItem = (itemCount > 0) ? series.getItem(itemCount - 1) : null;
+        }
+    }
+
     private Node createSymbol(Series<X,Y> series, int seriesIndex, final Data<X,Y> item, int itemIndex) {
         Node symbol = item.getNode();
         // check if symbol has already been created
-        if (symbol == null && getCreateSymbols()) {
+        if (symbol == null && getCreateSymbols() && getDecimation() == Decimation.NONE) {
             symbol = new StackPane();
             symbol.setAccessibleRole(AccessibleRole.TEXT);
             symbol.setAccessibleRoleDescription("Point");
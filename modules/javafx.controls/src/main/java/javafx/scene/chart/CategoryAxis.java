@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,7 +26,11 @@
 package javafx.scene.chart;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
@@ -72,7 +76,10 @@ public final class CategoryAxis extends Axis<String> {
     private final DoubleProperty firstCategoryPos = new SimpleDoubleProperty(this, "firstCategoryPos", 0);
     private Object currentAnimationID;
     private final ChartLayoutAnimator animator = new ChartLayoutAnimator(this);
+    /** The index of each category, built on demand and cleared when the categories change */
+    private Map<String, Integer> categoryIndex;
     private ListChangeListener<String> itemsListener = c -> {
+        categoryIndex = null;
         while (c.next()) {
             if(!c.getAddedSubList().isEmpty()) {
                 // remove duplicates else they will get rendered on the chart.
@@ -174,6 +181,7 @@ public final class CategoryAxis extends Axis<String> {
                 throw new IllegalArgumentException("Duplicate category added; "+getDuplicate()+" already present");
             }
             final ObservableList<String> newItems = get();
+            categoryIndex = null;
             if (old != newItems) {
                 // Add and remove listeners
                 if (old != null) old.removeListener(itemsListener);
@@ -218,17 +226,37 @@ public final class CategoryAxis extends Axis<String> {
     }
 
     private String getDuplicate() {
-        if (getCategories() != null) {
-            for (int i = 0; i < getCategories().size(); i++) {
-                for (int j = 0; j < getCategories().size(); j++) {
-                    if (getCategories().get(i).equals(getCategories().get(j)) && i != j) {
-                        return getCategories().get(i);
-                    }
+        final ObservableList<String> categories = getCategories();
+        if (categories != null) {
+            Set<String> seen = new HashSet<>();
+            Set<String> duplicates = new HashSet<>();
+            for (String category : categories) {
+                if (!seen.add(category)) duplicates.add(category);
+            }
+            if (!duplicates.isEmpty()) {
+                // return the first category which occurs more than once
+                for (String category : categories) {
+                    if (duplicates.contains(category)) return category;
                 }
             }
         }
         return null;
     }
+
+    /*
+     * Returns the index of each category in the categories list, so that the
+     * position of a category can be found without searching the list.
+     */
+    private Map<String, Integer> getCategoryIndex() {
+        if (categoryIndex == null) {
+            final ObservableList<String> categories = getCategories();
+            categoryIndex = new HashMap<>();
+            for (int i = 0; i < categories.size(); i++) {
+                categoryIndex.putIfAbsent(categories.get(i), i);
+            }
+        }
+        return categoryIndex;
+    }
     /**
      * Returns a {@link ObservableList} of categories plotted on this axis.
      *
@@ -441,18 +469,20 @@ public final class CategoryAxis extends Axis<String> {
         super.invalidateRange(data);
         // Create unique set of category names
         List<String> categoryNames = new ArrayList<>();
-        categoryNames.addAll(allDataCategories);
+        // hashed copies of the data and the category names, for fast lookups
+        Set<String> dataSet = new HashSet<>(data);
+        Set<String> categoryNameSet = new HashSet<>();
         //RT-21141 allDataCategories needs to be updated based on data -
         // and should maintain the order it originally had for the categories already present.
         // and remove categories not present in data
         for(String cat : allDataCategories) {
-            if (!data.contains(cat)) categoryNames.remove(cat);
+            if (dataSet.contains(cat) && categoryNameSet.add(cat)) categoryNames.add(cat);
         }
         // add any new category found in data
 //        for(String cat : data) {
         for (int i = 0; i < data.size(); i++) {
            int len = categoryNames.size();
-           if (!categoryNames.contains(data.get(i))) categoryNames.add((i > len) ? len : i, data.get(i));
+           if (categoryNameSet.add(data.get(i))) categoryNames.add((i > len) ? len : i, data.get(i));
         }
         allDataCategories.clear();
         allDataCategories.addAll(categoryNames);
@@ -472,14 +502,14 @@ public final class CategoryAxis extends Axis<String> {
      */
     @Override public double getDisplayPosition(String value) {
         // find index of value
-        final ObservableList<String> cat = getCategories();
-        if (!cat.contains(value)) {
+        final Integer index = getCategoryIndex().get(value);
+        if (index == null) {
             return Double.NaN;
         }
         if (getEffectiveSide().isHorizontal()) {
-            return firstCategoryPos.get() + cat.indexOf(value) * categorySpacing.get();
+            return firstCategoryPos.get() + index * categorySpacing.get();
         } else {
-            return firstCategoryPos.get() + cat.indexOf(value) * categorySpacing.get() * -1;
+            return firstCategoryPos.get() + index * categorySpacing.get() * -1;
         }
     }
 
@@ -510,7 +540,7 @@ public final class CategoryAxis extends Axis<String> {
      * @return true if the given value is plottable on this axis
      */
     @Override public boolean isValueOnAxis(String value) {
-        return getCategories().indexOf("" + value) != -1;
+        return getCategoryIndex().containsKey("" + value);
     }
 
     /**
@@ -520,7 +550,8 @@ public final class CategoryAxis extends Axis<String> {
      * @return Numeric value for the given data value
      */
     @Override public double toNumericValue(String value) {
-        return getCategories().indexOf(value);
+        final Integer index = getCategoryIndex().get(value);
+        return (index == null) ? -1 : index;
     }
 
     /**
@@ -78,6 +78,8 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
 
     /** A multiplier for the Y values that we store for each series, it is used to animate in a new series */
     private Map<Series<X,Y>, DoubleProperty> seriesYMultiplierMap = new HashMap<>();
+    /** The reduced line of each series, which is kept between layouts */
+    private final Map<Series<X,Y>, AreaChart.DecimatedLine> decimatedLines = new HashMap<>();
     private Timeline dataRemoveTimeline;
     private Series<X,Y> seriesOfDataRemoved = null;
     private Data<X,Y> dataItemBeingRemoved = null;
@@ -96,7 +98,9 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
                     Node symbol = item.getNode();
                     if(get() && symbol == null) { // create any symbols
                         symbol = createSymbol(series, getData().indexOf(series), item, itemIndex);
-                        getPlotChildren().add(symbol);
+                        if (symbol != null) {
+                            getPlotChildren().add(symbol);
+                        }
                     } else if (!get() && symbol != null) { // remove symbols
                         getPlotChildren().remove(symbol);
                         symbol = null;
@@ -162,6 +166,52 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
     public final void setAxisSortingPolicy(SortingPolicy value) { axisSortingPolicy.setValue(value); }
     public final ObjectProperty<SortingPolicy> axisSortingPolicyProperty() { return axisSortingPolicy; }
 
+    /**
+     * Indicates whether the line of each series is reduced to the resolution
+     * of the plot area before it is drawn. For series with many more data items
+     * than the plot area is wide, this keeps the number of elements of the line
+     * proportional to the width of the chart, rather than to the number of data
+     * items. The line is only reduced when the data is ordered by the x axis.
+     * While the line is reduced, no symbols are created for data items, as a
+     * symbol for each data item would defeat the reduction. Symbols that data
+     * items already have are kept.
+     *
+     * @since 22
+     * @see Decimation
+     * @defaultValue Decimation#NONE
+     */
+    private ObjectProperty<Decimation> decimation = new ObjectPropertyBase<Decimation>(Decimation.NONE) {
+        @Override protected void invalidated() {
+            if (get() == Decimation.NONE && getCreateSymbols()) {
+                // create the symbols that were skipped while the line was reduced
+                for (int seriesIndex = 0; seriesIndex < getData().size(); seriesIndex++) {
+                    Series<X,Y> series = getData().get(seriesIndex);
+                    for (int itemIndex = 0; itemIndex < series.getData().size(); itemIndex++) {
+                        Data<X,Y> item = series.getData().get(itemIndex);
+                        if (item.getNode() == null) {
+                            getPlotChildren().add(createSymbol(series, seriesIndex, item, itemIndex));
+                        }
+                    }
+                }
+            }
+            requestChartLayout();
+        }
+
+        @Override
+        public Object getBean() {
+            return LineChart.this;
+        }
+
+        @Override
+        public String getName() {
+            return "decimation";
+        }
+    };
+
+    public final Decimation getDecimation() { return decimation.getValue(); }
+    public final void setDecimation(Decimation value) { decimation.setValue(value); }
+    public final ObjectProperty<Decimation> decimationProperty() { return decimation; }
+
     // -------------- CONSTRUCTORS ----------------------------------------------
 
     /**
@@ -198,10 +248,7 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
         if(ya.isAutoRanging()) yData = new ArrayList<>();
         if(xData != null || yData != null) {
             for(Series<X,Y> series : getData()) {
-                for(Data<X,Y> data: series.getData()) {
-                    if(xData != null) xData.add(data.getXValue());
-                    if(yData != null) yData.add(data.getYValue());
-                }
+                addAxisData(series, xData, yData);
             }
             // RT-32838 No need to invalidate range if there is one data item - whose value is zero.
             if(xData != null && !(xData.size() == 1 && getXAxis().toNumericValue(xData.get(0)) == 0)) {
@@ -215,6 +262,7 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
     }
 
     @Override protected void dataItemAdded(final Series<X,Y> series, int itemIndex, final Data<X,Y> item) {
+        AreaChart.DecimatedLine.itemAdded(decimatedLines.get(series), itemIndex);
         final Node symbol = createSymbol(series, getData().indexOf(series), item, itemIndex);
         if (shouldAnimate()) {
             if (dataRemoveTimeline != null && dataRemoveTimeline.getStatus().equals(Animation.Status.RUNNING)) {
@@ -291,6 +339,7 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
     }
 
     @Override protected  void dataItemRemoved(final Data<X,Y> item, final Series<X,Y> series) {
+        AreaChart.DecimatedLine.invalidate(decimatedLines.get(series));
         final Node symbol = item.getNode();
 
         if (symbol != null) {
@@ -372,6 +421,7 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
 
     /** {@inheritDoc} */
     @Override protected void dataItemChanged(Data<X, Y> item) {
+        decimatedLines.values().forEach(AreaChart.DecimatedLine::invalidate);
     }
 
     @Override protected void seriesChanged(ListChangeListener.Change<? extends Series> c) {
@@ -438,6 +488,7 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
     @Override protected  void seriesRemoved(final Series<X,Y> series) {
         // remove all symbol nodes
         seriesYMultiplierMap.remove(series);
+        decimatedLines.remove(series);
         if (shouldAnimate()) {
             seriesRemoveTimeline = new Timeline(createSeriesRemoveTimeLine(series, 900));
             seriesRemoveTimeline.play();
@@ -458,7 +509,8 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
             if (seriesNode instanceof Path) {
                 AreaChart.makePaths(this, series,
                                     constructedPath, null, (Path) seriesNode,
-                                    seriesYAnimMultiplier.get(), getAxisSortingPolicy());
+                                    seriesYAnimMultiplier.get(), getAxisSortingPolicy(), getDecimation(),
+                                    decimatedLines.computeIfAbsent(series, s -> new AreaChart.DecimatedLine()));
             }
         }
     }
@@ -523,7 +575,7 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
     private Node createSymbol(Series<X, Y> series, int seriesIndex, final Data<X,Y> item, int itemIndex) {
         Node symbol = item.getNode();
         // check if symbol has already been created
-        if (symbol == null && getCreateSymbols()) {
+        if (symbol == null && getCreateSymbols() && getDecimation() == Decimation.NONE) {
             symbol = new StackPane();
             symbol.setAccessibleRole(AccessibleRole.TEXT);
             symbol.setAccessibleRoleDescription("Point");
@@ -608,4 +660,28 @@ public class LineChart<X,Y> extends XYChart<X,Y> {
          */
         Y_AXIS
     }
+
+    /**
+     * This enum defines how the line of a series is reduced to the resolution of the plot area,
+     * for {@link LineChart#decimationProperty()} and {@link AreaChart#decimationProperty()}.
+     * @since 22
+     */
+    public static enum Decimation {
+        /**
+         * The line goes through every data item.
+         */
+        NONE,
+        /**
+         * For each pixel column of the plot area, the line only goes through the first and the last
+         * data item in the column, and the data items with the smallest and the largest y value.
+         * The line looks the same as the line through every data item, including its spikes.
+         */
+        MIN_MAX,
+        /**
+         * The line goes through about two data items for each pixel column of the plot area, chosen
+         * with the Largest-Triangle-Three-Buckets algorithm, which preserves the overall shape of the
+         * line while smoothing out noise.
+         */
+        LARGEST_TRIANGLE_THREE_BUCKETS
+    }
 }
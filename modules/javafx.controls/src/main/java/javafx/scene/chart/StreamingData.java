@@ -0,0 +1,443 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.chart;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableListBase;
+import javafx.scene.chart.XYChart.Data;
+
+import com.sun.javafx.tk.Toolkit;
+
+/**
+ * An {@code ObservableList} of {@link XYChart.Data} items for series whose
+ * samples arrive continuously, such as telemetry, that keeps the most recent
+ * samples up to a fixed capacity. Samples are appended as primitive values
+ * with {@link #append(double, double)}, which can be called on any thread and
+ * takes constant time. The samples that were appended since the list last
+ * changed are added to the list together on the JavaFX Application Thread, in
+ * a single change that also removes the samples that no longer fit from the
+ * start of the list. A chart is therefore updated at most once for each
+ * batch of samples, rather than once for each sample, and removing the oldest
+ * samples does not move the remaining ones. The samples are kept as primitive
+ * values, and the {@code Data} item of a sample is only created when it is
+ * first accessed.
+ *
+ * <p>When a {@link ValueAxis} of an {@link XYChart} is
+ * {@link Axis#autoRangingProperty() auto ranging}, the range of the samples
+ * in the list is used rather than each of their values. The range is
+ * maintained as samples are added and removed, in constant amortized time.
+ *
+ * <p>The list cannot be modified other than by appending samples or by
+ * {@link #clear() clearing} it. A simple example:
+ *
+ * <pre><code>StreamingData samples = new StreamingData(10_000);
+ * LineChart&lt;Number, Number&gt; chart = new LineChart&lt;&gt;(new NumberAxis(), new NumberAxis());
+ * chart.setAnimated(false);
+ * chart.setCreateSymbols(false);
+ * chart.getData().add(new XYChart.Series&lt;&gt;("sensor", samples));
+ *
+ * // on the thread that receives the samples
+ * samples.append(time, value);</code></pre>
+ *
+ * @see XYChart.Series#dataProperty()
+ * @since 22
+ */
+public final class StreamingData extends ObservableListBase<Data<Number, Number>> {
+
+    private final int capacity;
+
+    // the samples in the list, in a ring starting at head, with the sequence
+    // number of the first one, and the data items that have been created for
+    // them; only accessed on the JavaFX Application Thread
+    private final List<Data<Number, Number>> items;
+    private final double[] xs;
+    private final double[] ys;
+    private int head;
+    private int size;
+    private long first;
+
+    // the extremes of the samples in the list
+    private final Extreme minX;
+    private final Extreme maxX;
+    private final Extreme minY;
+    private final Extreme maxY;
+
+    // the samples that were appended but not added yet, guarded by lock
+    private final Object lock = new Object();
+    private final double[] pendingXs;
+    private final double[] pendingYs;
+    private int pendingHead;
+    private int pendingSize;
+    private boolean flushScheduled;
+
+    /**
+     * Creates an empty list that keeps at most the given number of samples.
+     *
+     * @param capacity the maximum number of samples in the list
+     * @throws IllegalArgumentException if {@code capacity} is less than one
+     */
+    public StreamingData(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        items = new ArrayList<>(Collections.nCopies(capacity, null));
+        xs = new double[capacity];
+        ys = new double[capacity];
+        pendingXs = new double[capacity];
+        pendingYs = new double[capacity];
+        minX = new Extreme(xs, false);
+        maxX = new Extreme(xs, true);
+        minY = new Extreme(ys, false);
+        maxY = new Extreme(ys, true);
+    }
+
+    /**
+     * Returns the maximum number of samples in this list.
+     *
+     * @return the capacity of this list
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Appends a sample to this list. The sample is added to the list on the
+     * JavaFX Application Thread, together with the other samples appended
+     * before then. This method can be called on any thread.
+     *
+     * @param x the x value of the sample
+     * @param y the y value of the sample
+     */
+    public void append(double x, double y) {
+        boolean schedule;
+        synchronized (lock) {
+            addPending(x, y);
+            schedule = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (schedule) {
+            Platform.runLater(this::flush);
+        }
+    }
+
+    /**
+     * Appends samples to this list. The samples are added to the list on the
+     * JavaFX Application Thread in a single change, together with the other
+     * samples appended before then. This method can be called on any thread.
+     *
+     * @param x the x values of the samples
+     * @param y the y values of the samples
+     * @throws IllegalArgumentException if the arrays have different lengths
+     */
+    public void appendAll(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y have different lengths: " + x.length + " != " + y.length);
+        }
+        if (x.length == 0) return;
+        boolean schedule;
+        synchronized (lock) {
+            for (int i = 0; i < x.length; i++) {
+                addPending(x[i], y[i]);
+            }
+            schedule = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (schedule) {
+            Platform.runLater(this::flush);
+        }
+    }
+
+    // the pending samples form a ring of the same capacity as the list, as
+    // older samples would be removed from the list as soon as they are added
+    private void addPending(double x, double y) {
+        int index = (pendingHead + pendingSize) % capacity;
+        pendingXs[index] = x;
+        pendingYs[index] = y;
+        if (pendingSize < capacity) {
+            pendingSize++;
+        } else {
+            pendingHead = (pendingHead + 1) % capacity;
+        }
+    }
+
+    /**
+     * Removes all samples from this list, including the samples that were
+     * appended but not added to the list yet. This method must be called on
+     * the JavaFX Application Thread.
+     */
+    @Override public void clear() {
+        Toolkit.getToolkit().checkFxUserThread();
+        synchronized (lock) {
+            pendingSize = 0;
+        }
+        if (size == 0) return;
+        List<Data<Number, Number>> removed = removedSamples(size);
+        evict(size);
+        fireChange(new SampleChange(new int[] { 0, 0 }, removed));
+    }
+
+    private void flush() {
+        final int count;
+        final double[] x;
+        final double[] y;
+        synchronized (lock) {
+            flushScheduled = false;
+            count = pendingSize;
+            x = new double[count];
+            y = new double[count];
+            for (int i = 0; i < count; i++) {
+                int index = (pendingHead + i) % capacity;
+                x[i] = pendingXs[index];
+                y[i] = pendingYs[index];
+            }
+            pendingHead = 0;
+            pendingSize = 0;
+        }
+        if (count == 0) return;
+
+        final int removedCount = Math.max(0, size + count - capacity);
+        final List<Data<Number, Number>> removed = removedSamples(removedCount);
+        evict(removedCount);
+        for (int i = 0; i < count; i++) {
+            int index = (head + size) % capacity;
+            long sequence = first + size;
+            xs[index] = x[i];
+            ys[index] = y[i];
+            size++;
+            minX.add(sequence, index);
+            maxX.add(sequence, index);
+            minY.add(sequence, index);
+            maxY.add(sequence, index);
+        }
+
+        // the removed samples are passed on as they are, rather than one by one,
+        // so that their data items are only created if a listener asks for them
+        final int from = size - count;
+        fireChange(new SampleChange(removedCount > 0 && from > 0
+                ? new int[] { 0, 0, from, size }
+                : new int[] { from, size }, removed));
+    }
+
+    private void evict(int count) {
+        for (int i = 0; i < count; i++) {
+            items.set((head + i) % capacity, null);
+        }
+        head = (head + count) % capacity;
+        size -= count;
+        first += count;
+        minX.evict(first);
+        maxX.evict(first);
+        minY.evict(first);
+        maxY.evict(first);
+    }
+
+    // the first count samples, before they are evicted
+    private List<Data<Number, Number>> removedSamples(int count) {
+        if (count == 0) return List.of();
+        RemovedSamples removed = new RemovedSamples(count);
+        for (int i = 0; i < count; i++) {
+            int index = (head + i) % capacity;
+            removed.x[i] = xs[index];
+            removed.y[i] = ys[index];
+            removed.items.add(items.get(index));
+        }
+        return removed;
+    }
+
+    @Override public Data<Number, Number> get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        int i = (head + index) % capacity;
+        Data<Number, Number> item = items.get(i);
+        if (item == null) {
+            item = new Data<>(xs[i], ys[i]);
+            items.set(i, item);
+        }
+        return item;
+    }
+
+    @Override public int size() {
+        return size;
+    }
+
+    /*
+     * Adds the range of the x values of the samples to the given list, which
+     * is used by an auto ranging value axis in place of the x values.
+     */
+    void addXRange(List<Number> values) {
+        addRange(values, minX, maxX);
+    }
+
+    /*
+     * Adds the range of the y values of the samples to the given list, which
+     * is used by an auto ranging value axis in place of the y values.
+     */
+    void addYRange(List<Number> values) {
+        addRange(values, minY, maxY);
+    }
+
+    private void addRange(List<Number> values, Extreme min, Extreme max) {
+        if (min.isEmpty()) return;
+        values.add(min.get());
+        // as for other series, so that a single zero value can be told apart
+        if (size > 1) {
+            values.add(max.get());
+        }
+    }
+
+    /*
+     * A change consisting of one or more additions, in ascending order, where
+     * only the first one may also have removed samples.
+     */
+    private final class SampleChange extends ListChangeListener.Change<Data<Number, Number>> {
+        private final int[] bounds;
+        private final List<Data<Number, Number>> removed;
+        private int cursor = -2;
+
+        SampleChange(int[] bounds, List<Data<Number, Number>> removed) {
+            super(StreamingData.this);
+            this.bounds = bounds;
+            this.removed = removed;
+        }
+
+        @Override public boolean next() {
+            cursor += 2;
+            return cursor < bounds.length;
+        }
+
+        @Override public void reset() {
+            cursor = -2;
+        }
+
+        @Override public int getFrom() {
+            checkState();
+            return bounds[cursor];
+        }
+
+        @Override public int getTo() {
+            checkState();
+            return bounds[cursor + 1];
+        }
+
+        @Override public List<Data<Number, Number>> getRemoved() {
+            checkState();
+            return cursor == 0 ? removed : List.of();
+        }
+
+        @Override protected int[] getPermutation() {
+            checkState();
+            return new int[0];
+        }
+
+        private void checkState() {
+            if (cursor < 0 || cursor >= bounds.length) {
+                throw new IllegalStateException("Invalid Change state: next() must be called before inspecting the Change.");
+            }
+        }
+    }
+
+    /*
+     * The samples removed from the list in a change. As for the samples in the
+     * list, their data items are created when they are first accessed.
+     */
+    private static final class RemovedSamples extends AbstractList<Data<Number, Number>> {
+        private final double[] x;
+        private final double[] y;
+        private final List<Data<Number, Number>> items;
+
+        RemovedSamples(int count) {
+            x = new double[count];
+            y = new double[count];
+            items = new ArrayList<>(count);
+        }
+
+        @Override public Data<Number, Number> get(int index) {
+            Data<Number, Number> item = items.get(index);
+            if (item == null) {
+                item = new Data<>(x[index], y[index]);
+                items.set(index, item);
+            }
+            return item;
+        }
+
+        @Override public int size() {
+            return x.length;
+        }
+    }
+
+    /*
+     * The smallest or the largest of the values in the list, maintained with a
+     * monotonic deque of the sequence numbers of the samples that are the
+     * extreme of the samples that follow them. NaN values are ignored.
+     */
+    private final class Extreme {
+        private final double[] values;
+        private final boolean max;
+        private final long[] sequences = new long[capacity];
+        private int dequeHead;
+        private int dequeSize;
+
+        Extreme(double[] values, boolean max) {
+            this.values = values;
+            this.max = max;
+        }
+
+        boolean isEmpty() {
+            return dequeSize == 0;
+        }
+
+        double get() {
+            return values[(int) (sequences[dequeHead] % capacity)];
+        }
+
+        void add(long sequence, int index) {
+            double value = values[index];
+            if (Double.isNaN(value)) return;
+            while (dequeSize > 0) {
+                double last = values[(int) (sequences[(dequeHead + dequeSize - 1) % capacity] % capacity)];
+                if (max ? last > value : last < value) break;
+                dequeSize--;
+            }
+            sequences[(dequeHead + dequeSize) % capacity] = sequence;
+            dequeSize++;
+        }
+
+        void evict(long first) {
+            while (dequeSize > 0 && sequences[dequeHead] < first) {
+                dequeHead = (dequeHead + 1) % capacity;
+                dequeSize--;
+            }
+        }
+    }
+}
@@ -692,16 +692,46 @@ public abstract class XYChart<X,Y> extends Chart {
         if(ya.isAutoRanging()) yData = new ArrayList<>();
         if(xData != null || yData != null) {
             for(Series<X,Y> series : getData()) {
-                for(Data<X,Y> data: series.getData()) {
-                    if(xData != null) xData.add(data.getXValue());
-                    if(yData != null) yData.add(data.getYValue());
-                }
+                addAxisData(series, xData, yData);
             }
             if(xData != null) xa.invalidateRange(xData);
             if(yData != null) ya.invalidateRange(yData);
         }
     }
 
+    /*
+     * Adds the x and y values of the data items of the given series to the lists
+     * the auto ranging axes compute their ranges from, if not null. For a value
+     * axis, only the smallest and the largest of the values are added, which
+     * gives the same axis range without visiting every item. These are kept up
+     * to date by the series, or by StreamingData for a series of StreamingData.
+     */
+    @SuppressWarnings("unchecked")
+    void addAxisData(Series<X,Y> series, List<X> xData, List<Y> yData) {
+        if ((Object) series.getData() instanceof StreamingData streamingData) {
+            if (xData != null && getXAxis() instanceof ValueAxis) {
+                streamingData.addXRange((List<Number>) xData);
+                xData = null;
+            }
+            if (yData != null && getYAxis() instanceof ValueAxis) {
+                streamingData.addYRange((List<Number>) yData);
+                yData = null;
+            }
+        }
+        if (xData != null && getXAxis() instanceof ValueAxis && series.xRange.addTo(xData, series.getData())) {
+            xData = null;
+        }
+        if (yData != null && getYAxis() instanceof ValueAxis && series.yRange.addTo(yData, series.getData())) {
+            yData = null;
+        }
+        if (xData != null || yData != null) {
+            for (Data<X,Y> data : series.getData()) {
+                if (xData != null) xData.add(data.getXValue());
+                if (yData != null) yData.add(data.getYValue());
+            }
+        }
+    }
+
     /**
      * Called to update and layout the plot children. This should include all work to updates nodes representing
      * the plot on top of the axis and grid lines etc. The origin is the top left of the plot area, the plot area with
@@ -1271,6 +1301,7 @@ public abstract class XYChart<X,Y> extends Chart {
         private ObjectProperty<X> xValue = new SimpleObjectProperty<>(Data.this, "XValue") {
             @Override protected void invalidated() {
                 if (series!=null) {
+                    series.xRange.invalidate();
                     XYChart<X,Y> chart = series.getChart();
                     if(chart!=null) chart.dataValueChanged(Data.this, get(), currentXProperty());
                 } else {
@@ -1306,6 +1337,7 @@ public abstract class XYChart<X,Y> extends Chart {
         private ObjectProperty<Y> yValue = new SimpleObjectProperty<>(Data.this, "YValue") {
             @Override protected void invalidated() {
                 if (series!=null) {
+                    series.yRange.invalidate();
                     XYChart<X,Y> chart = series.getChart();
                     if(chart!=null) chart.dataValueChanged(Data.this, get(), currentYProperty());
                 } else {
@@ -1502,11 +1534,24 @@ public abstract class XYChart<X,Y> extends Chart {
 
         private List<Data<X, Y>> displayedData = new ArrayList<>();
 
+        /** The range of the x and y values of the data items, for auto ranging value axes */
+        final ValueRange xRange = new ValueRange(true);
+        final ValueRange yRange = new ValueRange(false);
+
         private final ListChangeListener<Data<X,Y>> dataChangeListener = new ListChangeListener<>() {
             @Override public void onChanged(Change<? extends Data<X, Y>> c) {
                 ObservableList<? extends Data<X, Y>> data = c.getList();
                 final XYChart<X, Y> chart = getChart();
                 while (c.next()) {
+                    if (c.wasPermutated()) {
+                        xRange.invalidate();
+                        yRange.invalidate();
+                    } else {
+                        xRange.removed(c.getFrom(), c.getRemoved());
+                        yRange.removed(c.getFrom(), c.getRemoved());
+                        xRange.added(c.getFrom(), c.getAddedSubList());
+                        yRange.added(c.getFrom(), c.getAddedSubList());
+                    }
                     if (chart != null) {
                         // RT-25187 Probably a sort happened, just reorder the pointers and return.
                         if (c.wasPermutated()) {
@@ -1514,8 +1559,11 @@ public abstract class XYChart<X,Y> extends Chart {
                             return;
                         }
 
-                        Set<Data<X, Y>> dupCheck = new HashSet<>(displayedData);
-                        dupCheck.removeAll(c.getRemoved());
+                        Set<Data<X, Y>> dupCheck = new HashSet<>();
+                        if (!isNewToSeries(c.getAddedSubList())) {
+                            dupCheck.addAll(displayedData);
+                            dupCheck.removeAll(c.getRemoved());
+                        }
                         for (Data<X, Y> d : c.getAddedSubList()) {
                             if (!dupCheck.add(d)) {
                                 throw new IllegalArgumentException("Duplicate data added");
@@ -1541,7 +1589,7 @@ public abstract class XYChart<X,Y> extends Chart {
                             if (c.getFrom() == 0) {
                                 displayedData.addAll(0, c.getAddedSubList());
                             } else {
-                                displayedData.addAll(displayedData.indexOf(data.get(c.getFrom() - 1)) + 1, c.getAddedSubList());
+                                displayedData.addAll(displayedData.lastIndexOf(data.get(c.getFrom() - 1)) + 1, c.getAddedSubList());
                             }
                         }
                         // inform chart
@@ -1702,6 +1750,18 @@ public abstract class XYChart<X,Y> extends Chart {
 
         // -------------- PRIVATE/PROTECTED METHODS -----------------------------------
 
+        /*
+         * Returns true if none of the given data items has been added to this
+         * series before, in which case none of them can be displayed already and
+         * they only need to be checked for duplicates among themselves.
+         */
+        private boolean isNewToSeries(List<? extends Data<X, Y>> items) {
+            for (Data<X, Y> item : items) {
+                if (item.series == this) return false;
+            }
+            return true;
+        }
+
         /*
          * The following methods are for manipulating the pointers in the linked list
          * when data is deleted.
@@ -1724,4 +1784,188 @@ public abstract class XYChart<X,Y> extends Chart {
         }
     }
 
+    /*
+     * The smallest and the largest of the x or the y values of the data items of
+     * a series, which is all an auto ranging value axis needs from the series.
+     * The candidates for the extremes are kept in monotonic deques of positions
+     * in the list, so that appending data items to the end of the list and
+     * removing them from its start, as for a sliding window of samples, takes
+     * constant amortized time. Other changes of the list, and changing the value
+     * of an item, invalidate the range, in which case it is computed again from
+     * all the data items the next time it is needed. The extremes are ordered as
+     * by Math.min and Math.max, as in ValueAxis, so that a NaN value makes both
+     * of them NaN.
+     */
+    static final class ValueRange {
+        private final boolean x;
+        private boolean valid;
+        // the position of the first data item, and the number of data items
+        private long first;
+        private int size;
+        private final Extreme min = new Extreme(false);
+        private final Extreme max = new Extreme(true);
+        // the number of NaN values, and one of them
+        private int nanCount;
+        private Object nan;
+        // the number of times the range was computed from all data items
+        int scanCount;
+
+        ValueRange(boolean x) {
+            this.x = x;
+        }
+
+        void invalidate() {
+            valid = false;
+            min.clear();
+            max.clear();
+            nan = null;
+        }
+
+        void added(int from, List<? extends Data<?,?>> items) {
+            if (!valid || items.isEmpty()) return;
+            if (from != size) {
+                invalidate();
+                return;
+            }
+            for (int i = 0; valid && i < items.size(); i++) {
+                include(valueOf(items.get(i)));
+            }
+        }
+
+        void removed(int from, List<? extends Data<?,?>> items) {
+            if (!valid || items.isEmpty()) return;
+            if (from != 0) {
+                invalidate();
+                return;
+            }
+            for (int i = 0; i < items.size(); i++) {
+                if (valueOf(items.get(i)) instanceof Number n && Double.isNaN(n.doubleValue())) {
+                    nanCount--;
+                }
+            }
+            first += items.size();
+            size -= items.size();
+            min.evict(first);
+            max.evict(first);
+            if (nanCount == 0) nan = null;
+        }
+
+        /*
+         * Adds the smallest and the largest of the values of the given data items
+         * to the given list, and returns true, or returns false if not all values
+         * are numbers. The largest value is added even when equal to the
+         * smallest, if there is more than one item, so that a single zero value
+         * can still be told apart from several.
+         */
+        @SuppressWarnings("unchecked")
+        <T> boolean addTo(List<T> values, List<? extends Data<?,?>> items) {
+            if (!valid) {
+                scanCount++;
+                valid = true;
+                first = 0;
+                size = 0;
+                nanCount = 0;
+                added(0, items);
+                if (!valid) return false;
+            }
+            final Object minimum;
+            final Object maximum;
+            if (nanCount > 0) {
+                minimum = maximum = nan;
+            } else if (!min.isEmpty()) {
+                minimum = valueOf(items.get((int) (min.position() - first)));
+                maximum = valueOf(items.get((int) (max.position() - first)));
+            } else {
+                return true;
+            }
+            values.add((T) minimum);
+            if (items.size() > 1) values.add((T) maximum);
+            return true;
+        }
+
+        private Object valueOf(Data<?,?> item) {
+            return x ? item.getXValue() : item.getYValue();
+        }
+
+        private void include(Object value) {
+            if (!(value instanceof Number number)) {
+                invalidate();
+                return;
+            }
+            final double d = number.doubleValue();
+            final long position = first + size++;
+            if (Double.isNaN(d)) {
+                nanCount++;
+                nan = value;
+            } else {
+                min.add(position, d);
+                max.add(position, d);
+            }
+        }
+    }
+
+    /*
+     * The positions and values of the data items that are the smallest or the
+     * largest of the values from their position on, in order, in a growable
+     * ring. The first one is the extreme of all values.
+     */
+    private static final class Extreme {
+        private final boolean max;
+        private long[] positions = new long[16];
+        private double[] values = new double[16];
+        private int head;
+        private int size;
+
+        Extreme(boolean max) {
+            this.max = max;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        long position() {
+            return positions[head];
+        }
+
+        void clear() {
+            head = size = 0;
+        }
+
+        void add(long position, double value) {
+            while (size > 0) {
+                final int last = (head + size - 1) & (positions.length - 1);
+                final int c = Double.compare(values[last], value);
+                if (max ? c > 0 : c < 0) break;
+                size--;
+            }
+            if (size == positions.length) {
+                grow();
+            }
+            final int index = (head + size) & (positions.length - 1);
+            positions[index] = position;
+            values[index] = value;
+            size++;
+        }
+
+        void evict(long first) {
+            while (size > 0 && positions[head] < first) {
+                head = (head + 1) & (positions.length - 1);
+                size--;
+            }
+        }
+
+        private void grow() {
+            final long[] newPositions = new long[positions.length * 2];
+            final double[] newValues = new double[values.length * 2];
+            for (int i = 0; i < size; i++) {
+                final int index = (head + i) & (positions.length - 1);
+                newPositions[i] = positions[index];
+                newValues[i] = values[index];
+            }
+            positions = newPositions;
+            values = newValues;
+            head = 0;
+        }
+    }
 }
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.util.Callback;
+
+import com.sun.javafx.collections.SortableList;
+import com.sun.javafx.scene.control.TableColumnComparatorBase.TableColumnComparator;
+
+/**
+ * The sort policy created by {@link TableView#createBackgroundSortPolicy(Executor)}.
+ * The sort keys are read on the JavaFX Application Thread, sorted on the
+ * executor, and the resulting permutation is applied to the items on the
+ * JavaFX Application Thread.
+ */
+final class BackgroundSortPolicy<S> implements Callback<TableView<S>, Boolean> {
+
+    // smaller lists are sorted by the default sort policy, as handing them
+    // over to another thread costs about as much as sorting them
+    static final int MIN_BACKGROUND_SORT_SIZE = 10_000;
+
+    private final Executor executor;
+
+    BackgroundSortPolicy(Executor executor) {
+        this.executor = executor;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override public Boolean call(TableView<S> table) {
+        final ObservableList<S> items = table.getItems();
+        final Comparator<S> comparator = table.getComparator();
+        if (items instanceof SortableList
+                && items.size() >= MIN_BACKGROUND_SORT_SIZE
+                && comparator instanceof TableColumnComparator) {
+            Sort<S> sort = new Sort<>(table, (SortableList<S>) items, (TableColumnComparator<S,Object>) comparator);
+            if (sort.keys.length > 0) {
+                sort.start(executor);
+                return true;
+            }
+        }
+        return TableView.DEFAULT_SORT_POLICY.call(table);
+    }
+
+    static final class Sort<S> implements Runnable {
+        private final TableView<S> table;
+        private final SortableList<S> items;
+
+        // the values of each sortable column, with the comparator and sort
+        // type of the column, as they were when the sort was requested
+        private final Object[][] keys;
+        private final List<Comparator<Object>> comparators;
+        private final boolean[] descending;
+
+        // set on the JavaFX Application Thread when the items are modified
+        private boolean modified;
+        private final ListChangeListener<S> itemsListener = c -> modified = true;
+
+        private volatile boolean cancelled;
+
+        @SuppressWarnings("unchecked")
+        private Sort(TableView<S> table, SortableList<S> items, TableColumnComparator<S,Object> comparator) {
+            this.table = table;
+            this.items = items;
+
+            final List<TableColumn<S,Object>> columns = new ArrayList<>();
+            for (TableColumnBase<S,Object> tc : (List<TableColumnBase<S,Object>>) comparator.getColumns()) {
+                if (comparator.isSortable(tc)) {
+                    columns.add((TableColumn<S,Object>) tc);
+                }
+            }
+            final int size = items.size();
+            keys = new Object[columns.size()][];
+            comparators = new ArrayList<>(columns.size());
+            descending = new boolean[columns.size()];
+            for (int k = 0; k < keys.length; k++) {
+                final TableColumn<S,Object> tc = columns.get(k);
+                final Object[] values = new Object[size];
+                for (int i = 0; i < size; i++) {
+                    values[i] = tc.getCellData(items.get(i));
+                }
+                keys[k] = values;
+                comparators.add(tc.getComparator());
+                descending[k] = tc.getSortType() == TableColumn.SortType.DESCENDING;
+            }
+        }
+
+        private void start(Executor executor) {
+            table.backgroundSort = this;
+            table.setSorting(true);
+            items.addListener(itemsListener);
+            try {
+                executor.execute(this);
+            } catch (RuntimeException e) {
+                cancel();
+                throw e;
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            finish();
+        }
+
+        private void finish() {
+            items.removeListener(itemsListener);
+            if (table.backgroundSort == this) {
+                table.backgroundSort = null;
+                table.setSorting(false);
+            }
+        }
+
+        @Override public void run() {
+            if (cancelled) return;
+            final int size = keys[0].length;
+            final Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            try {
+                // a stable merge sort, which runs in parallel on the common
+                // fork/join pool for large arrays
+                Arrays.parallelSort(order, this::compare);
+            } catch (Throwable t) {
+                if (!cancelled) {
+                    Platform.runLater(() -> failed(t));
+                }
+                return;
+            }
+            if (cancelled) return;
+
+            final int[] permutation = new int[size];
+            boolean identity = true;
+            for (int i = 0; i < size; i++) {
+                permutation[order[i]] = i;
+                identity &= order[i] == i;
+            }
+            final boolean sorted = identity;
+            Platform.runLater(() -> sorted(sorted ? null : permutation));
+        }
+
+        private int compare(Integer index1, Integer index2) {
+            for (int k = 0; k < keys.length; k++) {
+                final Object value1 = keys[k][index1];
+                final Object value2 = keys[k][index2];
+                final int result = descending[k] ?
+                        comparators.get(k).compare(value2, value1) :
+                        comparators.get(k).compare(value1, value2);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+
+        private void sorted(int[] permutation) {
+            if (cancelled) return;
+            finish();
+
+            if (table.getItems() != items) {
+                // the items were replaced, and the result no longer applies
+                return;
+            }
+            if (modified) {
+                // the result is out of date, so sort the current items again
+                table.sort();
+                return;
+            }
+            if (permutation != null) {
+                table.sortPreservingSelection(t -> {
+                    items.permute(permutation);
+                    return true;
+                });
+            }
+        }
+
+        private void failed(Throwable t) {
+            if (cancelled) return;
+            finish();
+            Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), t);
+        }
+    }
+}
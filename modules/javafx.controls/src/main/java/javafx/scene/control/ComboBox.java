@@ -437,6 +437,36 @@ public class ComboBox<T> extends ComboBoxBase<T> {
     }
 
 
+    // --- Filterable
+    private BooleanProperty filterable;
+    /**
+     * Specifies whether typing into the editor of an {@link #editableProperty() editable}
+     * ComboBox filters the items shown in its popup. While filtering, the popup only
+     * shows the items whose text, as given by the {@link #converterProperty() converter},
+     * starts with the text of the editor, ignoring case. The {@link #itemsProperty() items}
+     * and the selection model of the ComboBox are not affected.
+     * <p>
+     * Large item lists are filtered on a background thread, and the popup is
+     * updated on the JavaFX Application Thread when filtering completes.
+     *
+     * @return the filterable property
+     * @defaultValue false
+     * @since 22
+     */
+    public final BooleanProperty filterableProperty() {
+        if (filterable == null) {
+            filterable = new SimpleBooleanProperty(this, "filterable");
+        }
+        return filterable;
+    }
+    public final void setFilterable(boolean value) {
+        filterableProperty().set(value);
+    }
+    public final boolean isFilterable() {
+        return filterable == null ? false : filterable.get();
+    }
+
+
 
     /* *************************************************************************
      *                                                                         *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,7 @@
 
 package javafx.scene.control;
 
+import com.sun.javafx.scene.control.SelectedCellsMap;
 import com.sun.javafx.scene.control.skin.Utils;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
@@ -166,17 +167,13 @@ class ControlUtils {
             // ensuring that the selectedIndices bitset is correctly updated.
 
             sm.startAtomic();
-            final List<Integer> removed = c.getRemoved().stream()
-                    .mapToInt(TablePositionBase::getRow)
-                    .distinct()
+            final List<Integer> removed = SelectedCellsMap.rowsOf(c.getRemoved())
                     .filter(removeRowFilter)
                     .boxed()
                     .peek(sm.selectedIndices::clear)
                     .collect(Collectors.toList());
 
-            final int addedSize = (int)c.getAddedSubList().stream()
-                    .mapToInt(TablePositionBase::getRow)
-                    .distinct()
+            final int addedSize = (int)SelectedCellsMap.rowsOf(c.getAddedSubList())
                     .peek(sm.selectedIndices::set)
                     .count();
             sm.stopAtomic();
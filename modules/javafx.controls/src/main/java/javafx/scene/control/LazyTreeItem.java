@@ -0,0 +1,410 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package javafx.scene.control;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+import javafx.application.Platform;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.ObservableList;
+
+import com.sun.javafx.scene.control.BackgroundExecutor;
+import com.sun.javafx.tk.Toolkit;
+
+/**
+ * TreeItem subclass whose children are loaded on demand, a page at a time, by
+ * a {@link PageLoader} running on a background {@link Executor}. This makes it
+ * possible to show large or slow hierarchies, such as file systems or database
+ * tables, without overriding {@link #getChildren()} and {@link #isLeaf()} and
+ * blocking the JavaFX Application Thread while the children are retrieved.
+ *
+ * <p>Until all of its children have been loaded, a LazyTreeItem has a
+ * placeholder child after the children loaded so far. The placeholder is an
+ * ordinary TreeItem with a {@code null} value, which can be identified with
+ * {@link #isPlaceholder(TreeItem)}, for example to show a "Loading..." message
+ * in a cell factory. The first page is requested when the item is expanded, and
+ * each following page when the placeholder is shown by a {@link TreeCell} or
+ * {@link TreeTableRow}, that is, when the user scrolls to the end of the
+ * children loaded so far. Each page is added to the children in a single
+ * change, which TreeView and TreeTableView handle like any other change to the
+ * children of a TreeItem. Once the loader returns fewer children than were
+ * requested, the placeholder is removed. If no children are returned at all,
+ * the item becomes a leaf.
+ *
+ * <p>Loaders usually block on I/O, so by default they run on a pool of
+ * threads reserved for such work, which does not hold up the background work
+ * of other controls. Applications that load many items at once, or that need
+ * to limit the load on a server, can provide an executor of their own.
+ *
+ * <p>A LazyTreeItem may be created and expanded on any thread, for example
+ * while a tree is built in the background. Loading starts on the JavaFX
+ * Application Thread: when the item is expanded on another thread, the first
+ * page is requested from that thread later.
+ *
+ * <p>A page that is being loaded is cancelled when the item is collapsed,
+ * when {@link #cancel()} or {@link #reload()} is called, and its result is
+ * discarded if it completes afterwards. If the loader throws an exception, the
+ * exception is made available through the {@link #exceptionProperty()
+ * exception} property, and no further page is loaded automatically until the
+ * item is expanded again or {@link #loadNextPage()} is called.
+ *
+ * <p>A simple example that lazily loads the content of directories is shown
+ * below:
+ *
+ * <pre><code>static List&lt;TreeItem&lt;Path&gt;&gt; listFiles(Path dir, int offset, int count) throws IOException {
+ *     try (Stream&lt;Path&gt; files = Files.list(dir)) {
+ *         return files.sorted().skip(offset).limit(count)
+ *                 .map(file -&gt; Files.isDirectory(file)
+ *                         ? new LazyTreeItem&lt;&gt;(file, MyApp::listFiles)
+ *                         : new TreeItem&lt;&gt;(file))
+ *                 .toList();
+ *     }
+ * }
+ *
+ * TreeView&lt;Path&gt; treeView = new TreeView&lt;&gt;(new LazyTreeItem&lt;&gt;(Path.of("/"), MyApp::listFiles));</code></pre>
+ *
+ * @param <T> The type of the value contained within the TreeItem
+ * @see TreeItem
+ * @since 22
+ */
+public class LazyTreeItem<T> extends TreeItem<T> {
+
+    /**
+     * Loads the children of a {@code LazyTreeItem}, one page at a time.
+     *
+     * @param <T> The type of the value contained within the TreeItem
+     * @since 22
+     */
+    @FunctionalInterface
+    public interface PageLoader<T> {
+        /**
+         * Loads a page of the children of the tree item with the given value.
+         * This method is called on a background thread, and must not access
+         * the tree item or the scene graph.
+         *
+         * @param value the value of the tree item whose children are loaded
+         * @param offset the number of children loaded so far
+         * @param count the number of children requested
+         * @return the children starting at {@code offset}, at most {@code count}
+         *         of them; fewer than {@code count} children indicate that all
+         *         children have been loaded
+         * @throws Exception if the children could not be loaded
+         */
+        List<? extends TreeItem<T>> load(T value, int offset, int count) throws Exception;
+    }
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final PageLoader<T> loader;
+    private final Executor executor;
+    private final TreeItem<T> placeholder = new Placeholder<>(this);
+
+    // the number of children loaded so far
+    private int loadedCount;
+
+    // the page being loaded, or null
+    private PageLoad currentLoad;
+
+
+
+    /* *************************************************************************
+     *                                                                         *
+     * Constructors                                                            *
+     *                                                                         *
+     **************************************************************************/
+
+    /**
+     * Creates a LazyTreeItem with the value property set to the provided
+     * object, whose children are loaded by the given loader on a shared pool
+     * of daemon threads meant for work that blocks on I/O.
+     *
+     * @param value The object to be stored as the value of this TreeItem.
+     * @param loader The loader of the children of this TreeItem.
+     */
+    public LazyTreeItem(T value, PageLoader<T> loader) {
+        this(value, loader, BackgroundExecutor.getForBlockingWork());
+    }
+
+    /**
+     * Creates a LazyTreeItem with the value property set to the provided
+     * object, whose children are loaded by the given loader on the given
+     * executor.
+     *
+     * @param value The object to be stored as the value of this TreeItem.
+     * @param loader The loader of the children of this TreeItem.
+     * @param executor The executor on which the loader is called.
+     */
+    public LazyTreeItem(T value, PageLoader<T> loader, Executor executor) {
+        super(value);
+        this.loader = Objects.requireNonNull(loader, "loader must not be null");
+        this.executor = Objects.requireNonNull(executor, "executor must not be null");
+
+        getChildren().add(placeholder);
+        expandedProperty().addListener(o -> runOnFxThread(this::expandedChanged));
+    }
+
+
+
+    /* *************************************************************************
+     *                                                                         *
+     * Properties                                                              *
+     *                                                                         *
+     **************************************************************************/
+
+    // --- Page Size
+    private final IntegerProperty pageSize = new SimpleIntegerProperty(this, "pageSize", DEFAULT_PAGE_SIZE);
+
+    /**
+     * The number of children requested from the loader for each page. Changes
+     * take effect from the next page that is loaded.
+     *
+     * @return the page size property
+     * @defaultValue 100
+     */
+    public final IntegerProperty pageSizeProperty() { return pageSize; }
+    public final void setPageSize(int value) { pageSize.set(value); }
+    public final int getPageSize() { return pageSize.get(); }
+
+
+    // --- Loading
+    private final ReadOnlyBooleanWrapper loading = new ReadOnlyBooleanWrapper(this, "loading", false);
+
+    /**
+     * Indicates whether a page of children is being loaded.
+     *
+     * @return the loading property
+     * @defaultValue false
+     */
+    public final ReadOnlyBooleanProperty loadingProperty() { return loading.getReadOnlyProperty(); }
+    public final boolean isLoading() { return loading.get(); }
+
+
+    // --- Fully Loaded
+    private final ReadOnlyBooleanWrapper fullyLoaded = new ReadOnlyBooleanWrapper(this, "fullyLoaded", false);
+
+    /**
+     * Indicates whether all children have been loaded, in which case the
+     * placeholder has been removed.
+     *
+     * @return the fully loaded property
+     * @defaultValue false
+     */
+    public final ReadOnlyBooleanProperty fullyLoadedProperty() { return fullyLoaded.getReadOnlyProperty(); }
+    public final boolean isFullyLoaded() { return fullyLoaded.get(); }
+
+
+    // --- Exception
+    private final ReadOnlyObjectWrapper<Throwable> exception = new ReadOnlyObjectWrapper<>(this, "exception");
+
+    /**
+     * The exception thrown by the loader when the last page was loaded, or
+     * {@code null} if it succeeded.
+     *
+     * @return the exception property
+     * @defaultValue null
+     */
+    public final ReadOnlyObjectProperty<Throwable> exceptionProperty() { return exception.getReadOnlyProperty(); }
+    public final Throwable getException() { return exception.get(); }
+
+
+
+    /* *************************************************************************
+     *                                                                         *
+     * Public API                                                              *
+     *                                                                         *
+     **************************************************************************/
+
+    /**
+     * Returns whether the given tree item is the placeholder of a
+     * LazyTreeItem, shown after the children loaded so far.
+     *
+     * @param treeItem the tree item to check, may be {@code null}
+     * @return true if the tree item is a placeholder
+     */
+    public static boolean isPlaceholder(TreeItem<?> treeItem) {
+        return treeItem instanceof Placeholder;
+    }
+
+    /**
+     * Requests the next page of children from the loader, unless all children
+     * have been loaded or a page is already being loaded. This clears the
+     * {@link #exceptionProperty() exception} of a previously failed page.
+     * This method must be called on the JavaFX Application Thread.
+     */
+    public void loadNextPage() {
+        Toolkit.getToolkit().checkFxUserThread();
+        if (isFullyLoaded() || currentLoad != null) {
+            return;
+        }
+        exception.set(null);
+        currentLoad = new PageLoad(getValue(), loadedCount, Math.max(1, getPageSize()));
+        loading.set(true);
+        executor.execute(currentLoad);
+    }
+
+    /**
+     * Cancels the page of children being loaded, if any. The children loaded
+     * so far are kept, and the next page is requested again when the
+     * placeholder is next shown.
+     * This method must be called on the JavaFX Application Thread.
+     */
+    public void cancel() {
+        Toolkit.getToolkit().checkFxUserThread();
+        if (currentLoad != null) {
+            currentLoad.cancelled = true;
+            currentLoad = null;
+            loading.set(false);
+        }
+    }
+
+    /**
+     * Discards all children loaded so far, and starts loading them again if
+     * this item is expanded.
+     * This method must be called on the JavaFX Application Thread.
+     */
+    public void reload() {
+        cancel();
+        loadedCount = 0;
+        fullyLoaded.set(false);
+        exception.set(null);
+        getChildren().setAll(List.of(placeholder));
+        if (isExpanded()) {
+            loadNextPage();
+        }
+    }
+
+
+
+    /* *************************************************************************
+     *                                                                         *
+     * Private Implementation                                                  *
+     *                                                                         *
+     **************************************************************************/
+
+    // Called by TreeCell and TreeTableRow when they show a tree item, which
+    // may happen on another thread while the tree is not shown yet
+    static void treeItemShown(TreeItem<?> treeItem) {
+        if (treeItem instanceof Placeholder<?> p) {
+            LazyTreeItem<?> owner = p.owner;
+            runOnFxThread(() -> {
+                if (owner.getException() == null && owner.isExpanded()) {
+                    owner.loadNextPage();
+                }
+            });
+        }
+    }
+
+    private static void runOnFxThread(Runnable r) {
+        if (Platform.isFxApplicationThread()) {
+            r.run();
+        } else {
+            Platform.runLater(r);
+        }
+    }
+
+    // the expanded state is read again, as it may have changed since the
+    // item was expanded or collapsed on another thread
+    private void expandedChanged() {
+        if (isExpanded()) {
+            if (loadedCount == 0) {
+                loadNextPage();
+            }
+        } else {
+            cancel();
+        }
+    }
+
+    private void pageLoaded(PageLoad load, List<? extends TreeItem<T>> page) {
+        if (load != currentLoad) return;
+        currentLoad = null;
+
+        ObservableList<TreeItem<T>> children = getChildren();
+        int index = children.lastIndexOf(placeholder);
+        if (index < 0) {
+            index = children.size();
+        }
+        loadedCount += page.size();
+        if (!page.isEmpty()) {
+            children.addAll(index, page);
+        }
+        if (page.size() < load.count) {
+            children.remove(placeholder);
+            fullyLoaded.set(true);
+        }
+        loading.set(false);
+    }
+
+    private void pageFailed(PageLoad load, Throwable t) {
+        if (load != currentLoad) return;
+        currentLoad = null;
+        exception.set(t);
+        loading.set(false);
+    }
+
+    private final class PageLoad implements Runnable {
+        private final T value;
+        private final int offset;
+        private final int count;
+        private volatile boolean cancelled;
+
+        private PageLoad(T value, int offset, int count) {
+            this.value = value;
+            this.offset = offset;
+            this.count = count;
+        }
+
+        @Override public void run() {
+            if (cancelled) return;
+            final List<? extends TreeItem<T>> page;
+            try {
+                page = loader.load(value, offset, count);
+            } catch (Throwable t) {
+                if (!cancelled) {
+                    Platform.runLater(() -> pageFailed(this, t));
+                }
+                return;
+            }
+            if (!cancelled) {
+                final List<? extends TreeItem<T>> result = page == null ? List.of() : page;
+                Platform.runLater(() -> pageLoaded(this, result));
+            }
+        }
+    }
+
+    private static final class Placeholder<T> extends TreeItem<T> {
+        private final LazyTreeItem<T> owner;
+
+        private Placeholder(LazyTreeItem<T> owner) {
+            this.owner = owner;
+        }
+    }
+}
@@ -55,6 +55,7 @@ import javafx.event.EventType;
 import javafx.geometry.Orientation;
 import javafx.scene.layout.Region;
 import javafx.util.Callback;
+import javafx.util.StringConverter;
 import javafx.css.StyleableObjectProperty;
 import javafx.css.CssMetaData;
 
@@ -744,6 +745,42 @@ public class ListView<T> extends Control {
     }
 
 
+    // --- Type-ahead converter
+    private ObjectProperty<StringConverter<T>> typeAheadConverter;
+
+    public final void setTypeAheadConverter(StringConverter<T> value) {
+        typeAheadConverterProperty().set(value);
+    }
+
+    public final StringConverter<T> getTypeAheadConverter() {
+        return typeAheadConverter == null ? null : typeAheadConverter.get();
+    }
+
+    /**
+     * The converter that gives the text of the items for type-ahead, or null
+     * to disable type-ahead. When it is set, typing the first characters of
+     * the text of an item selects it, ignoring case, and typing the same
+     * character repeatedly cycles through the items whose text starts with it.
+     * <p>
+     * To match the text that is displayed in the cells, use the converter
+     * the cells use, such as the one given to
+     * {@link javafx.scene.control.cell.TextFieldListCell#forListView(StringConverter)}.
+     * The items are indexed on a background thread when the ListView gains
+     * focus, so the converter must not access state that is confined to the
+     * JavaFX Application Thread.
+     *
+     * @return the type-ahead converter property
+     * @defaultValue null
+     * @since 22
+     */
+    public final ObjectProperty<StringConverter<T>> typeAheadConverterProperty() {
+        if (typeAheadConverter == null) {
+            typeAheadConverter = new SimpleObjectProperty<>(this, "typeAheadConverter");
+        }
+        return typeAheadConverter;
+    }
+
+
     // --- Editing Index
     private ReadOnlyIntegerWrapper editingIndex;
 
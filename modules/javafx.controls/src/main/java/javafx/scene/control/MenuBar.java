@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -33,6 +33,7 @@ import java.util.List;
 
 import javafx.beans.DefaultProperty;
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -179,6 +180,35 @@ public class MenuBar extends Control {
         return useSystemMenuBar == null ? false : useSystemMenuBar.getValue();
     }
 
+    /**
+     * Specifies whether the menu buttons of the {@code MenuBar} are rendered
+     * once and kept as an image, which is then drawn on every frame for as
+     * long as they do not change. A menu bar is normally static while the
+     * content below it is redrawn, so this saves rendering its buttons on
+     * every frame. While the buttons keep changing, for example as the mouse
+     * moves across them, the image is dropped and they are rendered directly.
+     * The menus that are shown when a button is pressed are not cached.
+     * <p>
+     * Text in the cached image is antialiased in grayscale, even if the
+     * menu bar uses LCD text smoothing.
+     *
+     * @defaultValue false
+     * @since 22
+     */
+    private BooleanProperty cacheStaticContent;
+    public final BooleanProperty cacheStaticContentProperty() {
+        if (cacheStaticContent == null) {
+            cacheStaticContent = new SimpleBooleanProperty(this, "cacheStaticContent", false);
+        }
+        return cacheStaticContent;
+    }
+    public final void setCacheStaticContent(boolean value) {
+        cacheStaticContentProperty().set(value);
+    }
+    public final boolean isCacheStaticContent() {
+        return cacheStaticContent == null ? false : cacheStaticContent.get();
+    }
+
 
     /* *************************************************************************
      *                                                                         *
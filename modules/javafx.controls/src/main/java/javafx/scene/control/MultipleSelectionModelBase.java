@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -719,8 +719,11 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
             size = -1;
             bitset.set(index);
             if (index <= lastGetValue) reset();
-            int indicesIndex = indexOf(index);
-            _nextAdd(indicesIndex, indicesIndex + 1);
+            // no change is recorded while atomic, so don't pay for locating the index
+            if (!isAtomic()) {
+                int indicesIndex = indexOf(index);
+                _nextAdd(indicesIndex, indicesIndex + 1);
+            }
             _endChange();
         }
 
@@ -821,12 +824,15 @@ abstract class MultipleSelectionModelBase<T> extends MultipleSelectionModel<T> {
         public void clear(int index) {
             if (!bitset.get(index)) return;
 
-            int indicesIndex = indexOf(index);
+            // no change is recorded while atomic, so don't pay for locating the index
+            int indicesIndex = isAtomic() ? -1 : indexOf(index);
             _beginChange();
             size = -1;
             bitset.clear(index);
             if (index <= lastGetValue) reset();
-            _nextRemove(indicesIndex, index);
+            if (indicesIndex >= 0) {
+                _nextRemove(indicesIndex, index);
+            }
             _endChange();
         }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,6 +28,7 @@ package javafx.scene.control;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 import javafx.beans.DefaultProperty;
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
@@ -75,6 +76,14 @@ import javafx.scene.control.skin.PaginationSkin;
  * control.  The callback function should load and return the contents of the selected page.
  * {@code null} should be returned if the selected page index does not exist.
  * </p>
+ * <p>
+ * By default, a page is created when it is selected and discarded when another page
+ * is selected. The {@link #pageCacheSizeProperty() pageCacheSize} keeps a number of
+ * pages after they have been shown, and the
+ * {@link #pageFactoryExecutorProperty() pageFactoryExecutor} creates the pages next
+ * to the current page ahead of time, so that large documents can be paged through
+ * without waiting for each page to be created.
+ * </p>
  *
  * <h2>Creating a Pagination control:</h2>
  * <p>
@@ -330,6 +339,86 @@ public class Pagination extends Control {
      */
     public final ObjectProperty<Callback<Integer, Node>> pageFactoryProperty() { return pageFactory; }
 
+    private ObjectProperty<Executor> pageFactoryExecutor;
+
+    /**
+     * Sets the executor used to create pages ahead of time.
+     * @param value the executor, or null to create pages only when selected
+     * @since 22
+     */
+    public final void setPageFactoryExecutor(Executor value) { pageFactoryExecutorProperty().set(value); }
+
+    /**
+     * Returns the executor used to create pages ahead of time.
+     * @return the executor, or null if pages are only created when selected
+     * @since 22
+     */
+    public final Executor getPageFactoryExecutor() {
+        return pageFactoryExecutor == null ? null : pageFactoryExecutor.get();
+    }
+
+    /**
+     * The executor on which the pages next to the current page are created ahead
+     * of time, so that they can be shown without delay when they are selected.
+     *
+     * When an executor is set, the {@link #pageFactoryProperty() pageFactory} is also
+     * called from the threads of that executor, and must be safe to call from them.
+     * The pages it returns there are not yet part of a scene, so they may be built
+     * off the JavaFX Application Thread, but the page factory must not access any
+     * node that is part of a showing scene. The pages created ahead of time are
+     * kept in the page cache until they are selected or evicted, see
+     * {@link #pageCacheSizeProperty() pageCacheSize}.
+     *
+     * The default is null, in which case every page is created on the JavaFX
+     * Application Thread when it is selected.
+     * @return the page factory executor property
+     * @since 22
+     */
+    public final ObjectProperty<Executor> pageFactoryExecutorProperty() {
+        if (pageFactoryExecutor == null) {
+            pageFactoryExecutor = new SimpleObjectProperty<>(this, "pageFactoryExecutor");
+        }
+        return pageFactoryExecutor;
+    }
+
+    private IntegerProperty pageCacheSize;
+
+    /**
+     * Sets the number of pages kept in the page cache.
+     * @param value the number of cached pages
+     * @since 22
+     */
+    public final void setPageCacheSize(int value) { pageCacheSizeProperty().set(value); }
+
+    /**
+     * Returns the number of pages kept in the page cache.
+     * @return the number of cached pages
+     * @since 22
+     */
+    public final int getPageCacheSize() { return pageCacheSize == null ? 0 : pageCacheSize.get(); }
+
+    /**
+     * The number of pages, other than the current page, that are kept after they
+     * have been created, so that going back to one of them does not call the
+     * {@link #pageFactoryProperty() pageFactory} again. When the cache is full,
+     * the least recently shown page is discarded. Setting a new page factory
+     * discards all cached pages.
+     *
+     * While a {@link #pageFactoryExecutorProperty() pageFactoryExecutor} is set,
+     * the cache always has room for the pages next to the current page.
+     *
+     * The default is 0, in which case a page is discarded as soon as another
+     * page is selected. Negative values are treated as 0.
+     * @return the page cache size property
+     * @since 22
+     */
+    public final IntegerProperty pageCacheSizeProperty() {
+        if (pageCacheSize == null) {
+            pageCacheSize = new SimpleIntegerProperty(this, "pageCacheSize");
+        }
+        return pageCacheSize;
+    }
+
 
     /* *************************************************************************
      *                                                                         *
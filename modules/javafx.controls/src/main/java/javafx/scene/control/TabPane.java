@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -32,6 +32,7 @@ import java.util.Set;
 
 import com.sun.javafx.collections.UnmodifiableListSet;
 import com.sun.javafx.scene.control.TabObservableList;
+import com.sun.javafx.scene.control.TabPaneHelper;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
@@ -104,6 +105,14 @@ public class TabPane extends Control {
      */
     public static final String STYLE_CLASS_FLOATING = "floating";
 
+    static {
+        TabPaneHelper.setTabPaneAccessor(new TabPaneHelper.TabPaneAccessor() {
+            @Override public BooleanProperty prewarmContentProperty(TabPane tabPane) {
+                return tabPane.prewarmContentRequested();
+            }
+        });
+    }
+
     /**
      * Constructs a new TabPane.
      */
@@ -787,6 +796,61 @@ public class TabPane extends Control {
         return tabDragPolicyProperty().get();
     }
 
+    /**
+     * Specifies whether the content of a tab is added to the scene graph only
+     * when the tab is selected for the first time. By default the content of
+     * every tab is part of the scene graph, so the skins of all the controls
+     * in all the tabs are created and styled when the {@code TabPane} is first
+     * shown, even though only the content of the selected tab is visible.
+     * When this property is {@code true}, that work is deferred until a tab is
+     * selected, or until its content is loaded by {@link #prewarmContent()}.
+     * <p>
+     * Until it is loaded, the content of a tab has no scene and does not
+     * contribute to the preferred size of the {@code TabPane}. Setting this
+     * property to {@code false} loads the content of all the tabs.
+     *
+     * @defaultValue false
+     * @since 22
+     */
+    private BooleanProperty lazyContent;
+
+    public final BooleanProperty lazyContentProperty() {
+        if (lazyContent == null) {
+            lazyContent = new SimpleBooleanProperty(this, "lazyContent", false);
+        }
+        return lazyContent;
+    }
+    public final void setLazyContent(boolean value) {
+        lazyContentProperty().set(value);
+    }
+    public final boolean isLazyContent() {
+        return lazyContent == null ? false : lazyContent.get();
+    }
+
+    /**
+     * Loads the content of the tabs that has been deferred because of
+     * {@link #lazyContentProperty() lazyContent}, the content of one tab on
+     * each subsequent pulse. Applications can call this once their first
+     * frame has been shown, so that the tabs are ready by the time they are
+     * selected. This method has no effect if there is no deferred content.
+     *
+     * @since 22
+     */
+    public void prewarmContent() {
+        prewarmContentRequested().set(true);
+    }
+
+    // set by prewarmContent() and cleared by the skin once the content of
+    // every tab has been loaded, see TabPaneHelper
+    private BooleanProperty prewarmContentRequested;
+
+    private BooleanProperty prewarmContentRequested() {
+        if (prewarmContentRequested == null) {
+            prewarmContentRequested = new SimpleBooleanProperty(this, "prewarmContentRequested", false);
+        }
+        return prewarmContentRequested;
+    }
+
     /**
      * This enum specifies drag policies for tabs in a TabPane.
      *
@@ -27,19 +27,23 @@ package javafx.scene.control;
 
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.IntPredicate;
 import com.sun.javafx.collections.MappingChange;
 import com.sun.javafx.collections.NonIterableChange;
 import com.sun.javafx.logging.PlatformLogger.Level;
+import com.sun.javafx.scene.control.BackgroundExecutor;
 import com.sun.javafx.scene.control.ConstrainedColumnResize;
 import com.sun.javafx.scene.control.Logging;
 import com.sun.javafx.scene.control.Properties;
@@ -57,6 +61,8 @@ import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.ObjectPropertyBase;
 import javafx.beans.property.Property;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -629,6 +635,54 @@ public class TableView<S> extends Control {
         }
     };
 
+    /**
+     * Creates a {@link #sortPolicyProperty() sort policy} that sorts the items
+     * on a shared pool of daemon threads, rather than on the JavaFX Application
+     * Thread. This is equivalent to calling
+     * {@link #createBackgroundSortPolicy(Executor)} with that pool.
+     *
+     * @param <S> the type of the items in the TableView
+     * @return a sort policy that sorts the items in the background
+     * @since 22
+     */
+    public static <S> Callback<TableView<S>, Boolean> createBackgroundSortPolicy() {
+        return new BackgroundSortPolicy<>(BackgroundExecutor.get());
+    }
+
+    /**
+     * Creates a {@link #sortPolicyProperty() sort policy} that sorts the items
+     * on the given executor, rather than on the JavaFX Application Thread.
+     *
+     * <p>When a sort is requested, the policy reads the value of every
+     * {@link #getSortOrder() sort order} column for every item on the JavaFX
+     * Application Thread, together with the comparator and sort type of each
+     * column. The items are then sorted by these values on the executor, using
+     * a stable, parallel merge sort for large lists, so that neither the items
+     * nor the cell value factories are accessed off the JavaFX Application
+     * Thread. The resulting order is applied to the items list on the JavaFX
+     * Application Thread in a single permutation change, which the selection
+     * and focus models handle as they would a synchronous sort. While the sort
+     * is running, the {@link #sortingProperty() sorting} property is
+     * {@code true}, and the column headers of the sort order columns are
+     * shown in the {@code :sorting} pseudo-class state.
+     *
+     * <p>If the items list is modified while it is being sorted, the result is
+     * discarded and the list is sorted again; if a different sort is requested,
+     * or the items list is replaced, the result is discarded. Lists that are
+     * not created by {@link FXCollections}, {@link SortedList}s and small lists
+     * are sorted by the {@link #DEFAULT_SORT_POLICY default sort policy}
+     * instead.
+     *
+     * @param <S> the type of the items in the TableView
+     * @param executor the executor on which the items are sorted
+     * @return a sort policy that sorts the items in the background
+     * @throws NullPointerException if {@code executor} is {@code null}
+     * @since 22
+     */
+    public static <S> Callback<TableView<S>, Boolean> createBackgroundSortPolicy(Executor executor) {
+        return new BackgroundSortPolicy<>(Objects.requireNonNull(executor, "executor must not be null"));
+    }
+
 
 
     /* *************************************************************************
@@ -860,8 +914,14 @@ public class TableView<S> extends Control {
             }
 
             // Fix for selection - we remove selection from all cells that
-            // were within the removed column.
-            if (sm != null) {
+            // were within the removed column. The default selection model has
+            // already done so on its selected ranges, when the visible leaf
+            // columns were updated above, except for columns that were hidden.
+            if (sm instanceof TableViewArrayListSelectionModel<S> defaultSm) {
+                if (! removed.isEmpty()) {
+                    defaultSm.updateSelectedCellColumns();
+                }
+            } else if (sm != null && ! removed.isEmpty()) {
                 List<TablePosition> selectedCells = new ArrayList<>(sm.getSelectedCells());
                 for (TablePosition selectedCell : selectedCells) {
                     boolean match = false;
@@ -870,29 +930,8 @@ public class TableView<S> extends Control {
                         if (match) break;
                     }
 
-                    if (match) {
-                        // we can't just use the selectedCell.getTableColumn(), as that
-                        // column no longer exists and therefore its index is not correct.
-                        int matchingColumnIndex = lastKnownColumnIndex.getOrDefault(selectedCell.getTableColumn(), -1);
-                        if (matchingColumnIndex == -1) continue;
-
-                        if (sm instanceof TableViewArrayListSelectionModel) {
-                            // Also, because the table column no longer exists in the columns
-                            // list at this point, we can't just call:
-                            // sm.clearSelection(selectedCell.getRow(), selectedCell.getTableColumn());
-                            // as the tableColumn would map to an index of -1, which means that
-                            // selection will not be cleared. Instead, we have to create
-                            // a new TablePosition with a fixed column index and use that.
-                            TablePosition<S,?> fixedTablePosition =
-                                    new TablePosition<>(TableView.this,
-                                            selectedCell.getRow(),
-                                            selectedCell.getTableColumn());
-                            fixedTablePosition.fixedColumnIndex = matchingColumnIndex;
-
-                            ((TableViewArrayListSelectionModel)sm).clearSelection(fixedTablePosition);
-                        } else {
-                            sm.clearSelection(selectedCell.getRow(), selectedCell.getTableColumn());
-                        }
+                    if (match && lastKnownColumnIndex.containsKey(selectedCell.getTableColumn())) {
+                        sm.clearSelection(selectedCell.getRow(), selectedCell.getTableColumn());
                     }
                 }
             }
@@ -1307,6 +1346,107 @@ public class TableView<S> extends Control {
     }
 
 
+    // --- Lightweight rows
+    /**
+     * Specifies whether the rows of this control draw the values of their
+     * columns as text onto a single canvas, instead of creating a
+     * {@link TableCell} for every column. A lightweight row has no cells to
+     * create, style and lay out, which makes scrolling and updating read-only
+     * tables with many columns considerably cheaper.
+     * <p>
+     * Lightweight rows are only used when a {@link #fixedCellSizeProperty()
+     * fixed cell size} is set. They show the {@code toString()} of the cell
+     * value of each column in the font, text fill and alignment of the row,
+     * or in the {@code -fx-alignment} of the inline style of the column if it
+     * has one. They do not use the cell factories of the columns, so their
+     * values cannot be edited and are not shown as graphics. The rows
+     * themselves are still styled by CSS, and rows and cells can still be
+     * selected and focused. The values
+     * are read when a row is updated or laid out, so a change of a cell value
+     * that does not replace the item of its row is shown after {@link #refresh()}.
+     *
+     * @defaultValue false
+     * @since 22
+     */
+    private BooleanProperty lightweightRows;
+
+    public final BooleanProperty lightweightRowsProperty() {
+        if (lightweightRows == null) {
+            lightweightRows = new SimpleBooleanProperty(this, "lightweightRows", false);
+        }
+        return lightweightRows;
+    }
+    public final void setLightweightRows(boolean value) {
+        lightweightRowsProperty().set(value);
+    }
+    public final boolean isLightweightRows() {
+        return lightweightRows == null ? false : lightweightRows.get();
+    }
+
+
+    // --- Cache static content
+    /**
+     * Specifies whether the column headers of this control are rendered once
+     * and kept as an image, which is then drawn on every frame for as long as
+     * the headers do not change. The headers usually stay the same while the
+     * rows below them are scrolled and redrawn. While the headers keep
+     * changing, for example while a column is resized or dragged, the image
+     * is dropped and they are rendered directly. The rows are never cached.
+     * <p>
+     * Text in the cached image is antialiased in grayscale, even if the
+     * headers use LCD text smoothing.
+     *
+     * @defaultValue false
+     * @since 22
+     */
+    private BooleanProperty cacheStaticContent;
+
+    public final BooleanProperty cacheStaticContentProperty() {
+        if (cacheStaticContent == null) {
+            cacheStaticContent = new SimpleBooleanProperty(this, "cacheStaticContent", false);
+        }
+        return cacheStaticContent;
+    }
+    public final void setCacheStaticContent(boolean value) {
+        cacheStaticContentProperty().set(value);
+    }
+    public final boolean isCacheStaticContent() {
+        return cacheStaticContent == null ? false : cacheStaticContent.get();
+    }
+
+
+    // --- Virtualize column headers
+    /**
+     * Specifies whether only the column headers that intersect the visible
+     * area of this control are kept in the scene graph. The headers of all
+     * visible columns are still created, and they size their columns to fit
+     * their content when the control is shown, but the headers outside the
+     * visible area are not styled, laid out or rendered until they are
+     * scrolled into view. This reduces the cost of tables with many columns.
+     * <p>
+     * Only top-level columns are virtualized. A nested column is kept in the
+     * scene graph, together with all of its child columns, as long as any part
+     * of it is visible.
+     *
+     * @defaultValue false
+     * @since 22
+     */
+    private BooleanProperty virtualizeColumnHeaders;
+
+    public final BooleanProperty virtualizeColumnHeadersProperty() {
+        if (virtualizeColumnHeaders == null) {
+            virtualizeColumnHeaders = new SimpleBooleanProperty(this, "virtualizeColumnHeaders", false);
+        }
+        return virtualizeColumnHeaders;
+    }
+    public final void setVirtualizeColumnHeaders(boolean value) {
+        virtualizeColumnHeadersProperty().set(value);
+    }
+    public final boolean isVirtualizeColumnHeaders() {
+        return virtualizeColumnHeaders == null ? false : virtualizeColumnHeaders.get();
+    }
+
+
     // --- Editing Cell
     private ReadOnlyObjectWrapper<TablePosition<S,?>> editingCell;
     private void setEditingCell(TablePosition<S,?> value) {
@@ -1399,6 +1539,37 @@ public class TableView<S> extends Control {
     }
 
 
+    // --- sorting
+    /**
+     * Indicates whether the items are being sorted in the background by a
+     * {@link #createBackgroundSortPolicy(Executor) background sort policy}.
+     * This property is {@code false} for sort policies that sort the items
+     * before returning.
+     * @since 22
+     */
+    private ReadOnlyBooleanWrapper sorting;
+    void setSorting(boolean value) {
+        if (value || sorting != null) {
+            sortingPropertyImpl().set(value);
+        }
+    }
+    public final boolean isSorting() {
+        return sorting != null && sorting.get();
+    }
+    public final ReadOnlyBooleanProperty sortingProperty() {
+        return sortingPropertyImpl().getReadOnlyProperty();
+    }
+    private ReadOnlyBooleanWrapper sortingPropertyImpl() {
+        if (sorting == null) {
+            sorting = new ReadOnlyBooleanWrapper(this, "sorting");
+        }
+        return sorting;
+    }
+
+    // the sort running in the background, or null
+    BackgroundSortPolicy.Sort<S> backgroundSort;
+
+
     // onSort
     /**
      * Called when there's a request to sort the control.
@@ -1703,6 +1874,32 @@ public class TableView<S> extends Control {
             return;
         }
 
+        // a sort that is still running in the background is superseded by this one
+        if (backgroundSort != null) {
+            backgroundSort.cancel();
+        }
+
+        // get the sort policy and run it
+        Callback<TableView<S>, Boolean> sortPolicy = getSortPolicy();
+        if (sortPolicy == null) return;
+        Boolean success = sortPreservingSelection(sortPolicy);
+
+        if (success == null || ! success) {
+            // the sort was a failure. Need to backout if possible
+            sortLock = true;
+            TableUtil.handleSortFailure(sortOrder, lastSortEventType, lastSortEventSupportInfo);
+            setComparator(oldComparator);
+            sortLock = false;
+        }
+    }
+
+    /*
+     * Runs the given sort action, and fires a single change on the selection
+     * model for the positions that are no longer selected afterwards, rather
+     * than the intermediate changes caused by permuting the items. This is
+     * used by sort(), and when a background sort is applied.
+     */
+    Boolean sortPreservingSelection(Callback<TableView<S>, Boolean> sortAction) {
         TableViewSelectionModel<S> selectionModel = getSelectionModel();
         final List<TablePosition> prevState = selectionModel == null ?
                 null :
@@ -1715,22 +1912,13 @@ public class TableView<S> extends Control {
             selectionModel.startAtomic();
         }
 
-        // get the sort policy and run it
-        Callback<TableView<S>, Boolean> sortPolicy = getSortPolicy();
-        if (sortPolicy == null) return;
-        Boolean success = sortPolicy.call(this);
+        Boolean success = sortAction.call(this);
 
         if (selectionModel != null) {
             selectionModel.stopAtomic();
         }
 
-        if (success == null || ! success) {
-            // the sort was a failure. Need to backout if possible
-            sortLock = true;
-            TableUtil.handleSortFailure(sortOrder, lastSortEventType, lastSortEventSupportInfo);
-            setComparator(oldComparator);
-            sortLock = false;
-        } else {
+        if (success != null && success) {
             // sorting was a success, now we possibly fire an event on the
             // selection model that the items list has 'permutated' to a new ordering
 
@@ -1760,6 +1948,7 @@ public class TableView<S> extends Control {
                 }
             }
         }
+        return success;
     }
 
     /**
@@ -2268,21 +2457,14 @@ public class TableView<S> extends Control {
             };
             this.tableView.itemsProperty().addListener(itemsPropertyListener);
 
-            selectedCellsMap = new SelectedCellsMap<>(c -> fireCustomSelectedCellsListChangeEvent(c)) {  // Note: use of method reference causes javac compilation error (see JDK-8297428)
+            selectedCellsMap = new SelectedCellsMap<>(c -> fireCustomSelectedCellsListChangeEvent(c),  // Note: use of method reference causes javac compilation error (see JDK-8297428)
+                    (row, column) -> new TablePosition<>(tableView, row, getSelectedCellColumn(column))) {
                 @Override public boolean isCellSelectionEnabled() {
                     return TableViewArrayListSelectionModel.this.isCellSelectionEnabled();
                 }
             };
 
-            selectedCellsSeq = new ReadOnlyUnbackedObservableList<>() {
-                @Override public TablePosition<S,?> get(int i) {
-                    return selectedCellsMap.get(i);
-                }
-
-                @Override public int size() {
-                    return selectedCellsMap.size();
-                }
-            };
+            selectedCellsSeq = selectedCellsMap.getSelectedCells();
 //            selectedCellsSeq.addListener((ListChangeListener<? super TablePosition<S,?>>) c -> {
 //                ControlUtils.updateSelectedIndices(this, c);
 //            });
@@ -2312,10 +2494,16 @@ public class TableView<S> extends Control {
                 updateDefaultSelection();
                 TableCellBehaviorBase.setAnchor(tableView, getFocusedCell(), true);
             });
+
+            // the selected cells are kept by visible column index, so they
+            // follow the columns when these are hidden, moved or removed
+            lastVisibleLeafColumns = new ArrayList<>(tableView.getVisibleLeafColumns());
+            tableView.getVisibleLeafColumns().addListener(weakVisibleLeafColumnsListener);
         }
 
         private void dispose() {
             this.tableView.itemsProperty().removeListener(itemsPropertyListener);
+            this.tableView.getVisibleLeafColumns().removeListener(weakVisibleLeafColumnsListener);
 
             ObservableList<S> items = getTableView().getItems();
             if (items != null) {
@@ -2376,6 +2564,78 @@ public class TableView<S> extends Control {
         final WeakListChangeListener<S> weakItemsContentListener
                 = new WeakListChangeListener<>(itemsContentListener);
 
+        private List<TableColumn<S,?>> lastVisibleLeafColumns;
+
+        final ListChangeListener<TableColumn<S,?>> visibleLeafColumnsListener = c -> updateSelectedCellColumns();
+
+        final WeakListChangeListener<TableColumn<S,?>> weakVisibleLeafColumnsListener
+                = new WeakListChangeListener<>(visibleLeafColumnsListener);
+
+        // The hidden columns of the table, at the index i under which their
+        // selected cells are kept as column -2 - i, so that these cells are
+        // selected again when the column is shown.
+        private List<TableColumn<S,?>> hiddenColumns = new ArrayList<>();
+
+        private TableColumn<S,?> getSelectedCellColumn(int column) {
+            if (column < -1) {
+                return hiddenColumns.get(-2 - column);
+            }
+            return column < 0 ? null : tableView.getVisibleLeafColumn(column);
+        }
+
+        private void updateSelectedCellColumns() {
+            List<TableColumn<S,?>> columns = getTableView().getVisibleLeafColumns();
+            Map<TableColumn<S,?>, Integer> newIndices = new IdentityHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                newIndices.put(columns.get(i), i);
+            }
+
+            // The cells of a column that was removed from the table are
+            // deselected, and those of a hidden column are kept for when it
+            // is shown again. In row selection mode, the rows stay selected.
+            final boolean cellSelection = isCellSelectionEnabled();
+            List<TableColumn<S,?>> oldColumns = lastVisibleLeafColumns;
+            List<TableColumn<S,?>> oldHiddenColumns = hiddenColumns;
+            List<TableColumn<S,?>> newHiddenColumns = new ArrayList<>(oldHiddenColumns);
+            for (int i = 0; i < newHiddenColumns.size(); i++) {
+                TableColumn<S,?> column = newHiddenColumns.get(i);
+                if (column != null && (newIndices.containsKey(column) || ! isHiddenColumn(column, cellSelection))) {
+                    newHiddenColumns.set(i, null);
+                }
+            }
+            for (TableColumn<S,?> column : oldColumns) {
+                if (! newIndices.containsKey(column) && isHiddenColumn(column, cellSelection)) {
+                    int i = newHiddenColumns.indexOf(null);
+                    if (i < 0) {
+                        newHiddenColumns.add(column);
+                    } else {
+                        newHiddenColumns.set(i, column);
+                    }
+                }
+            }
+            while (! newHiddenColumns.isEmpty() && newHiddenColumns.get(newHiddenColumns.size() - 1) == null) {
+                newHiddenColumns.remove(newHiddenColumns.size() - 1);
+            }
+
+            lastVisibleLeafColumns = new ArrayList<>(columns);
+            hiddenColumns = newHiddenColumns;
+            selectedCellsMap.remapColumns(i -> {
+                TableColumn<S,?> column = i < -1 ? oldHiddenColumns.get(-2 - i) : i < oldColumns.size() ? oldColumns.get(i) : null;
+                Integer newIndex = column == null ? null : newIndices.get(column);
+                if (newIndex != null) {
+                    return newIndex;
+                } else if (! cellSelection) {
+                    return -1;
+                }
+                int hiddenIndex = column == null ? -1 : newHiddenColumns.indexOf(column);
+                return hiddenIndex < 0 ? SelectedCellsMap.DESELECTED : -2 - hiddenIndex;
+            });
+        }
+
+        private boolean isHiddenColumn(TableColumn<S,?> column, boolean cellSelection) {
+            return cellSelection && column.getTableView() == getTableView();
+        }
+
 
 
         /* *********************************************************************
@@ -2569,7 +2829,7 @@ public class TableView<S> extends Control {
 
             // firstly we make a copy of the selection, so that we can send out
             // the correct details in the selection change event.
-            List<TablePosition<S,?>> previousSelection = new ArrayList<>(selectedCellsMap.getSelectedCells());
+            SelectedCellsMap.Cells<TablePosition<S,?>> previousSelection = selectedCellsMap.snapshot();
 
             // secondly we check if we can short-circuit out of here because the new selection
             // equals the current selection
@@ -2604,11 +2864,9 @@ public class TableView<S> extends Control {
             if (isCellSelectionEnabled) {
                 previousSelection.remove(newTablePosition);
             } else {
-                for (TablePosition<S,?> tp : previousSelection) {
-                    if (tp.getRow() == row) {
-                        previousSelection.remove(tp);
-                        break;
-                    }
+                int index = previousSelection.indexOfRow(row);
+                if (index >= 0) {
+                    previousSelection.remove(index);
                 }
             }
 
@@ -2794,36 +3052,27 @@ public class TableView<S> extends Control {
         @Override public void selectAll() {
             if (getSelectionMode() == SelectionMode.SINGLE) return;
 
+            // the selection is set as a single range, so that no positions
+            // are created for the (potentially millions of) selected cells
             if (isCellSelectionEnabled()) {
-                List<TablePosition<S,?>> indices = new ArrayList<>();
-                TableColumn<S,?> column;
-                TablePosition<S,?> tp = null;
-                for (int col = 0; col < getTableView().getVisibleLeafColumns().size(); col++) {
-                    column = getTableView().getVisibleLeafColumns().get(col);
-                    for (int row = 0; row < getItemCount(); row++) {
-                        tp = new TablePosition<>(getTableView(), row, column);
-                        indices.add(tp);
-                    }
-                }
-                selectedCellsMap.setAll(indices);
+                final int columnCount = getTableView().getVisibleLeafColumns().size();
+                final int itemCount = getItemCount();
+                selectedCellsMap.setAll(0, itemCount, 0, columnCount);
 
-                if (tp != null) {
-                    select(tp.getRow(), tp.getTableColumn());
-                    focus(tp.getRow(), tp.getTableColumn());
+                if (columnCount > 0 && itemCount > 0) {
+                    TableColumn<S,?> column = getTableView().getVisibleLeafColumn(columnCount - 1);
+                    select(itemCount - 1, column);
+                    focus(itemCount - 1, column);
                 }
             } else {
-                List<TablePosition<S,?>> indices = new ArrayList<>();
-                for (int i = 0; i < getItemCount(); i++) {
-                    indices.add(new TablePosition<>(getTableView(), i, null));
-                }
-                selectedCellsMap.setAll(indices);
+                selectedCellsMap.setAll(0, getItemCount(), -1, 0);
 
                 int focusedIndex = getFocusedIndex();
                 if (focusedIndex == -1) {
                     final int itemCount = getItemCount();
                     if (itemCount > 0) {
                         select(itemCount - 1);
-                        focus(indices.get(indices.size() - 1));
+                        focus(new TablePosition<>(getTableView(), itemCount - 1, null));
                     }
                 } else {
                     select(focusedIndex);
@@ -2850,37 +3099,20 @@ public class TableView<S> extends Control {
             final int _minColumnIndex = Math.min(minColumnIndex, maxColumnIndex);
             final int _maxColumnIndex = Math.max(minColumnIndex, maxColumnIndex);
 
-            final int _minRow = Math.min(minRow, maxRow);
-            final int _maxRow = Math.max(minRow, maxRow);
-
-            List<TablePosition<S,?>> cellsToSelect = new ArrayList<>();
-
-            for (int _row = _minRow; _row <= _maxRow; _row++) {
-                // begin copy/paste of select(int, column) method (with some
-                // slight modifications)
-                if (_row < 0 || _row >= itemCount) continue;
-
-                if (! isCellSelectionEnabled) {
-                    cellsToSelect.add(new TablePosition<>(tableView, _row, (TableColumn<S,?>)minColumn));
-                } else {
-                    for (int _col = _minColumnIndex; _col <= _maxColumnIndex; _col++) {
-                        final TableColumn<S, ?> column = tableView.getVisibleLeafColumn(_col);
-
-                        // if I'm in cell selection mode but the column is null, I don't want
-                        // to select the whole row instead...
-                        if (column == null && isCellSelectionEnabled) continue;
+            final int _minRow = Math.max(0, Math.min(minRow, maxRow));
+            final int _maxRow = Math.min(itemCount - 1, Math.max(minRow, maxRow));
 
-                        cellsToSelect.add(new TablePosition<>(tableView, _row, column));
-                        // end copy/paste
-                    }
-                }
+            // the cells are selected as a range (which also prevents
+            // duplication), rather than by creating a position for each cell
+            if (! isCellSelectionEnabled) {
+                selectedCellsMap.addAll(_minRow, _maxRow + 1, minColumnIndex, minColumnIndex + 1);
+            } else {
+                // if I'm in cell selection mode but the column is null, I don't want
+                // to select the whole row instead...
+                final int columnCount = tableView.getVisibleLeafColumns().size();
+                selectedCellsMap.addAll(_minRow, _maxRow + 1,
+                        Math.max(0, _minColumnIndex), Math.min(columnCount - 1, _maxColumnIndex) + 1);
             }
-
-            // to prevent duplication we remove all currently selected cells from
-            // our list of cells to select.
-            cellsToSelect.removeAll(getSelectedCells());
-
-            selectedCellsMap.addAll(cellsToSelect);
             stopAtomic();
 
             // fire off events.
@@ -2917,23 +3149,18 @@ public class TableView<S> extends Control {
             final int row = tp.getRow();
             final boolean columnIsNull = tp.getTableColumn() == null;
 
-            List<TablePosition> toRemove = new ArrayList<>();
-            for (TablePosition pos : getSelectedCells()) {
-                if (!csMode) {
-                    if (pos.getRow() == row) {
-                        toRemove.add(pos);
-                        break;
-                    }
-                } else {
-                    if (columnIsNull && pos.getRow() == row) {
-                        // if we are in cell selection mode and the column is null,
-                        // we remove all items in the row
-                        toRemove.add(pos);
-                    } else if (pos.equals(tp)) {
-                        toRemove.add(tp);
-                        break;
-                    }
+            List<TablePosition<S,?>> toRemove = new ArrayList<>();
+            if (!csMode) {
+                List<TablePosition<S,?>> cellsInRow = selectedCellsMap.getSelectedCells(row);
+                if (!cellsInRow.isEmpty()) {
+                    toRemove.add(cellsInRow.get(0));
                 }
+            } else if (columnIsNull) {
+                // if we are in cell selection mode and the column is null,
+                // we remove all items in the row
+                toRemove.addAll(selectedCellsMap.getSelectedCells(row));
+            } else if (selectedCellsMap.getSelectedCells().contains(tp)) {
+                toRemove.add(tp);
             }
             toRemove.stream().forEach(selectedCellsMap::remove);
 
@@ -2944,7 +3171,7 @@ public class TableView<S> extends Control {
         }
 
         @Override public void clearSelection() {
-            final List<TablePosition<S,?>> removed = new ArrayList<>((Collection)getSelectedCells());
+            final List<TablePosition<S,?>> removed = selectedCellsMap.snapshot();
 
             quietClearSelection();
 
@@ -3181,7 +3408,7 @@ public class TableView<S> extends Control {
             // Allow removing the row index if cell selection is not enabled or
             // if such row doesn't have any selected cells
             IntPredicate removeRowFilter = row -> !isCellSelectionEnabled() ||
-                    getSelectedCells().stream().noneMatch(tp -> tp.getRow() == row);
+                    !selectedCellsMap.isSelected(row, -1);
             ControlUtils.updateSelectedIndices(this, this.isCellSelectionEnabled(), c, removeRowFilter);
 
             if (isAtomic()) {
@@ -27,6 +27,7 @@ package javafx.scene.control;
 
 import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -35,6 +36,7 @@ import javafx.beans.InvalidationListener;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
@@ -46,6 +48,7 @@ import javafx.css.StyleableProperty;
 
 import com.sun.javafx.collections.ListListenerHelper;
 import com.sun.javafx.collections.NonIterableChange;
+import com.sun.javafx.scene.control.TextAreaHelper;
 import javafx.css.converter.SizeConverter;
 import javafx.scene.control.skin.TextAreaSkin;
 
@@ -81,13 +84,29 @@ import javafx.scene.AccessibleRole;
  * @since JavaFX 2.0
  */
 public class TextArea extends TextInputControl {
+    static {
+        TextAreaHelper.setTextAreaAccessor(new TextAreaHelper.TextAreaAccessor() {
+            @Override public int getParagraphIndex(TextArea textArea, int offset) {
+                return ((TextAreaContent)textArea.getContent()).paragraphIndex.find(offset);
+            }
+
+            @Override public int getParagraphOffset(TextArea textArea, int paragraphIndex) {
+                return ((TextAreaContent)textArea.getContent()).paragraphIndex.getOffset(paragraphIndex);
+            }
+        });
+    }
+
     // Text area content model
     private static final class TextAreaContent extends ContentBase {
         private final List<StringBuilder> paragraphs = new ArrayList<>();
         private final ParagraphList paragraphList = new ParagraphList();
+        private final ParagraphIndex paragraphIndex = new ParagraphIndex(paragraphs);
 
         private int contentLength = 0;
 
+        // The text of the whole content, cached until the content is modified
+        private String cachedText = "";
+
         private TextAreaContent() {
             paragraphs.add(new StringBuilder(DEFAULT_PARAGRAPH_CAPACITY));
             paragraphList.content = this;
@@ -97,22 +116,8 @@ public class TextArea extends TextInputControl {
             int length = end - start;
             StringBuilder textBuilder = new StringBuilder(length);
 
-            int paragraphCount = paragraphs.size();
-
-            int paragraphIndex = 0;
-            int offset = start;
-
-            while (paragraphIndex < paragraphCount) {
-                StringBuilder paragraph = paragraphs.get(paragraphIndex);
-                int count = paragraph.length() + 1;
-
-                if (offset < count) {
-                    break;
-                }
-
-                offset -= count;
-                paragraphIndex++;
-            }
+            int paragraphIndex = this.paragraphIndex.find(start);
+            int offset = start - this.paragraphIndex.getOffset(paragraphIndex);
 
             // Read characters until end is reached, appending to text builder
             // and moving to next paragraph as needed
@@ -167,24 +172,20 @@ public class TextArea extends TextInputControl {
                 lines.add(line);
 
                 // Merge the text into the existing content
-                // Merge the text into the existing content
-                int paragraphIndex = paragraphs.size();
-                int offset = contentLength + 1;
-
-                StringBuilder paragraph = null;
+                int paragraphIndex = this.paragraphIndex.find(index);
+                int offset = this.paragraphIndex.getOffset(paragraphIndex);
 
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (index < offset);
+                StringBuilder paragraph = paragraphs.get(paragraphIndex);
 
                 int start = index - offset;
 
+                cachedText = null;
                 int n = lines.size();
                 if (n == 1) {
                     // The text contains only a single line; insert it into the
                     // intersecting paragraph
                     paragraph.insert(start, line);
+                    this.paragraphIndex.lengthChanged(paragraphIndex, length);
                     fireParagraphListChangeEvent(paragraphIndex, paragraphIndex + 1,
                         Collections.singletonList((CharSequence)paragraph));
                 } else {
@@ -199,11 +200,13 @@ public class TextArea extends TextInputControl {
                     StringBuilder first = lines.get(0);
                     paragraph.insert(start, first);
                     line.append(trailingText);
+                    this.paragraphIndex.lengthChanged(paragraphIndex, first.length() - trailingText.length());
                     fireParagraphListChangeEvent(paragraphIndex, paragraphIndex + 1,
                         Collections.singletonList((CharSequence)paragraph));
 
                     // Insert the remaining lines into the paragraph list
                     paragraphs.addAll(paragraphIndex + 1, lines.subList(1, n));
+                    this.paragraphIndex.paragraphsAdded(paragraphIndex + 1, n - 1);
                     fireParagraphListChangeEvent(paragraphIndex + 1, paragraphIndex + n,
                         Collections.EMPTY_LIST);
                 }
@@ -230,38 +233,22 @@ public class TextArea extends TextInputControl {
 
             if (length > 0) {
                 // Identify the trailing paragraph index
-                int paragraphIndex = paragraphs.size();
-                int offset = contentLength + 1;
-
-                StringBuilder paragraph = null;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (end < offset);
-
-                int trailingParagraphIndex = paragraphIndex;
-                int trailingOffset = offset;
-                StringBuilder trailingParagraph = paragraph;
+                int trailingParagraphIndex = paragraphIndex.find(end);
+                int trailingOffset = paragraphIndex.getOffset(trailingParagraphIndex);
+                StringBuilder trailingParagraph = paragraphs.get(trailingParagraphIndex);
 
                 // Identify the leading paragraph index
-                paragraphIndex++;
-                offset += paragraph.length() + 1;
-
-                do {
-                    paragraph = paragraphs.get(--paragraphIndex);
-                    offset -= paragraph.length() + 1;
-                } while (start < offset);
-
-                int leadingParagraphIndex = paragraphIndex;
-                int leadingOffset = offset;
-                StringBuilder leadingParagraph = paragraph;
+                int leadingParagraphIndex = paragraphIndex.find(start);
+                int leadingOffset = paragraphIndex.getOffset(leadingParagraphIndex);
+                StringBuilder leadingParagraph = paragraphs.get(leadingParagraphIndex);
 
                 // Remove the text
+                cachedText = null;
                 if (leadingParagraphIndex == trailingParagraphIndex) {
                     // The removal affects only a single paragraph
                     leadingParagraph.delete(start - leadingOffset,
                         end - leadingOffset);
+                    paragraphIndex.lengthChanged(leadingParagraphIndex, -length);
 
                     fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex + 1,
                         Collections.singletonList((CharSequence)leadingParagraph));
@@ -273,6 +260,7 @@ public class TextArea extends TextInputControl {
                     int trailingSegmentLength = (start + length) - trailingOffset;
 
                     trailingParagraph.delete(0, trailingSegmentLength);
+                    paragraphIndex.lengthChanged(trailingParagraphIndex, -trailingSegmentLength);
                     fireParagraphListChangeEvent(trailingParagraphIndex, trailingParagraphIndex + 1,
                         Collections.singletonList((CharSequence)trailingParagraph));
 
@@ -281,12 +269,14 @@ public class TextArea extends TextInputControl {
                             trailingParagraphIndex));
                         paragraphs.subList(leadingParagraphIndex,
                             trailingParagraphIndex).clear();
+                        paragraphIndex.paragraphsRemoved(leadingParagraphIndex, trailingParagraphIndex - leadingParagraphIndex);
                         fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex,
                             removed);
                     }
 
                     // Trailing paragraph is now at the former leading paragraph's index
                     trailingParagraph.insert(0, leadingSegment);
+                    paragraphIndex.lengthChanged(leadingParagraphIndex, leadingSegment.length());
                     fireParagraphListChangeEvent(leadingParagraphIndex, leadingParagraphIndex + 1,
                         Collections.singletonList((CharSequence)leadingParagraph));
                 }
@@ -304,7 +294,10 @@ public class TextArea extends TextInputControl {
         }
 
         @Override public String get() {
-            return get(0, length());
+            if (cachedText == null) {
+                cachedText = get(0, length());
+            }
+            return cachedText;
         }
 
         @Override public String getValue() {
@@ -390,6 +383,103 @@ public class TextArea extends TextInputControl {
         }
     }
 
+    /*
+     * The offsets of the paragraphs of the content, kept in a Fenwick tree of
+     * the paragraph lengths (each plus one for the line separator), so that the
+     * paragraph containing an offset can be found in O(log n) time rather than
+     * by walking the paragraph list. Changing the length of a paragraph, and
+     * adding or removing paragraphs at the end, updates the tree in O(log n)
+     * time. Other changes to the paragraph list discard the tree, and it is
+     * built again in O(n) time when it is next needed.
+     */
+    private static final class ParagraphIndex {
+        private final List<StringBuilder> paragraphs;
+        // 1-based; tree[i] is the sum of the lengths of paragraphs (i - (i & -i)) to i - 1
+        private int[] tree = new int[0];
+        // the number of paragraphs in the tree, or -1 if it has to be built again
+        private int size = -1;
+
+        private ParagraphIndex(List<StringBuilder> paragraphs) {
+            this.paragraphs = paragraphs;
+        }
+
+        /**
+         * Returns the index of the paragraph containing the given offset,
+         * which is the last paragraph starting at or before the offset.
+         */
+        int find(int offset) {
+            validate();
+            int index = 0;
+            for (int step = Integer.highestOneBit(size); step > 0; step >>= 1) {
+                int next = index + step;
+                if (next <= size && tree[next] <= offset) {
+                    index = next;
+                    offset -= tree[next];
+                }
+            }
+            return Math.min(index, size - 1);
+        }
+
+        /**
+         * Returns the offset at which the paragraph with the given index starts.
+         */
+        int getOffset(int paragraphIndex) {
+            validate();
+            return sum(paragraphIndex);
+        }
+
+        void lengthChanged(int paragraphIndex, int delta) {
+            if (size < 0 || delta == 0) return;
+            for (int i = paragraphIndex + 1; i <= size; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        void paragraphsAdded(int from, int count) {
+            if (from != size) {
+                size = -1;
+                return;
+            }
+            if (size + count >= tree.length) {
+                tree = Arrays.copyOf(tree, Math.max(size + count + 1, tree.length * 3 / 2));
+            }
+            for (int i = 0; i < count; i++) {
+                int index = ++size;
+                tree[index] = paragraphs.get(index - 1).length() + 1 + sum(index - 1) - sum(index - (index & -index));
+            }
+        }
+
+        void paragraphsRemoved(int from, int count) {
+            // the tree stays valid for the paragraphs before the removed ones
+            size = (from + count == size) ? from : -1;
+        }
+
+        private int sum(int count) {
+            int sum = 0;
+            for (int i = count; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+
+        private void validate() {
+            if (size >= 0) return;
+            size = paragraphs.size();
+            if (tree.length <= size) {
+                tree = new int[size + 1];
+            } else {
+                Arrays.fill(tree, 0);
+            }
+            for (int i = 1; i <= size; i++) {
+                tree[i] += paragraphs.get(i - 1).length() + 1;
+                int parent = i + (i & -i);
+                if (parent <= size) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+    }
+
     private static final class ParagraphListChange extends NonIterableChange<CharSequence>  {
 
         private List<CharSequence> removed;
@@ -590,6 +680,41 @@ public class TextArea extends TextInputControl {
     public final void setScrollLeft(double value) { scrollLeft.setValue(value); }
 
 
+    /**
+     * Specifies whether the skin lays out only the paragraphs that are in
+     * view. By default the whole text is laid out whenever it changes, which
+     * takes time proportional to the length of the text. When this property is
+     * {@code true}, the default skin lays out only the paragraphs that are in
+     * view and a page of paragraphs before and after them, so that editing
+     * and scrolling a text area with a very large text takes time that does
+     * not depend on the length of the text.
+     * <p>
+     * This property has no effect while {@link #wrapTextProperty() wrapText}
+     * is {@code true}, because the height of a wrapped paragraph is only known
+     * once it has been laid out. When the text area is virtualized, its
+     * preferred width is the width of the paragraph with the most characters,
+     * which may differ from the width of the widest paragraph when a
+     * proportional font is used.
+     *
+     * @defaultValue false
+     * @since 22
+     */
+    private BooleanProperty virtualized;
+
+    public final BooleanProperty virtualizedProperty() {
+        if (virtualized == null) {
+            virtualized = new SimpleBooleanProperty(this, "virtualized", false);
+        }
+        return virtualized;
+    }
+    public final void setVirtualized(boolean value) {
+        virtualizedProperty().set(value);
+    }
+    public final boolean isVirtualized() {
+        return virtualized == null ? false : virtualized.get();
+    }
+
+
     /* *************************************************************************
      *                                                                         *
      * Methods                                                                 *
@@ -180,14 +180,15 @@ public abstract class TextInputControl extends Control {
         length.bind(new IntegerBinding() {
             { bind(text); }
             @Override protected int computeValue() {
-                String txt = text.get();
-                return txt == null ? 0 : txt.length();
+                // the content length, without copying the text out of the content
+                return text.textIsNull ? 0 : content.length();
             }
         });
 
         // Bind the selected text to be based on the selection and text properties
         selection.addListener((ob, o, n) -> updateSelectedText());
-        text.addListener((ob, o, n) -> updateSelectedText());
+        // an invalidation listener, so that the text is not copied out of the content on every change
+        text.addListener((InvalidationListener) ob -> updateSelectedText());
 
         focusedProperty().addListener((ob, o, n) -> {
             if (n) {
@@ -205,21 +206,20 @@ public abstract class TextInputControl extends Control {
 
     private void updateSelectedText() {
         if (!blockSelectedTextUpdate) {
-            String txt = text.get();
             IndexRange sel = selection.get();
-            if (txt == null || sel == null) {
+            if (text.textIsNull || sel == null) {
                 selectedText.set("");
             } else {
                 int start = sel.getStart();
                 int end = sel.getEnd();
-                int length = txt.length();
+                int length = content.length();
                 if (end > start + length) {
                     end = length;
                 }
                 if (start > length - 1) {
                     start = end = 0;
                 }
-                selectedText.set(txt.substring(start, end));
+                selectedText.set(content.get(start, end));
             }
         }
     }
@@ -643,8 +643,8 @@ public abstract class TextInputControl extends Control {
         } else if (change.start != change.end && change.text.isEmpty()) {
             // I know I am deleting, and am located at the end of the range of the current undo record
             if (undoChange.newText.length() > 0) {
-                undoChange.newText = undoChange.newText.substring(0, change.start - undoChange.start);
-                if (undoChange.newText.isEmpty()) {
+                undoChange.newText.setLength(change.start - undoChange.start);
+                if (undoChange.newText.length() == 0) {
                     // throw away this undo change record
                     undoChange = undoChange.discard();
                 }
@@ -658,7 +658,7 @@ public abstract class TextInputControl extends Control {
             }
         } else {
             // I know I am adding, and am located at the end of the range of the current undo record
-            undoChange.newText += newText;
+            undoChange.newText.append(newText);
         }
         updateUndoRedoState();
     }
@@ -1176,7 +1176,7 @@ public abstract class TextInputControl extends Control {
         if (isUndoable()) {
             // Apply reverse change here
             final int start = undoChange.start;
-            final String newText = undoChange.newText;
+            final String newText = undoChange.newText.toString();
             final String oldText = undoChange.oldText;
 
             blockSelectedTextUpdate = true;
@@ -1211,7 +1211,7 @@ public abstract class TextInputControl extends Control {
             // Apply change here
             undoChange = undoChange.next;
             final int start = undoChange.start;
-            final String newText = undoChange.newText;
+            final String newText = undoChange.newText.toString();
             final String oldText = undoChange.oldText;
 
             blockSelectedTextUpdate = true;
@@ -1556,7 +1556,8 @@ public abstract class TextInputControl extends Control {
         static boolean spaceCharSequence = false;
         int start;
         String oldText;
-        String newText;
+        // a builder, so that consecutive insertions can be added to the change in constant time
+        StringBuilder newText;
         UndoRedoChange prev;
         UndoRedoChange next;
 
@@ -1566,7 +1567,7 @@ public abstract class TextInputControl extends Control {
             UndoRedoChange c = new UndoRedoChange();
             c.start = start;
             c.oldText = oldText;
-            c.newText = newText;
+            c.newText = new StringBuilder(newText);
             c.prev = this;
             next = c;
             prevRecordTime = System.currentTimeMillis();
@@ -1607,9 +1608,9 @@ public abstract class TextInputControl extends Control {
             if (oldText == null && newText == null) {
                 return "head";
             }
-            if (oldText.isEmpty() && !newText.isEmpty()) {
+            if (oldText.isEmpty() && newText.length() > 0) {
                 return "added '" + newText + "' at index " + start;
-            } else if (!oldText.isEmpty() && !newText.isEmpty()) {
+            } else if (!oldText.isEmpty() && newText.length() > 0) {
                 return "replaced '" + oldText + "' with '" + newText + "' at index " + start;
             } else {
                 return "deleted '" + oldText + "' at index " + start;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -30,7 +30,9 @@ import java.util.Collections;
 import java.util.List;
 
 import javafx.beans.DefaultProperty;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.value.WritableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -181,6 +183,35 @@ public class ToolBar extends Control {
         return orientation;
     }
 
+    /**
+     * Specifies whether the items of the {@code ToolBar} are rendered once and
+     * kept as an image, which is then drawn on every frame for as long as the
+     * items do not change. Tool bars usually stay the same while the rest of
+     * the window is redrawn, so this saves rendering their items over and
+     * over. If the items keep changing, for example while a button is hovered
+     * or animated, the image is dropped and the items are rendered directly
+     * until they stop changing.
+     * <p>
+     * Text in the cached image is antialiased in grayscale, even if the
+     * items use LCD text smoothing.
+     *
+     * @defaultValue false
+     * @since 22
+     */
+    private BooleanProperty cacheStaticContent;
+    public final BooleanProperty cacheStaticContentProperty() {
+        if (cacheStaticContent == null) {
+            cacheStaticContent = new SimpleBooleanProperty(this, "cacheStaticContent", false);
+        }
+        return cacheStaticContent;
+    }
+    public final void setCacheStaticContent(boolean value) {
+        cacheStaticContentProperty().set(value);
+    }
+    public final boolean isCacheStaticContent() {
+        return cacheStaticContent == null ? false : cacheStaticContent.get();
+    }
+
     /* *************************************************************************
      *                                                                         *
      * Methods                                                                 *
@@ -655,6 +655,7 @@ public class TreeCell<T> extends IndexedCell<T> {
         setTreeItem(treeItem);
         if (treeItem != null) {
             treeItem.leafProperty().addListener(weakLeafListener);
+            LazyTreeItem.treeItemShown(treeItem);
         }
     }
 
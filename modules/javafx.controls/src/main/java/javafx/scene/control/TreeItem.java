@@ -44,6 +44,7 @@ import javafx.event.EventType;
 import javafx.scene.Node;
 
 import com.sun.javafx.event.EventHandlerManager;
+import com.sun.javafx.scene.control.RowCountIndex;
 import java.util.Comparator;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
@@ -366,6 +367,7 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
         new EventHandler<>() {
             @Override public void handle(TreeModificationEvent<Object> event) {
                 expandedDescendentCountDirty = true;
+                markChildRowCountChanged(event.getTreeItem());
             }
     };
 
@@ -404,6 +406,30 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
     // when all children are collapsed.
     int previousExpandedDescendentCount = 1;
 
+    // The number of rows each child occupies when this item is expanded, kept
+    // as prefix sums so that TreeView and TreeTableView can map between rows
+    // and tree items in logarithmic time. This is built the first time the
+    // expanded descendent count is computed while this item is expanded, and
+    // is rebuilt when the children list changes. When the count of a single
+    // descendant changes, only the child containing it is updated.
+    private RowCountIndex childRowCounts;
+
+    // The children whose row count has changed since childRowCounts was last
+    // updated (lazily created, as most tree items never need it)
+    private List<TreeItem<?>> changedChildren;
+
+    // Whether a child appears more than once in the children list, in which
+    // case childRowCounts is always rebuilt rather than updated
+    private boolean duplicateChildren;
+
+    // The index of this item in the children of its parent when the parent
+    // last rebuilt its childRowCounts, and the parent whose changedChildren
+    // list this item is in (kept per parent, as a collapsed parent never
+    // clears its list and this item may have been moved to another parent
+    // since)
+    private int indexInParent = -1;
+    private TreeItem<?> rowCountChangedIn;
+
     Comparator<TreeItem<T>> lastComparator = null;
     TreeSortMode lastSortMode = null;
 
@@ -422,6 +448,7 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
     // called whenever the contents of the children sequence changes
     private ListChangeListener<TreeItem<T>> childrenListener = c -> {
         expandedDescendentCountDirty = true;
+        childRowCounts = null;
         updateChildren(c);
     };
 
@@ -915,12 +942,136 @@ public class TreeItem<T> implements EventTarget { //, Comparable<TreeItem<T>> {
 
         ignoreSortUpdate = true;
         if (!isLeaf() && isExpanded()) {
-            for (TreeItem<T> child : getChildren()) {
+            expandedDescendentCount += updateChildRowCounts(reset);
+        }
+        ignoreSortUpdate = false;
+    }
+
+    private int updateChildRowCounts(boolean reset) {
+        List<TreeItem<T>> children = getChildren();
+        int size = children.size();
+        boolean rebuild = reset || duplicateChildren || childRowCounts == null || childRowCounts.size() != size;
+
+        if (!rebuild && changedChildren != null) {
+            // the list may grow while we iterate, if a child populates its
+            // own children lazily when its count is computed
+            for (int i = 0; i < changedChildren.size(); i++) {
+                TreeItem<?> child = changedChildren.get(i);
+                int index = child.indexInParent;
+                if (index < 0 || index >= size || children.get(index) != child) {
+                    rebuild = true;
+                    break;
+                }
+                childRowCounts.set(index, getRowCount(child, false));
+            }
+        }
+        clearChangedChildren();
+
+        if (rebuild) {
+            childRowCounts = null;
+            duplicateChildren = false;
+            for (int i = 0; i < size; i++) {
+                TreeItem<T> child = children.get(i);
+                if (child != null) {
+                    child.indexInParent = -1;
+                }
+            }
+            int[] counts = new int[size];
+            for (int i = 0; i < size; i++) {
+                TreeItem<T> child = children.get(i);
                 if (child == null) continue;
-                expandedDescendentCount += child.isExpanded() ? child.getExpandedDescendentCount(reset) : 1;
+                if (child.indexInParent < 0) {
+                    child.indexInParent = i;
+                } else {
+                    duplicateChildren = true;
+                }
+                counts[i] = getRowCount(child, reset);
             }
+            childRowCounts = new RowCountIndex(counts);
+            clearChangedChildren();
         }
-        ignoreSortUpdate = false;
+        return childRowCounts.total();
+    }
+
+    private static int getRowCount(TreeItem<?> child, boolean reset) {
+        return child.isExpanded() ? child.getExpandedDescendentCount(reset) : 1;
+    }
+
+    // Called when the expanded descendent count of the given item (this item
+    // or one of its descendants) has changed, to record which child needs its
+    // row count updated
+    private void markChildRowCountChanged(TreeItem<?> treeItem) {
+        if (childRowCounts == null || treeItem == this) {
+            // either everything is rebuilt, or only this item changed (in
+            // which case a children change has reset childRowCounts already)
+            return;
+        }
+        TreeItem<?> child = treeItem;
+        while (child != null && child.getParent() != this) {
+            child = child.getParent();
+        }
+        if (child == null) {
+            childRowCounts = null;
+        } else if (child.rowCountChangedIn != this) {
+            child.rowCountChangedIn = this;
+            if (changedChildren == null) {
+                changedChildren = new ArrayList<>();
+            }
+            changedChildren.add(child);
+        }
+    }
+
+    private void clearChangedChildren() {
+        if (changedChildren != null) {
+            for (TreeItem<?> child : changedChildren) {
+                if (child.rowCountChangedIn == this) {
+                    child.rowCountChangedIn = null;
+                }
+            }
+            changedChildren.clear();
+        }
+    }
+
+    // Returns true if the childRowCounts reflect the current children. This
+    // is the case after the expanded descendent count has been computed while
+    // this item is expanded, as long as nothing changed since.
+    private boolean isChildRowCountsValid() {
+        return childRowCounts != null
+                && (changedChildren == null || changedChildren.isEmpty())
+                && children != null
+                && childRowCounts.size() == children.size();
+    }
+
+    /*
+     * Returns the index of the child containing the given row, where row 0 is
+     * the first row after this item, or -1 if the row counts of the children
+     * are not known. The expanded descendent count must be up to date.
+     */
+    int getChildIndexAtRow(int row) {
+        if (!isChildRowCountsValid()) return -1;
+        return childRowCounts.indexAt(row);
+    }
+
+    /*
+     * Returns the first row occupied by the child at the given index, where
+     * row 0 is the first row after this item. The expanded descendent count
+     * must be up to date, and getChildIndexAtRow must not have returned -1.
+     */
+    int getChildRow(int index) {
+        return childRowCounts.sum(index);
+    }
+
+    /*
+     * Returns the index of the given child, or -1 if it is not a child of this
+     * item or the row counts of the children are not up to date.
+     */
+    int getChildIndex(TreeItem<T> child) {
+        if (!isChildRowCountsValid()) return -1;
+        int index = child.indexInParent;
+        if (!duplicateChildren && index >= 0 && index < children.size() && children.get(index) == child) {
+            return index;
+        }
+        return children.indexOf(child);
     }
 
     private void updateChildren(ListChangeListener.Change<? extends TreeItem<T>> c) {
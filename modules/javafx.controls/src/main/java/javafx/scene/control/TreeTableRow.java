@@ -515,6 +515,7 @@ public class TreeTableRow<T> extends IndexedCell<T> {
         setTreeItem(treeItem);
         if (treeItem != null) {
             treeItem.leafProperty().addListener(weakLeafListener);
+            LazyTreeItem.treeItemShown(treeItem);
         }
     }
 
@@ -28,11 +28,11 @@ package javafx.scene.control;
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -947,8 +947,14 @@ public class TreeTableView<S> extends Control {
             }
 
             // Fix for selection - we remove selection from all cells that
-            // were within the removed column.
-            if (sm != null) {
+            // were within the removed column. The default selection model has
+            // already done so on its selected ranges, when the visible leaf
+            // columns were updated above, except for columns that were hidden.
+            if (sm instanceof TreeTableViewArrayListSelectionModel<S> defaultSm) {
+                if (! removed.isEmpty()) {
+                    defaultSm.updateSelectedCellColumns();
+                }
+            } else if (sm != null && ! removed.isEmpty()) {
                 List<TreeTablePosition> selectedCells = new ArrayList<>(sm.getSelectedCells());
                 for (TreeTablePosition selectedCell : selectedCells) {
                     boolean match = false;
@@ -957,29 +963,8 @@ public class TreeTableView<S> extends Control {
                         if (match) break;
                     }
 
-                    if (match) {
-                        // we can't just use the selectedCell.getTableColumn(), as that
-                        // column no longer exists and therefore its index is not correct.
-                        int matchingColumnIndex = lastKnownColumnIndex.getOrDefault(selectedCell.getTableColumn(), -1);
-                        if (matchingColumnIndex == -1) continue;
-
-                        if (sm instanceof TreeTableViewArrayListSelectionModel) {
-                            // Also, because the table column no longer exists in the columns
-                            // list at this point, we can't just call:
-                            // sm.clearSelection(selectedCell.getRow(), selectedCell.getTableColumn());
-                            // as the tableColumn would map to an index of -1, which means that
-                            // selection will not be cleared. Instead, we have to create
-                            // a new TablePosition with a fixed column index and use that.
-                            TreeTablePosition<S,?> fixedTablePosition =
-                                    new TreeTablePosition<S,Object>(TreeTableView.this,
-                                            selectedCell.getRow(),
-                                            selectedCell.getTableColumn());
-                            fixedTablePosition.fixedColumnIndex = matchingColumnIndex;
-
-                            ((TreeTableViewArrayListSelectionModel)sm).clearSelection(fixedTablePosition);
-                        } else {
-                            sm.clearSelection(selectedCell.getRow(), selectedCell.getTableColumn());
-                        }
+                    if (match && lastKnownColumnIndex.containsKey(selectedCell.getTableColumn())) {
+                        sm.clearSelection(selectedCell.getRow(), selectedCell.getTableColumn());
                     }
                 }
             }
@@ -1542,6 +1527,69 @@ public class TreeTableView<S> extends Control {
     }
 
 
+    // --- Cache static content
+    /**
+     * Specifies whether the column headers of this control are rendered once
+     * and kept as an image, which is then drawn on every frame for as long as
+     * the headers do not change. The headers usually stay the same while the
+     * rows below them are scrolled and redrawn. While the headers keep
+     * changing, for example while a column is resized or dragged, the image
+     * is dropped and they are rendered directly. The rows are never cached.
+     * <p>
+     * Text in the cached image is antialiased in grayscale, even if the
+     * headers use LCD text smoothing.
+     *
+     * @defaultValue false
+     * @since 22
+     */
+    private BooleanProperty cacheStaticContent;
+
+    public final BooleanProperty cacheStaticContentProperty() {
+        if (cacheStaticContent == null) {
+            cacheStaticContent = new SimpleBooleanProperty(this, "cacheStaticContent", false);
+        }
+        return cacheStaticContent;
+    }
+    public final void setCacheStaticContent(boolean value) {
+        cacheStaticContentProperty().set(value);
+    }
+    public final boolean isCacheStaticContent() {
+        return cacheStaticContent == null ? false : cacheStaticContent.get();
+    }
+
+
+    // --- Virtualize column headers
+    /**
+     * Specifies whether only the column headers that intersect the visible
+     * area of this control are kept in the scene graph. The headers of all
+     * visible columns are still created, and they size their columns to fit
+     * their content when the control is shown, but the headers outside the
+     * visible area are not styled, laid out or rendered until they are
+     * scrolled into view. This reduces the cost of tables with many columns.
+     * <p>
+     * Only top-level columns are virtualized. A nested column is kept in the
+     * scene graph, together with all of its child columns, as long as any part
+     * of it is visible.
+     *
+     * @defaultValue false
+     * @since 22
+     */
+    private BooleanProperty virtualizeColumnHeaders;
+
+    public final BooleanProperty virtualizeColumnHeadersProperty() {
+        if (virtualizeColumnHeaders == null) {
+            virtualizeColumnHeaders = new SimpleBooleanProperty(this, "virtualizeColumnHeaders", false);
+        }
+        return virtualizeColumnHeaders;
+    }
+    public final void setVirtualizeColumnHeaders(boolean value) {
+        virtualizeColumnHeadersProperty().set(value);
+    }
+    public final boolean isVirtualizeColumnHeaders() {
+        return virtualizeColumnHeaders == null ? false : virtualizeColumnHeaders.get();
+    }
+
+
     // --- SortMode
     /**
      * Specifies the sort mode to use when sorting the contents of this TreeTableView,
@@ -1799,7 +1847,7 @@ public class TreeTableView<S> extends Control {
      *      collapsed).
      */
     public int getRow(TreeItem<S> item) {
-        return TreeUtil.getRow(item, getRoot(), expandedItemCountDirty, isShowRoot());
+        return TreeUtil.getRow(item, getRoot(), isShowRoot());
     }
 
     /**
@@ -1826,7 +1874,7 @@ public class TreeTableView<S> extends Control {
             }
         }
 
-        TreeItem<S> treeItem = TreeUtil.getItem(getRoot(), _row, expandedItemCountDirty);
+        TreeItem<S> treeItem = TreeUtil.getItem(getRoot(), _row);
         treeItemCacheMap.put(_row, new SoftReference<>(treeItem));
         return treeItem;
     }
@@ -2126,7 +2174,7 @@ public class TreeTableView<S> extends Control {
     }
 
     private void updateExpandedItemCount(TreeItem<S> treeItem) {
-        setExpandedItemCount(TreeUtil.updateExpandedItemCount(treeItem, expandedItemCountDirty, isShowRoot()));
+        setExpandedItemCount(TreeUtil.updateExpandedItemCount(treeItem, isShowRoot()));
 
         if (expandedItemCountDirty) {
             // this is a very inefficient thing to do, but for now having a cache
@@ -2604,21 +2652,14 @@ public class TreeTableView<S> extends Control {
             this.treeTableView.showRootProperty().addListener(showRootPropertyListener);
             updateTreeEventListener(null, treeTableView.getRoot());
 
-            selectedCellsMap = new SelectedCellsMap<>(c -> fireCustomSelectedCellsListChangeEvent(c)) {  // Note: use of method reference causes javac compilation error (see JDK-8297428)
+            selectedCellsMap = new SelectedCellsMap<>(c -> fireCustomSelectedCellsListChangeEvent(c),  // Note: use of method reference causes javac compilation error (see JDK-8297428)
+                    (row, column) -> new TreeTablePosition<>(treeTableView, row, getSelectedCellColumn(column))) {
                 @Override public boolean isCellSelectionEnabled() {
                     return TreeTableViewArrayListSelectionModel.this.isCellSelectionEnabled();
                 }
             };
 
-            selectedCellsSeq = new ReadOnlyUnbackedObservableList<>() {
-                @Override public TreeTablePosition<S,?> get(int i) {
-                    return selectedCellsMap.get(i);
-                }
-
-                @Override public int size() {
-                    return selectedCellsMap.size();
-                }
-            };
+            selectedCellsSeq = selectedCellsMap.getSelectedCells();
 //            selectedCellsSeq.addListener((ListChangeListener<? super TreeTablePosition<S,?>>) c -> {
 //                ControlUtils.updateSelectedIndices(this, c);
 //            });
@@ -2629,11 +2670,17 @@ public class TreeTableView<S> extends Control {
                 updateDefaultSelection();
                 TableCellBehaviorBase.setAnchor(treeTableView, getFocusedCell(), true);
             });
+
+            // the selected cells are kept by visible column index, so they
+            // follow the columns when these are hidden, moved or removed
+            lastVisibleLeafColumns = new ArrayList<>(treeTableView.getVisibleLeafColumns());
+            treeTableView.getVisibleLeafColumns().addListener(weakVisibleLeafColumnsListener);
         }
 
         private void dispose() {
             this.treeTableView.rootProperty().removeListener(weakRootPropertyListener);
             this.treeTableView.showRootProperty().removeListener(showRootPropertyListener);
+            this.treeTableView.getVisibleLeafColumns().removeListener(weakVisibleLeafColumnsListener);
 
             TreeItem<S> root = this.treeTableView.getRoot();
             if (root != null) {
@@ -2767,7 +2814,7 @@ public class TreeTableView<S> extends Control {
                         // else, in case otherwise, the selection change events would be generated.
                         // Do not call shiftSelection() in case of permutation change(when shift == 0).
 
-                        List<TreeTablePosition<S, ?>> currentSelection = new ArrayList<>(selectedCellsMap.getSelectedCells());
+                        List<TreeTablePosition<S, ?>> currentSelection = selectedCellsMap.snapshot();
                         List<TreeTablePosition<S, ?>> updatedSelection = new ArrayList<>();
 
                         boolean selectionIndicesChanged = false;
@@ -2909,6 +2956,78 @@ public class TreeTableView<S> extends Control {
 
         private WeakEventHandler<TreeItem.TreeModificationEvent<S>> weakTreeItemListener;
 
+        private List<TreeTableColumn<S,?>> lastVisibleLeafColumns;
+
+        private final ListChangeListener<TreeTableColumn<S,?>> visibleLeafColumnsListener = c -> updateSelectedCellColumns();
+
+        private final WeakListChangeListener<TreeTableColumn<S,?>> weakVisibleLeafColumnsListener =
+                new WeakListChangeListener<>(visibleLeafColumnsListener);
+
+        // The hidden columns of the table, at the index i under which their
+        // selected cells are kept as column -2 - i, so that these cells are
+        // selected again when the column is shown.
+        private List<TreeTableColumn<S,?>> hiddenColumns = new ArrayList<>();
+
+        private TreeTableColumn<S,?> getSelectedCellColumn(int column) {
+            if (column < -1) {
+                return hiddenColumns.get(-2 - column);
+            }
+            return column < 0 ? null : treeTableView.getVisibleLeafColumn(column);
+        }
+
+        private void updateSelectedCellColumns() {
+            List<TreeTableColumn<S,?>> columns = treeTableView.getVisibleLeafColumns();
+            Map<TreeTableColumn<S,?>, Integer> newIndices = new IdentityHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                newIndices.put(columns.get(i), i);
+            }
+
+            // The cells of a column that was removed from the table are
+            // deselected, and those of a hidden column are kept for when it
+            // is shown again. In row selection mode, the rows stay selected.
+            final boolean cellSelection = isCellSelectionEnabled();
+            List<TreeTableColumn<S,?>> oldColumns = lastVisibleLeafColumns;
+            List<TreeTableColumn<S,?>> oldHiddenColumns = hiddenColumns;
+            List<TreeTableColumn<S,?>> newHiddenColumns = new ArrayList<>(oldHiddenColumns);
+            for (int i = 0; i < newHiddenColumns.size(); i++) {
+                TreeTableColumn<S,?> column = newHiddenColumns.get(i);
+                if (column != null && (newIndices.containsKey(column) || ! isHiddenColumn(column, cellSelection))) {
+                    newHiddenColumns.set(i, null);
+                }
+            }
+            for (TreeTableColumn<S,?> column : oldColumns) {
+                if (! newIndices.containsKey(column) && isHiddenColumn(column, cellSelection)) {
+                    int i = newHiddenColumns.indexOf(null);
+                    if (i < 0) {
+                        newHiddenColumns.add(column);
+                    } else {
+                        newHiddenColumns.set(i, column);
+                    }
+                }
+            }
+            while (! newHiddenColumns.isEmpty() && newHiddenColumns.get(newHiddenColumns.size() - 1) == null) {
+                newHiddenColumns.remove(newHiddenColumns.size() - 1);
+            }
+
+            lastVisibleLeafColumns = new ArrayList<>(columns);
+            hiddenColumns = newHiddenColumns;
+            selectedCellsMap.remapColumns(i -> {
+                TreeTableColumn<S,?> column = i < -1 ? oldHiddenColumns.get(-2 - i) : i < oldColumns.size() ? oldColumns.get(i) : null;
+                Integer newIndex = column == null ? null : newIndices.get(column);
+                if (newIndex != null) {
+                    return newIndex;
+                } else if (! cellSelection) {
+                    return -1;
+                }
+                int hiddenIndex = column == null ? -1 : newHiddenColumns.indexOf(column);
+                return hiddenIndex < 0 ? SelectedCellsMap.DESELECTED : -2 - hiddenIndex;
+            });
+        }
+
+        private boolean isHiddenColumn(TreeTableColumn<S,?> column, boolean cellSelection) {
+            return cellSelection && column.getTreeTableView() == treeTableView;
+        }
+
 
 
         /* *********************************************************************
@@ -2956,7 +3075,7 @@ public class TreeTableView<S> extends Control {
 
             // firstly we make a copy of the selection, so that we can send out
             // the correct details in the selection change event.
-            List<TreeTablePosition<S,?>> previousSelection = new ArrayList<>(selectedCellsMap.getSelectedCells());
+            SelectedCellsMap.Cells<TreeTablePosition<S,?>> previousSelection = selectedCellsMap.snapshot();
 
             // secondly we check if we can short-circuit out of here because the new selection
             // equals the current selection
@@ -2990,11 +3109,9 @@ public class TreeTableView<S> extends Control {
             if (isCellSelectionEnabled) {
                 previousSelection.remove(newTablePosition);
             } else {
-                for (TreeTablePosition<S,?> tp : previousSelection) {
-                    if (tp.getRow() == row) {
-                        previousSelection.remove(tp);
-                        break;
-                    }
+                int index = previousSelection.indexOfRow(row);
+                if (index >= 0) {
+                    previousSelection.remove(index);
                 }
             }
 
@@ -3171,36 +3288,28 @@ public class TreeTableView<S> extends Control {
         @Override public void selectAll() {
             if (getSelectionMode() == SelectionMode.SINGLE) return;
 
+            // the selection is set as a single range, so that no positions
+            // are created for the (potentially millions of) selected cells
             if (isCellSelectionEnabled()) {
-                List<TreeTablePosition<S,?>> indices = new ArrayList<>();
-                TreeTableColumn<S,?> column;
-                TreeTablePosition<S,?> tp = null;
-                for (int col = 0; col < getTreeTableView().getVisibleLeafColumns().size(); col++) {
-                    column = getTreeTableView().getVisibleLeafColumns().get(col);
-                    for (int row = 0; row < getRowCount(); row++) {
-                        tp = new TreeTablePosition<>(getTreeTableView(), row, column);
-                        indices.add(tp);
-                    }
-                }
-                selectedCellsMap.setAll(indices);
+                final int columnCount = getTreeTableView().getVisibleLeafColumns().size();
+                final int rowCount = getRowCount();
+                selectedCellsMap.setAll(0, rowCount, 0, columnCount);
 
-                if (tp != null) {
-                    select(tp.getRow(), tp.getTableColumn());
-                    focus(tp.getRow(), tp.getTableColumn());
+                if (columnCount > 0 && rowCount > 0) {
+                    TreeTableColumn<S,?> column = getTreeTableView().getVisibleLeafColumn(columnCount - 1);
+                    select(rowCount - 1, column);
+                    focus(rowCount - 1, column);
                 }
             } else {
-                List<TreeTablePosition<S,?>> indices = new ArrayList<>();
-                for (int i = 0; i < getRowCount(); i++) {
-                    indices.add(new TreeTablePosition<>(getTreeTableView(), i, null));
-                }
-                selectedCellsMap.setAll(indices);
+                final int rowCount = getRowCount();
+                selectedCellsMap.setAll(0, rowCount, -1, 0);
 
                 int focusedIndex = getFocusedIndex();
                 if (focusedIndex == -1) {
                     final int itemCount = getItemCount();
                     if (itemCount > 0) {
                         select(itemCount - 1);
-                        focus(indices.get(indices.size() - 1));
+                        focus(new TreeTablePosition<>(getTreeTableView(), rowCount - 1, null));
                     }
                 } else {
                     select(focusedIndex);
@@ -3227,37 +3336,20 @@ public class TreeTableView<S> extends Control {
             final int _minColumnIndex = Math.min(minColumnIndex, maxColumnIndex);
             final int _maxColumnIndex = Math.max(minColumnIndex, maxColumnIndex);
 
-            final int _minRow = Math.min(minRow, maxRow);
-            final int _maxRow = Math.max(minRow, maxRow);
-
-            List<TreeTablePosition<S,?>> cellsToSelect = new ArrayList<>();
-
-            for (int _row = _minRow; _row <= _maxRow; _row++) {
-                // begin copy/paste of select(int, column) method (with some
-                // slight modifications)
-                if (_row < 0 || _row >= itemCount) continue;
+            final int _minRow = Math.max(0, Math.min(minRow, maxRow));
+            final int _maxRow = Math.min(itemCount - 1, Math.max(minRow, maxRow));
 
-                if (! isCellSelectionEnabled) {
-                    cellsToSelect.add(new TreeTablePosition<>(treeTableView, _row, (TreeTableColumn<S,?>)minColumn));
-                } else {
-                    for (int _col = _minColumnIndex; _col <= _maxColumnIndex; _col++) {
-                        final TreeTableColumn<S, ?> column = treeTableView.getVisibleLeafColumn(_col);
-
-                        // if I'm in cell selection mode but the column is null, I don't want
-                        // to select the whole row instead...
-                        if (column == null && isCellSelectionEnabled) continue;
-
-                        cellsToSelect.add(new TreeTablePosition<>(treeTableView, _row, column));
-                        // end copy/paste
-                    }
-                }
+            // the cells are selected as a range (which also prevents
+            // duplication), rather than by creating a position for each cell
+            if (! isCellSelectionEnabled) {
+                selectedCellsMap.addAll(_minRow, _maxRow + 1, minColumnIndex, minColumnIndex + 1);
+            } else {
+                // if I'm in cell selection mode but the column is null, I don't want
+                // to select the whole row instead...
+                final int columnCount = treeTableView.getVisibleLeafColumns().size();
+                selectedCellsMap.addAll(_minRow, _maxRow + 1,
+                        Math.max(0, _minColumnIndex), Math.min(columnCount - 1, _maxColumnIndex) + 1);
             }
-
-            // to prevent duplication we remove all currently selected cells from
-            // our list of cells to select.
-            cellsToSelect.removeAll(getSelectedCells());
-
-            selectedCellsMap.addAll(cellsToSelect);
             stopAtomic();
 
             // fire off events
@@ -3294,23 +3386,18 @@ public class TreeTableView<S> extends Control {
             final int row = tp.getRow();
             final boolean columnIsNull = tp.getTableColumn() == null;
 
-            List<TreeTablePosition> toRemove = new ArrayList<>();
-            for (TreeTablePosition pos : getSelectedCells()) {
-                if (!csMode) {
-                    if (pos.getRow() == row) {
-                        toRemove.add(pos);
-                        break;
-                    }
-                } else {
-                    if (columnIsNull && pos.getRow() == row) {
-                        // if we are in cell selection mode and the column is null,
-                        // we remove all items in the row
-                        toRemove.add(pos);
-                    } else if (pos.equals(tp)) {
-                        toRemove.add(tp);
-                        break;
-                    }
+            List<TreeTablePosition<S,?>> toRemove = new ArrayList<>();
+            if (!csMode) {
+                List<TreeTablePosition<S,?>> cellsInRow = selectedCellsMap.getSelectedCells(row);
+                if (!cellsInRow.isEmpty()) {
+                    toRemove.add(cellsInRow.get(0));
                 }
+            } else if (columnIsNull) {
+                // if we are in cell selection mode and the column is null,
+                // we remove all items in the row
+                toRemove.addAll(selectedCellsMap.getSelectedCells(row));
+            } else if (selectedCellsMap.getSelectedCells().contains(tp)) {
+                toRemove.add(tp);
             }
             toRemove.stream().forEach(selectedCellsMap::remove);
 
@@ -3321,7 +3408,7 @@ public class TreeTableView<S> extends Control {
         }
 
         @Override public void clearSelection() {
-            final List<TreeTablePosition<S,?>> removed = new ArrayList<>((Collection)getSelectedCells());
+            final List<TreeTablePosition<S,?>> removed = selectedCellsMap.snapshot();
 
             quietClearSelection();
 
@@ -3560,7 +3647,7 @@ public class TreeTableView<S> extends Control {
             // Allow removing the row index if cell selection is not enabled or
             // if such row doesn't have any selected cells
             IntPredicate removeRowFilter = row -> !isCellSelectionEnabled() ||
-                    getSelectedCells().stream().noneMatch(tp -> tp.getRow() == row);
+                    !selectedCellsMap.isSelected(row, -1);
             ControlUtils.updateSelectedIndices(this, this.isCellSelectionEnabled(), c, removeRowFilter);
 
             if (isAtomic()) {
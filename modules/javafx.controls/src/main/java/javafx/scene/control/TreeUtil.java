@@ -30,37 +30,43 @@ import java.util.List;
 /**
  * A package protected util class used by TreeView and TreeTableView to reduce
  * the level of code duplication.
+ * <p>
+ * The expanded descendent counts are maintained incrementally by each
+ * {@link TreeItem}, which also keeps the prefix sums of the row counts of its
+ * children. Mapping a row to a tree item and back therefore only needs to
+ * visit the ancestors of the tree item, with a logarithmic lookup at each
+ * level, rather than all preceding siblings.
  */
 class TreeUtil {
 
-    static <T> int getExpandedDescendantCount(TreeItem<T> node, boolean treeItemCountDirty) {
+    static <T> int getExpandedDescendantCount(TreeItem<T> node) {
         if (node == null) return 0;
         if (node.isLeaf()) return 1;
 
-        return node.getExpandedDescendentCount(treeItemCountDirty);
+        return node.getExpandedDescendentCount(false);
     }
 
-    static int updateExpandedItemCount(TreeItem treeItem, boolean treeItemCountDirty, boolean isShowRoot) {
+    static int updateExpandedItemCount(TreeItem treeItem, boolean isShowRoot) {
         if (treeItem == null) {
             return 0;
         } else if (! treeItem.isExpanded()) {
             return 1;
         } else {
-            int count = getExpandedDescendantCount(treeItem, treeItemCountDirty);
+            int count = getExpandedDescendantCount(treeItem);
             if (! isShowRoot) count--;
 
             return count;
         }
     }
 
-    static <T> TreeItem<T> getItem(TreeItem<T> parent, int itemIndex, boolean treeItemCountDirty) {
+    static <T> TreeItem<T> getItem(TreeItem<T> parent, int itemIndex) {
         if (parent == null) return null;
 
         // if itemIndex is 0 then our parent is what we were looking for
         if (itemIndex == 0) return parent;
 
         // if itemIndex is > the total item count, then it is out of range
-        if (itemIndex >= getExpandedDescendantCount(parent, treeItemCountDirty)) return null;
+        if (itemIndex >= getExpandedDescendantCount(parent)) return null;
 
         // if we got here, then one of our descendants is the item we're after
         List<TreeItem<T>> children = parent.getChildren();
@@ -68,6 +74,15 @@ class TreeUtil {
 
         int idx = itemIndex - 1;
 
+        int childIndex = parent.getChildIndexAtRow(idx);
+        if (childIndex >= 0 && childIndex < children.size()) {
+            TreeItem<T> child = children.get(childIndex);
+            int childRow = idx - parent.getChildRow(childIndex);
+            return childRow == 0 ? child : getItem(child, childRow);
+        }
+
+        // fall back to a linear search if the row counts of the children are
+        // not available
         TreeItem<T> child;
         for (int i = 0, max = children.size(); i < max; i++) {
             child = children.get(i);
@@ -78,13 +93,13 @@ class TreeUtil {
                 continue;
             }
 
-            int expandedChildCount = getExpandedDescendantCount(child, treeItemCountDirty);
+            int expandedChildCount = getExpandedDescendantCount(child);
             if (idx >= expandedChildCount) {
                 idx -= expandedChildCount;
                 continue;
             }
 
-            TreeItem<T> result = getItem(child, idx, treeItemCountDirty);
+            TreeItem<T> result = getItem(child, idx);
             if (result != null) return result;
             idx--;
         }
@@ -93,7 +108,7 @@ class TreeUtil {
         return null;
     }
 
-    static <T> int getRow(TreeItem<T> item, TreeItem<T> root, boolean treeItemCountDirty, boolean isShowRoot) {
+    static <T> int getRow(TreeItem<T> item, TreeItem<T> root, boolean isShowRoot) {
         if (item == null) {
             return -1;
         } else if (isShowRoot && item.equals(root)) {
@@ -116,13 +131,31 @@ class TreeUtil {
 
             siblings = p.children;
 
+            // if the root is not one of the siblings, the rows of all preceding
+            // siblings can be looked up in the row counts of the parent, if
+            // they are up to date. They are not recomputed here, as this may
+            // be called while the parent is lazily populating its children.
+            if ((root == null || root.getParent() != p) && !p.isLeaf()) {
+                int index = p.getChildIndex(i);
+                if (index >= 0) {
+                    row += p.getChildRow(index);
+                    i = p;
+                    p = p.getParent();
+                    if (p == null && !i.equals(root)) {
+                        return -1;
+                    }
+                    row++;
+                    continue;
+                }
+            }
+
             // work up each sibling, from the current item
             int itemIndex = siblings.indexOf(i);
             for (int pos = itemIndex - 1; pos > -1; pos--) {
                 sibling = siblings.get(pos);
                 if (sibling == null) continue;
 
-                row += getExpandedDescendantCount(sibling, treeItemCountDirty);
+                row += getExpandedDescendantCount(sibling);
 
                 if (sibling.equals(root)) {
                     if (! isShowRoot) {
@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control.cell;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import javafx.application.Platform;
+import javafx.scene.control.Cell;
+import javafx.scene.control.IndexRange;
+import javafx.scene.control.skin.VirtualFlow;
+
+import com.sun.javafx.scene.control.BackgroundExecutor;
+import com.sun.javafx.tk.Toolkit;
+
+/**
+ * Prepares expensive cell content, such as formatted text or decoded images,
+ * on a background thread, so that updating a cell on the JavaFX Application
+ * Thread only has to apply an already prepared result. Prepared results are
+ * kept in a least-recently-used cache keyed by item.
+ * <p>
+ * A cell applies prepared content from its {@link Cell#updateItem(Object, boolean)
+ * updateItem} method. If the content for the item is not ready yet, the cell
+ * can show a placeholder; the content is applied once it has been prepared,
+ * provided that the cell still shows the same item:
+ *
+ * <pre><code>
+ * {@literal CellContentPreparer<Photo, Image> thumbnails = new CellContentPreparer<>(Photo::loadThumbnail);
+ *
+ * listView.setCellFactory(lv -> new ListCell<>() {
+ *     private final ImageView view = new ImageView();
+ *
+ *     protected void updateItem(Photo item, boolean empty) {
+ *         super.updateItem(item, empty);
+ *         view.setImage(null);
+ *         setGraphic(empty ? null : view);
+ *         if (!empty) {
+ *             thumbnails.apply(this, item, (cell, image) -> view.setImage(image));
+ *         }
+ *     }
+ * });}
+ * </code></pre>
+ *
+ * <p>Content can also be prepared before the cells are shown, by installing a
+ * {@link #prefetcher(IntFunction) prefetcher} as the
+ * {@link VirtualFlow#prefetchHandlerProperty() prefetch handler} of a
+ * {@link VirtualFlow}.
+ *
+ * <p>With the exception of the constructors, the methods of this class must be
+ * called on the JavaFX Application Thread. The prepare function is called on
+ * the threads of the executor and must not access the scene graph.
+ *
+ * @param <T> The type of the items shown by the cells.
+ * @param <R> The type of the prepared content.
+ * @see VirtualFlow#prefetchHandlerProperty()
+ * @since 22
+ */
+public class CellContentPreparer<T, R> {
+
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+
+    private final Function<? super T, ? extends R> preparer;
+    private final Executor executor;
+    private final Map<T, R> cache;
+    private final Map<T, Task> pending = new HashMap<>();
+    // the task each waiting cell is registered with
+    private final Map<Cell<?>, Task> waiting = new HashMap<>();
+
+    /**
+     * Creates a CellContentPreparer that prepares content with the given
+     * function on a shared pool of daemon threads, and caches the content of
+     * up to 1000 items.
+     *
+     * @param preparer the function that prepares the content of an item
+     */
+    public CellContentPreparer(Function<? super T, ? extends R> preparer) {
+        this(preparer, BackgroundExecutor.get(), DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates a CellContentPreparer that prepares content with the given
+     * function on the given executor, and caches the content of up to
+     * {@code cacheSize} items.
+     *
+     * @param preparer the function that prepares the content of an item
+     * @param executor the executor on which the content is prepared
+     * @param cacheSize the maximum number of prepared results that are kept
+     * @throws IllegalArgumentException if {@code cacheSize} is negative
+     */
+    public CellContentPreparer(Function<? super T, ? extends R> preparer, Executor executor, int cacheSize) {
+        Objects.requireNonNull(preparer, "preparer cannot be null");
+        Objects.requireNonNull(executor, "executor cannot be null");
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("cacheSize cannot be negative: " + cacheSize);
+        }
+        this.preparer = preparer;
+        this.executor = executor;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<T, R> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the prepared content of the given item, or {@code null} if it has
+     * not been prepared.
+     *
+     * @param item the item
+     * @return the prepared content, or {@code null}
+     */
+    public R getPrepared(T item) {
+        Toolkit.getToolkit().checkFxUserThread();
+        return cache.get(item);
+    }
+
+    /**
+     * Returns whether the content of the given item has been prepared and is
+     * still cached.
+     *
+     * @param item the item
+     * @return true if the content of the item is available
+     */
+    public boolean isPrepared(T item) {
+        Toolkit.getToolkit().checkFxUserThread();
+        return cache.containsKey(item);
+    }
+
+    /**
+     * Starts preparing the content of the given item, unless it has already
+     * been prepared or is being prepared. {@code null} items are ignored.
+     *
+     * @param item the item
+     */
+    public void prepare(T item) {
+        Toolkit.getToolkit().checkFxUserThread();
+        if (item != null && !cache.containsKey(item) && !pending.containsKey(item)) {
+            schedule(item);
+        }
+    }
+
+    /**
+     * Applies the prepared content of the given item to the cell. If the
+     * content has been prepared, the applier is called immediately and this
+     * method returns true. Otherwise the content is prepared in the background
+     * and the applier is called later on the JavaFX Application Thread, but only
+     * if the cell is still not empty and still shows the same item.
+     *
+     * @param <C> the type of the cell
+     * @param cell the cell showing the item
+     * @param item the item
+     * @param applier the function that applies the prepared content to the cell
+     * @return true if the content was applied immediately, false if it will be
+     *         applied once it has been prepared, or if {@code item} is {@code null}
+     */
+    public <C extends Cell<?>> boolean apply(C cell, T item, BiConsumer<? super C, ? super R> applier) {
+        Toolkit.getToolkit().checkFxUserThread();
+        Objects.requireNonNull(cell, "cell cannot be null");
+        Objects.requireNonNull(applier, "applier cannot be null");
+
+        // a cell that shows another item no longer waits for its previous item,
+        // so that the preparation of that item can be cancelled
+        Task previous = waiting.remove(cell);
+        if (previous != null) {
+            previous.waiters.remove(cell);
+        }
+        if (item == null) return false;
+
+        R result = cache.get(item);
+        if (result != null || cache.containsKey(item)) {
+            applier.accept(cell, result);
+            return true;
+        }
+
+        Task task = pending.get(item);
+        if (task == null) {
+            task = schedule(item);
+        }
+        task.waiters.put(cell, prepared -> {
+            if (!cell.isEmpty() && Objects.equals(cell.getItem(), item)) {
+                applier.accept(cell, prepared);
+            }
+        });
+        waiting.put(cell, task);
+        return false;
+    }
+
+    /**
+     * Starts preparing the content of the given items, and cancels the
+     * preparation of any other items that no cell is waiting for. This is
+     * typically called with the items that are about to be scrolled into view.
+     *
+     * @param items the items to prepare
+     */
+    public void prefetch(Collection<? extends T> items) {
+        Toolkit.getToolkit().checkFxUserThread();
+        final Set<T> wanted = new HashSet<>(items);
+        for (Iterator<Task> it = pending.values().iterator(); it.hasNext(); ) {
+            Task task = it.next();
+            if (task.waiters.isEmpty() && !wanted.contains(task.item)) {
+                task.cancelled = true;
+                it.remove();
+            }
+        }
+        for (T item : items) {
+            prepare(item);
+        }
+    }
+
+    /**
+     * Returns a handler suitable for the
+     * {@link VirtualFlow#prefetchHandlerProperty() prefetch handler} of a
+     * {@link VirtualFlow}, which {@link #prefetch(Collection) prefetches} the
+     * items in the reported range.
+     *
+     * @param itemAtIndex the function that returns the item at a cell index,
+     *        for example {@code listView.getItems()::get}
+     * @return the prefetch handler
+     */
+    public Consumer<IndexRange> prefetcher(IntFunction<? extends T> itemAtIndex) {
+        Objects.requireNonNull(itemAtIndex, "itemAtIndex cannot be null");
+        return range -> {
+            List<T> items = new ArrayList<>(range.getLength());
+            for (int i = range.getStart(); i < range.getEnd(); i++) {
+                items.add(itemAtIndex.apply(i));
+            }
+            prefetch(items);
+        };
+    }
+
+    /**
+     * Discards the prepared content of the given item, for example because the
+     * item has changed. If cells are waiting for the content of the item, it
+     * is prepared again.
+     *
+     * @param item the item
+     */
+    public void invalidate(T item) {
+        Toolkit.getToolkit().checkFxUserThread();
+        cache.remove(item);
+        Task task = pending.remove(item);
+        if (task != null) {
+            task.cancelled = true;
+            if (!task.waiters.isEmpty()) {
+                Task replacement = schedule(item);
+                replacement.waiters.putAll(task.waiters);
+                for (Cell<?> cell : task.waiters.keySet()) {
+                    waiting.put(cell, replacement);
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards all prepared content, and cancels all pending preparations.
+     * Cells waiting for content are not updated.
+     */
+    public void clear() {
+        Toolkit.getToolkit().checkFxUserThread();
+        cache.clear();
+        for (Task task : pending.values()) {
+            task.cancelled = true;
+        }
+        pending.clear();
+        waiting.clear();
+    }
+
+    private Task schedule(T item) {
+        Task task = new Task(item);
+        pending.put(item, task);
+        try {
+            executor.execute(task);
+        } catch (RuntimeException e) {
+            pending.remove(item);
+            throw e;
+        }
+        return task;
+    }
+
+    private void completed(Task task, R result) {
+        // a task that was cancelled or replaced in the meantime is ignored
+        if (pending.get(task.item) != task) return;
+        pending.remove(task.item);
+        removeWaiters(task);
+        cache.put(task.item, result);
+        for (Consumer<R> waiter : task.waiters.values()) {
+            waiter.accept(result);
+        }
+    }
+
+    private void failed(Task task, Throwable error) {
+        if (pending.get(task.item) == task) {
+            pending.remove(task.item);
+            removeWaiters(task);
+        }
+        Thread.currentThread().getUncaughtExceptionHandler().uncaughtException(Thread.currentThread(), error);
+    }
+
+    private void removeWaiters(Task task) {
+        for (Cell<?> cell : task.waiters.keySet()) {
+            waiting.remove(cell, task);
+        }
+    }
+
+    private final class Task implements Runnable {
+        private final T item;
+        // the cells waiting for the result, only accessed on the FX thread
+        private final Map<Cell<?>, Consumer<R>> waiters = new LinkedHashMap<>();
+        private volatile boolean cancelled;
+
+        private Task(T item) {
+            this.item = item;
+        }
+
+        @Override public void run() {
+            if (cancelled) return;
+            final R result;
+            try {
+                result = preparer.apply(item);
+            } catch (Throwable t) {
+                Platform.runLater(() -> failed(this, t));
+                return;
+            }
+            if (!cancelled) {
+                Platform.runLater(() -> completed(this, result));
+            }
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package javafx.scene.control.skin;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
+import javafx.scene.text.Font;
+
+import com.sun.javafx.scene.control.BackgroundExecutor;
+import com.sun.javafx.scene.control.skin.Utils;
+import com.sun.javafx.tk.FontLoader;
+import com.sun.javafx.tk.Toolkit;
+
+/**
+ * Measures the text of the rows of a column that uses the default cell
+ * factory, on behalf of {@link TableColumnHeader#resizeColumnToFitContent(int)}.
+ * The text of the rows is read in chunks on the JavaFX Application Thread, one
+ * chunk at a time, and each chunk is measured on the {@link BackgroundExecutor}
+ * from the advances of its characters. The width needed for the widest text
+ * measured so far is reported back to the header on the JavaFX Application
+ * Thread as the measurement progresses.
+ */
+final class ColumnTextMeasurement {
+
+    // columns with fewer rows are measured with a cell on every row
+    static final int MIN_TEXT_MEASURE_ROWS = 10_000;
+
+    // the number of rows measured with a cell before the text of the
+    // remaining rows is measured, to find the font and insets of the cells
+    static final int CELL_MEASURE_ROWS = 30;
+
+    // the number of rows whose text is read on the JavaFX Application Thread
+    // at a time, which bounds the time spent in cell value factories per event
+    private static final int CHUNK_SIZE = 5_000;
+
+    // the advances of the characters below this are looked up on the JavaFX
+    // Application Thread before measuring; text with other characters is
+    // laid out on the JavaFX Application Thread when its chunk is measured
+    private static final int ADVANCES_SIZE = 0x250;
+
+    // the advances of the most recently used fonts
+    private static final Map<Font, float[]> ADVANCES = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override protected boolean removeEldestEntry(Map.Entry<Font, float[]> eldest) {
+            return size() > 8;
+        }
+    };
+
+    private static float[] getAdvances(Font font) {
+        float[] advances = ADVANCES.get(font);
+        if (advances == null) {
+            final FontLoader fontLoader = Toolkit.getToolkit().getFontLoader();
+            advances = new float[ADVANCES_SIZE];
+            for (char c = 0; c < ADVANCES_SIZE; c++) {
+                // control characters (tabs, line breaks) need a text layout
+                advances[c] = Character.isISOControl(c) ? Float.NaN : fontLoader.getCharWidth(c, font);
+            }
+            ADVANCES.put(font, advances);
+        }
+        return advances;
+    }
+
+    private final TableColumnHeader header;
+    private final Observable source;
+    private final IntSupplier rowCount;
+    private final int itemCount;
+    private final IntFunction<String> rowText;
+    private final int endRow;
+    private final Font font;
+    private final double minWidth;
+    private final double extraWidth;
+    private final float[] advances;
+
+    // the first row of the next chunk to read
+    private int nextRow;
+
+    private double textWidth;
+    private boolean complete;
+
+    // set on the JavaFX Application Thread when the source is modified
+    private boolean modified;
+    private final InvalidationListener sourceListener = o -> {
+        modified = true;
+        removeSourceListener();
+    };
+    private final WeakInvalidationListener weakSourceListener = new WeakInvalidationListener(sourceListener);
+
+    private volatile boolean cancelled;
+
+    /**
+     * Creates a measurement of the text of the given rows.
+     *
+     * @param header the header to report widths to
+     * @param source observed for modifications of the rows
+     * @param rowCount the current number of rows
+     * @param rowText the text of a row, called on the JavaFX Application Thread
+     * @param startRow the first row to measure
+     * @param endRow the row after the last row to measure
+     * @param font the font of the cells
+     * @param minWidth the width needed by the header and the rows measured with a cell
+     * @param extraWidth the width needed by a cell in addition to its text
+     */
+    ColumnTextMeasurement(TableColumnHeader header, Observable source, IntSupplier rowCount,
+            IntFunction<String> rowText, int startRow, int endRow,
+            Font font, double minWidth, double extraWidth) {
+        this.header = header;
+        this.source = source;
+        this.rowCount = rowCount;
+        this.itemCount = rowCount.getAsInt();
+        this.rowText = rowText;
+        this.nextRow = startRow;
+        this.endRow = endRow;
+        this.font = font;
+        this.minWidth = minWidth;
+        this.extraWidth = extraWidth;
+        this.advances = getAdvances(font);
+    }
+
+    void start() {
+        source.addListener(weakSourceListener);
+        readChunk();
+    }
+
+    void cancel() {
+        cancelled = true;
+        removeSourceListener();
+    }
+
+    private void removeSourceListener() {
+        source.removeListener(weakSourceListener);
+    }
+
+    /**
+     * Returns whether this measurement completed and its result still applies
+     * to the given rows, as far as can be told from the source.
+     */
+    boolean isCurrent(Observable source, Font font, int rowCount, int endRow) {
+        return complete && !modified && !cancelled && this.source == source
+                && this.font.equals(font) && this.itemCount == rowCount && this.endRow == endRow;
+    }
+
+    /**
+     * Returns the width of the widest text found by this completed measurement.
+     */
+    double getTextWidth() {
+        return textWidth;
+    }
+
+    double getWidth(double textWidth) {
+        return Math.max(minWidth, Math.ceil(textWidth) + extraWidth);
+    }
+
+    // reads the text of the next chunk of rows, and measures it on the executor
+    private void readChunk() {
+        final int from = nextRow;
+        final int to = Math.min(endRow, from + CHUNK_SIZE);
+        final String[] texts = new String[to - from];
+        for (int row = from; row < to; row++) {
+            texts[row - from] = rowText.apply(row);
+        }
+        nextRow = to;
+        try {
+            BackgroundExecutor.get().execute(() -> measureChunk(texts));
+        } catch (RuntimeException e) {
+            cancel();
+            throw e;
+        }
+    }
+
+    // called on the executor
+    private void measureChunk(String[] texts) {
+        if (cancelled) return;
+        double max = 0;
+        boolean[] needsLayout = null;
+        for (int i = 0; i < texts.length; i++) {
+            final double width = measure(texts[i]);
+            if (Double.isNaN(width)) {
+                if (needsLayout == null) {
+                    needsLayout = new boolean[texts.length];
+                }
+                needsLayout[i] = true;
+            } else {
+                max = Math.max(max, width);
+            }
+        }
+        final double width = max;
+        final boolean[] layout = needsLayout;
+        Platform.runLater(() -> chunkMeasured(texts, width, layout));
+    }
+
+    // returns NaN if the text has characters outside the advances table
+    private double measure(String text) {
+        if (text == null) {
+            return 0;
+        }
+        double width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            final float advance = c < ADVANCES_SIZE ? advances[c] : Float.NaN;
+            if (Float.isNaN(advance)) {
+                return Double.NaN;
+            }
+            width += advance;
+        }
+        return width;
+    }
+
+    private void chunkMeasured(String[] texts, double width, boolean[] needsLayout) {
+        if (cancelled) return;
+        if (modified || rowCount.getAsInt() != itemCount) {
+            // the rows changed while they were measured
+            cancel();
+            return;
+        }
+        if (needsLayout != null) {
+            for (int i = 0; i < texts.length; i++) {
+                if (needsLayout[i]) {
+                    width = Math.max(width, Utils.computeTextWidth(font, texts[i], -1));
+                }
+            }
+        }
+        final boolean grown = width > textWidth;
+        textWidth = Math.max(textWidth, width);
+        complete = nextRow >= endRow;
+        if (complete || grown) {
+            header.textMeasured(this, getWidth(textWidth), complete);
+        }
+        if (!complete && !cancelled) {
+            readChunk();
+        }
+    }
+}
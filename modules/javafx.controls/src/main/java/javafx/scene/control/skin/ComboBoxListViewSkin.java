@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,9 +25,13 @@
 
 package javafx.scene.control.skin;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.Supplier;
 
+import javafx.application.Platform;
+
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.value.ObservableValue;
@@ -55,8 +59,10 @@ import javafx.scene.input.MouseEvent;
 import javafx.util.Callback;
 import javafx.util.StringConverter;
 
+import com.sun.javafx.scene.control.BackgroundExecutor;
 import com.sun.javafx.scene.control.IDisconnectable;
 import com.sun.javafx.scene.control.ListenerHelper;
+import com.sun.javafx.scene.control.PrefixIndex;
 import com.sun.javafx.scene.control.behavior.ComboBoxBaseBehavior;
 import com.sun.javafx.scene.control.behavior.ComboBoxListViewBehavior;
 
@@ -80,6 +86,9 @@ public class ComboBoxListViewSkin<T> extends ComboBoxPopupControl<T> {
     // This may one day become a property on the ComboBox itself.
     private static final String COMBO_BOX_ROWS_TO_MEASURE_WIDTH_KEY = "comboBoxRowsToMeasureWidth";
 
+    // item lists of this size or larger are filtered on a background thread
+    // when the ComboBox is filterable
+    static final int MIN_BACKGROUND_FILTER_SIZE = 10_000;
 
 
     /* *************************************************************************
@@ -100,9 +109,18 @@ public class ComboBoxListViewSkin<T> extends ComboBoxPopupControl<T> {
     private boolean listSelectionLock = false;
     private boolean listViewSelectionDirty = false;
 
-    private final ComboBoxListViewBehavior behavior;
+    private final ComboBoxListViewBehavior<T> behavior;
     private IDisconnectable selectedItemWatcher;
 
+    // filtering (see ComboBox.filterable): the editor text the items are
+    // filtered by, and the rows of the items shown in the list view, in
+    // ascending order, or null if all items are shown
+    private IDisconnectable editorTextWatcher;
+    private PrefixIndex<T> prefixIndex;
+    private String filterText;
+    private int[] filteredRows;
+    private int filterGeneration;
+
 
     /* *************************************************************************
      *                                                                         *
@@ -143,6 +161,7 @@ public class ComboBoxListViewSkin<T> extends ComboBoxPopupControl<T> {
 
         this.comboBox = control;
         updateComboBoxItems();
+        behavior.setShownRows(() -> filteredRows);
 
         ListenerHelper lh = ListenerHelper.get(this);
 
@@ -188,6 +207,13 @@ public class ComboBoxListViewSkin<T> extends ComboBoxPopupControl<T> {
         });
         lh.addChangeListener(control.editableProperty(), e -> updateEditable());
 
+        lh.addChangeListener(this::updateFilterable, true, control.filterableProperty(), control.editableProperty());
+        lh.addChangeListener(control.showingProperty(), showing -> {
+            if (!showing) {
+                clearFilter();
+            }
+        });
+
         // Refer to JDK-8095306
         if (comboBox.isShowing()) {
             show();
@@ -241,6 +267,7 @@ public class ComboBoxListViewSkin<T> extends ComboBoxPopupControl<T> {
         if (behavior != null) {
             behavior.dispose();
         }
+        disposePrefixIndex();
     }
 
     /** {@inheritDoc} */
@@ -385,11 +412,20 @@ public class ComboBoxListViewSkin<T> extends ComboBoxPopupControl<T> {
     }
 
     private void updateListViewItems() {
+        disposePrefixIndex();
+        filteredRows = null;
+        setListViewItems(comboBoxItems);
+        if (filterText != null) {
+            filter(filterText);
+        }
+    }
+
+    private void setListViewItems(ObservableList<T> items) {
         if (listViewItems != null) {
             listViewItems.removeListener(weakListViewItemsListener);
         }
 
-        this.listViewItems = comboBoxItems;
+        this.listViewItems = items;
         listView.setItems(listViewItems);
 
         if (listViewItems != null) {
@@ -427,7 +463,7 @@ public class ComboBoxListViewSkin<T> extends ComboBoxPopupControl<T> {
                 if (index >= 0 && index < comboBoxItems.size()) {
                     T itemsObj = comboBoxItems.get(index);
                     if ((itemsObj != null && itemsObj.equals(newValue)) || (itemsObj == null && newValue == null)) {
-                        listViewSM.select(index);
+                        selectInListView(index);
                     } else {
                         listViewSM.select(newValue);
                     }
@@ -439,7 +475,7 @@ public class ComboBoxListViewSkin<T> extends ComboBoxPopupControl<T> {
                         // exist in the ComboBox items list (part one of fix)
                         updateDisplayNode();
                     } else {
-                        listViewSM.select(listViewIndex);
+                        selectInListView(listViewIndex);
                     }
                 }
             }
@@ -568,7 +604,7 @@ public class ComboBoxListViewSkin<T> extends ComboBoxPopupControl<T> {
             if (selectionModel == null) return;
 
             int index = listView.getSelectionModel().getSelectedIndex();
-            selectionModel.select(index);
+            selectionModel.select(filteredRows == null || index < 0 ? index : filteredRows[index]);
             updateDisplayNode();
             comboBox.notifyAccessibleAttributeChanged(AccessibleAttribute.TEXT);
         });
@@ -618,6 +654,120 @@ public class ComboBoxListViewSkin<T> extends ComboBoxPopupControl<T> {
         return _listView;
     }
 
+    // selects the item at the given index of the combo box items in the list
+    // view, which may not show it while filtering
+    private void selectInListView(int index) {
+        SelectionModel<T> listViewSM = listView.getSelectionModel();
+        int listViewIndex = filteredRows == null ? index : Arrays.binarySearch(filteredRows, index);
+        if (listViewIndex >= 0) {
+            listViewSM.select(listViewIndex);
+        } else {
+            listSelectionLock = true;
+            listViewSM.clearSelection();
+            listSelectionLock = false;
+        }
+    }
+
+    private void updateFilterable() {
+        if (comboBox.isFilterable() && comboBox.isEditable()) {
+            if (editorTextWatcher == null) {
+                editorTextWatcher = ListenerHelper.get(this).addChangeListener(comboBox.getEditor().textProperty(), text -> {
+                    if (!updatingDisplayNode) {
+                        filter(text);
+                    }
+                });
+            }
+        } else {
+            if (editorTextWatcher != null) {
+                editorTextWatcher.disconnect();
+                editorTextWatcher = null;
+            }
+            clearFilter();
+            disposePrefixIndex();
+        }
+    }
+
+    private void disposePrefixIndex() {
+        if (prefixIndex != null) {
+            prefixIndex.dispose();
+            prefixIndex = null;
+        }
+    }
+
+    private String getItemText(T item) {
+        StringConverter<T> c = comboBox.getConverter();
+        return c != null ? c.toString(item) : item == null ? null : item.toString();
+    }
+
+    private void filter(String text) {
+        int generation = ++filterGeneration;
+        if (text == null || text.isEmpty()) {
+            clearFilter();
+            return;
+        }
+        filterText = text;
+
+        if (prefixIndex == null) {
+            prefixIndex = new PrefixIndex<>(comboBoxItems, this::getItemText);
+            prefixIndex.setOnChanged(() -> {
+                if (filterText != null) {
+                    filter(filterText);
+                }
+            });
+        }
+        PrefixIndex.Snapshot snapshot = prefixIndex.getSnapshot();
+        if (snapshot.size() < MIN_BACKGROUND_FILTER_SIZE) {
+            setFilteredRows(snapshot.match(text));
+            return;
+        }
+
+        // the snapshot is immutable, so it is searched on another thread, and
+        // the result is discarded if the text or the items change meanwhile
+        BackgroundExecutor.get().execute(() -> {
+            int[] rows = snapshot.match(text);
+            Platform.runLater(() -> {
+                if (generation == filterGeneration) {
+                    setFilteredRows(rows);
+                }
+            });
+        });
+    }
+
+    private void clearFilter() {
+        filterGeneration++;
+        filterText = null;
+        if (filteredRows != null) {
+            setFilteredRows(null);
+        }
+    }
+
+    private void setFilteredRows(int[] rows) {
+        filteredRows = rows;
+        ObservableList<T> items = comboBoxItems;
+        if (rows != null) {
+            List<T> shown = new ArrayList<>(rows.length);
+            for (int row : rows) {
+                shown.add(comboBoxItems.get(row));
+            }
+            items = FXCollections.unmodifiableObservableList(FXCollections.observableList(shown));
+        }
+
+        listSelectionLock = true;
+        try {
+            setListViewItems(items);
+        } finally {
+            listSelectionLock = false;
+        }
+        SingleSelectionModel<T> comboBoxSM = comboBox.getSelectionModel();
+        if (comboBoxSM != null) {
+            selectInListView(comboBoxSM.getSelectedIndex());
+        }
+
+        if (rows != null && rows.length > 0 && !comboBox.isShowing() && comboBox.getScene() != null) {
+            comboBox.show();
+        }
+    }
+
     private double getListViewPrefHeight() {
         double ph;
         if (listView.getSkin() instanceof VirtualContainerBase) {
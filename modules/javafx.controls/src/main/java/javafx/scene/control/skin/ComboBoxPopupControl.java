@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -345,23 +345,32 @@ public abstract class ComboBoxPopupControl<T> extends ComboBoxBaseSkin<T> {
         }
     }
 
+    // true while the text of the editor is updated from the value, rather
+    // than by the user
+    boolean updatingDisplayNode;
+
     void updateDisplayNode() {
         if (textField != null && getEditor() != null) {
             T value = comboBoxBase.getValue();
             StringConverter<T> c = getConverter();
 
-            if (initialTextFieldValue != null && ! initialTextFieldValue.isEmpty()) {
-                // Remainder of fix for RT-21406: ComboBox do not show initial text value
-                textField.setText(initialTextFieldValue);
-                initialTextFieldValue = null;
-                // end of fix
-            } else {
-                String stringValue = c.toString(value);
-                if (value == null || stringValue == null) {
-                    textField.setText("");
-                } else if (! stringValue.equals(textField.getText())) {
-                    textField.setText(stringValue);
+            updatingDisplayNode = true;
+            try {
+                if (initialTextFieldValue != null && ! initialTextFieldValue.isEmpty()) {
+                    // Remainder of fix for RT-21406: ComboBox do not show initial text value
+                    textField.setText(initialTextFieldValue);
+                    initialTextFieldValue = null;
+                    // end of fix
+                } else {
+                    String stringValue = c.toString(value);
+                    if (value == null || stringValue == null) {
+                        textField.setText("");
+                    } else if (! stringValue.equals(textField.getText())) {
+                        textField.setText(stringValue);
+                    }
                 }
+            } finally {
+                updatingDisplayNode = false;
             }
         }
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -27,8 +27,11 @@ package javafx.scene.control.skin;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import com.sun.javafx.scene.control.Properties;
+import javafx.application.Platform;
 import javafx.beans.InvalidationListener;
 import javafx.beans.WeakInvalidationListener;
 import javafx.collections.FXCollections;
@@ -58,6 +61,7 @@ import javafx.scene.layout.StackPane;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 
+import com.sun.javafx.scene.control.skin.CellPool;
 import com.sun.javafx.scene.control.skin.resources.ControlResources;
 
 /**
@@ -83,6 +87,18 @@ public class ListViewSkin<T> extends VirtualContainerBase<ListView<T>, ListCell<
     private static final boolean IS_PANNABLE =
             AccessController.doPrivileged((PrivilegedAction<Boolean>) () -> Boolean.getBoolean("javafx.scene.control.skin.ListViewSkin.pannable"));
 
+    // The cells created when the ListView has no cell factory don't depend on
+    // the skin they were created for, so each ListView keeps a pool of them:
+    // the cells the flow discards, for example when the skin is disposed or
+    // when a cell factory is set, are returned to the pool of the ListView,
+    // and its skins borrow from it before creating cells of their own. Cells
+    // created by a cell factory may depend on the skin they were created for,
+    // and are not pooled. The pools are only used on the JavaFX Application
+    // Thread: a ListView that is laid out on another thread before it is
+    // shown creates and drops its cells directly.
+    private static final Map<ListView<?>, CellPool<ListCell<?>>> CELL_POOLS = new WeakHashMap<>();
+    private static final int CELL_POOL_CAPACITY = 128;
+
 
 
     /* *************************************************************************
@@ -204,6 +220,7 @@ public class ListViewSkin<T> extends VirtualContainerBase<ListView<T>, ListCell<
         behavior.setOnSelectNextRow(() -> onSelectNextCell());
         behavior.setOnScrollPageDown(this::onScrollPageDown);
         behavior.setOnScrollPageUp(this::onScrollPageUp);
+        behavior.setOnScrollToFocusedRow(() -> onFocusNextCell());
 
         updateListViewItems();
 
@@ -213,6 +230,7 @@ public class ListViewSkin<T> extends VirtualContainerBase<ListView<T>, ListCell<
         flow.setPannable(IS_PANNABLE);
         flow.setVertical(control.getOrientation() == Orientation.VERTICAL);
         flow.setCellFactory(flow -> createCell());
+        flow.setCellReleaser(ListViewSkin::releaseCell);
         flow.setFixedCellSize(control.getFixedCellSize());
         getChildren().add(flow);
 
@@ -273,6 +291,9 @@ public class ListViewSkin<T> extends VirtualContainerBase<ListView<T>, ListCell<
             listViewItems = null;
         }
         getChildren().remove(flow);
+        if (getSkinnable().getCellFactory() == null) {
+            flow.releaseCells();
+        }
         super.dispose();
 
         if (behavior != null) {
@@ -448,12 +469,14 @@ public class ListViewSkin<T> extends VirtualContainerBase<ListView<T>, ListCell<
      **************************************************************************/
 
     /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
     private ListCell<T> createCell() {
         ListCell<T> cell;
         if (getSkinnable().getCellFactory() != null) {
             cell = getSkinnable().getCellFactory().call(getSkinnable());
         } else {
-            cell = createDefaultCellImpl();
+            CellPool<ListCell<?>> pool = getCellPool(getSkinnable(), true);
+            cell = pool == null ? createDefaultCellImpl() : (ListCell<T>) pool.borrow(ListViewSkin::createDefaultCellImpl);
         }
 
         cell.updateListView(getSkinnable());
@@ -461,6 +484,25 @@ public class ListViewSkin<T> extends VirtualContainerBase<ListView<T>, ListCell<
         return cell;
     }
 
+    private static void releaseCell(ListCell<?> cell) {
+        CellPool<ListCell<?>> pool = getCellPool(cell.getListView(), false);
+        if (pool != null && pool.accepts(cell)) {
+            cell.updateIndex(-1);
+            cell.updateListView(null);
+            pool.release(cell);
+        }
+    }
+
+    // returns the cell pool of the given ListView, or null when not on the
+    // JavaFX Application Thread
+    static CellPool<ListCell<?>> getCellPool(ListView<?> listView, boolean create) {
+        if (listView == null || !Platform.isFxApplicationThread()) {
+            return null;
+        }
+        return create ? CELL_POOLS.computeIfAbsent(listView, lv -> new CellPool<>(CELL_POOL_CAPACITY))
+                : CELL_POOLS.get(listView);
+    }
+
     private void updateListViewItems() {
         if (listViewItems != null) {
             listViewItems.removeListener(weakListViewItemsListener);
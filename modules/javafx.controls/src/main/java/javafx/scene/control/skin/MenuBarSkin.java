@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -83,6 +83,7 @@ import javafx.util.Pair;
 
 import com.sun.javafx.FXPermissions;
 import com.sun.javafx.menu.MenuBase;
+import com.sun.javafx.scene.NodeHelper;
 import com.sun.javafx.scene.ParentHelper;
 import com.sun.javafx.scene.SceneHelper;
 import com.sun.javafx.scene.control.GlobalMenuAdapter;
@@ -254,6 +255,10 @@ public class MenuBarSkin extends SkinBase<MenuBar> {
             });
         }
 
+        lh.addChangeListener(control.cacheStaticContentProperty(), true, (Boolean v) -> {
+            NodeHelper.setCacheStaticContent(container, v);
+        });
+
         // When the mouse leaves the menu, the last hovered item should lose
         // it's focus so that it is no longer selected. This code returns focus
         // to the MenuBar itself, such that keyboard navigation can continue.
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,7 @@
 
 package javafx.scene.control.skin;
 
+import javafx.beans.property.BooleanProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
@@ -34,6 +35,7 @@ import javafx.geometry.NodeOrientation;
 import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.control.ResizeFeaturesBase;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.TableColumnBase;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
@@ -41,8 +43,10 @@ import javafx.scene.shape.Rectangle;
 import javafx.util.Callback;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.WeakHashMap;
 
 /**
@@ -100,6 +104,14 @@ public class NestedTableColumnHeader extends TableColumnHeader {
 
     boolean updateColumns = true;
 
+    // When the table virtualizes its column headers, the root header only has
+    // the headers of the columns that intersect the viewport as children. These
+    // are the index of the first of them in the column headers, and the index
+    // after the last of them.
+    private boolean virtualized;
+    private int firstHeaderIndex;
+    private int endHeaderIndex;
+
 
 
     /* *************************************************************************
@@ -502,13 +514,22 @@ public class NestedTableColumnHeader extends TableColumnHeader {
             }
         }
 
-        // update the content
+        // update the content. All headers are added first, even when they are
+        // virtualized, so that new headers size their columns to fit in the
+        // same way as they do without virtualization
+        virtualized = false;
         updateContent();
 
         // RT-33596: Do CSS now, as we are in the middle of layout pass and the headers are new Nodes w/o CSS done
         for (TableColumnHeader header : getColumnHeaders()) {
             header.applyCss();
         }
+
+        // then only the headers in the viewport are kept
+        updateHeaderRange();
+        if (virtualized) {
+            updateContent();
+        }
     }
 
     // Used to test whether this column header properly represents the given column.
@@ -568,8 +589,8 @@ public class NestedTableColumnHeader extends TableColumnHeader {
         // the label is the region that sits above the children columns
         content.add(label);
 
-        // all children columns
-        content.addAll(getColumnHeaders());
+        // all children columns, or only the ones in the viewport
+        content.addAll(virtualized ? getColumnHeaders().subList(firstHeaderIndex, endHeaderIndex) : getColumnHeaders());
 
         // Small transparent overlays that sit at the start and end of each
         // column to intercept user drag gestures to enable column resizing.
@@ -607,12 +628,23 @@ public class NestedTableColumnHeader extends TableColumnHeader {
             return;
         }
 
+        // when virtualized, only the columns with a header in the viewport get
+        // a drag rectangle
+        Set<TableColumnBase<?,?>> headerColumns = null;
+        if (virtualized) {
+            headerColumns = new HashSet<>();
+            for (TableColumnHeader header : getColumnHeaders().subList(firstHeaderIndex, endHeaderIndex)) {
+                headerColumns.add(header.getTableColumn());
+            }
+        }
+
         for (int col = 0; col < columns.size(); col++) {
             if (isConstrainedResize && col == getColumns().size() - 1) {
                 break;
             }
 
             final TableColumnBase c = columns.get(col);
+            if (headerColumns != null && ! headerColumns.contains(c)) continue;
             final Rectangle rect = new Rectangle();
             rect.getProperties().put(TABLE_COLUMN_KEY, c);
             rect.getProperties().put(TABLE_COLUMN_HEADER_KEY, this);
@@ -630,6 +662,88 @@ public class NestedTableColumnHeader extends TableColumnHeader {
         }
     }
 
+    /*
+     * Called when the viewport of the table has moved or changed size. If the
+     * column headers are virtualized, the headers of the columns that now
+     * intersect the viewport replace the ones that no longer do.
+     */
+    void updateViewport() {
+        if (updateColumns || getColumns() == null) return;
+
+        boolean wasVirtualized = virtualized;
+        int first = firstHeaderIndex;
+        int end = endHeaderIndex;
+        updateHeaderRange();
+        if (virtualized != wasVirtualized || firstHeaderIndex != first || endHeaderIndex != end) {
+            updateContent();
+
+            // the headers that are added again may need their CSS updated
+            for (TableColumnHeader header : getColumnHeaders().subList(firstHeaderIndex, endHeaderIndex)) {
+                header.applyCss();
+            }
+            requestLayout();
+        }
+    }
+
+    private boolean isVirtualizationEnabled() {
+        // only the top-level columns of the root header are virtualized
+        TableViewSkinBase<?,?,?,?,?> tableSkin = getTableSkin();
+        if (getParentHeader() != null || getTableColumn() != null || tableSkin == null || tableSkin.flow == null) {
+            return false;
+        }
+        BooleanProperty virtualizeColumnHeaders = TableSkinUtils.virtualizeColumnHeadersProperty(tableSkin);
+        return virtualizeColumnHeaders != null && virtualizeColumnHeaders.get();
+    }
+
+    /*
+     * Finds the column headers that intersect the viewport, or all of them if
+     * the headers are not virtualized.
+     */
+    private void updateHeaderRange() {
+        List<TableColumnHeader> headers = getColumnHeaders();
+        virtualized = isVirtualizationEnabled();
+        firstHeaderIndex = 0;
+        endHeaderIndex = headers.size();
+        if (! virtualized) return;
+
+        TableViewSkinBase<?,?,?,?,?> tableSkin = getTableSkin();
+        ScrollBar hbar = tableSkin.flow.getHbar();
+        double minX = hbar.isVisible() ? hbar.getValue() : 0;
+        double maxX = minX + tableSkin.getSkinnable().getWidth();
+
+        int first = -1;
+        int end = 0;
+        double x = 0;
+        for (int i = 0; i < headers.size(); i++) {
+            if (x >= maxX && first >= 0) break;
+
+            double width = getColumnWidth(headers.get(i).getTableColumn());
+            if (first < 0 && x + width > minX) {
+                first = i;
+            }
+            x += width;
+            end = i + 1;
+        }
+        firstHeaderIndex = first < 0 ? end : first;
+        endHeaderIndex = end;
+    }
+
+    // the width of the header of the given column, which is the sum of the
+    // widths of its visible leaf columns
+    private double getColumnWidth(TableColumnBase<?,?> column) {
+        if (! column.isVisible()) {
+            return 0;
+        }
+        if (column.getColumns().isEmpty()) {
+            return snapSizeX(column.getWidth());
+        }
+        double width = 0;
+        for (TableColumnBase<?,?> child : column.getColumns()) {
+            width += getColumnWidth(child);
+        }
+        return width;
+    }
+
     private void checkState() {
         if (updateColumns) {
             updateTableColumnHeaders();
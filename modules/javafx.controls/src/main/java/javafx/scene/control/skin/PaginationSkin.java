@@ -28,7 +28,12 @@ package javafx.scene.control.skin;
 import static com.sun.javafx.scene.control.skin.resources.ControlResources.getString;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
 import com.sun.javafx.scene.control.ListenerHelper;
 import com.sun.javafx.scene.control.behavior.PaginationBehavior;
 import com.sun.javafx.scene.control.skin.Utils;
@@ -75,6 +80,7 @@ import javafx.scene.input.TouchEvent;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.shape.Rectangle;
+import javafx.util.Callback;
 import javafx.util.Duration;
 
 /**
@@ -96,6 +102,9 @@ public class PaginationSkin extends SkinBase<Pagination> {
     private static final double TOUCH_THRESHOLD = 15;
     private static final Interpolator interpolator = Interpolator.SPLINE(0.4829, 0.5709, 0.6803, 0.9928);
 
+    // key of the PageInfo of the page shown in a page pane
+    private static final Object PAGE_INFO_KEY = new Object();
+
 
 
     /* *************************************************************************
@@ -135,6 +144,18 @@ public class PaginationSkin extends SkinBase<Pagination> {
 
     private final PaginationBehavior behavior;
 
+    // pages that are not showing, by page index, in least recently shown order
+    private final LinkedHashMap<Integer, Node> pageCache = new LinkedHashMap<>(16, 0.75f, true);
+    // pages being created on the page factory executor
+    private final Set<Integer> pendingPages = new HashSet<>();
+    // the page factory that created the cached pages
+    private Callback<Integer, Node> pageCacheFactory;
+    // incremented whenever the cached and pending pages are discarded
+    private int pageCacheGeneration;
+    // incremented when the page factory executor changes, so that the pages
+    // still being created on the previous executor are no longer waited for
+    private int prefetchGeneration;
+
 
 
     /* *************************************************************************
@@ -232,6 +253,17 @@ public class PaginationSkin extends SkinBase<Pagination> {
             resetIndiciesAndNav();
         });
 
+        lh.addChangeListener(control.pageCacheSizeProperty(), (ev) -> {
+            trimPageCache();
+        });
+
+        lh.addChangeListener(control.pageFactoryExecutorProperty(), (ev) -> {
+            pendingPages.clear();
+            prefetchGeneration++;
+            trimPageCache();
+            prefetchPages();
+        });
+
         initializeSwipeAndTouchHandlers();
     }
 
@@ -407,6 +439,7 @@ public class PaginationSkin extends SkinBase<Pagination> {
 
         getSkinnable().setClip(null);
         getChildren().removeAll(currentStackPane, nextStackPane, navigation);
+        clearPageCache();
 
         if (behavior != null) {
             behavior.dispose();
@@ -536,7 +569,7 @@ public class PaginationSkin extends SkinBase<Pagination> {
                 }
                 if (delta < 0) {
                     if (direction == -1) {
-                        nextStackPane.getChildren().clear();
+                        clearPages(currentIndex + 1, nextStackPane);
                         direction = 1;
                     }
                     // right to left
@@ -560,7 +593,7 @@ public class PaginationSkin extends SkinBase<Pagination> {
                 } else {
                     // left to right
                     if (direction == 1) {
-                        nextStackPane.getChildren().clear();
+                        clearPages(currentIndex - 1, nextStackPane);
                         direction = -1;
                     }
                     if (Math.abs(delta) <= width) {
@@ -648,8 +681,7 @@ public class PaginationSkin extends SkinBase<Pagination> {
         }
 
         // Remove the children in the pane before we create a new page.
-        currentStackPane.getChildren().clear();
-        nextStackPane.getChildren().clear();
+        clearPages(currentIndex, currentStackPane, nextStackPane);
 
         getSkinnable().setCurrentPageIndex(currentIndex);
         createPage(currentStackPane, currentIndex);
@@ -657,14 +689,20 @@ public class PaginationSkin extends SkinBase<Pagination> {
         if (isAnimate) {
             animate = true;
         }
+        prefetchPages();
     }
 
     private boolean createPage(StackPane pane, int index) {
         if (getSkinnable().getPageFactory() != null && pane.getChildren().isEmpty()) {
-            Node content = getSkinnable().getPageFactory().call(index);
+            validatePageCache();
+            Node content = pageCache.remove(index);
+            if (content == null) {
+                content = getSkinnable().getPageFactory().call(index);
+            }
             // If the content is null we don't want to switch pages.
             if (content != null) {
                 pane.getChildren().setAll(content);
+                pane.getProperties().put(PAGE_INFO_KEY, new PageInfo(index, pageCacheGeneration));
                 return true;
             } else {
                 // Disable animation if the new page does not exist.  It is strange to
@@ -790,7 +828,123 @@ public class PaginationSkin extends SkinBase<Pagination> {
         nextStackPane.setTranslateX(0);
         nextStackPane.setCache(false);
         nextStackPane.setVisible(false);
-        nextStackPane.getChildren().clear();
+        clearPage(nextStackPane);
+
+        prefetchPages();
+    }
+
+    // Removes the page from the pane, keeping it in the page cache if there is room.
+    private void clearPage(StackPane pane) {
+        PageInfo info = (PageInfo)pane.getProperties().remove(PAGE_INFO_KEY);
+        if (pane.getChildren().isEmpty()) {
+            return;
+        }
+        Node content = pane.getChildren().get(0);
+        pane.getChildren().clear();
+        if (info != null && info.generation() == pageCacheGeneration
+                && pageCacheFactory == getSkinnable().getPageFactory()) {
+            pageCache.put(info.index(), content);
+            trimPageCache();
+        }
+    }
+
+    // Removes the pages from the panes, without letting them evict the page
+    // that is about to be shown at the given index from the page cache.
+    private void clearPages(int index, StackPane... panes) {
+        Node page = pageCache.remove(index);
+        for (StackPane pane : panes) {
+            clearPage(pane);
+        }
+        if (page != null) {
+            pageCache.put(index, page);
+        }
+    }
+
+    private boolean isPageShowing(int index) {
+        return isPageShowing(currentStackPane, index) || isPageShowing(nextStackPane, index);
+    }
+
+    private static boolean isPageShowing(StackPane pane, int index) {
+        return pane.getProperties().get(PAGE_INFO_KEY) instanceof PageInfo info && info.index() == index;
+    }
+
+    // Discards the cached pages if they were created by another page factory.
+    private void validatePageCache() {
+        Callback<Integer, Node> factory = getSkinnable().getPageFactory();
+        if (pageCacheFactory != factory) {
+            clearPageCache();
+            pageCacheFactory = factory;
+        }
+    }
+
+    private void clearPageCache() {
+        pageCache.clear();
+        pendingPages.clear();
+        pageCacheGeneration++;
+    }
+
+    private int getPageCacheCapacity() {
+        int size = Math.max(0, getSkinnable().getPageCacheSize());
+        // leave room for the two pages next to the current page
+        return getSkinnable().getPageFactoryExecutor() == null ? size : Math.max(size, 2);
+    }
+
+    private void trimPageCache() {
+        int capacity = getPageCacheCapacity();
+        Iterator<Integer> it = pageCache.keySet().iterator();
+        while (pageCache.size() > capacity && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    // Creates the pages next to the current page on the page factory executor.
+    private void prefetchPages() {
+        Executor executor = getSkinnable().getPageFactoryExecutor();
+        Callback<Integer, Node> factory = getSkinnable().getPageFactory();
+        if (executor == null || factory == null) {
+            return;
+        }
+        validatePageCache();
+        int index = getCurrentPageIndex();
+        prefetchPage(executor, factory, index + 1);
+        prefetchPage(executor, factory, index - 1);
+    }
+
+    private void prefetchPage(Executor executor, Callback<Integer, Node> factory, int index) {
+        if (index < 0 || index >= getSkinnable().getPageCount() || pageCache.containsKey(index)
+                || pendingPages.contains(index) || isPageShowing(index)) {
+            return;
+        }
+        pendingPages.add(index);
+        final int generation = pageCacheGeneration;
+        final int prefetch = prefetchGeneration;
+        // the page is not part of a scene yet, so it may be built on another thread,
+        // and it is discarded if the page factory or the executor changes meanwhile
+        executor.execute(() -> {
+            Node content = null;
+            Throwable error = null;
+            try {
+                content = factory.call(index);
+            } catch (Throwable t) {
+                error = t;
+            }
+            final Node page = content;
+            final Throwable failure = error;
+            Platform.runLater(() -> {
+                if (generation == pageCacheGeneration && prefetch == prefetchGeneration) {
+                    pendingPages.remove(index);
+                    if (page != null && !isPageShowing(index)) {
+                        pageCache.put(index, page);
+                        trimPageCache();
+                    }
+                }
+                if (failure != null) {
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, failure);
+                }
+            });
+        });
     }
 
     // If the swipe hasn't reached the THRESHOLD we want to animate the clamping.
@@ -828,6 +982,10 @@ public class PaginationSkin extends SkinBase<Pagination> {
      *                                                                         *
      **************************************************************************/
 
+    // the index of a page and the page cache generation it was created in
+    private record PageInfo(int index, int generation) {
+    }
+
     class NavigationControl extends StackPane {
 
         private HBox controlBox;
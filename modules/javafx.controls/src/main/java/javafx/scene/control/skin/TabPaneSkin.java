@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -28,6 +28,7 @@ package javafx.scene.control.skin;
 import com.sun.javafx.scene.control.LambdaMultiplePropertyChangeListenerHandler;
 import com.sun.javafx.scene.control.Properties;
 import com.sun.javafx.scene.control.TabObservableList;
+import com.sun.javafx.scene.control.TabPaneHelper;
 import com.sun.javafx.util.Utils;
 import javafx.animation.Animation;
 import javafx.animation.Interpolator;
@@ -38,6 +39,7 @@ import javafx.animation.Transition;
 import javafx.beans.InvalidationListener;
 import javafx.beans.Observable;
 import javafx.beans.WeakInvalidationListener;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleDoubleProperty;
@@ -195,6 +197,20 @@ public class TabPaneSkin extends SkinBase<TabPane> {
         initializeTabListener();
         updateSelectionModel();
 
+        prewarmContent = TabPaneHelper.prewarmContentProperty(control);
+        registerChangeListener(prewarmContent, e -> {
+            if (prewarmContent.get()) {
+                getSkinnable().requestLayout();
+            }
+        });
+        registerChangeListener(control.lazyContentProperty(), e -> {
+            if (!getSkinnable().isLazyContent()) {
+                for (TabContentRegion contentRegion : tabContentRegions) {
+                    contentRegion.load();
+                }
+            }
+        });
+
         registerChangeListener(control.selectionModelProperty(), e -> updateSelectionModel());
         registerChangeListener(control.sideProperty(), e -> updateTabPosition());
         registerChangeListener(control.widthProperty(), e -> {
@@ -434,6 +450,10 @@ public class TabPaneSkin extends SkinBase<TabPane> {
             tabContent.resize(contentWidth, contentHeight);
             tabContent.relocate(contentStartX, contentStartY);
         }
+
+        if (prewarmContent.get()) {
+            prewarmNextTabContent();
+        }
     }
 
 
@@ -453,6 +473,30 @@ public class TabPaneSkin extends SkinBase<TabPane> {
     private WeakInvalidationListener weakSelectionChangeListener =
             new WeakInvalidationListener(selectionChangeListener);
 
+    // set by TabPane.prewarmContent(), see TabPaneHelper
+    private final BooleanProperty prewarmContent;
+
+    /*
+     * Loads the deferred content of a single tab, and requests another layout
+     * pass only if there is more, so that prewarming the content of many tabs
+     * is spread over as many pulses rather than stalling a single one.
+     */
+    private void prewarmNextTabContent() {
+        boolean loadedOne = false;
+        for (int i = 0, max = tabContentRegions.size(); i < max; i++) {
+            TabContentRegion contentRegion = tabContentRegions.get(i);
+            if (!contentRegion.isLoaded()) {
+                if (loadedOne) {
+                    getSkinnable().requestLayout();
+                    return;
+                }
+                contentRegion.load();
+                loadedOne = true;
+            }
+        }
+        prewarmContent.set(false);
+    }
+
     private void updateSelectionModel() {
         if (selectionModel != null) {
             selectionModel.selectedItemProperty().removeListener(weakSelectionChangeListener);
@@ -677,7 +721,7 @@ public class TabPaneSkin extends SkinBase<TabPane> {
     }
 
     private void addTabContent(Tab tab) {
-        TabContentRegion tabContentRegion = new TabContentRegion(tab);
+        TabContentRegion tabContentRegion = new TabContentRegion(tab, getSkinnable().isLazyContent());
         tabContentRegion.setClip(new Rectangle());
         tabContentRegions.add(tabContentRegion);
         // We want the tab content to always sit below the tab headers
@@ -1685,6 +1729,9 @@ public class TabPaneSkin extends SkinBase<TabPane> {
         };
         private InvalidationListener tabSelectedListener = new InvalidationListener() {
             @Override public void invalidated(Observable valueModel) {
+                if (tab.isSelected()) {
+                    load();
+                }
                 setVisible(tab.isSelected());
             }
         };
@@ -1698,10 +1745,15 @@ public class TabPaneSkin extends SkinBase<TabPane> {
             return tab;
         }
 
-        public TabContentRegion(Tab tab) {
+        // false while the content of the tab is deferred until it is first
+        // selected or prewarmed, see TabPane.lazyContent
+        private boolean loaded;
+
+        public TabContentRegion(Tab tab, boolean lazy) {
             getStyleClass().setAll("tab-content-area");
             setManaged(false);
             this.tab = tab;
+            this.loaded = !lazy || tab.isSelected();
             updateContent();
             setVisible(tab.isSelected());
 
@@ -1709,9 +1761,20 @@ public class TabPaneSkin extends SkinBase<TabPane> {
             tab.contentProperty().addListener(weakTabContentListener);
         }
 
+        boolean isLoaded() {
+            return loaded;
+        }
+
+        void load() {
+            if (!loaded) {
+                loaded = true;
+                updateContent();
+            }
+        }
+
         private void updateContent() {
             Node newContent = getTab().getContent();
-            if (newContent == null) {
+            if (newContent == null || !loaded) {
                 getChildren().clear();
             } else {
                 getChildren().setAll(newContent);
@@ -79,10 +79,10 @@ public abstract class TableCellSkinBase<S, T, C extends IndexedCell<T>> extends
         getSkinnable().setClip(clip);
         // --- end of RT-22038
 
-        TableColumnBase<?,?> tableColumn = getTableColumn();
-        if (tableColumn != null) {
-            tableColumn.widthProperty().addListener(weakColumnWidthListener);
-        }
+        // the row may hand this cell over to another column (see
+        // TableRowSkinBase.reuseCell()), so follow the column it belongs to
+        updateObservedColumn();
+        registerChangeListener(tableColumnProperty(), e -> updateObservedColumn());
 
         if (control.getProperties().containsKey(Properties.DEFER_TO_PARENT_PREF_WIDTH)) {
             isDeferToParentForPrefWidth = true;
@@ -102,6 +102,18 @@ public abstract class TableCellSkinBase<S, T, C extends IndexedCell<T>> extends
     private WeakInvalidationListener weakColumnWidthListener =
             new WeakInvalidationListener(columnWidthListener);
 
+    private TableColumnBase<?,?> observedColumn;
+
+    private void updateObservedColumn() {
+        if (observedColumn != null) {
+            observedColumn.widthProperty().removeListener(weakColumnWidthListener);
+        }
+        observedColumn = getTableColumn();
+        if (observedColumn != null) {
+            observedColumn.widthProperty().addListener(weakColumnWidthListener);
+        }
+    }
+
 
 
     /* *************************************************************************
@@ -130,9 +142,9 @@ public abstract class TableCellSkinBase<S, T, C extends IndexedCell<T>> extends
     /** {@inheritDoc} */
     @Override public void dispose() {
         if (getSkinnable() == null) return;
-        TableColumnBase<?,T> tableColumn = getTableColumn();
-        if (tableColumn != null) {
-            tableColumn.widthProperty().removeListener(weakColumnWidthListener);
+        if (observedColumn != null) {
+            observedColumn.widthProperty().removeListener(weakColumnWidthListener);
+            observedColumn = null;
         }
 
         super.dispose();
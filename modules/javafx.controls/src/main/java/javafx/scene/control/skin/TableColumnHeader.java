@@ -30,7 +30,11 @@ import com.sun.javafx.scene.control.Properties;
 import com.sun.javafx.scene.control.TableColumnBaseHelper;
 import com.sun.javafx.scene.control.TreeTableViewBackingList;
 import com.sun.javafx.scene.control.skin.Utils;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyObjectProperty;
 import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.collections.ListChangeListener;
@@ -58,6 +62,7 @@ import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableColumnBase;
 import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
+import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeTableCell;
 import javafx.scene.control.TreeTableColumn;
 import javafx.scene.control.TreeTableRow;
@@ -68,12 +73,15 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
+import javafx.scene.text.Font;
 import javafx.util.Callback;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
 
 import static com.sun.javafx.scene.control.TableColumnSortTypeWrapper.getSortTypeName;
 import static com.sun.javafx.scene.control.TableColumnSortTypeWrapper.getSortTypeProperty;
@@ -130,6 +138,11 @@ public class TableColumnHeader extends Region {
 
     private boolean isSizeDirty = false;
 
+    // the measurement of the text of this column started by the last call to
+    // resizeColumnToFitContent, and the column width it last applied
+    private ColumnTextMeasurement textMeasurement;
+    private double textMeasuredWidth;
+
     boolean isLastVisibleColumn = false;
 
     // package for testing
@@ -215,6 +228,10 @@ public class TableColumnHeader extends Region {
         updateSortPosition();
     };
 
+    private InvalidationListener sortingListener = o -> {
+        updateSortingState();
+    };
+
     private ListChangeListener<String> styleClassListener = c -> {
         while (c.next()) {
             if (c.wasRemoved()) {
@@ -230,6 +247,8 @@ public class TableColumnHeader extends Region {
             new WeakListChangeListener<>(sortOrderListener);
     private final WeakListChangeListener<TableColumnBase<?,?>> weakVisibleLeafColumnsListener =
             new WeakListChangeListener<>(visibleLeafColumnsListener);
+    private final WeakInvalidationListener weakSortingListener =
+            new WeakInvalidationListener(sortingListener);
     private final WeakListChangeListener<String> weakStyleClassListener =
             new WeakListChangeListener<>(styleClassListener);
 
@@ -501,6 +520,10 @@ public class TableColumnHeader extends Region {
             updateSortPosition();
             TableSkinUtils.getSortOrder(tableSkin).addListener(weakSortOrderListener);
             TableSkinUtils.getVisibleLeafColumns(tableSkin).addListener(weakVisibleLeafColumnsListener);
+            ReadOnlyBooleanProperty sorting = TableSkinUtils.sortingProperty(tableSkin);
+            if (sorting != null) {
+                sorting.addListener(weakSortingListener);
+            }
         }
     }
 
@@ -557,9 +580,18 @@ public class TableColumnHeader extends Region {
         if (tableSkin != null) {
             TableSkinUtils.getVisibleLeafColumns(tableSkin).removeListener(weakVisibleLeafColumnsListener);
             TableSkinUtils.getSortOrder(tableSkin).removeListener(weakSortOrderListener);
+            ReadOnlyBooleanProperty sorting = TableSkinUtils.sortingProperty(tableSkin);
+            if (sorting != null) {
+                sorting.removeListener(weakSortingListener);
+            }
         }
 
         changeListenerHandler.dispose();
+
+        if (textMeasurement != null) {
+            textMeasurement.cancel();
+            textMeasurement = null;
+        }
     }
 
     private boolean isSortingEnabled() {
@@ -612,7 +644,10 @@ public class TableColumnHeader extends Region {
      * Resizes this {@code TableColumnHeader}'s column to fit the width of its content.
      *
      * @implSpec The resulting column width for this implementation is the maximum of the preferred width of the header
-     * cell and the preferred width of the first {@code maxRow} cells.
+     * cell and the preferred width of the first {@code maxRow} cells. When 10,000 or more rows are considered
+     * for a column that uses the default cell factory, only the first rows are measured with a cell: the text of the
+     * remaining rows is measured on a background thread, and the column width is updated as the measurement
+     * progresses.
      * <p>
      * Subclasses can either use this method or override it (without the need to call {@code super()}) to provide their
      * custom implementation (such as ones that exclude the header, exclude {@code null} content, compute the minimum
@@ -659,8 +694,16 @@ public class TableColumnHeader extends Region {
         ((SkinBase<?>) tableRow.getSkin()).getChildren().add(cell);
 
         int rows = maxRows == -1 ? items.size() : Math.min(items.size(), maxRows);
+
+        // the text of the remaining rows of large columns of plain text is
+        // measured in the background once the first rows are measured here
+        boolean measureText = rows >= ColumnTextMeasurement.MIN_TEXT_MEASURE_ROWS
+                && cellFactory == TableColumn.DEFAULT_CELL_FACTORY && tc.getColumns().isEmpty();
+        int cellRows = measureText ? ColumnTextMeasurement.CELL_MEASURE_ROWS : rows;
+
         double maxWidth = 0;
-        for (int row = 0; row < rows; row++) {
+        double textInsets = -1;
+        for (int row = 0; row < cellRows; row++) {
             tableRow.updateIndex(row);
 
             cell.updateTableColumn(tc);
@@ -670,9 +713,17 @@ public class TableColumnHeader extends Region {
 
             if ((cell.getText() != null && !cell.getText().isEmpty()) || cell.getGraphic() != null) {
                 tableRow.applyCss();
-                maxWidth = Math.max(maxWidth, cell.prefWidth(-1));
+                double w = cell.prefWidth(-1);
+                maxWidth = Math.max(maxWidth, w);
+                if (measureText && textInsets < 0 && cell.getGraphic() == null) {
+                    textInsets = w - Utils.computeTextWidth(cell.getFont(), cell.getText(), -1);
+                }
             }
         }
+        if (measureText && textInsets < 0) {
+            tableRow.applyCss();
+            textInsets = cell.snappedLeftInset() + cell.snappedRightInset();
+        }
         tableSkin.getChildren().remove(tableRow);
 
         // dispose of the row and cell to prevent it retaining listeners (see RT-31015)
@@ -708,6 +759,13 @@ public class TableColumnHeader extends Region {
         } else {
             TableColumnBaseHelper.setWidth(tc, maxWidth);
         }
+
+        if (measureText) {
+            startTextMeasurement(tc, (ObservableList<?>) items,
+                    () -> tv.getItems() == items ? items.size() : -1,
+                    row -> getCellText(tc.getCellData(row)), cellRows, rows,
+                    cell.getFont(), maxWidth, textInsets + padding);
+        }
     }
 
     private <T> TableRow<T> createMeasureRow(TableView<T> tv, TableViewSkinBase tableSkin,
@@ -753,8 +811,19 @@ public class TableColumnHeader extends Region {
         ((SkinBase<?>) treeTableRow.getSkin()).getChildren().add(cell);
 
         int rows = maxRows == -1 ? items.size() : Math.min(items.size(), maxRows);
+
+        // the text of the remaining rows of large columns of plain text is
+        // measured in the background once the first rows are measured here;
+        // this excludes the tree column, whose cells are indented by level
+        TreeTableColumn<T,?> treeColumn = ttv.getTreeColumn() != null ? ttv.getTreeColumn() : ttv.getVisibleLeafColumn(0);
+        boolean measureText = rows >= ColumnTextMeasurement.MIN_TEXT_MEASURE_ROWS
+                && cellFactory == TreeTableColumn.DEFAULT_CELL_FACTORY && tc.getColumns().isEmpty()
+                && tc != treeColumn;
+        int cellRows = measureText ? ColumnTextMeasurement.CELL_MEASURE_ROWS : rows;
+
         double maxWidth = 0;
-        for (int row = 0; row < rows; row++) {
+        double textInsets = -1;
+        for (int row = 0; row < cellRows; row++) {
             treeTableRow.updateIndex(row);
             treeTableRow.updateTreeItem(ttv.getTreeItem(row));
 
@@ -769,8 +838,15 @@ public class TableColumnHeader extends Region {
                 double w = cell.prefWidth(-1);
 
                 maxWidth = Math.max(maxWidth, w);
+                if (measureText && textInsets < 0 && cell.getGraphic() == null) {
+                    textInsets = w - Utils.computeTextWidth(cell.getFont(), cell.getText(), -1);
+                }
             }
         }
+        if (measureText && textInsets < 0) {
+            treeTableRow.applyCss();
+            textInsets = cell.snappedLeftInset() + cell.snappedRightInset();
+        }
         tableSkin.getChildren().remove(treeTableRow);
 
         // dispose of the row and cell to prevent it retaining listeners (see RT-31015)
@@ -807,6 +883,14 @@ public class TableColumnHeader extends Region {
         } else {
             TableColumnBaseHelper.setWidth(tc, maxWidth);
         }
+
+        if (measureText) {
+            TreeItem<T> root = ttv.getRoot();
+            startTextMeasurement(tc, ttv.rootProperty(),
+                    () -> ttv.getRoot() == root ? ttv.getExpandedItemCount() : -1,
+                    row -> getCellText(tc.getCellData(row)), cellRows, rows,
+                    cell.getFont(), maxWidth, textInsets + padding);
+        }
     }
 
     private <T> TreeTableRow<T> createMeasureRow(TreeTableView<T> ttv, TableViewSkinBase tableSkin,
@@ -825,9 +909,72 @@ public class TableColumnHeader extends Region {
         return treeTableRow;
     }
 
+    // the text the default cell factories show for the given value; nodes are
+    // shown as the graphic of the cell and are not measured
+    private static String getCellText(Object value) {
+        return value == null || value instanceof Node ? null : value.toString();
+    }
+
+    private void startTextMeasurement(TableColumnBase<?,?> tc, Observable source, IntSupplier rowCount,
+            IntFunction<String> rowText, int startRow, int endRow, Font font, double minWidth, double extraWidth) {
+        ColumnTextMeasurement lastMeasurement = textMeasurement;
+        textMeasurement = new ColumnTextMeasurement(this, source, rowCount, rowText, startRow, endRow,
+                font, minWidth, extraWidth);
+        textMeasuredWidth = tc.getWidth();
+        if (lastMeasurement != null) {
+            // the widest text of the last measurement of the same rows is
+            // applied right away, and corrected when the text is measured again
+            if (lastMeasurement.isCurrent(source, font, rowCount.getAsInt(), endRow)) {
+                textMeasured(textMeasurement, textMeasurement.getWidth(lastMeasurement.getTextWidth()), false);
+            }
+            lastMeasurement.cancel();
+        }
+        textMeasurement.start();
+    }
+
+    /**
+     * Called on the JavaFX Application Thread with the width this column needs
+     * for the text measured so far by the given measurement.
+     */
+    void textMeasured(ColumnTextMeasurement measurement, double width, boolean complete) {
+        TableColumnBase<?,?> tc = getTableColumn();
+        if (measurement != textMeasurement || tc == null || getTableSkin() == null) {
+            measurement.cancel();
+            return;
+        }
+        if (tc.getWidth() != textMeasuredWidth) {
+            // the column was resized since, which takes precedence
+            measurement.cancel();
+            return;
+        }
+        if (complete || width > tc.getWidth()) {
+            // the constrained policies, such as ConstrainedColumnResize, give
+            // the width to or take it from the other columns
+            Object control = getTableSkin().getSkinnable();
+            boolean constrained = control instanceof TableView<?> table ?
+                    TableSkinUtils.isConstrainedResizePolicy(table.getColumnResizePolicy()) :
+                    TableSkinUtils.isConstrainedResizePolicy(((TreeTableView<?>) control).getColumnResizePolicy());
+            if (constrained && ((Region) control).getWidth() > 0) {
+                TableSkinUtils.resizeColumn(getTableSkin(), tc, Math.round(Math.min(width, tc.getMaxWidth()) - tc.getWidth()));
+            } else {
+                TableColumnBaseHelper.setWidth(tc, width);
+            }
+            textMeasuredWidth = tc.getWidth();
+        }
+    }
+
     private void updateSortPosition() {
         this.sortPos = ! getTableColumn().isSortable() ? -1 : getSortPosition();
         updateSortGrid();
+        updateSortingState();
+    }
+
+    // shows the :sorting pseudo-class on the headers of the sort order columns
+    // while a background sort policy is sorting the items
+    private void updateSortingState() {
+        TableViewSkinBase<?,?,?,?,?> tableSkin = getTableSkin();
+        ReadOnlyBooleanProperty sorting = tableSkin == null ? null : TableSkinUtils.sortingProperty(tableSkin);
+        pseudoClassStateChanged(PSEUDO_CLASS_SORTING, sortPos != -1 && sorting != null && sorting.get());
     }
 
     private void updateSortGrid() {
@@ -1297,6 +1444,8 @@ public class TableColumnHeader extends Region {
 
     private static final PseudoClass PSEUDO_CLASS_LAST_VISIBLE =
             PseudoClass.getPseudoClass("last-visible");
+    private static final PseudoClass PSEUDO_CLASS_SORTING =
+            PseudoClass.getPseudoClass("sorting");
 
     /*
      * Super-lazy instantiation pattern from Bill Pugh.
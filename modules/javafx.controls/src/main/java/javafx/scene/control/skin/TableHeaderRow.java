@@ -357,6 +357,10 @@ public class TableHeaderRow extends StackPane {
 
     /** {@inheritDoc} */
     @Override protected void layoutChildren() {
+        // with virtualized column headers, the root header only shows the
+        // headers of the columns in the viewport
+        getRootHeader().updateViewport();
+
         double x = scrollX;
         double headerWidth = snapSizeX(getRootHeader().prefWidth(-1));
         double prefHeight = getHeight() - snappedTopInset() - snappedBottomInset();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,15 +26,26 @@
 package javafx.scene.control.skin;
 
 
+import java.lang.ref.Reference;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import com.sun.javafx.scene.control.behavior.BehaviorBase;
 import com.sun.javafx.scene.control.behavior.TableRowBehavior;
 
 import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.value.ObservableValue;
+import javafx.beans.value.WritableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.css.CssMetaData;
+import javafx.css.Styleable;
+import javafx.css.StyleableObjectProperty;
+import javafx.css.StyleableProperty;
+import javafx.css.converter.PaintConverter;
 import javafx.scene.AccessibleAttribute;
 import javafx.scene.Node;
 import javafx.scene.control.Control;
@@ -45,6 +56,8 @@ import javafx.scene.control.TablePosition;
 import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
 import javafx.scene.control.TableView.TableViewFocusModel;
+import javafx.scene.control.TableView.TableViewSelectionModel;
+import javafx.scene.paint.Paint;
 
 /**
  * Default skin implementation for the {@link TableRow} control.
@@ -62,6 +75,58 @@ public class TableRowSkin<T> extends TableRowSkinBase<T, TableRow<T>, TableCell<
 
     private final BehaviorBase<TableRow<T>> behavior;
 
+    // the selected cells and the focused cell a lightweight row listens to
+    private ObservableList<?> selectedCells;
+    private ObservableValue<?> focusedCell;
+
+
+
+    /* *************************************************************************
+     *                                                                         *
+     * Properties                                                              *
+     *                                                                         *
+     **************************************************************************/
+
+    // the fill and text fill of the selected cells of a lightweight row, which
+    // modena looks up from the selection bar colors
+    private final ObjectProperty<Paint> cellSelectionFill =
+            new StyleableObjectProperty<>(DEFAULT_CELL_SELECTION_FILL) {
+        @Override protected void invalidated() {
+            requestLightweightLayout();
+        }
+
+        @Override public CssMetaData<TableRow<?>,Paint> getCssMetaData() {
+            return StyleableProperties.CELL_SELECTION_FILL;
+        }
+
+        @Override public Object getBean() {
+            return TableRowSkin.this;
+        }
+
+        @Override public String getName() {
+            return "cellSelectionFill";
+        }
+    };
+
+    private final ObjectProperty<Paint> cellSelectionTextFill =
+            new StyleableObjectProperty<>(DEFAULT_CELL_SELECTION_TEXT_FILL) {
+        @Override protected void invalidated() {
+            requestLightweightLayout();
+        }
+
+        @Override public CssMetaData<TableRow<?>,Paint> getCssMetaData() {
+            return StyleableProperties.CELL_SELECTION_TEXT_FILL;
+        }
+
+        @Override public Object getBean() {
+            return TableRowSkin.this;
+        }
+
+        @Override public String getName() {
+            return "cellSelectionTextFill";
+        }
+    };
+
 
 
     /* *************************************************************************
@@ -109,10 +174,25 @@ public class TableRowSkin<T> extends TableRowSkinBase<T, TableRow<T>, TableCell<
                 registerChangeListener(fixedCellSizeProperty, e -> {
                     fixedCellSize = fixedCellSizeProperty.get();
                     fixedCellSizeEnabled = fixedCellSize > 0;
+                    // which cells exist depends on the fixed cell size
+                    isDirty = true;
                 });
                 fixedCellSize = fixedCellSizeProperty.get();
                 fixedCellSizeEnabled = fixedCellSize > 0;
 
+                // lightweight rows are redrawn when they are laid out
+                registerInvalidationListener(tableView.lightweightRowsProperty(), e -> getSkinnable().requestLayout());
+                registerInvalidationListener(getSkinnable().fontProperty(), e -> requestLightweightLayout());
+                registerInvalidationListener(getSkinnable().textFillProperty(), e -> requestLightweightLayout());
+                registerInvalidationListener(getSkinnable().alignmentProperty(), e -> requestLightweightLayout());
+                registerInvalidationListener(getSkinnable().effectiveNodeOrientationProperty(), e -> requestLightweightLayout());
+                registerChangeListener(tableView.selectionModelProperty(),
+                        e -> listenToSelectedCells(tableView.getSelectionModel()));
+                listenToSelectedCells(tableView.getSelectionModel());
+                registerChangeListener(tableView.focusModelProperty(),
+                        e -> listenToFocusedCell(tableView.getFocusModel()));
+                listenToFocusedCell(tableView.getFocusModel());
+
                 // JDK-8144500:
                 // When in fixed cell size mode, we must listen to the width of the virtual flow, so
                 // that when it changes, we can appropriately add / remove cells that may or may not
@@ -125,6 +205,43 @@ public class TableRowSkin<T> extends TableRowSkinBase<T, TableRow<T>, TableCell<
         }
     }
 
+    // a lightweight row draws the selected and focused cells, when cells
+    // rather than rows are selected
+    private void listenToSelectedCells(TableViewSelectionModel<T> sm) {
+        if (selectedCells != null) {
+            unregisterListChangeListeners(selectedCells);
+        }
+        selectedCells = sm == null ? null : sm.getSelectedCells();
+        if (sm != null) {
+            registerListChangeListener(selectedCells, c -> {
+                if (sm.isCellSelectionEnabled()) {
+                    requestLightweightLayout();
+                }
+            });
+        }
+    }
+
+    private void listenToFocusedCell(TableViewFocusModel<T> fm) {
+        if (focusedCell != null) {
+            unregisterChangeListeners(focusedCell);
+        }
+        focusedCell = fm == null ? null : fm.focusedCellProperty();
+        if (fm != null) {
+            registerChangeListener(focusedCell, e -> {
+                TableViewSelectionModel<T> sm = getTableView().getSelectionModel();
+                if (sm != null && sm.isCellSelectionEnabled()) {
+                    requestLightweightLayout();
+                }
+            });
+        }
+    }
+
+    private void requestLightweightLayout() {
+        if (isLightweight()) {
+            getSkinnable().requestLayout();
+        }
+    }
+
     /* *************************************************************************
      *                                                                         *
      * Public API                                                              *
@@ -142,6 +259,18 @@ public class TableRowSkin<T> extends TableRowSkinBase<T, TableRow<T>, TableCell<
 
     /** {@inheritDoc} */
     @Override protected Object queryAccessibleAttribute(AccessibleAttribute attribute, Object... parameters) {
+        if (isLightweight()) {
+            // a lightweight row has no cells, so it reports the text of all its columns itself
+            switch (attribute) {
+                case TEXT: {
+                    return getTableView().getVisibleLeafColumns().stream()
+                            .map(this::getCellText)
+                            .collect(Collectors.joining(" "));
+                }
+                case FOCUS_ITEM: return getSkinnable();
+                default: return super.queryAccessibleAttribute(attribute, parameters);
+            }
+        }
         switch (attribute) {
             case SELECTED_ITEMS: {
                 if (getTableView().getSelectionModel() != null) {
@@ -156,7 +285,9 @@ public class TableRowSkin<T> extends TableRowSkinBase<T, TableRow<T>, TableCell<
                                 /* This is the row-based case */
                                 column = getTableView().getVisibleLeafColumn(0);
                             }
-                            TableCell<T,?> cell = cellsMap.get(column).get();
+                            // columns scrolled out of view may not have a cell
+                            Reference<TableCell<T,?>> cellRef = cellsMap.get(column);
+                            TableCell<T,?> cell = cellRef == null ? null : cellRef.get();
                             if (cell != null) selection.add(cell);
                         }
                         return FXCollections.observableArrayList(selection);
@@ -192,6 +323,69 @@ public class TableRowSkin<T> extends TableRowSkinBase<T, TableRow<T>, TableCell<
 
 
 
+    /* *************************************************************************
+     *                                                                         *
+     * Stylesheet Handling                                                     *
+     *                                                                         *
+     **************************************************************************/
+
+    private static class StyleableProperties {
+        private static final CssMetaData<TableRow<?>,Paint> CELL_SELECTION_FILL =
+                new CssMetaData<>("-fx-cell-selection-fill",
+                    PaintConverter.getInstance(), DEFAULT_CELL_SELECTION_FILL) {
+
+            @Override public boolean isSettable(TableRow<?> n) {
+                return true;
+            }
+
+            @Override public StyleableProperty<Paint> getStyleableProperty(TableRow<?> n) {
+                final TableRowSkin<?> skin = (TableRowSkin<?>) n.getSkin();
+                return (StyleableProperty<Paint>)(WritableValue<Paint>)skin.cellSelectionFill;
+            }
+        };
+
+        private static final CssMetaData<TableRow<?>,Paint> CELL_SELECTION_TEXT_FILL =
+                new CssMetaData<>("-fx-cell-selection-text-fill",
+                    PaintConverter.getInstance(), DEFAULT_CELL_SELECTION_TEXT_FILL) {
+
+            @Override public boolean isSettable(TableRow<?> n) {
+                return true;
+            }
+
+            @Override public StyleableProperty<Paint> getStyleableProperty(TableRow<?> n) {
+                final TableRowSkin<?> skin = (TableRowSkin<?>) n.getSkin();
+                return (StyleableProperty<Paint>)(WritableValue<Paint>)skin.cellSelectionTextFill;
+            }
+        };
+
+        private static final List<CssMetaData<? extends Styleable, ?>> STYLEABLES;
+        static {
+            final List<CssMetaData<? extends Styleable, ?>> styleables =
+                new ArrayList<>(TableRowSkinBase.getClassCssMetaData());
+            styleables.add(CELL_SELECTION_FILL);
+            styleables.add(CELL_SELECTION_TEXT_FILL);
+            STYLEABLES = Collections.unmodifiableList(styleables);
+        }
+    }
+
+    /**
+     * Returns the CssMetaData associated with this class, which may include the
+     * CssMetaData of its superclasses.
+     * @return the CssMetaData associated with this class, which may include the
+     * CssMetaData of its superclasses
+     * @since 22
+     */
+    public static List<CssMetaData<? extends Styleable, ?>> getClassCssMetaData() {
+        return StyleableProperties.STYLEABLES;
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<CssMetaData<? extends Styleable, ?>> getCssMetaData() {
+        return getClassCssMetaData();
+    }
+
+
+
     /* *************************************************************************
      *                                                                         *
      * Private implementation                                                  *
@@ -221,6 +415,58 @@ public class TableRowSkin<T> extends TableRowSkinBase<T, TableRow<T>, TableCell<
         cell.updateTableRow(row);
     }
 
+    /** {@inheritDoc} */
+    @Override double lookupFixedCellSize() {
+        TableView<T> tableView = getTableView();
+        return tableView == null ? -1 : tableView.getFixedCellSize();
+    }
+
+    /** {@inheritDoc} */
+    @Override boolean canReuseCell(TableColumnBase<T, ?> from, TableColumnBase<T, ?> to) {
+        // only cells of the default cell factory are known not to depend on
+        // the column they were created for
+        return from instanceof TableColumn && to instanceof TableColumn
+                && (Object) ((TableColumn<T, ?>) from).getCellFactory() == TableColumn.DEFAULT_CELL_FACTORY
+                && (Object) ((TableColumn<T, ?>) to).getCellFactory() == TableColumn.DEFAULT_CELL_FACTORY;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override void reuseCell(TableCell<T, ?> cell, TableColumnBase<T, ?> column) {
+        ((TableCell<T, Object>) cell).updateTableColumn((TableColumn<T, Object>) column);
+    }
+
+    /** {@inheritDoc} */
+    @Override boolean isLightweight() {
+        TableView<T> tableView = getTableView();
+        return tableView != null && tableView.isLightweightRows() && tableView.getFixedCellSize() > 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override Paint getCellSelectionFill() {
+        return cellSelectionFill.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override Paint getCellSelectionTextFill() {
+        return cellSelectionTextFill.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override boolean isCellSelected(TableColumnBase<T, ?> column) {
+        TableViewSelectionModel<T> sm = getTableView().getSelectionModel();
+        return sm != null && sm.isCellSelectionEnabled()
+                && sm.isSelected(getSkinnable().getIndex(), (TableColumn<T, ?>) column);
+    }
+
+    /** {@inheritDoc} */
+    @Override boolean isCellFocused(TableColumnBase<T, ?> column) {
+        TableViewSelectionModel<T> sm = getTableView().getSelectionModel();
+        TableViewFocusModel<T> fm = getTableView().getFocusModel();
+        return sm != null && sm.isCellSelectionEnabled() && fm != null
+                && fm.isFocused(getSkinnable().getIndex(), (TableColumn<T, ?>) column);
+    }
+
     /** {@inheritDoc} */
     @Override protected TableColumn<T, ?> getTableColumn(TableCell<T, ?> cell) {
         return cell.getTableColumn();
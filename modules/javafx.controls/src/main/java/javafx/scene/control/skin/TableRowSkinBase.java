@@ -34,13 +34,24 @@ import com.sun.javafx.PlatformUtil;
 import javafx.animation.FadeTransition;
 import javafx.beans.property.ObjectProperty;
 import javafx.collections.ObservableList;
+import javafx.css.CssParser;
+import javafx.css.Declaration;
+import javafx.css.Rule;
 import javafx.css.StyleOrigin;
 import javafx.css.StyleableObjectProperty;
-import javafx.geometry.Insets;
+import javafx.geometry.HPos;
+import javafx.geometry.NodeOrientation;
 import javafx.geometry.Pos;
+import javafx.geometry.VPos;
 import javafx.scene.Node;
 import javafx.scene.Parent;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.*;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
 import javafx.util.Duration;
 
 import com.sun.javafx.tk.Toolkit;
@@ -100,6 +111,15 @@ public abstract class TableRowSkinBase<T,
     // against memory leaks in certain extreme circumstances.
     private static final int DEFAULT_FULL_REFRESH_COUNTER = 100;
 
+    // the fill and text fill of the selected cells of a lightweight row, when
+    // they are not styled, see isLightweight()
+    static final Paint DEFAULT_CELL_SELECTION_FILL = Color.LIGHTGRAY;
+    static final Paint DEFAULT_CELL_SELECTION_TEXT_FILL = Color.BLACK;
+
+    // the -fx-alignment of the inline styles of columns, or null for inline
+    // styles that have none, see getCellAlignment()
+    private static final Map<String, Pos> inlineAlignmentMap = new WeakHashMap<>();
+
 
     /* *************************************************************************
      *                                                                         *
@@ -109,10 +129,10 @@ public abstract class TableRowSkinBase<T,
 
     /*
      * A map that maps from TableColumn to TableCell (i.e. model to view).
-     * This is recreated whenever the leaf columns change, however to increase
-     * efficiency we create cells for all columns, even if they aren't visible,
-     * and we only create new cells if we don't already have it cached in this
-     * map.
+     * This is recreated whenever the leaf columns change, and we only create
+     * new cells if we don't already have it cached in this map. When a fixed
+     * cell size is set, cells are only created for the columns that intersect
+     * the viewport of the VirtualFlow (see updateVisibleCells()).
      *
      * Note that this means that it is possible for this map to therefore be
      * a memory leak if an application uses TableView and is creating and removing
@@ -122,10 +142,22 @@ public abstract class TableRowSkinBase<T,
     WeakHashMap<TableColumnBase, Reference<R>> cellsMap;
 
     // This observableArrayList contains the currently visible table cells for this row.
+    // When a fixed cell size is set, these are only the cells of the columns
+    // firstCellColumn and onwards that intersect the viewport.
     final List<R> cells = new ArrayList<>();
 
+    // the index in the visible leaf columns of the first cell in the cells list,
+    // and its x offset from the first column, when a fixed cell size is set
+    private int firstCellColumn = 0;
+    private double firstCellX = 0;
+
     private int fullRefreshCounter = DEFAULT_FULL_REFRESH_COUNTER;
 
+    // when the row is lightweight (see isLightweight()), it has no cells, and
+    // this canvas shows the text of the columns that intersect the viewport
+    private Canvas canvas;
+    private boolean lightweight = false;
+
     boolean isDirty = false;
     boolean updateCells = false;
 
@@ -152,7 +184,13 @@ public abstract class TableRowSkinBase<T,
         getSkinnable().setPickOnBounds(false);
 
         recreateCells();
-        updateCells(true);
+        if (lookupFixedCellSize() > 0) {
+            // with a fixed cell size, cells are only created for the columns
+            // in the viewport, which is known once the row is laid out
+            isDirty = true;
+        } else {
+            updateCells(true);
+        }
 
         // init bindings
         // watches for any change in the leaf columns observableArrayList - this will indicate
@@ -245,7 +283,11 @@ public abstract class TableRowSkinBase<T,
     /** {@inheritDoc} */
     @Override protected void layoutChildren(double x, double y, final double w, final double h) {
         checkState();
-        if (cellsMap.isEmpty()) return;
+        if (lightweight) {
+            layoutCanvas(x);
+            return;
+        }
+        if (cellsMap.isEmpty() && !fixedCellSizeEnabled) return;
 
         ObservableList<? extends TableColumnBase> visibleLeafColumns = getVisibleLeafColumns();
         if (visibleLeafColumns.isEmpty()) {
@@ -326,115 +368,105 @@ public abstract class TableRowSkinBase<T,
         int index = control.getIndex();
         if (index < 0/* || row >= itemsProperty().get().size()*/) return;
 
+        int firstColumn = 0;
+        if (fixedCellSizeEnabled) {
+            // we only create and lay out the cells of the columns that
+            // intersect the viewport, and take the others out of the
+            // scenegraph to help improve performance. However, we only do
+            // this when there is a fixed cell length specified in the
+            // TableView. This is because when we have a fixed cell length it
+            // is possible to know with certainty the height of each TableCell -
+            // it is the fixed value provided by the developer, and this means
+            // that we do not have to concern ourselves with the possibility
+            // that the height may be variable and / or dynamic.
+            updateVisibleCells(x);
+            firstColumn = firstCellColumn;
+            x += firstCellX;
+        }
+
         for (int column = 0, max = cells.size(); column < max; column++) {
             R tableCell = cells.get(column);
-            TableColumnBase<T, ?> tableColumn = getTableColumn(tableCell);
 
-            boolean isVisible = true;
             if (fixedCellSizeEnabled) {
-                // we determine if the cell is visible, and if not we have the
-                // ability to take it out of the scenegraph to help improve
-                // performance. However, we only do this when there is a
-                // fixed cell length specified in the TableView. This is because
-                // when we have a fixed cell length it is possible to know with
-                // certainty the height of each TableCell - it is the fixed value
-                // provided by the developer, and this means that we do not have
-                // to concern ourselves with the possibility that the height
-                // may be variable and / or dynamic.
-                isVisible = isColumnPartiallyOrFullyVisible(tableColumn);
-
                 y = 0;
                 height = fixedCellSize;
             } else {
                 height = h;
             }
 
-            if (isVisible) {
-                if (fixedCellSizeEnabled && tableCell.getParent() == null) {
-                    getChildren().add(tableCell);
-                }
-                // Note: prefWidth() has to be called only after the tableCell is added to the tableRow, if it wasn't
-                // already. Otherwise, it might not have its skin yet, and its pref width is therefore 0.
-                width = tableCell.prefWidth(height);
-
-                // Added for RT-32700, and then updated for RT-34074.
-                // We change the alignment from CENTER_LEFT to TOP_LEFT if the
-                // height of the row is greater than the default size, and if
-                // the alignment is the default alignment.
-                // What I would rather do is only change the alignment if the
-                // alignment has not been manually changed, but for now this will
-                // do.
-                final boolean centreContent = height <= 24.0;
-
-                // if the style origin is null then the property has not been
-                // set (or it has been reset to its default), which means that
-                // we can set it without overwriting someone elses settings.
-                final StyleOrigin origin = ((StyleableObjectProperty<?>) tableCell.alignmentProperty()).getStyleOrigin();
-                if (! centreContent && origin == null) {
-                    tableCell.setAlignment(Pos.TOP_LEFT);
-                }
-                // --- end of RT-32700 fix
-
-                ///////////////////////////////////////////
-                // further indentation code starts here
-                ///////////////////////////////////////////
-                if (indentationRequired && column == indentationColumnIndex) {
-                    if (disclosureVisible) {
-                        double ph = disclosureNode.prefHeight(disclosureWidth);
-
-                        if (width > 0 && width < (disclosureWidth + leftMargin)) {
-                            fadeOut(disclosureNode);
-                        } else {
-                            fadeIn(disclosureNode);
-                            disclosureNode.resize(disclosureWidth, ph);
-
-                            disclosureNode.relocate(x + leftMargin,
-                                    centreContent ? y + (h / 2.0 - ph / 2.0) :
-                                            (y + tableCell.getPadding().getTop()));
-                            disclosureNode.toFront();
-                        }
+            // Note: prefWidth() has to be called only after the tableCell is added to the tableRow, if it wasn't
+            // already. Otherwise, it might not have its skin yet, and its pref width is therefore 0.
+            width = tableCell.prefWidth(height);
+
+            // Added for RT-32700, and then updated for RT-34074.
+            // We change the alignment from CENTER_LEFT to TOP_LEFT if the
+            // height of the row is greater than the default size, and if
+            // the alignment is the default alignment.
+            // What I would rather do is only change the alignment if the
+            // alignment has not been manually changed, but for now this will
+            // do.
+            final boolean centreContent = height <= 24.0;
+
+            // if the style origin is null then the property has not been
+            // set (or it has been reset to its default), which means that
+            // we can set it without overwriting someone elses settings.
+            final StyleOrigin origin = ((StyleableObjectProperty<?>) tableCell.alignmentProperty()).getStyleOrigin();
+            if (! centreContent && origin == null) {
+                tableCell.setAlignment(Pos.TOP_LEFT);
+            }
+            // --- end of RT-32700 fix
+
+            ///////////////////////////////////////////
+            // further indentation code starts here
+            ///////////////////////////////////////////
+            if (indentationRequired && firstColumn + column == indentationColumnIndex) {
+                if (disclosureVisible) {
+                    double ph = disclosureNode.prefHeight(disclosureWidth);
+
+                    if (width > 0 && width < (disclosureWidth + leftMargin)) {
+                        fadeOut(disclosureNode);
+                    } else {
+                        fadeIn(disclosureNode);
+                        disclosureNode.resize(disclosureWidth, ph);
+
+                        disclosureNode.relocate(x + leftMargin,
+                                centreContent ? y + (h / 2.0 - ph / 2.0) :
+                                        (y + tableCell.getPadding().getTop()));
+                        disclosureNode.toFront();
                     }
+                }
 
-                    // determine starting point of the graphic or cell node, and the
-                    // remaining width available to them
-                    ObjectProperty<Node> graphicProperty = graphicProperty();
-                    Node graphic = graphicProperty == null ? null : graphicProperty.get();
+                // determine starting point of the graphic or cell node, and the
+                // remaining width available to them
+                ObjectProperty<Node> graphicProperty = graphicProperty();
+                Node graphic = graphicProperty == null ? null : graphicProperty.get();
 
-                    if (graphic != null) {
-                        graphicWidth = graphic.prefWidth(-1) + 3;
-                        double ph = graphic.prefHeight(graphicWidth);
+                if (graphic != null) {
+                    graphicWidth = graphic.prefWidth(-1) + 3;
+                    double ph = graphic.prefHeight(graphicWidth);
 
-                        if (width > 0 && width < disclosureWidth + leftMargin + graphicWidth) {
-                            fadeOut(graphic);
-                        } else {
-                            fadeIn(graphic);
+                    if (width > 0 && width < disclosureWidth + leftMargin + graphicWidth) {
+                        fadeOut(graphic);
+                    } else {
+                        fadeIn(graphic);
 
-                            graphic.relocate(x + leftMargin + disclosureWidth,
-                                    centreContent ? (h / 2.0 - ph / 2.0) :
-                                            (y + tableCell.getPadding().getTop()));
+                        graphic.relocate(x + leftMargin + disclosureWidth,
+                                centreContent ? (h / 2.0 - ph / 2.0) :
+                                        (y + tableCell.getPadding().getTop()));
 
-                            graphic.toFront();
-                        }
+                        graphic.toFront();
                     }
                 }
-                ///////////////////////////////////////////
-                // further indentation code ends here
-                ///////////////////////////////////////////
-                tableCell.resize(width, height);
-                tableCell.relocate(x, y);
-
-                // Request layout is here as (partial) fix for RT-28684.
-                // This does not appear to impact performance...
-                tableCell.requestLayout();
-            } else {
-                width = tableCell.prefWidth(height);
-                if (fixedCellSizeEnabled) {
-                    // we only add/remove to the scenegraph if the fixed cell
-                    // length support is enabled - otherwise we keep all
-                    // TableCells in the scenegraph
-                    getChildren().remove(tableCell);
-                }
             }
+            ///////////////////////////////////////////
+            // further indentation code ends here
+            ///////////////////////////////////////////
+            tableCell.resize(width, height);
+            tableCell.relocate(x, y);
+
+            // Request layout is here as (partial) fix for RT-28684.
+            // This does not appear to impact performance...
+            tableCell.requestLayout();
 
             x += width;
         }
@@ -481,6 +513,97 @@ public abstract class TableRowSkinBase<T,
         return true;
     }
 
+    /**
+     * Returns whether this row draws the text of its columns onto a canvas
+     * instead of creating cells. This requires a fixed cell size.
+     */
+    boolean isLightweight() {
+        return false;
+    }
+
+    /**
+     * Returns whether the cell of this row in the given column is selected,
+     * when cells rather than rows are selected. Only used by lightweight rows.
+     */
+    boolean isCellSelected(TableColumnBase<T,?> column) {
+        return false;
+    }
+
+    /**
+     * Returns whether the cell of this row in the given column is focused,
+     * when cells rather than rows are selected. Only used by lightweight rows.
+     */
+    boolean isCellFocused(TableColumnBase<T,?> column) {
+        return false;
+    }
+
+    /**
+     * Returns the fill of the selected cells of a lightweight row.
+     */
+    Paint getCellSelectionFill() {
+        return DEFAULT_CELL_SELECTION_FILL;
+    }
+
+    /**
+     * Returns the text fill of the selected cells of a lightweight row.
+     */
+    Paint getCellSelectionTextFill() {
+        return DEFAULT_CELL_SELECTION_TEXT_FILL;
+    }
+
+    /**
+     * Returns the alignment a lightweight row shows the text of the given
+     * column with. The cells of a column are styled by the inline style of the
+     * column, so this is the -fx-alignment of that style if it has one, and
+     * the alignment of this row otherwise.
+     */
+    Pos getCellAlignment(TableColumnBase<T,?> column) {
+        final String style = column.getStyle();
+        Pos alignment = null;
+        if (style != null && !style.isEmpty()) {
+            alignment = inlineAlignmentMap.get(style);
+            if (alignment == null && !inlineAlignmentMap.containsKey(style)) {
+                alignment = parseAlignment(column);
+                inlineAlignmentMap.put(style, alignment);
+            }
+        }
+        return alignment != null ? alignment : getSkinnable().getAlignment();
+    }
+
+    private static Pos parseAlignment(TableColumnBase<?,?> column) {
+        Pos alignment = null;
+        for (Rule rule : new CssParser().parseInlineStyle(column).getRules()) {
+            for (Declaration declaration : rule.getDeclarations()) {
+                if ("-fx-alignment".equals(declaration.getProperty())
+                        && declaration.getParsedValue().getValue() instanceof String value) {
+                    try {
+                        alignment = Pos.valueOf(value.replace('-', '_').toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        // not an alignment, the cells ignore it as well
+                    }
+                }
+            }
+        }
+        return alignment;
+    }
+
+    /**
+     * Returns the text a lightweight row shows for the given column.
+     */
+    String getCellText(TableColumnBase<T,?> column) {
+        final Object value = column.getCellData(getSkinnable().getIndex());
+        return value == null || value instanceof Node ? "" : value.toString();
+    }
+
+    /**
+     * Returns the fixed cell size of the control this row belongs to, or a
+     * value &lt;= 0 if there is none. This is called from the constructor,
+     * before the cached fixedCellSize is set up by subclasses.
+     */
+    double lookupFixedCellSize() {
+        return -1;
+    }
+
     void updateCells(boolean resetChildren) {
         // To avoid a potential memory leak (when the TableColumns in the
         // TableView are created/inserted/removed/deleted, we have a 'refresh
@@ -493,15 +616,39 @@ public abstract class TableRowSkinBase<T,
             fullRefreshCounter--;
         }
 
+        final C skinnable = getSkinnable();
+        final int skinnableIndex = skinnable.getIndex();
+        final List<? extends TableColumnBase/*<T,?>*/> visibleLeafColumns = getVisibleLeafColumns();
+
+        if (fixedCellSizeEnabled) {
+            // the cells of the columns in the viewport are created and added
+            // to the scenegraph by updateVisibleCells() during layout. Here we
+            // only update the cells we have, and remove any children cells
+            // that refer to columns that are removed or not visible.
+            final Set<Object> columns = Collections.newSetFromMap(new IdentityHashMap<>());
+            columns.addAll(visibleLeafColumns);
+            List<Node> toRemove = new ArrayList<>();
+            for (Node cell : getChildren()) {
+                if (!(cell instanceof IndexedCell)) continue;
+                if (!columns.contains(getTableColumn((R) cell))) {
+                    toRemove.add(cell);
+                }
+            }
+            getChildren().removeAll(toRemove);
+            cells.removeAll(toRemove);
+            for (int i = 0, max = cells.size(); i < max; i++) {
+                R cell = cells.get(i);
+                updateCell(cell, skinnable);
+                cell.updateIndex(skinnableIndex);
+            }
+            return;
+        }
+
         // if clear isn't called first, we can run into situations where the
         // cells aren't updated properly.
         final boolean cellsEmpty = cells.isEmpty();
         cells.clear();
 
-        final C skinnable = getSkinnable();
-        final int skinnableIndex = skinnable.getIndex();
-        final List<? extends TableColumnBase/*<T,?>*/> visibleLeafColumns = getVisibleLeafColumns();
-
         for (int i = 0, max = visibleLeafColumns.size(); i < max; i++) {
             TableColumnBase<T,?> col = visibleLeafColumns.get(i);
 
@@ -527,23 +674,27 @@ public abstract class TableRowSkinBase<T,
         }
 
         // update children of each row
-        if (fixedCellSizeEnabled) {
-            // we leave the adding / removing up to the layoutChildren method mostly, but here we remove any children
-            // cells that refer to columns that are removed or not visible.
-            List<Node> toRemove = new ArrayList<>();
-            for (Node cell : getChildren()) {
-                if (!(cell instanceof IndexedCell)) continue;
-                TableColumnBase<T, ?> tableColumn = getTableColumn((R) cell);
-                if (!getVisibleLeafColumns().contains(tableColumn)) {
-                    toRemove.add(cell);
-                }
-            }
-            getChildren().removeAll(toRemove);
-        } else if (resetChildren || cellsEmpty) {
+        if (resetChildren || cellsEmpty) {
             getChildren().setAll(cells);
         }
     }
 
+    /**
+     * Returns whether a cell that was created for the column {@code from}, and
+     * that is no longer needed because the column has been scrolled out of
+     * view, may be reused for the column {@code to}. This is only safe when
+     * both columns would create the same kind of cell.
+     */
+    boolean canReuseCell(TableColumnBase<T,?> from, TableColumnBase<T,?> to) {
+        return false;
+    }
+
+    /**
+     * Moves a cell over to another column, see {@link #canReuseCell}.
+     */
+    void reuseCell(R cell, TableColumnBase<T,?> column) {
+    }
+
     VirtualFlow<C> getVirtualFlow() {
         Parent p = getSkinnable();
         while (p != null) {
@@ -557,7 +708,17 @@ public abstract class TableRowSkinBase<T,
 
     /** {@inheritDoc} */
     @Override protected double computePrefWidth(double height, double topInset, double rightInset, double bottomInset, double leftInset) {
+        checkState();
+
         double prefWidth = leftInset + rightInset;
+        if (fixedCellSizeEnabled) {
+            // not all columns have cells, but every cell is as wide as its column
+            final List<? extends TableColumnBase> visibleLeafColumns = getVisibleLeafColumns();
+            for (int i = 0, max = visibleLeafColumns.size(); i < max; i++) {
+                prefWidth += snapSizeX(visibleLeafColumns.get(i).getWidth());
+            }
+            return prefWidth;
+        }
         for (R cell : cells) {
             prefWidth += cell.prefWidth(height);
         }
@@ -636,6 +797,25 @@ public abstract class TableRowSkinBase<T,
     }
 
     final void checkState() {
+        if (lightweight != isLightweight()) {
+            // the row shows either cells or the canvas, never both
+            lightweight = !lightweight;
+            recreateCells();
+            cells.clear();
+            isDirty = true;
+        }
+        if (lightweight) {
+            if (canvas == null) {
+                canvas = new Canvas();
+            }
+            if (canvas.getParent() == null) {
+                getChildren().setAll(canvas);
+            }
+            isDirty = false;
+            updateCells = false;
+            return;
+        }
+
         if (isDirty) {
             updateCells(true);
             isDirty = false;
@@ -662,27 +842,241 @@ public abstract class TableRowSkinBase<T,
      *                                                                         *
      **************************************************************************/
 
-    private boolean isColumnPartiallyOrFullyVisible(TableColumnBase col) {
-        if (col == null || !col.isVisible()) return false;
+    /**
+     * Makes the cells list hold the cells of exactly those visible leaf columns
+     * that intersect the viewport of the VirtualFlow, creating cells for
+     * columns that come into view (or reusing the cells of columns that went
+     * out of view), and removing the others from the scenegraph. This is only
+     * used when a fixed cell size is set.
+     *
+     * @param leftInset the x position of the first column in this row
+     */
+    private void updateVisibleCells(double leftInset) {
+        @SuppressWarnings("unchecked")
+        final List<? extends TableColumnBase<T,?>> visibleLeafColumns =
+                (List<? extends TableColumnBase<T,?>>) (List<?>) getVisibleLeafColumns();
+        final double minX = getViewportMinX(leftInset);
+        final double maxX = getViewportMaxX(leftInset);
+
+        int first = -1;
+        int last = -1;
+        double firstX = 0;
+        double x = 0;
+        for (int i = 0, max = visibleLeafColumns.size(); i < max && x < maxX; i++) {
+            final double width = snapSizeX(visibleLeafColumns.get(i).getWidth());
+            if (x + width > minX) {
+                if (first == -1) {
+                    first = i;
+                    firstX = x;
+                }
+                last = i;
+            }
+            x += width;
+        }
+
+        final List<R> oldCells = new ArrayList<>(cells);
+        cells.clear();
+        firstCellColumn = Math.max(0, first);
+        firstCellX = firstX;
+        if (first == -1) {
+            getChildren().removeAll(oldCells);
+            return;
+        }
+
+        // first pick up the cells we already have for the columns in view...
+        final Set<R> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = first; i <= last; i++) {
+            final TableColumnBase<T,?> col = visibleLeafColumns.get(i);
+            final R cell = getCachedCell(col);
+            cells.add(cell);
+            if (cell != null) {
+                kept.add(cell);
+            }
+        }
+
+        // ...then fill the gaps, preferably with cells that went out of view
+        final List<R> spareCells = new ArrayList<>();
+        for (R cell : oldCells) {
+            if (!kept.contains(cell)) {
+                spareCells.add(cell);
+            }
+        }
+        final C skinnable = getSkinnable();
+        final int skinnableIndex = skinnable.getIndex();
+        for (int i = 0, max = cells.size(); i < max; i++) {
+            R cell = cells.get(i);
+            if (cell == null) {
+                final TableColumnBase<T,?> col = visibleLeafColumns.get(first + i);
+                for (Iterator<R> it = spareCells.iterator(); it.hasNext(); ) {
+                    final R spare = it.next();
+                    final TableColumnBase<T,?> spareColumn = getTableColumn(spare);
+                    if (canReuseCell(spareColumn, col)) {
+                        it.remove();
+                        cellsMap.remove(spareColumn);
+                        reuseCell(spare, col);
+                        cellsMap.put(col, new WeakReference<>(spare));
+                        cell = spare;
+                        break;
+                    }
+                }
+                if (cell == null) {
+                    cell = createCellAndCache(col);
+                }
+                cells.set(i, cell);
+            }
+
+            if (cell.getParent() != skinnable) {
+                // the cell has not been kept up to date while out of view
+                updateCell(cell, skinnable);
+                cell.updateIndex(skinnableIndex);
+                getChildren().add(cell);
+            }
+        }
+
+        // the remaining cells stay cached, but out of the scenegraph
+        getChildren().removeAll(spareCells);
+    }
 
+    /*
+     * The horizontal range that is visible, relative to the first column.
+     * Rows that are not in a VirtualFlow (e.g. when autosizing columns) show
+     * all columns.
+     */
+    private double getViewportMinX(double leftInset) {
         final VirtualFlow<?> virtualFlow = getVirtualFlow();
-        double scrollX = virtualFlow == null ? 0.0 : virtualFlow.getHbar().getValue();
+        return virtualFlow == null ? Double.NEGATIVE_INFINITY : virtualFlow.getHbar().getValue() - leftInset;
+    }
 
-        // work out where this column header is, and it's width (start -> end)
-        double start = 0;
-        final ObservableList<? extends TableColumnBase> visibleLeafColumns = getVisibleLeafColumns();
-        for (int i = 0, max = visibleLeafColumns.size(); i < max; i++) {
-            TableColumnBase<?,?> c = visibleLeafColumns.get(i);
-            if (c.equals(col)) break;
-            start += c.getWidth();
+    private double getViewportMaxX(double leftInset) {
+        final VirtualFlow<?> virtualFlow = getVirtualFlow();
+        return virtualFlow == null ? Double.POSITIVE_INFINITY : getViewportMinX(leftInset) + virtualFlow.getViewportBreadth();
+    }
+
+    /**
+     * Sizes the canvas of a lightweight row to the columns that intersect the
+     * viewport of the VirtualFlow, and draws the text of those columns onto
+     * it, clipped to the width of each column.
+     *
+     * @param leftInset the x position of the first column in this row
+     */
+    private void layoutCanvas(double leftInset) {
+        @SuppressWarnings("unchecked")
+        final List<? extends TableColumnBase<T,?>> visibleLeafColumns =
+                (List<? extends TableColumnBase<T,?>>) (List<?>) getVisibleLeafColumns();
+        final double minX = getViewportMinX(leftInset);
+        final double maxX = getViewportMaxX(leftInset);
+
+        int first = -1;
+        int last = -1;
+        double firstX = 0;
+        double lastX = 0;
+        double x = 0;
+        for (int i = 0, max = visibleLeafColumns.size(); i < max && x < maxX; i++) {
+            final double width = snapSizeX(visibleLeafColumns.get(i).getWidth());
+            if (x + width > minX) {
+                if (first == -1) {
+                    first = i;
+                    firstX = x;
+                }
+                last = i;
+                lastX = x + width;
+            }
+            x += width;
         }
-        double end = start + col.getWidth();
 
-        // determine the width of the table
-        final Insets padding = getSkinnable().getPadding();
-        double headerWidth = getSkinnable().getWidth() - padding.getLeft() + padding.getRight();
+        final double height = fixedCellSize;
+        canvas.relocate(leftInset + firstX, 0);
+        canvas.setWidth(lastX - firstX);
+        canvas.setHeight(height);
+        final GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, canvas.getWidth(), height);
+
+        final C row = getSkinnable();
+        if (first == -1 || row.isEmpty() || row.getIndex() < 0) return;
+
+        // the same padding as the 0.166667em padding of table cells in modena
+        final Font font = row.getFont();
+        final double hPadding = snapSpaceX(font.getSize() / 6);
+        final double vPadding = snapSpaceY(font.getSize() / 6);
+        final Paint textFill = row.getTextFill();
+        gc.setFont(font);
+        gc.setStroke(textFill);
+        gc.setLineWidth(1);
+
+        // the canvas is always left-to-right, so the columns and the
+        // horizontal alignment of their text are mirrored when the row is not
+        final boolean rtl = row.getEffectiveNodeOrientation() == NodeOrientation.RIGHT_TO_LEFT;
+        final double canvasWidth = canvas.getWidth();
+
+        x = 0;
+        for (int i = first; i <= last; i++) {
+            final TableColumnBase<T,?> column = visibleLeafColumns.get(i);
+            final double width = snapSizeX(column.getWidth());
+            final double cellX = rtl ? canvasWidth - x - width : x;
+            final boolean selected = isCellSelected(column);
+            if (selected) {
+                gc.setFill(getCellSelectionFill());
+                gc.fillRect(cellX, 0, width, height);
+            }
+            final String text = getCellText(column);
+            if (!text.isEmpty()) {
+                final Pos alignment = getCellAlignment(column);
+                HPos hpos = alignment.getHpos();
+                if (rtl && hpos != HPos.CENTER) {
+                    hpos = hpos == HPos.LEFT ? HPos.RIGHT : HPos.LEFT;
+                }
+                final double textX;
+                switch (hpos) {
+                    case CENTER:
+                        gc.setTextAlign(TextAlignment.CENTER);
+                        textX = cellX + width / 2;
+                        break;
+                    case RIGHT:
+                        gc.setTextAlign(TextAlignment.RIGHT);
+                        textX = cellX + width - hPadding;
+                        break;
+                    default:
+                        gc.setTextAlign(TextAlignment.LEFT);
+                        textX = cellX + hPadding;
+                }
+                final double textY;
+                switch (alignment.getVpos()) {
+                    case TOP:
+                        gc.setTextBaseline(VPos.TOP);
+                        textY = vPadding;
+                        break;
+                    case BOTTOM:
+                        gc.setTextBaseline(VPos.BOTTOM);
+                        textY = height - vPadding;
+                        break;
+                    default:
+                        gc.setTextBaseline(VPos.CENTER);
+                        textY = height / 2;
+                }
+                gc.save();
+                gc.beginPath();
+                gc.rect(cellX, 0, width, height);
+                gc.clip();
+                gc.setFill(selected ? getCellSelectionTextFill() : textFill);
+                gc.fillText(text, textX, textY);
+                gc.restore();
+            }
+            if (isCellFocused(column)) {
+                gc.strokeRect(cellX + 0.5, 0.5, width - 1, height - 1);
+            }
+            x += width;
+        }
+    }
 
-        return (start >= scrollX || end > scrollX) && (start < (headerWidth + scrollX) || end <= (headerWidth + scrollX));
+    private R getCachedCell(TableColumnBase<T,?> col) {
+        final Reference<R> ref = cellsMap.get(col);
+        if (ref == null) return null;
+        final R cell = ref.get();
+        if (cell == null) {
+            // the reference has been gc'd, remove key entry from map
+            cellsMap.remove(col);
+        }
+        return cell;
     }
 
     private void requestCellUpdate() {
@@ -719,19 +1113,11 @@ public abstract class TableRowSkinBase<T,
 
         ObservableList<? extends TableColumnBase/*<T,?>*/> columns = getVisibleLeafColumns();
 
+        // cells are created on demand by updateCells() or updateVisibleCells(),
+        // so that no cells are created for columns that are never shown
         cellsMap = new WeakHashMap<>(columns.size());
         fullRefreshCounter = DEFAULT_FULL_REFRESH_COUNTER;
         getChildren().clear();
-
-        for (TableColumnBase col : columns) {
-            if (cellsMap.containsKey(col)) {
-                continue;
-            }
-
-            // create a TableCell for this column and store it in the cellsMap
-            // for future use
-            createCellAndCache(col);
-        }
     }
 
     private R createCellAndCache(TableColumnBase<T,?> col) {
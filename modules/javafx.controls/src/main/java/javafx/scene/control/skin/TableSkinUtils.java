@@ -27,6 +27,7 @@ package javafx.scene.control.skin;
 import com.sun.javafx.scene.control.TreeTableViewBackingList;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -92,6 +93,26 @@ class TableSkinUtils {
         return null;
     }
 
+    public static BooleanProperty cacheStaticContentProperty(TableViewSkinBase<?,?,?,?,?> tableSkin) {
+        Object control = tableSkin.getSkinnable();
+        if (control instanceof TableView) {
+            return ((TableView)control).cacheStaticContentProperty();
+        } else if (control instanceof TreeTableView) {
+            return ((TreeTableView)control).cacheStaticContentProperty();
+        }
+        return null;
+    }
+
+    public static BooleanProperty virtualizeColumnHeadersProperty(TableViewSkinBase<?,?,?,?,?> tableSkin) {
+        Object control = tableSkin.getSkinnable();
+        if (control instanceof TableView) {
+            return ((TableView)control).virtualizeColumnHeadersProperty();
+        } else if (control instanceof TreeTableView) {
+            return ((TreeTableView)control).virtualizeColumnHeadersProperty();
+        }
+        return null;
+    }
+
     public static <C extends Control,I extends IndexedCell<?>> ObjectProperty<Callback<C,I>> rowFactoryProperty(TableViewSkinBase<?,?,C,I,?> tableSkin) {
         Object control = tableSkin.getSkinnable();
         if (control instanceof TableView) {
@@ -112,6 +133,14 @@ class TableSkinUtils {
         return FXCollections.emptyObservableList();
     }
 
+    public static ReadOnlyBooleanProperty sortingProperty(TableViewSkinBase<?,?,?,?,?> tableSkin) {
+        Object control = tableSkin.getSkinnable();
+        if (control instanceof TableView) {
+            return ((TableView)control).sortingProperty();
+        }
+        return null;
+    }
+
     public static ObservableList<TableColumnBase<?,?>> getColumns(TableViewSkinBase<?,?,?,?,?> tableSkin) {
         Object control = tableSkin.getSkinnable();
         if (control instanceof TableView) {
@@ -28,6 +28,7 @@ package javafx.scene.control.skin;
 import java.lang.ref.WeakReference;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.BitSet;
 import java.util.List;
 
 import javafx.application.Platform;
@@ -61,6 +62,7 @@ import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
 import javafx.util.Callback;
 
+import com.sun.javafx.scene.NodeHelper;
 import com.sun.javafx.scene.control.ListenerHelper;
 import com.sun.javafx.scene.control.Properties;
 import com.sun.javafx.scene.control.skin.resources.ControlResources;
@@ -163,6 +165,10 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
 
     private int itemCount = -1;
 
+    // The indices of the rows to update on the next layout pass, see
+    // requestRowsUpdate()
+    private final BitSet dirtyRows = new BitSet();
+
 
 
     /* *************************************************************************
@@ -172,7 +178,18 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
      **************************************************************************/
 
     private ListChangeListener<S> rowCountListener = c -> {
+        boolean countChanged = false;
         while (c.next()) {
+            if (c.wasReplaced() && c.getRemovedSize() == c.getAddedSize()
+                    && c.getRemovedSize() != itemCount && flow.getFixedCellSize() > 0) {
+                // With a fixed cell size, the replaced items can be shown by
+                // updating only the rows that show them, as the position of
+                // the other rows cannot change. This keeps frequent updates
+                // of single items in large tables cheap.
+                requestRowsUpdate(c.getFrom(), c.getTo());
+                continue;
+            }
+            countChanged = true;
             if (c.wasReplaced()) {
                 // RT-28397: Support for when an item is replaced with itself (but
                 // updated internal values that should be shown visually).
@@ -205,8 +222,10 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
             ((TableView)getSkinnable()).edit(-1, null);
         }
 
-        markItemCountDirty();
-        getSkinnable().requestLayout();
+        if (countChanged) {
+            markItemCountDirty();
+            getSkinnable().requestLayout();
+        }
     };
 
     private InvalidationListener widthListener = observable -> {
@@ -282,6 +301,13 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
             getSkinnable().requestLayout();
         });
 
+        // only the header row is cached, the rows are redrawn as they scroll
+        lh.addChangeListener(TableSkinUtils.cacheStaticContentProperty(this), true, (Boolean v) -> {
+            NodeHelper.setCacheStaticContent(tableHeaderRow, v);
+        });
+
+        lh.addChangeListener(TableSkinUtils.virtualizeColumnHeadersProperty(this), (ev) -> tableHeaderRow.requestLayout());
+
         lh.addListChangeListener(getVisibleLeafColumns(), (c) -> {
             updateVisibleColumnCount();
             while (c.next()) {
@@ -440,6 +466,11 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
         needCellsRecreated = false;
         needCellsReconfigured = false;
 
+        if (!dirtyRows.isEmpty()) {
+            flow.resetCells(dirtyRows);
+            dirtyRows.clear();
+        }
+
         final double baselineOffset = table.getLayoutBounds().getHeight() / 2;
 
         // position the table header
@@ -599,6 +630,12 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
 
     void horizontalScroll() {
         tableHeaderRow.updateScrollX();
+
+        // with a fixed cell size, rows only have cells for the columns in the
+        // viewport, so they need to be laid out again
+        if (flow.getFixedCellSize() > 0) {
+            flow.requestCellLayout();
+        }
     }
 
     /**
@@ -934,6 +971,16 @@ public abstract class TableViewSkinBase<M, S, C extends Control, I extends Index
         }
     }
 
+    /*
+     * Requests that the rows from index 'from' (inclusive) to 'to' (exclusive)
+     * are fully updated on the next layout pass, leaving the other rows
+     * untouched. Only used when the flow has a fixed cell size.
+     */
+    void requestRowsUpdate(int from, int to) {
+        dirtyRows.set(from, to);
+        getSkinnable().requestLayout();
+    }
+
     /**
      * Scrolls to the column containing the current focused cell.
      * <p>
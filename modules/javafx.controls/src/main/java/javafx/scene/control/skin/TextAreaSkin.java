@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,8 +25,10 @@
 
 package javafx.scene.control.skin;
 
+import com.sun.javafx.scene.control.TextAreaHelper;
 import com.sun.javafx.scene.control.behavior.TextAreaBehavior;
 import com.sun.javafx.scene.control.skin.Utils;
+import com.sun.javafx.scene.text.HitInfoHelper;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
@@ -35,6 +37,7 @@ import javafx.beans.binding.DoubleBinding;
 import javafx.beans.binding.IntegerBinding;
 import javafx.beans.value.ObservableBooleanValue;
 import javafx.beans.value.ObservableIntegerValue;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
@@ -54,6 +57,8 @@ import javafx.scene.control.TextArea;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.ScrollEvent;
 import javafx.scene.layout.Region;
+import javafx.scene.shape.LineTo;
+import javafx.scene.shape.MoveTo;
 import javafx.scene.shape.Path;
 import javafx.scene.shape.PathElement;
 import javafx.scene.text.Text;
@@ -107,6 +112,24 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     private ContentView contentView = new ContentView();
     private Group paragraphNodes = new Group();
 
+    // The paragraphs shown by the text node, from windowFirst to windowLast,
+    // which start at the offset windowStart. Unless the text area is
+    // virtualized, the text node shows the whole text and these are all zero.
+    private int windowFirst;
+    private int windowLast;
+    private int windowStart;
+
+    // Whether the caret has moved or the text has changed since the last
+    // layout. When the text area is virtualized, the caret is scrolled to
+    // only if it has moved, not when the paragraphs shown by the text node
+    // change the measured caret.
+    private boolean caretMoved;
+
+    // The paragraph with the most characters, or null if it has to be looked
+    // up again. Only kept while the text area is virtualized.
+    private CharSequence longestParagraph;
+    private int longestParagraphLength;
+
     private Text promptNode;
     private ObservableBooleanValue usePromptText;
 
@@ -178,6 +201,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         };
         caretPosition.addListener((observable, oldValue, newValue) -> {
             targetCaretX = -1;
+            caretMoved = true;
             if (control.getWidth() > 0) {
                 setForwardBias(true);
             }
@@ -248,7 +272,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
         // Add initial text content
         for (int i = 0, n = USE_MULTIPLE_NODES ? control.getParagraphs().size() : 1; i < n; i++) {
-            CharSequence paragraph = (n == 1) ? control.textProperty().getValueSafe() : control.getParagraphs().get(i);
+            // a virtualized text area shows its first paragraphs once the font metrics are known
+            CharSequence paragraph = (n == 1) ? (isVirtualized() ? "" : control.textProperty().getValueSafe())
+                                              : control.getParagraphs().get(i);
             addParagraphNode(i, paragraph.toString());
         }
 
@@ -261,6 +287,13 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         registerChangeListener(control.wrapTextProperty(), e -> {
             invalidateMetrics();
             scrollPane.setFitToWidth(control.isWrapText());
+            updateTextNode();
+        });
+
+        registerChangeListener(control.virtualizedProperty(), e -> {
+            invalidateMetrics();
+            updateTextNode();
+            contentView.requestLayout();
         });
 
         registerChangeListener(control.prefColumnCountProperty(), e -> {
@@ -277,6 +310,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         fontMetrics.addListener(valueModel -> {
             updateFontMetrics();
         });
+        if (isVirtualized()) {
+            updateTextNode();
+        }
 
         contentView.paddingProperty().addListener(valueModel -> {
             updatePrefViewportWidth();
@@ -305,6 +341,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             double vValue = (newValue < getScrollTopMax())
                                ? (newValue / getScrollTopMax()) : 1.0;
             scrollPane.setVvalue(vValue);
+            if (isVirtualized() && showVisibleParagraphs()) {
+                contentView.requestLayout();
+            }
         });
 
         registerChangeListener(control.scrollLeftProperty(), e -> {
@@ -344,17 +383,19 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         } else {
             registerInvalidationListener(control.textProperty(), e -> {
                 invalidateMetrics();
-                ((Text)paragraphNodes.getChildren().get(0)).setText(control.textProperty().getValueSafe());
+                caretMoved = true;
+                updateTextNode();
                 contentView.requestLayout();
             });
+            registerListChangeListener(control.getParagraphs(), this::paragraphsChanged);
         }
 
         usePromptText = new BooleanBinding() {
             { bind(control.textProperty(), control.promptTextProperty()); }
             @Override protected boolean computeValue() {
-                String txt = control.getText();
+                // check the length rather than the text, which would copy the whole content
                 String promptTxt = control.getPromptText();
-                return ((txt == null || txt.isEmpty()) &&
+                return (control.getLength() == 0 &&
                         promptTxt != null && !promptTxt.isEmpty());
             }
         };
@@ -400,7 +441,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 Point2D tp = textNode.localToScene(0, 0);
                 Point2D p = new Point2D(e.getSceneX() - tp.getX() - pressX + caretHandle.getWidth() / 2,
                                         e.getSceneY() - tp.getY() - pressY - 6);
-                HitInfo hit = textNode.hitTest(translateCaretPosition(p));
+                HitInfo hit = toTextAreaHit(textNode.hitTest(translateCaretPosition(p)));
                 positionCaret(hit, false);
                 e.consume();
             });
@@ -411,7 +452,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 Point2D tp = textNode.localToScene(0, 0);
                 Point2D p = new Point2D(e.getSceneX() - tp.getX() - pressX + selectionHandle1.getWidth() / 2,
                                         e.getSceneY() - tp.getY() - pressY + selectionHandle1.getHeight() + 5);
-                HitInfo hit = textNode.hitTest(translateCaretPosition(p));
+                HitInfo hit = toTextAreaHit(textNode.hitTest(translateCaretPosition(p)));
                 if (control1.getAnchor() < control1.getCaretPosition()) {
                     // Swap caret and anchor
                     control1.selectRange(control1.getCaretPosition(), control1.getAnchor());
@@ -432,7 +473,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 Point2D tp = textNode.localToScene(0, 0);
                 Point2D p = new Point2D(e.getSceneX() - tp.getX() - pressX + selectionHandle2.getWidth() / 2,
                                         e.getSceneY() - tp.getY() - pressY - 6);
-                HitInfo hit = textNode.hitTest(translateCaretPosition(p));
+                HitInfo hit = toTextAreaHit(textNode.hitTest(translateCaretPosition(p)));
                 if (control1.getAnchor() > control1.getCaretPosition()) {
                     // Swap caret and anchor
                     control1.selectRange(control1.getCaretPosition(), control1.getAnchor());
@@ -490,9 +531,12 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         // adjust the event to be in the same coordinate space as the
         // text content of the textInputControl
         Text textNode = getTextNode();
-        Point2D p = new Point2D(x - textNode.getLayoutX(), y - getTextTranslateY());
+        if (isVirtualized()) {
+            showParagraph(getParagraphAt(y));
+        }
+        Point2D p = new Point2D(x - textNode.getLayoutX(), y - getTextTranslateY() - windowFirst * lineHeight);
         HitInfo hit = textNode.hitTest(translateCaretPosition(p));
-        return hit;
+        return toTextAreaHit(hit);
     }
 
     /** {@inheritDoc} */
@@ -572,6 +616,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         }
 
         Text textNode = getTextNode();
+        if (isVirtualized()) {
+            showCaret();
+        }
         Bounds caretBounds = caretPath.getLayoutBounds();
         if (caretPath.getElements().size() == 4) {
             // The caret is split
@@ -588,7 +635,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         if ((moveRight && charShape.getLayoutBounds().getMaxX() > caretBounds.getMaxX()) ||
                 (!moveRight && charShape.getLayoutBounds().getMinX() < caretBounds.getMinX())) {
             leading = !leading;
-            positionCaret(hit.getInsertionIndex(), leading, false, false);
+            positionCaret(hit.getInsertionIndex() + windowStart, leading, false, false);
         } else {
             // We're at beginning or end of line. Try moving up / down.
             int dot = textArea.getCaretPosition();
@@ -608,10 +655,25 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     private void downLines(int nLines, boolean select, boolean extendSelection) {
         Text textNode = getTextNode();
+        if (isVirtualized()) {
+            showCaret();
+        }
         Bounds caretBounds = caretPath.getLayoutBounds();
+        double caretMinY = caretBounds.getMinY();
+        double caretMaxY = caretBounds.getMaxY();
 
         // The middle y coordinate of the the line we want to go to.
-        double targetLineMidY = (caretBounds.getMinY() + caretBounds.getMaxY()) / 2 + nLines * lineHeight;
+        double targetLineMidY = (caretMinY + caretMaxY) / 2 + nLines * lineHeight;
+        if (isVirtualized()) {
+            // Show the paragraph of the line in the text node, and measure
+            // relative to the paragraphs that the text node shows now.
+            double layoutY = textNode.getLayoutY();
+            showParagraph(getParagraphAt(layoutY + targetLineMidY));
+            double shift = textNode.getLayoutY() - layoutY;
+            targetLineMidY -= shift;
+            caretMinY -= shift;
+            caretMaxY -= shift;
+        }
         if (targetLineMidY < 0) {
             targetLineMidY = 0;
         }
@@ -642,10 +704,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         // Test if the found line is in the correct direction and move
         // the caret.
         if (nLines == 0 ||
-                (nLines > 0 && foundLineMidY > caretBounds.getMaxY()) ||
-                (nLines < 0 && foundLineMidY < caretBounds.getMinY())) {
+                (nLines > 0 && foundLineMidY > caretMaxY) ||
+                (nLines < 0 && foundLineMidY < caretMinY)) {
 
-            positionCaret(hit.getInsertionIndex(), hit.isLeading(), select, extendSelection);
+            positionCaret(hit.getInsertionIndex() + windowStart, hit.isLeading(), select, extendSelection);
             targetCaretX = x;
         }
     }
@@ -683,19 +745,17 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     private void paragraphStart(boolean previousIfAtStart, boolean select) {
         TextArea textArea = getSkinnable();
-        String text = textArea.textProperty().getValueSafe();
         int pos = textArea.getCaretPosition();
 
         if (pos > 0) {
-            if (previousIfAtStart && text.codePointAt(pos-1) == 0x0a) {
+            int paragraph = getParagraphIndex(pos);
+            if (previousIfAtStart && pos == getParagraphOffset(paragraph)) {
                 // We are at the beginning of a paragraph.
                 // Back up to the previous paragraph.
-                pos--;
+                paragraph--;
             }
             // Back up to the beginning of this paragraph
-            while (pos > 0 && text.codePointAt(pos-1) != 0x0a) {
-                pos--;
-            }
+            pos = getParagraphOffset(paragraph);
             if (select) {
                 textArea.selectPositionCaret(pos);
             } else {
@@ -707,24 +767,23 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     private void paragraphEnd(boolean goPastInitialNewline, boolean select) {
         TextArea textArea = getSkinnable();
-        String text = textArea.textProperty().getValueSafe();
         int pos = textArea.getCaretPosition();
-        int len = text.length();
+        int len = textArea.getLength();
         boolean wentPastInitialNewline = false;
         boolean goPastTrailingNewline = isWindows();
 
         if (pos < len) {
-            if (goPastInitialNewline && text.codePointAt(pos) == 0x0a) {
+            int paragraph = getParagraphIndex(pos);
+            if (goPastInitialNewline && pos == getParagraphEnd(paragraph)) {
                 // We are at the end of a paragraph, start by moving to the
                 // next paragraph.
                 pos++;
+                paragraph++;
                 wentPastInitialNewline = true;
             }
             if (!(goPastTrailingNewline && wentPastInitialNewline)) {
                 // Go to the end of this paragraph
-                while (pos < len && text.codePointAt(pos) != 0x0a) {
-                    pos++;
-                }
+                pos = getParagraphEnd(paragraph);
                 if (goPastTrailingNewline && pos < len) {
                     // We are at the end of a paragraph, finish by moving to
                     // the beginning of the next paragraph (Windows behavior).
@@ -741,7 +800,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     /** {@inheritDoc} */
     @Override protected PathElement[] getUnderlineShape(int start, int end) {
-        int pStart = 0;
+        if (isVirtualized()) {
+            showParagraph(getParagraphIndex(start));
+        }
+        int pStart = windowStart;
         for (Node node : paragraphNodes.getChildren()) {
             Text p = (Text)node;
             int pEnd = pStart + p.textProperty().getValueSafe().length();
@@ -755,7 +817,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     /** {@inheritDoc} */
     @Override protected PathElement[] getRangeShape(int start, int end) {
-        int pStart = 0;
+        if (isVirtualized()) {
+            showParagraph(getParagraphIndex(start));
+        }
+        int pStart = windowStart;
         for (Node node : paragraphNodes.getChildren()) {
             Text p = (Text)node;
             int pEnd = pStart + p.textProperty().getValueSafe().length();
@@ -769,7 +834,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     /** {@inheritDoc} */
     @Override protected void addHighlight(List<? extends Node> nodes, int start) {
-        int pStart = 0;
+        if (isVirtualized()) {
+            showParagraph(getParagraphIndex(start));
+        }
+        int pStart = windowStart;
         Text paragraphNode = null;
         for (Node node : paragraphNodes.getChildren()) {
             Text p = (Text)node;
@@ -823,12 +891,52 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             case LINE_END:
             case BOUNDS_FOR_RANGE:
             case OFFSET_AT_POINT:
+                if (isVirtualized()) {
+                    return queryVirtualizedTextAttribute(attribute, parameters);
+                }
                 Text text = getTextNode();
                 return text.queryAccessibleAttribute(attribute, parameters);
             default: return super.queryAccessibleAttribute(attribute, parameters);
         }
     }
 
+    private Object queryVirtualizedTextAttribute(AccessibleAttribute attribute, Object... parameters) {
+        // The paragraphs are not wrapped, so every paragraph is one line
+        TextArea textArea = getSkinnable();
+        Text text = getTextNode();
+        switch (attribute) {
+            case LINE_FOR_OFFSET: {
+                int offset = (Integer)parameters[0];
+                if (offset > textArea.getLength()) return null;
+                return getParagraphIndex(offset);
+            }
+            case LINE_START:
+            case LINE_END: {
+                int lineIndex = (Integer)parameters[0];
+                int lineCount = textArea.getParagraphs().size();
+                if (lineIndex < 0 || lineIndex >= lineCount) return null;
+                if (attribute == AccessibleAttribute.LINE_START) {
+                    return getParagraphOffset(lineIndex);
+                }
+                // like the lines of a text node, a line ends after its line break
+                return lineIndex == lineCount - 1 ? textArea.getLength() : getParagraphOffset(lineIndex + 1);
+            }
+            case BOUNDS_FOR_RANGE: {
+                int start = (Integer)parameters[0];
+                int end = (Integer)parameters[1];
+                showParagraph(getParagraphIndex(start));
+                int windowEnd = windowStart + text.getText().length();
+                return text.queryAccessibleAttribute(attribute, start - windowStart, Math.min(end, windowEnd) - windowStart);
+            }
+            case OFFSET_AT_POINT: {
+                // The text node shows the paragraphs in view
+                Integer offset = (Integer)text.queryAccessibleAttribute(attribute, parameters);
+                return offset + windowStart;
+            }
+            default: return null;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void dispose() {
         if (getSkinnable() == null) return;
@@ -878,6 +986,9 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         int n = paragraphNodes.getChildren().size();
         int index = -1;
 
+        if (isVirtualized()) {
+            showParagraph(getParagraphAt(y));
+        }
         if (n > 0) {
             if (y < contentView.snappedTopInset()) {
                 // Select the character at x in the first row
@@ -892,7 +1003,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                         + (textArea.getLength() - lastParagraphView.getText().length());
             } else {
                 // Select the character at x in the row at y
-                int paragraphOffset = 0;
+                int paragraphOffset = windowStart;
                 for (int i = 0; i < n; i++) {
                     Text paragraphNode = (Text)paragraphNodes.getChildren().get(i);
 
@@ -929,7 +1040,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         boolean isNewLine =
                 (pos > 0 &&
                         pos <= getSkinnable().getLength() &&
-                        getSkinnable().getText().codePointAt(pos-1) == 0x0a);
+                        getSkinnable().getText(pos - 1, pos).charAt(0) == '\n');
 
         // special handling for a new line
         if (!leading && isNewLine) {
@@ -954,8 +1065,11 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
     @Override public Rectangle2D getCharacterBounds(int index) {
         TextArea textArea = getSkinnable();
 
+        if (isVirtualized()) {
+            showParagraph(getParagraphIndex(index));
+        }
         int paragraphIndex = paragraphNodes.getChildren().size();
-        int paragraphOffset = textArea.getLength() + 1;
+        int paragraphOffset = getWindowEnd() + 1;
 
         Text paragraphNode = null;
         do {
@@ -1178,6 +1292,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
     private void updateTextNodeCaretPos(int pos) {
         Text textNode = getTextNode();
+        pos -= windowStart;
         if (isForwardBias()) {
             textNode.setCaretPosition(pos);
         } else {
@@ -1186,6 +1301,176 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
         textNode.caretBiasProperty().set(isForwardBias());
     }
 
+    /*
+     * Sets the caret path to the caret at the given position.
+     */
+    private void updateCaretPath(int pos) {
+        Text textNode = getTextNode();
+        updateTextNodeCaretPos(pos);
+        caretPath.getElements().clear();
+        caretPath.getElements().addAll(getCaretShape(pos));
+        caretPath.setLayoutX(textNode.getLayoutX());
+        caretPath.setLayoutY(textNode.getLayoutY());
+    }
+
+    /*
+     * Returns the shape of the caret at the given position, relative to the
+     * text node, after the caret position of the text node has been updated.
+     * When the text node does not show the paragraph of the caret, the caret
+     * is measured in its paragraph.
+     */
+    private PathElement[] getCaretShape(int pos) {
+        Text textNode = getTextNode();
+        if (pos >= windowStart && pos <= getWindowEnd()) {
+            return textNode.getCaretShape();
+        }
+        int paragraph = getParagraphIndex(pos);
+        CharSequence text = getSkinnable().getParagraphs().get(paragraph);
+        String leading = text.subSequence(0, pos - getParagraphOffset(paragraph)).toString();
+        double x = Utils.computeTextWidth(textNode.getFont(), leading, 0);
+        double y = (paragraph - windowFirst) * lineHeight;
+        return new PathElement[] { new MoveTo(x, y), new LineTo(x, y + lineHeight) };
+    }
+
+    private boolean isVirtualized() {
+        return textArea.isVirtualized() && !textArea.isWrapText();
+    }
+
+    private int getParagraphIndex(int offset) {
+        return TextAreaHelper.getParagraphIndex(getSkinnable(), offset);
+    }
+
+    private int getParagraphOffset(int paragraphIndex) {
+        return TextAreaHelper.getParagraphOffset(getSkinnable(), paragraphIndex);
+    }
+
+    private int getParagraphEnd(int paragraphIndex) {
+        return getParagraphOffset(paragraphIndex) + getSkinnable().getParagraphs().get(paragraphIndex).length();
+    }
+
+    private int getParagraphAt(double y) {
+        return (int)Math.floor((y - contentView.snappedTopInset()) / lineHeight);
+    }
+
+    private int getWindowEnd() {
+        return windowStart + getTextNode().getText().length();
+    }
+
+    private int getPageParagraphCount() {
+        Bounds viewportBounds = scrollPane.getViewportBounds();
+        double height = (viewportBounds != null) ? viewportBounds.getHeight() : 0;
+        return (lineHeight > 0) ? (int)Math.ceil(height / lineHeight) + 1 : 1;
+    }
+
+    /*
+     * Shows the paragraphs from first to last in the text node, and moves it
+     * to where these paragraphs are in the content.
+     */
+    private void setWindow(int first, int last) {
+        TextArea textArea = getSkinnable();
+        int lastParagraph = textArea.getParagraphs().size() - 1;
+        windowFirst = Math.max(0, Math.min(first, lastParagraph));
+        windowLast = Math.max(windowFirst, Math.min(last, lastParagraph));
+        windowStart = getParagraphOffset(windowFirst);
+
+        Text textNode = getTextNode();
+        textNode.setText(textArea.getText(windowStart, getParagraphEnd(windowLast)));
+        textNode.setLayoutY(contentView.snappedTopInset() + windowFirst * lineHeight);
+        updateTextNodeCaretPos(textArea.getCaretPosition());
+    }
+
+    /*
+     * Shows the paragraphs in view in the text node, and a page of paragraphs
+     * before and after them, unless it shows them already. Returns whether
+     * the text node shows other paragraphs now.
+     */
+    private boolean showVisibleParagraphs() {
+        int pageParagraphs = getPageParagraphCount();
+        int lastParagraph = getSkinnable().getParagraphs().size() - 1;
+        int first = Math.max(0, Math.min(getParagraphAt(getSkinnable().getScrollTop()), lastParagraph));
+        int last = Math.min(first + pageParagraphs, lastParagraph);
+        if (first < windowFirst || last > windowLast) {
+            setWindow(first - pageParagraphs, last + pageParagraphs);
+            return true;
+        }
+        return false;
+    }
+
+    /*
+     * Shows the given paragraph in the text node, so that it can be hit tested
+     * and measured. The text node shows the paragraphs in view again on the
+     * next layout.
+     */
+    private void showParagraph(int paragraph) {
+        if (paragraph < windowFirst || paragraph > windowLast) {
+            int pageParagraphs = getPageParagraphCount();
+            setWindow(paragraph - pageParagraphs, paragraph + pageParagraphs);
+            contentView.requestLayout();
+        }
+    }
+
+    /*
+     * Shows the paragraph of the caret in the text node, and measures the
+     * caret in it.
+     */
+    private void showCaret() {
+        int caretPos = getSkinnable().getCaretPosition();
+        showParagraph(getParagraphIndex(caretPos));
+        updateCaretPath(caretPos);
+    }
+
+    private void updateTextNode() {
+        if (isVirtualized()) {
+            setWindow(windowFirst, windowLast);
+        } else {
+            windowFirst = windowLast = windowStart = 0;
+            longestParagraph = null;
+            getTextNode().setText(getSkinnable().textProperty().getValueSafe());
+        }
+    }
+
+    private CharSequence getLongestParagraph() {
+        if (longestParagraph == null) {
+            longestParagraphLength = -1;
+            for (CharSequence paragraph : getSkinnable().getParagraphs()) {
+                if (paragraph.length() > longestParagraphLength) {
+                    longestParagraph = paragraph;
+                    longestParagraphLength = paragraph.length();
+                }
+            }
+        }
+        return longestParagraph;
+    }
+
+    private void paragraphsChanged(ListChangeListener.Change<?> c) {
+        if (longestParagraph == null) return;
+        while (c.next()) {
+            if (c.getFrom() == c.getTo() && c.getRemoved().contains(longestParagraph)) {
+                longestParagraph = null;
+                return;
+            }
+            for (int i = c.getFrom(); i < c.getTo(); i++) {
+                CharSequence paragraph = (CharSequence)c.getList().get(i);
+                if (paragraph.length() > longestParagraphLength) {
+                    longestParagraph = paragraph;
+                    longestParagraphLength = paragraph.length();
+                }
+            }
+        }
+        if (longestParagraph.length() < longestParagraphLength) {
+            // the longest paragraph got shorter, another one may be longer now
+            longestParagraph = null;
+        }
+    }
+
+    private HitInfo toTextAreaHit(HitInfo hit) {
+        if (windowStart == 0) {
+            return hit;
+        }
+        return HitInfoHelper.createHitInfo(hit.getCharIndex() + windowStart,
+                hit.getInsertionIndex() + windowStart, hit.isLeading());
+    }
+
     // for testing
     void setHandlePressed(boolean pressed) {
         handlePressed = pressed;
@@ -1239,11 +1524,17 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             if (computedPrefWidth < 0) {
                 double prefWidth = 0;
 
-                for (Node node : paragraphNodes.getChildren()) {
-                    Text paragraphNode = (Text)node;
-                    prefWidth = Math.max(prefWidth,
-                            Utils.computeTextWidth(paragraphNode.getFont(),
-                                    paragraphNode.getText(), 0));
+                if (isVirtualized()) {
+                    // Only measure the paragraph with the most characters
+                    prefWidth = Utils.computeTextWidth(getSkinnable().getFont(),
+                            getLongestParagraph().toString(), 0);
+                } else {
+                    for (Node node : paragraphNodes.getChildren()) {
+                        Text paragraphNode = (Text)node;
+                        prefWidth = Math.max(prefWidth,
+                                Utils.computeTextWidth(paragraphNode.getFont(),
+                                        paragraphNode.getText(), 0));
+                    }
                 }
 
                 prefWidth += snappedLeftInset() + snappedRightInset();
@@ -1270,13 +1561,18 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
                 double prefHeight = 0;
 
-                for (Node node : paragraphNodes.getChildren()) {
-                    Text paragraphNode = (Text)node;
-                    prefHeight += Utils.computeTextHeight(
-                            paragraphNode.getFont(),
-                            paragraphNode.getText(),
-                            wrappingWidth,
-                            paragraphNode.getBoundsType());
+                if (isVirtualized()) {
+                    // The paragraphs are not wrapped, so every paragraph is one line
+                    prefHeight = getSkinnable().getParagraphs().size() * lineHeight;
+                } else {
+                    for (Node node : paragraphNodes.getChildren()) {
+                        Text paragraphNode = (Text)node;
+                        prefHeight += Utils.computeTextHeight(
+                                paragraphNode.getFont(),
+                                paragraphNode.getText(),
+                                wrappingWidth,
+                                paragraphNode.getBoundsType());
+                    }
                 }
 
                 prefHeight += snappedTopInset() + snappedBottomInset();
@@ -1307,6 +1603,10 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
             TextArea textArea = getSkinnable();
             double width = getWidth();
 
+            if (isVirtualized()) {
+                showVisibleParagraphs();
+            }
+
             // Lay out paragraphs
             final double topPadding = snappedTopInset();
             final double leftPadding = snappedLeftInset();
@@ -1324,7 +1624,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
                 Bounds bounds = paragraphNode.getBoundsInLocal();
                 paragraphNode.setLayoutX(leftPadding);
-                paragraphNode.setLayoutY(y);
+                paragraphNode.setLayoutY(y + windowFirst * lineHeight);
 
                 y += bounds.getHeight();
             }
@@ -1359,19 +1659,7 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
                 // Position the handle for the anchor. This could be handle1 or handle2.
                 // Do this before positioning the actual caret.
                 if (selection.getLength() > 0) {
-                    int paragraphIndex = paragraphNodesChildren.size();
-                    int paragraphOffset = textArea.getLength() + 1;
-                    Text paragraphNode = null;
-                    do {
-                        paragraphNode = (Text)paragraphNodesChildren.get(--paragraphIndex);
-                        paragraphOffset -= paragraphNode.getText().length() + 1;
-                    } while (anchorPos < paragraphOffset);
-
-                    updateTextNodeCaretPos(anchorPos - paragraphOffset);
-                    caretPath.getElements().clear();
-                    caretPath.getElements().addAll(paragraphNode.getCaretShape());
-                    caretPath.setLayoutX(paragraphNode.getLayoutX());
-                    caretPath.setLayoutY(paragraphNode.getLayoutY());
+                    updateCaretPath(anchorPos);
 
                     Bounds b = caretPath.getBoundsInParent();
                     if (caretPos < anchorPos) {
@@ -1386,34 +1674,25 @@ public class TextAreaSkin extends TextInputControlSkin<TextArea> {
 
             {
                 // Position caret
-                int paragraphIndex = paragraphNodesChildren.size();
-                int paragraphOffset = textArea.getLength() + 1;
-
-                Text paragraphNode = null;
-                do {
-                    paragraphNode = (Text)paragraphNodesChildren.get(--paragraphIndex);
-                    paragraphOffset -= paragraphNode.getText().length() + 1;
-                } while (caretPos < paragraphOffset);
-
-                updateTextNodeCaretPos(caretPos - paragraphOffset);
-
-                caretPath.getElements().clear();
-                caretPath.getElements().addAll(paragraphNode.getCaretShape());
-
-                caretPath.setLayoutX(paragraphNode.getLayoutX());
+                updateCaretPath(caretPos);
 
                 // TODO: Remove this temporary workaround for RT-27533
+                Text paragraphNode = getTextNode();
                 paragraphNode.setLayoutX(2 * paragraphNode.getLayoutX() - paragraphNode.getBoundsInParent().getMinX());
 
-                caretPath.setLayoutY(paragraphNode.getLayoutY());
-                if (oldCaretBounds == null || !oldCaretBounds.equals(caretPath.getBoundsInParent())) {
+                // When the text area is virtualized, a caret that has not
+                // moved is not scrolled to, so that the text area can be
+                // scrolled away from it.
+                if ((oldCaretBounds == null || !oldCaretBounds.equals(caretPath.getBoundsInParent()))
+                        && (caretMoved || !isVirtualized())) {
                     scrollCaretToVisible();
                 }
+                caretMoved = false;
             }
 
             // Update selection fg and bg
-            int start = selection.getStart();
-            int end = selection.getEnd();
+            int start = Math.max(0, selection.getStart() - windowStart);
+            int end = Math.max(0, selection.getEnd() - windowStart);
             for (int i = 0, max = paragraphNodesChildren.size(); i < max; i++) {
                 Node paragraphNode = paragraphNodesChildren.get(i);
                 Text textNode = (Text)paragraphNode;
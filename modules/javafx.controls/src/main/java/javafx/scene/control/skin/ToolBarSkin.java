@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -130,6 +130,7 @@ public class ToolBarSkin extends SkinBase<ToolBar> {
         overflowMenuItems = FXCollections.observableArrayList();
         initialize();
         registerChangeListener(control.orientationProperty(), e -> initialize());
+        registerChangeListener(control.cacheStaticContentProperty(), e -> updateCacheStaticContent());
 
         engine = new ParentTraversalEngine(getSkinnable(), new Algorithm() {
 
@@ -549,6 +550,11 @@ public class ToolBarSkin extends SkinBase<ToolBar> {
      *                                                                         *
      **************************************************************************/
 
+    // only the box of items is cached, the overflow menu changes as it is hovered
+    private void updateCacheStaticContent() {
+        NodeHelper.setCacheStaticContent(box, getSkinnable().isCacheStaticContent());
+    }
+
     private void initialize() {
         if (getSkinnable().getOrientation() == Orientation.VERTICAL) {
             box = new VBox();
@@ -557,6 +563,7 @@ public class ToolBarSkin extends SkinBase<ToolBar> {
         }
         box.getStyleClass().add("container");
         box.getChildren().addAll(getSkinnable().getItems());
+        updateCacheStaticContent();
         overflowMenu = new ToolBarOverflowMenu(overflowMenuItems);
         overflowMenu.setVisible(false);
         overflowMenu.setManaged(false);
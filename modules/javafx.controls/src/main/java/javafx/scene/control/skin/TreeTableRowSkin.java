@@ -25,6 +25,7 @@
 
 package javafx.scene.control.skin;
 
+import java.lang.ref.Reference;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -133,6 +134,8 @@ public class TreeTableRowSkin<T> extends TableRowSkinBase<TreeItem<T>, TreeTable
             if (fixedCellSizeProperty != null) {
                 registerChangeListener(fixedCellSizeProperty, (x) -> {
                     updateCachedFixedSize();
+                    // which cells exist depends on the fixed cell size
+                    isDirty = true;
                 });
                 updateCachedFixedSize();
 
@@ -328,6 +331,27 @@ public class TreeTableRowSkin<T> extends TableRowSkinBase<TreeItem<T>, TreeTable
         cell.updateTableRow(row);
     }
 
+    /** {@inheritDoc} */
+    @Override double lookupFixedCellSize() {
+        TreeTableView<T> treeTableView = getSkinnable().getTreeTableView();
+        return treeTableView == null ? -1 : treeTableView.getFixedCellSize();
+    }
+
+    /** {@inheritDoc} */
+    @Override boolean canReuseCell(TableColumnBase<TreeItem<T>, ?> from, TableColumnBase<TreeItem<T>, ?> to) {
+        // only cells of the default cell factory are known not to depend on
+        // the column they were created for
+        return from instanceof TreeTableColumn && to instanceof TreeTableColumn
+                && (Object) ((TreeTableColumn<?, ?>) from).getCellFactory() == TreeTableColumn.DEFAULT_CELL_FACTORY
+                && (Object) ((TreeTableColumn<?, ?>) to).getCellFactory() == TreeTableColumn.DEFAULT_CELL_FACTORY;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override void reuseCell(TreeTableCell<T, ?> cell, TableColumnBase<TreeItem<T>, ?> column) {
+        ((TreeTableCell<T, Object>) cell).updateTableColumn((TreeTableColumn<T, Object>) column);
+    }
+
     /** {@inheritDoc} */
     @Override protected TreeTableColumn<T, ?> getTableColumn(TreeTableCell cell) {
         return cell.getTableColumn();
@@ -475,7 +499,9 @@ public class TreeTableRowSkin<T> extends TableRowSkinBase<TreeItem<T>, TreeTable
                                 /* This is the row-based case */
                                 column = treeTableView.getVisibleLeafColumn(0);
                             }
-                            TreeTableCell<T,?> cell = cellsMap.get(column).get();
+                            // columns scrolled out of view may not have a cell
+                            Reference<TreeTableCell<T,?>> cellRef = cellsMap.get(column);
+                            TreeTableCell<T,?> cell = cellRef == null ? null : cellRef.get();
                             if (cell != null) selection.add(cell);
                         }
                         return FXCollections.observableArrayList(selection);
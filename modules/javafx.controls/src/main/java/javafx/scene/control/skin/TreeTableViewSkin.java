@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -303,7 +303,14 @@ public class TreeTableViewSkin<T> extends TableViewSkinBase<T, TreeItem<T>, Tree
                     getSkinnable().requestLayout();
                 } else if (e.getEventType().equals(TreeItem.valueChangedEvent())) {
                     // Fix for RT-14971 and RT-15338.
-                    requestRebuildCells();
+                    // With a fixed cell size only the row showing the item
+                    // needs to be updated, see TableViewSkinBase.rowCountListener
+                    int row = flow.getFixedCellSize() > 0 ? getSkinnable().getRow(e.getTreeItem()) : -1;
+                    if (row >= 0) {
+                        requestRowsUpdate(row, row + 1);
+                    } else {
+                        requestRebuildCells();
+                    }
                 } else {
                     // Fix for RT-20090. We are checking to see if the event coming
                     // from the TreeItem root is an event where the count has changed.
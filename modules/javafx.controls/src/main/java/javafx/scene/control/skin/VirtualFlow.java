@@ -26,6 +26,7 @@
 package javafx.scene.control.skin;
 
 import com.sun.javafx.scene.ParentHelper;
+import com.sun.javafx.scene.control.ItemSizeCache;
 import com.sun.javafx.scene.control.Logging;
 import com.sun.javafx.scene.control.Properties;
 import com.sun.javafx.scene.control.VirtualScrollBar;
@@ -58,6 +59,7 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Cell;
+import javafx.scene.control.IndexRange;
 import javafx.scene.control.IndexedCell;
 import javafx.scene.control.ScrollBar;
 import javafx.scene.input.MouseEvent;
@@ -73,6 +75,7 @@ import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementation of a virtualized container using a cell based mechanism. This
@@ -200,6 +203,12 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      */
     T accumCell;
 
+    /*
+     * Handed the cells this flow discards, so that they can be reused by
+     * another flow. May be null.
+     */
+    private Consumer<? super T> cellReleaser;
+
     /**
      * This group is used for holding the 'accumCell'. 'accumCell' must
      * be added to the skin for it to be styled. Otherwise, it doesn't
@@ -273,15 +282,16 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     double estimatedSize = -1d;
 
     /**
-     * A list containing the cached version of the calculated size (height for
-     * vertical, width for horizontal) for a (fictive or real) cell for
-     * each element of the backing data.
-     * This list is used to calculate the estimatedSize.
-     * The list is not expected to be complete, but it is always up to date.
-     * When the size of the items in the backing list changes, this list is
+     * A cache containing the calculated size (height for vertical, width for
+     * horizontal) for a (fictive or real) cell for each element of the backing
+     * data.
+     * This cache is used to calculate the estimatedSize, and to map between
+     * offsets and indices in logarithmic time.
+     * The cache is not expected to be complete, but it is always up to date.
+     * When the size of the items in the backing list changes, this cache is
      * cleared.
      */
-    private ArrayList<Double> itemSizeCache = new ArrayList<>();
+    private final ItemSizeCache itemSizeCache = new ItemSizeCache();
 
     // used for panning the virtual flow
     private double lastX;
@@ -290,6 +300,12 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
     private boolean fixedCellSizeEnabled = false;
 
+    // the range last reported to the prefetch handler, and the scroll direction
+    private int prefetchStart = -1;
+    private int prefetchEnd = -1;
+    private int lastFirstVisibleIndex = -1;
+    private boolean scrolledBackwards = false;
+
     private boolean needsReconfigureCells = false; // when cell contents are the same
     private boolean needsRecreateCells = false; // when cell factory changed
     private boolean needsRebuildCells = false; // when cell contents have changed
@@ -804,9 +820,8 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         if (vertical == null) {
             vertical = new BooleanPropertyBase(true) {
                 @Override protected void invalidated() {
-                    pile.clear();
                     sheetChildren.clear();
-                    cells.clear();
+                    discardCells();
                     lastWidth = lastHeight = -1;
                     setMaxPrefBreadth(-1);
                     setViewportBreadth(0);
@@ -864,6 +879,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
             resetSizeEstimates();
             getOrCreateCellSize(oldIndex);
             recalculateAndImproveEstimatedSize(DEFAULT_IMPROVEMENT, oldIndex, oldOffset);
+            resetPrefetchRange();
 
             boolean countChanged = oldCount != cellCount;
             double boff = computeBaseOffset(oldIndex);
@@ -954,6 +970,101 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     public final DoubleProperty fixedCellSizeProperty() { return fixedCellSize; }
 
 
+    // --- prefetch count
+    private IntegerProperty prefetchCount;
+
+    /**
+     * Sets the number of cells beyond the viewport that are reported to the
+     * {@link #prefetchHandlerProperty() prefetch handler}.
+     * @param value the number of cells to prefetch
+     * @since 22
+     */
+    public final void setPrefetchCount(int value) {
+        prefetchCountProperty().set(value);
+    }
+
+    /**
+     * Returns the number of cells beyond the viewport that are reported to the
+     * prefetch handler.
+     * @return the number of cells to prefetch
+     * @since 22
+     */
+    public final int getPrefetchCount() {
+        return prefetchCount == null ? 0 : prefetchCount.get();
+    }
+
+    /**
+     * The number of cells beyond the viewport, in the direction in which the
+     * VirtualFlow was last scrolled, that are reported to the
+     * {@link #prefetchHandlerProperty() prefetch handler}. The default value
+     * is 0, which disables prefetching.
+     * @return the prefetch count property
+     * @since 22
+     */
+    public final IntegerProperty prefetchCountProperty() {
+        if (prefetchCount == null) {
+            prefetchCount = new SimpleIntegerProperty(this, "prefetchCount") {
+                @Override protected void invalidated() {
+                    resetPrefetchRange();
+                    notifyPrefetch();
+                }
+            };
+        }
+        return prefetchCount;
+    }
+
+
+    // --- prefetch handler
+    private ObjectProperty<Consumer<IndexRange>> prefetchHandler;
+
+    /**
+     * Sets the handler that is notified of the cells that are likely to become
+     * visible next.
+     * @param value the prefetch handler
+     * @since 22
+     */
+    public final void setPrefetchHandler(Consumer<IndexRange> value) {
+        prefetchHandlerProperty().set(value);
+    }
+
+    /**
+     * Returns the handler that is notified of the cells that are likely to
+     * become visible next.
+     * @return the prefetch handler
+     * @since 22
+     */
+    public final Consumer<IndexRange> getPrefetchHandler() {
+        return prefetchHandler == null ? null : prefetchHandler.get();
+    }
+
+    /**
+     * A handler that is notified of the range of cell indices that are likely
+     * to become visible next: the {@link #prefetchCountProperty() prefetchCount}
+     * cells following the last visible cell, or preceding the first visible
+     * cell when the VirtualFlow was last scrolled backwards. This allows
+     * expensive cell content to be prepared, for example on a background
+     * thread, before the cells are shown.
+     * <p>
+     * The handler is called on the JavaFX Application Thread when it is
+     * installed, and after the cells have been laid out whenever the range
+     * changes. It should return quickly, as it delays the layout of the
+     * VirtualFlow.
+     * @return the prefetch handler property
+     * @since 22
+     */
+    public final ObjectProperty<Consumer<IndexRange>> prefetchHandlerProperty() {
+        if (prefetchHandler == null) {
+            prefetchHandler = new SimpleObjectProperty<>(this, "prefetchHandler") {
+                @Override protected void invalidated() {
+                    resetPrefetchRange();
+                    notifyPrefetch();
+                }
+            };
+        }
+        return prefetchHandler;
+    }
+
+
     // --- Cell Factory
     private ObjectProperty<Callback<VirtualFlow<T>, T>> cellFactory;
 
@@ -1074,8 +1185,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
             for (int i = 0, max = cells.size(); i < max; i++) {
                 cells.get(i).updateIndex(-1);
             }
-            cells.clear();
-            pile.clear();
+            discardCells();
             releaseAllPrivateCells();
         } else if (needsRebuildCells) {
             lastWidth = -1;
@@ -1413,6 +1523,47 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         }
     }
 
+    /*
+     * Sets the consumer that is handed the cells this flow discards, either
+     * because the cells are recreated, because the orientation changes or
+     * because the skin that owns this flow is disposed. The cells have been
+     * removed from the flow when they are handed over.
+     */
+    void setCellReleaser(Consumer<? super T> releaser) {
+        cellReleaser = releaser;
+    }
+
+    /*
+     * Removes all the cells, including the cells in the pile, from this flow
+     * and hands them to the cell releaser. Used when the skin that owns this
+     * flow is disposed.
+     */
+    void releaseCells() {
+        addAllToPile();
+        sheetChildren.removeAll(pile);
+        discardCells();
+        lastWidth = -1;
+        lastHeight = -1;
+        setNeedsLayout(true);
+    }
+
+    /*
+     * Drops the cells and the cells in the pile, which must already have been
+     * removed from the sheet, handing them to the cell releaser if there is one.
+     */
+    private void discardCells() {
+        if (cellReleaser != null) {
+            for (int i = 0, max = cells.size(); i < max; i++) {
+                cellReleaser.accept(cells.get(i));
+            }
+            for (int i = 0, max = pile.size(); i < max; i++) {
+                cellReleaser.accept(pile.get(i));
+            }
+        }
+        cells.clear();
+        pile.clear();
+    }
+
     /**
      * Gets a cell for the given index if the cell has been created and laid out.
      * "Visible" is a bit of a misnomer, the cell might not be visible in the
@@ -1893,7 +2044,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     private final void setViewportBreadth(double value) {
         this.viewportBreadth = value;
     }
-    private final double getViewportBreadth() {
+    final double getViewportBreadth() {
         return viewportBreadth;
     }
 
@@ -2278,6 +2429,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      */
     protected void reconfigureCells() {
         needsReconfigureCells = true;
+        resetPrefetchRange();
         requestLayout();
     }
 
@@ -2289,6 +2441,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      */
     protected void recreateCells() {
         needsRecreateCells = true;
+        resetPrefetchRange();
         requestLayout();
     }
 
@@ -2300,6 +2453,7 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
      */
     protected void rebuildCells() {
         needsRebuildCells = true;
+        resetPrefetchRange();
         requestLayout();
     }
 
@@ -2318,6 +2472,38 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         requestLayout();
     }
 
+    /*
+     * Updates the cells that show one of the given indices after the items at
+     * these indices have been replaced, without touching the other cells. A
+     * cell whose item is replaced by an equal item, or by itself, is reset
+     * first so that it is updated regardless (RT-28397). The cells in the pile
+     * are reset so that they are updated when they are reused. This is meant
+     * for cells that all have the same size, as the positions of the cells
+     * are not recomputed.
+     */
+    void resetCells(BitSet indices) {
+        resetPrefetchRange();
+        for (int i = 0, max = pile.size(); i < max; i++) {
+            T cell = pile.get(i);
+            int index = getCellIndex(cell);
+            if (index >= 0 && indices.get(index)) {
+                cell.updateIndex(-1);
+            }
+        }
+        for (int i = 0, max = cells.size(); i < max; i++) {
+            T cell = cells.get(i);
+            int index = getCellIndex(cell);
+            if (index >= 0 && indices.get(index)) {
+                Object oldItem = cell.getItem();
+                setCellIndex(cell, index);
+                if (cell.getItem() == oldItem) {
+                    cell.updateIndex(-1);
+                    setCellIndex(cell, index);
+                }
+            }
+        }
+    }
+
     /**
      * Make sure the sizes of the cells that are likely to be visible are known.
      * When updates to the cell size estimates are occurring, we don't want the current
@@ -2689,6 +2875,57 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         if (getPosition() != lengthBar.getValue()) {
             lengthBar.setValue(getPosition());
         }
+
+        notifyPrefetch();
+    }
+
+    // Forgets the range last reported to the prefetch handler, so that it is
+    // reported again after the items have changed, even if it is the same.
+    private void resetPrefetchRange() {
+        prefetchStart = prefetchEnd = -1;
+    }
+
+    /**
+     * Reports the cells that are likely to become visible next to the
+     * prefetch handler, if there is one. The range extends from the last
+     * visible cell, or from the first visible cell when the flow was last
+     * scrolled backwards, and is only reported when it changes.
+     */
+    private void notifyPrefetch() {
+        final T firstCell = getFirstVisibleCell();
+        if (firstCell == null) return;
+
+        // the scroll direction is tracked even without a handler, so that it
+        // is known as soon as one is installed
+        final int first = firstCell.getIndex();
+        if (lastFirstVisibleIndex != -1 && first != lastFirstVisibleIndex) {
+            scrolledBackwards = first < lastFirstVisibleIndex;
+        }
+        lastFirstVisibleIndex = first;
+
+        final Consumer<IndexRange> handler = getPrefetchHandler();
+        final int count = getPrefetchCount();
+        if (handler == null || count <= 0) return;
+
+        final T lastCell = getLastVisibleCell();
+        if (lastCell == null) return;
+        final int last = lastCell.getIndex();
+
+        final int start, end;
+        if (scrolledBackwards) {
+            start = Math.max(0, first - count);
+            end = first;
+        } else {
+            start = last + 1;
+            end = Math.min(getCellCount(), last + 1 + count);
+        }
+        if (start == prefetchStart && end == prefetchEnd) return;
+        prefetchStart = start;
+        prefetchEnd = end;
+
+        if (start < end) {
+            handler.accept(new IndexRange(start, end));
+        }
     }
 
     /**
@@ -2896,22 +3133,20 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
     private double computeViewportOffset(double position, int localCellCount) {
         double p = com.sun.javafx.util.Utils.clamp(0, position, 1);
-        double bound = 0d;
         double estSize = estimatedSize / localCellCount;
         double maxOff = estimatedSize - getViewportLength();
         if ((maxOff > 0) && (absoluteOffset > maxOff)) {
             return maxOff - absoluteOffset;
         }
+        if (localCellCount <= 0) {
+            return 0d;
+        }
 
-        for (int i = 0; i < localCellCount; i++) {
-            double h = getCellSize(i);
-            if (h < 0) h = estSize;
-            if (bound + h > absoluteOffset) {
-                return absoluteOffset - bound;
-            }
-            bound += h;
+        int index = itemSizeCache.indexAt(absoluteOffset, estSize);
+        if (index >= localCellCount) {
+            return 0d;
         }
-        return 0d;
+        return absoluteOffset - itemSizeCache.offsetOf(index, estSize);
     }
 
     private void adjustPositionToIndex(int index) {
@@ -2922,13 +3157,8 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
         if (cellCount <= 0) {
             setPosition(0.0f);
         } else {
-            double targetOffset = 0;
             double estSize = estimatedSize/cellCount;
-            for (int i = 0; i < index; i++) {
-                double cz = getCellSize(i);
-                if (cz < 0) cz = estSize;
-                targetOffset = targetOffset+ cz;
-            }
+            double targetOffset = itemSizeCache.offsetOf(index, estSize);
             this.absoluteOffset = (estimatedSize < viewportLength)  ? 0  : targetOffset;
             adjustPosition();
         }
@@ -2983,15 +3213,12 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     }
 
     private double computeBaseOffset(int index) {
-        double baseOffset = 0d;
+        if (index <= 0) {
+            return 0d;
+        }
         int currentCellCount = getCellCount();
         double estSize = estimatedSize / currentCellCount;
-        for (int i = 0; i < index; i++) {
-            double nextSize = getCellSize(i);
-            if (nextSize < 0) nextSize = estSize;
-            baseOffset += nextSize;
-        }
-        return baseOffset;
+        return itemSizeCache.offsetOf(index, estSize);
     }
 
     /**
@@ -3003,17 +3230,12 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     }
 
     private int computeCurrentIndex(int currentCellCount) {
-        double total = 0;
-        double estSize = estimatedSize / currentCellCount;
-        for (int i = 0; i < currentCellCount; i++) {
-            double nextSize = getCellSize(i);
-            if (nextSize < 0) nextSize = estSize;
-            total = total + nextSize;
-            if (total > absoluteOffset) {
-                return i;
-            }
+        if (currentCellCount <= 0) {
+            return 0;
         }
-        return currentCellCount == 0 ? 0 : currentCellCount - 1;
+        double estSize = estimatedSize / currentCellCount;
+        int index = itemSizeCache.indexAt(absoluteOffset, estSize);
+        return Math.min(index, currentCellCount - 1);
     }
 
     /**
@@ -3045,21 +3267,14 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
 
     private double getOrCreateCellSize (int idx, boolean create) {
         if (idx < 0) return -1;
-        // is the current cache long enough to contain idx?
-        if (itemSizeCache.size() > idx) {
-            // is there a non-null value stored in the cache?
-            if (itemSizeCache.get(idx) != null) {
-                return itemSizeCache.get(idx);
-            }
+        // is there a size stored in the cache?
+        double cachedSize = itemSizeCache.get(idx);
+        if (cachedSize >= 0) {
+            return cachedSize;
         }
         if (!create) return -1;
         boolean doRelease = false;
 
-        // Make sure we have enough space in the cache to store this index
-        while (idx >= itemSizeCache.size()) {
-            itemSizeCache.add(itemSizeCache.size(), null);
-        }
-
         double answer = 1d;
         if (getFixedCellSize() > 0) {
             answer = getFixedCellSize();
@@ -3098,11 +3313,11 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
     void updateCellSize(T cell) {
         int cellIndex = cell.getIndex();
 
-        if (itemSizeCache.size() > cellIndex) {
-            Double oldSize = itemSizeCache.get(cellIndex);
+        if ((cellIndex >= 0) && (itemSizeCache.size() > cellIndex)) {
+            double oldSize = itemSizeCache.get(cellIndex);
             double newSize = getCellLength(cell);
             itemSizeCache.set(cellIndex, newSize);
-            if ((oldSize != null) && !oldSize.equals(newSize)) {
+            if ((oldSize >= 0) && (oldSize != newSize)) {
                 int currentIndex = computeCurrentIndex();
                 double oldOffset = computeViewportOffset(getPosition());
                 if ((cellIndex == currentIndex) && (oldOffset != 0)) {
@@ -3147,28 +3362,14 @@ public class VirtualFlow<T extends IndexedCell> extends Region {
                 getOrCreateCellSize(itemSizeCache.size());
                 added++;
             }
-            cacheCount = itemSizeCache.size();
-            int cnt = 0;
-            double tot = 0d;
-            for (int i = 0; (i < itemCount && i < cacheCount); i++) {
-                Double il = itemSizeCache.get(i);
-                if (il != null) {
-                    tot = tot + il;
-                    cnt++;
-                }
-            }
+            cacheCount = Math.min(itemCount, itemSizeCache.size());
+            int cnt = itemSizeCache.knownCount(cacheCount);
+            double tot = itemSizeCache.knownSum(cacheCount);
             this.estimatedSize = cnt == 0 ? 1d : tot * itemCount / cnt;
             double estSize = estimatedSize / itemCount;
 
             if (keepRatio) {
-                double newOffset = 0;
-                for (int i = 0; i < oldIndex; i++) {
-                    double h = getCellSize(i);
-                    if (h < 0) {
-                        h = estSize;
-                    }
-                    newOffset += h;
-                }
+                double newOffset = itemSizeCache.offsetOf(oldIndex, estSize);
                 this.absoluteOffset = newOffset + oldOffset;
                 adjustPosition();
             }
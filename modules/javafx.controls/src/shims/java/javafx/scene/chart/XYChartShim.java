@@ -35,6 +35,10 @@ public class XYChartShim {
         return s.getDataSize();
     }
 
+    public static int Series_getRangeScanCount(Series<?, ?> s) {
+        return s.xRange.scanCount + s.yRange.scanCount;
+    }
+
     public static ObservableList<Node> getPlotChildren(XYChart xy) {
         return xy.getPlotChildren();
     }
@@ -29,6 +29,7 @@ import java.util.List;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.collections.ObservableList;
+import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.IndexedCell;
 import javafx.scene.control.TableColumn;
@@ -37,6 +38,7 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeTableRow;
 import javafx.scene.control.TreeTableView;
+import javafx.scene.paint.Paint;
 
 /**
  * Utility methods to access package-private api in Table-related skins.
@@ -177,6 +179,21 @@ public class TableSkinShim {
         return skin.getVirtualFlow();
     }
 
+    public static Paint getCellSelectionFill(TableRow<?> tableRow) {
+        TableRowSkin<?> skin = (TableRowSkin<?>) tableRow.getSkin();
+        return skin.getCellSelectionFill();
+    }
+
+    public static Paint getCellSelectionTextFill(TableRow<?> tableRow) {
+        TableRowSkin<?> skin = (TableRowSkin<?>) tableRow.getSkin();
+        return skin.getCellSelectionTextFill();
+    }
+
+    public static <T> Pos getCellAlignment(TableRow<T> tableRow, TableColumn<T, ?> column) {
+        TableRowSkin<T> skin = (TableRowSkin<T>) tableRow.getSkin();
+        return skin.getCellAlignment(column);
+    }
+
     public static List<IndexedCell<?>> getCells(TableRow tableRow) {
         TableRowSkin skin = (TableRowSkin) tableRow.getSkin();
         return skin.cells;
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.charts;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import com.sun.javafx.charts.Decimator;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecimatorTest {
+
+    private static Decimator create(double[] xs, double[] ys) {
+        Decimator decimator = new Decimator();
+        for (int i = 0; i < xs.length; i++) {
+            decimator.add(xs[i], ys[i]);
+        }
+        return decimator;
+    }
+
+    private static void assertPoints(Decimator decimator, double[] xs, double[] ys) {
+        assertEquals(xs.length, decimator.size());
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(xs[i], decimator.getX(i), "x at " + i);
+            assertEquals(ys[i], decimator.getY(i), "y at " + i);
+        }
+    }
+
+    @Test
+    public void testAddGrowsBuffer() {
+        Decimator decimator = new Decimator();
+        for (int i = 0; i < 1000; i++) {
+            decimator.add(i, -i);
+        }
+        assertEquals(1000, decimator.size());
+        assertEquals(999, decimator.getX(999));
+        assertEquals(-999, decimator.getY(999));
+
+        decimator.clear();
+        assertEquals(0, decimator.size());
+    }
+
+    @Test
+    public void testSortByXIsStable() {
+        Decimator decimator = create(new double[] { 3, 1, 2, 1, 0 }, new double[] { 0, 1, 2, 3, 4 });
+        decimator.sortByX();
+        assertPoints(decimator, new double[] { 0, 1, 1, 2, 3 }, new double[] { 4, 1, 3, 2, 0 });
+    }
+
+    @Test
+    public void testSortByXOfManyPointsIsStable() {
+        Random random = new Random(42);
+        Decimator decimator = new Decimator();
+        List<double[]> expected = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            double x = random.nextInt(100);
+            decimator.add(x, i);
+            expected.add(new double[] { x, i });
+        }
+        expected.sort(Comparator.comparingDouble(p -> p[0]));
+        decimator.sortByX();
+
+        assertEquals(expected.size(), decimator.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i)[0], decimator.getX(i), "x at " + i);
+            assertEquals(expected.get(i)[1], decimator.getY(i), "y at " + i);
+        }
+    }
+
+    @Test
+    public void testSetAll() {
+        Decimator source = create(new double[] { 0, 1, 2 }, new double[] { 3, 4, 5 });
+        Decimator decimator = new Decimator();
+        for (int i = 0; i < 100; i++) {
+            decimator.add(i, i);
+        }
+        decimator.setAll(source);
+        assertPoints(decimator, new double[] { 0, 1, 2 }, new double[] { 3, 4, 5 });
+    }
+
+    @Test
+    public void testReduceMinMaxKeepsFirstMinMaxLastOfEachColumn() {
+        Decimator decimator = create(
+                new double[] { 0.0, 0.2, 0.4, 0.6, 0.8, 1.0, 1.5, 2.1 },
+                new double[] { 5, 9, 1, 4, 6, 3, 7, 2 });
+        decimator.reduceMinMax(1);
+        assertPoints(decimator,
+                new double[] { 0.0, 0.2, 0.4, 0.8, 1.0, 1.5, 2.1 },
+                new double[] { 5, 9, 1, 6, 3, 7, 2 });
+    }
+
+    @Test
+    public void testReduceMinMaxWhenFirstIsExtreme() {
+        Decimator decimator = create(
+                new double[] { 0.0, 0.3, 0.6, 0.9 },
+                new double[] { 9, 5, 1, 5 });
+        decimator.reduceMinMax(1);
+        assertPoints(decimator, new double[] { 0.0, 0.6, 0.9 }, new double[] { 9, 1, 5 });
+    }
+
+    @Test
+    public void testReduceMinMaxKeepsSparsePoints() {
+        Decimator decimator = create(new double[] { 0, 10, 20 }, new double[] { 1, 2, 3 });
+        decimator.reduceMinMax(1);
+        assertPoints(decimator, new double[] { 0, 10, 20 }, new double[] { 1, 2, 3 });
+    }
+
+    @Test
+    public void testReduceMinMaxWithNewPointsIsReductionOfAllPoints() {
+        Random random = new Random(7);
+        Decimator all = new Decimator();
+        Decimator extended = new Decimator();
+        for (int i = 0; i < 1000; i++) {
+            double x = i * 0.05;
+            double y = random.nextDouble();
+            all.add(x, y);
+            extended.add(x, y);
+            if (i % 100 == 99) {
+                extended.reduceMinMax(1);
+            }
+        }
+        all.reduceMinMax(1);
+        extended.reduceMinMax(1);
+
+        assertEquals(all.size(), extended.size());
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(all.getX(i), extended.getX(i), "x at " + i);
+            assertEquals(all.getY(i), extended.getY(i), "y at " + i);
+        }
+    }
+
+    @Test
+    public void testReduceLargestTriangleKeepsSmallSeries() {
+        Decimator decimator = create(new double[] { 0, 1, 2, 3 }, new double[] { 0, 5, 0, 5 });
+        decimator.reduceLargestTriangle(10);
+        assertPoints(decimator, new double[] { 0, 1, 2, 3 }, new double[] { 0, 5, 0, 5 });
+    }
+
+    @Test
+    public void testReduceLargestTriangleKeepsEndPointsAndSpikes() {
+        Decimator decimator = new Decimator();
+        for (int i = 0; i < 1000; i++) {
+            decimator.add(i, i == 500 ? 100 : 0);
+        }
+        decimator.reduceLargestTriangle(20);
+
+        assertEquals(20, decimator.size());
+        assertEquals(0, decimator.getX(0));
+        assertEquals(999, decimator.getX(19));
+        boolean spike = false;
+        for (int i = 0; i < decimator.size(); i++) {
+            if (i > 0) {
+                assertTrue(decimator.getX(i - 1) < decimator.getX(i));
+            }
+            spike |= decimator.getX(i) == 500 && decimator.getY(i) == 100;
+        }
+        assertTrue(spike);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.javafx.scene.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.javafx.scene.control.ItemSizeCache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItemSizeCacheTest {
+
+    private static final double EPSILON = 1e-6;
+
+    private final ItemSizeCache cache = new ItemSizeCache();
+
+    // Reference implementation: null for unknown sizes
+    private final List<Double> reference = new ArrayList<>();
+
+    private void set(int index, double value) {
+        cache.set(index, value);
+        while (reference.size() <= index) {
+            reference.add(null);
+        }
+        reference.set(index, value);
+    }
+
+    private double referenceOffset(int index, double estimate) {
+        double offset = 0;
+        for (int i = 0; i < index; i++) {
+            Double size = i < reference.size() ? reference.get(i) : null;
+            offset += size == null ? estimate : size;
+        }
+        return offset;
+    }
+
+    private int referenceIndex(double offset, double estimate, int count) {
+        double total = 0;
+        for (int i = 0; i < count; i++) {
+            Double size = i < reference.size() ? reference.get(i) : null;
+            total += size == null ? estimate : size;
+            if (total > offset) {
+                return i;
+            }
+        }
+        return count;
+    }
+
+    @Test
+    public void testEmptyCache() {
+        assertEquals(0, cache.size());
+        assertEquals(-1, cache.get(0));
+        assertEquals(-1, cache.get(-1));
+        assertEquals(0, cache.knownCount(10));
+        assertEquals(0, cache.knownSum(10), 0);
+        assertEquals(50, cache.offsetOf(5, 10), 0);
+        assertEquals(4, cache.indexAt(45, 10));
+        assertEquals(Integer.MAX_VALUE, cache.indexAt(45, 0));
+    }
+
+    @Test
+    public void testSetGrowsCache() {
+        cache.set(100, 5);
+        assertEquals(101, cache.size());
+        assertEquals(5, cache.get(100), 0);
+        assertEquals(-1, cache.get(99));
+        assertEquals(1, cache.knownCount(101));
+        assertEquals(0, cache.knownCount(100));
+    }
+
+    @Test
+    public void testReplaceSize() {
+        cache.set(3, 10);
+        cache.set(3, 25);
+        assertEquals(25, cache.get(3), 0);
+        assertEquals(1, cache.knownCount(4));
+        assertEquals(25, cache.knownSum(4), 0);
+    }
+
+    @Test
+    public void testClear() {
+        for (int i = 0; i < 40; i++) {
+            cache.set(i, i);
+        }
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(-1, cache.get(5));
+        cache.set(5, 1);
+        assertEquals(1, cache.knownCount(40));
+        assertEquals(1, cache.knownSum(40), 0);
+    }
+
+    @Test
+    public void testOffsetsAndIndicesMatchLinearScan() {
+        Random random = new Random(7);
+        int count = 2000;
+        for (int i = 0; i < 3000; i++) {
+            int index = random.nextInt(count);
+            set(index, random.nextInt(4) == 0 ? 0 : 10 + random.nextInt(50));
+        }
+        double estimate = 27.5;
+        for (int i = 0; i <= count; i += 13) {
+            assertEquals(referenceOffset(i, estimate), cache.offsetOf(i, estimate), EPSILON);
+        }
+        double total = referenceOffset(count, estimate);
+        for (int i = 0; i < 500; i++) {
+            double offset = random.nextDouble() * total;
+            assertEquals(referenceIndex(offset, estimate, count),
+                    Math.min(count, cache.indexAt(offset, estimate)));
+        }
+    }
+
+    @Test
+    public void testIndexBeyondCachedItems() {
+        set(0, 10);
+        set(1, 20);
+        assertEquals(0, cache.indexAt(9.5, 5));
+        assertEquals(1, cache.indexAt(10, 5));
+        assertEquals(2, cache.indexAt(30, 5));
+        assertEquals(3, cache.indexAt(35, 5));
+        assertEquals(4, cache.indexAt(42, 5));
+        assertEquals(0, cache.indexAt(-1, 5));
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.scene.control;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import javafx.beans.Observable;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.javafx.scene.control.PrefixIndex;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrefixIndexTest {
+
+    private static int[] referenceMatch(List<String> items, String prefix) {
+        String p = prefix.toLowerCase(Locale.ROOT);
+        return IntStream.range(0, items.size())
+                .filter(i -> items.get(i) != null && items.get(i).toLowerCase(Locale.ROOT).startsWith(p))
+                .toArray();
+    }
+
+    private static void assertIndexed(List<String> items, PrefixIndex<String> index, String... prefixes) {
+        assertEquals(items.size(), index.getSnapshot().size());
+        for (String prefix : prefixes) {
+            assertArrayEquals(referenceMatch(items, prefix), index.getSnapshot().match(prefix));
+        }
+    }
+
+    @Test
+    public void testMatchIgnoresCase() {
+        ObservableList<String> items = FXCollections.observableArrayList("Banana", "apple", "blueberry", "Apricot");
+        PrefixIndex<String> index = new PrefixIndex<>(items, s -> s);
+        assertArrayEquals(new int[] { 1, 3 }, index.getSnapshot().match("A"));
+        assertArrayEquals(new int[] { 0, 2 }, index.getSnapshot().match("b"));
+        assertArrayEquals(new int[] { 2 }, index.getSnapshot().match("BLUE"));
+        assertArrayEquals(new int[0], index.getSnapshot().match("cherry"));
+        assertArrayEquals(new int[] { 0, 1, 2, 3 }, index.getSnapshot().match(""));
+    }
+
+    @Test
+    public void testFindWrapsAround() {
+        ObservableList<String> items = FXCollections.observableArrayList("b1", "a", "b2", "c", "b3");
+        PrefixIndex.Snapshot snapshot = new PrefixIndex<>(items, s -> s).getSnapshot();
+        assertEquals(0, snapshot.find("b", 0));
+        assertEquals(2, snapshot.find("b", 1));
+        assertEquals(4, snapshot.find("b", 3));
+        assertEquals(0, snapshot.find("b", 5));
+        assertEquals(-1, snapshot.find("d", 0));
+    }
+
+    @Test
+    public void testFindWithoutIndexMatchesSnapshot() {
+        ObservableList<String> items = FXCollections.observableArrayList("B1", "a", "b2", null, "c", "b3");
+        PrefixIndex.Snapshot snapshot = PrefixIndex.snapshotOf(items, s -> s);
+        for (String prefix : List.of("b", "B2", "a", "d", "")) {
+            for (int start = 0; start <= items.size(); start++) {
+                assertEquals(snapshot.find(prefix, start), PrefixIndex.find(items, s -> s, prefix, start),
+                        prefix + " from " + start);
+            }
+        }
+    }
+
+    @Test
+    public void testNullText() {
+        ObservableList<String> items = FXCollections.observableArrayList("a", null, "b");
+        PrefixIndex<String> index = new PrefixIndex<>(items, s -> s);
+        assertArrayEquals(new int[] { 2 }, index.getSnapshot().match("b"));
+        assertArrayEquals(new int[] { 0, 1, 2 }, index.getSnapshot().match(""));
+    }
+
+    @Test
+    public void testIndexFollowsAdditionsAndRemovals() {
+        ObservableList<String> items = FXCollections.observableArrayList("cherry", "apple", "banana");
+        PrefixIndex<String> index = new PrefixIndex<>(items, s -> s);
+
+        items.add(1, "avocado");
+        assertIndexed(items, index, "a", "b", "c", "av");
+
+        items.addAll(0, List.of("blueberry", "apricot"));
+        assertIndexed(items, index, "a", "b", "c", "bl");
+
+        items.remove(2);
+        assertIndexed(items, index, "a", "b", "c");
+
+        items.removeAll("apple", "blueberry");
+        assertIndexed(items, index, "a", "b", "c");
+
+        items.set(0, "cranberry");
+        assertIndexed(items, index, "a", "b", "c", "cr");
+
+        items.clear();
+        assertIndexed(items, index, "a", "");
+    }
+
+    @Test
+    public void testIndexFollowsPermutations() {
+        ObservableList<String> items = FXCollections.observableArrayList("cherry", "apple", "banana", "avocado");
+        PrefixIndex<String> index = new PrefixIndex<>(items, s -> s);
+
+        FXCollections.sort(items);
+        assertIndexed(items, index, "a", "b", "c");
+
+        FXCollections.sort(items, Collections.reverseOrder());
+        assertIndexed(items, index, "a", "b", "c");
+    }
+
+    @Test
+    public void testIndexFollowsUpdates() {
+        StringProperty first = new SimpleStringProperty("apple");
+        StringProperty second = new SimpleStringProperty("banana");
+        ObservableList<StringProperty> items = FXCollections.observableArrayList(p -> new Observable[] { p });
+        items.addAll(first, second);
+        PrefixIndex<StringProperty> index = new PrefixIndex<>(items, StringProperty::get);
+
+        first.set("cherry");
+        assertArrayEquals(new int[0], index.getSnapshot().match("a"));
+        assertArrayEquals(new int[] { 0 }, index.getSnapshot().match("c"));
+    }
+
+    @Test
+    public void testSnapshotIsNotModified() {
+        ObservableList<String> items = FXCollections.observableArrayList("apple", "banana");
+        PrefixIndex<String> index = new PrefixIndex<>(items, s -> s);
+        PrefixIndex.Snapshot snapshot = index.getSnapshot();
+
+        items.add(0, "avocado");
+        assertArrayEquals(new int[] { 0 }, snapshot.match("a"));
+        assertArrayEquals(new int[] { 0, 1 }, index.getSnapshot().match("a"));
+    }
+
+    @Test
+    public void testOnChangedRunsAfterUpdate() {
+        ObservableList<String> items = FXCollections.observableArrayList("apple");
+        PrefixIndex<String> index = new PrefixIndex<>(items, s -> s);
+        int[][] matched = new int[1][];
+        index.setOnChanged(() -> matched[0] = index.getSnapshot().match("b"));
+
+        items.add("banana");
+        assertArrayEquals(new int[] { 1 }, matched[0]);
+    }
+
+    @Test
+    public void testDisposeStopsUpdates() {
+        ObservableList<String> items = FXCollections.observableArrayList("apple");
+        PrefixIndex<String> index = new PrefixIndex<>(items, s -> s);
+        index.dispose();
+
+        items.add("banana");
+        assertEquals(1, index.getSnapshot().size());
+    }
+
+    @Test
+    public void testRandomChanges() {
+        Random random = new Random(5);
+        String[] words = { "alpha", "beta", "gamma", "delta", "alps", "bet", "gam", "del" };
+        ObservableList<String> items = FXCollections.observableArrayList();
+        for (int i = 0; i < 200; i++) {
+            items.add(words[random.nextInt(words.length)] + i);
+        }
+        PrefixIndex<String> index = new PrefixIndex<>(items, s -> s);
+
+        for (int step = 0; step < 200; step++) {
+            switch (random.nextInt(4)) {
+                case 0 -> items.add(random.nextInt(items.size() + 1), words[random.nextInt(words.length)]);
+                case 1 -> {
+                    if (!items.isEmpty()) items.remove(random.nextInt(items.size()));
+                }
+                case 2 -> {
+                    if (!items.isEmpty()) items.set(random.nextInt(items.size()), words[random.nextInt(words.length)]);
+                }
+                default -> {
+                    List<String> shuffled = new ArrayList<>(items);
+                    Collections.shuffle(shuffled, random);
+                    items.setAll(shuffled);
+                }
+            }
+            assertIndexed(items, index, "a", "al", "alp", "b", "g", "d", "z");
+        }
+    }
+}
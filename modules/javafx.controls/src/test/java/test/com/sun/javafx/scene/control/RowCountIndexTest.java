@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.com.sun.javafx.scene.control;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.javafx.scene.control.RowCountIndex;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RowCountIndexTest {
+
+    private static int referenceSum(int[] counts, int end) {
+        int sum = 0;
+        for (int i = 0; i < end; i++) {
+            sum += counts[i];
+        }
+        return sum;
+    }
+
+    private static int referenceIndex(int[] counts, int row) {
+        int total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            total += counts[i];
+            if (total > row) {
+                return i;
+            }
+        }
+        return counts.length;
+    }
+
+    @Test
+    public void testEmptyIndex() {
+        RowCountIndex index = new RowCountIndex(new int[0]);
+        assertEquals(0, index.size());
+        assertEquals(0, index.total());
+        assertEquals(0, index.sum(0));
+        assertEquals(0, index.sum(5));
+        assertEquals(0, index.indexAt(0));
+        assertEquals(0, index.indexAt(10));
+    }
+
+    @Test
+    public void testSingleElement() {
+        RowCountIndex index = new RowCountIndex(new int[] { 3 });
+        assertEquals(3, index.total());
+        assertEquals(0, index.indexAt(0));
+        assertEquals(0, index.indexAt(2));
+        assertEquals(1, index.indexAt(3));
+        assertEquals(3, index.sum(1));
+    }
+
+    @Test
+    public void testSumAndIndexAt() {
+        int[] counts = { 1, 5, 1, 1, 3 };
+        RowCountIndex index = new RowCountIndex(counts.clone());
+        assertEquals(11, index.total());
+        assertArrayEquals(new int[] { 0, 1, 6, 7, 8, 11 },
+                new int[] { index.sum(0), index.sum(1), index.sum(2), index.sum(3), index.sum(4), index.sum(5) });
+        assertEquals(0, index.indexAt(0));
+        assertEquals(1, index.indexAt(1));
+        assertEquals(1, index.indexAt(5));
+        assertEquals(2, index.indexAt(6));
+        assertEquals(4, index.indexAt(10));
+        assertEquals(5, index.indexAt(11));
+    }
+
+    @Test
+    public void testIndexAtSkipsEmptyElements() {
+        RowCountIndex index = new RowCountIndex(new int[] { 0, 2, 0, 0, 1 });
+        assertEquals(1, index.indexAt(0));
+        assertEquals(1, index.indexAt(1));
+        assertEquals(4, index.indexAt(2));
+        assertEquals(5, index.indexAt(3));
+    }
+
+    @Test
+    public void testSetUpdatesSums() {
+        RowCountIndex index = new RowCountIndex(new int[] { 1, 1, 1, 1 });
+        index.set(1, 10);
+        assertEquals(10, index.get(1));
+        assertEquals(13, index.total());
+        assertEquals(11, index.sum(2));
+        assertEquals(1, index.indexAt(10));
+        assertEquals(2, index.indexAt(11));
+
+        index.set(1, 0);
+        assertEquals(3, index.total());
+        assertEquals(2, index.indexAt(1));
+    }
+
+    @Test
+    public void testRandomUpdatesMatchReference() {
+        Random random = new Random(0);
+        int[] counts = new int[1000];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = random.nextInt(5);
+        }
+        RowCountIndex index = new RowCountIndex(counts.clone());
+
+        for (int step = 0; step < 2000; step++) {
+            int i = random.nextInt(counts.length);
+            int value = random.nextInt(20);
+            counts[i] = value;
+            index.set(i, value);
+
+            int end = random.nextInt(counts.length + 1);
+            assertEquals(referenceSum(counts, end), index.sum(end));
+            int row = random.nextInt(referenceSum(counts, counts.length) + 2);
+            assertEquals(referenceIndex(counts, row), index.indexAt(row));
+        }
+        assertEquals(referenceSum(counts, counts.length), index.total());
+    }
+}
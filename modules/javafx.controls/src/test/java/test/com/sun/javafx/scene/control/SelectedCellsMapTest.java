@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.scene.control;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import javafx.collections.ListChangeListener;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TablePositionBase;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.javafx.scene.control.SelectedCellsMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SelectedCellsMapTest {
+
+    private static class Pos extends TablePositionBase<TableColumn<Object, ?>> {
+        private final int column;
+
+        Pos(int row, int column) {
+            super(row, null);
+            this.column = column;
+        }
+
+        @Override public int getColumn() {
+            return column;
+        }
+
+        @Override public boolean equals(Object obj) {
+            return obj instanceof Pos && ((Pos) obj).getRow() == getRow() && ((Pos) obj).column == column;
+        }
+
+        @Override public int hashCode() {
+            return getRow() * 31 + column;
+        }
+
+        @Override public String toString() {
+            return "(" + getRow() + ", " + column + ")";
+        }
+    }
+
+    private boolean cellSelectionEnabled;
+    private int createdCells;
+    private List<Pos> mirror;
+    private SelectedCellsMap<Pos> map;
+
+    @BeforeEach
+    public void setup() {
+        cellSelectionEnabled = true;
+        createdCells = 0;
+        mirror = new ArrayList<>();
+        map = new SelectedCellsMap<Pos>(this::applyChange, (row, column) -> {
+            createdCells++;
+            return new Pos(row, column);
+        }) {
+            @Override public boolean isCellSelectionEnabled() {
+                return cellSelectionEnabled;
+            }
+        };
+    }
+
+    // replays the change on a plain list, to check that the events describe the selection
+    private void applyChange(ListChangeListener.Change<? extends Pos> c) {
+        if (mirror == null) {
+            return;
+        }
+        while (c.next()) {
+            List<Pos> removed = mirror.subList(c.getFrom(), c.getFrom() + c.getRemovedSize());
+            assertEquals(removed, c.getRemoved());
+            removed.clear();
+            mirror.addAll(c.getFrom(), c.getAddedSubList());
+        }
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column + 2);
+    }
+
+    private void assertMatches(TreeSet<Long> expected) {
+        assertEquals(expected.size(), map.size());
+        assertEquals(expected.isEmpty(), map.isEmpty());
+        int i = 0;
+        for (long k : expected) {
+            Pos pos = map.get(i);
+            assertEquals(k, key(pos.getRow(), pos.getColumn()), "cell " + i);
+            assertEquals(i, map.indexOf(pos));
+            assertTrue(map.isSelected(pos.getRow(), pos.getColumn()));
+            assertTrue(map.isSelected(pos.getRow(), -1));
+            i++;
+        }
+        assertEquals(map.getSelectedCells(), mirror);
+    }
+
+    @Test
+    public void testRandomOperationsMatchReference() {
+        Random random = new Random(7);
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int step = 0; step < 2000; step++) {
+            int row = random.nextInt(40);
+            int column = random.nextInt(6);
+            switch (random.nextInt(7)) {
+                case 0 -> {
+                    map.add(new Pos(row, column));
+                    expected.add(key(row, column));
+                }
+                case 1 -> {
+                    List<Pos> cells = new ArrayList<>();
+                    for (int i = 0; i < 5; i++) {
+                        Pos pos = new Pos(random.nextInt(40), random.nextInt(6));
+                        cells.add(pos);
+                        expected.add(key(pos.getRow(), pos.getColumn()));
+                    }
+                    map.addAll(cells);
+                }
+                case 2 -> {
+                    int toRow = row + random.nextInt(10);
+                    int toColumn = column + random.nextInt(3);
+                    map.addAll(row, toRow, column, toColumn);
+                    for (int r = row; r < toRow; r++) {
+                        for (int c = column; c < toColumn; c++) {
+                            expected.add(key(r, c));
+                        }
+                    }
+                }
+                case 3, 4 -> {
+                    map.remove(new Pos(row, column));
+                    expected.remove(key(row, column));
+                }
+                case 5 -> {
+                    if (random.nextInt(10) == 0) {
+                        map.clear();
+                        expected.clear();
+                    } else {
+                        map.remove(new Pos(row, -1));
+                    }
+                }
+                default -> {
+                    if (random.nextInt(20) == 0) {
+                        int toRow = row + random.nextInt(20);
+                        map.setAll(row, toRow, 0, column);
+                        expected.clear();
+                        for (int r = row; r < toRow; r++) {
+                            for (int c = 0; c < column; c++) {
+                                expected.add(key(r, c));
+                            }
+                        }
+                    }
+                }
+            }
+            assertMatches(expected);
+        }
+    }
+
+    @Test
+    public void testSelectingRangeDoesNotCreatePositions() {
+        mirror = null;
+        map.setAll(0, 1_000_000, 0, 50);
+        assertEquals(50_000_000, map.size());
+        assertTrue(map.isSelected(999_999, 49));
+        assertFalse(map.isSelected(1_000_000, 0));
+        assertFalse(map.isSelected(10, 50));
+        assertEquals(0, createdCells);
+
+        Pos pos = map.get(12_345_678);
+        assertEquals(246_913, pos.getRow());
+        assertEquals(28, pos.getColumn());
+        assertEquals(12_345_678, map.indexOf(pos));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(1, createdCells);
+    }
+
+    @Test
+    public void testAddedPositionsAreReturned() {
+        Pos pos = new Pos(3, 2);
+        map.add(pos);
+        map.addAll(0, 10, 0, 4);
+        assertSame(pos, map.get(map.indexOf(pos)));
+        assertSame(pos, map.getSelectedCells(3).get(2));
+        assertEquals(4, map.getSelectedCells(3).size());
+        assertTrue(map.getSelectedCells(10).isEmpty());
+    }
+
+    @Test
+    public void testRowSelectionModeKeepsFirstPositionInRow() {
+        cellSelectionEnabled = false;
+        map.add(new Pos(1, -1));
+        map.add(new Pos(1, 2));
+        assertEquals(1, map.size());
+        assertTrue(map.isSelected(1, -1));
+        assertFalse(map.isSelected(1, 2));
+
+        // positions that are added together are all kept
+        map.addAll(List.of(new Pos(1, 2), new Pos(2, 2)));
+        assertEquals(3, map.size());
+        assertTrue(map.isSelected(1, 2));
+    }
+
+    @Test
+    public void testSnapshotIsNotAffectedByChanges() {
+        Pos pos = new Pos(1, 1);
+        map.add(pos);
+        map.addAll(0, 3, 0, 2);
+        SelectedCellsMap.Cells<Pos> snapshot = map.snapshot();
+
+        map.remove(pos);
+        map.addAll(5, 6, 0, 1);
+        map.clear();
+
+        assertEquals(6, snapshot.size());
+        assertSame(pos, snapshot.get(3));
+        assertEquals(List.of(new Pos(0, 0), new Pos(0, 1), new Pos(1, 0), new Pos(1, 1), new Pos(2, 0), new Pos(2, 1)), snapshot);
+
+        assertTrue(snapshot.remove(new Pos(1, 0)));
+        assertFalse(snapshot.remove(new Pos(1, 0)));
+        assertEquals(5, snapshot.size());
+        assertEquals(2, snapshot.indexOf(pos));
+        assertEquals(2, snapshot.indexOfRow(1));
+        assertEquals(-1, snapshot.indexOfRow(4));
+    }
+
+    @Test
+    public void testRowsOfSubList() {
+        mirror = null;
+        map.addAll(0, 3, 0, 2);
+        map.addAll(5, 8, 1, 3);
+        assertEquals(List.of(1, 2, 5, 6), SelectedCellsMap.rowsOf(map.getSelectedCells().subList(3, 10)).boxed().collect(Collectors.toList()));
+        assertEquals(List.of(0, 1, 2, 5, 6, 7), SelectedCellsMap.rowsOf(map.snapshot()).boxed().collect(Collectors.toList()));
+        assertEquals(List.of(4, 2), SelectedCellsMap.rowsOf(List.of(new Pos(4, 0), new Pos(2, 0), new Pos(4, 1))).boxed().collect(Collectors.toList()));
+        assertEquals(0, createdCells);
+    }
+
+    @Test
+    public void testChangeEventsDescribeAddedRanges() {
+        List<String> changes = new ArrayList<>();
+        SelectedCellsMap<Pos> recorded = new SelectedCellsMap<Pos>(c -> {
+            while (c.next()) {
+                changes.add(c.getFrom() + "-" + c.getTo());
+            }
+        }, Pos::new) {
+            @Override public boolean isCellSelectionEnabled() {
+                return true;
+            }
+        };
+        recorded.addAll(0, 4, 0, 1);
+        assertEquals(List.of("0-4"), changes);
+
+        // adding a column to rows that already have cells adds one range per row
+        changes.clear();
+        recorded.addAll(1, 3, 1, 2);
+        assertEquals(List.of("2-3", "4-5"), changes);
+
+        changes.clear();
+        recorded.remove(new Pos(2, 0));
+        assertEquals(List.of("3-3"), changes);
+    }
+
+    @Test
+    public void testRemapColumnsMovesAndRemovesCells() {
+        map.addAll(0, 10, 0, 3);
+        map.add(new Pos(12, 2));
+
+        // column 0 is removed, column 1 moves to 2 and column 2 to 0
+        map.remapColumns(column -> switch (column) {
+            case 1 -> 2;
+            case 2 -> 0;
+            default -> SelectedCellsMap.DESELECTED;
+        });
+
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int row = 0; row < 10; row++) {
+            expected.add(key(row, 0));
+            expected.add(key(row, 2));
+        }
+        expected.add(key(12, 0));
+        assertMatches(expected);
+    }
+
+    @Test
+    public void testRemapColumnsKeepsRows() {
+        map.addAll(0, 5, 1, 2);
+
+        map.remapColumns(column -> column == 1 ? -1 : column);
+
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int row = 0; row < 5; row++) {
+            expected.add(key(row, -1));
+        }
+        assertMatches(expected);
+    }
+
+    @Test
+    public void testRemapColumnsToNegativeIndexAndBack() {
+        map.addAll(0, 5, 0, 3);
+
+        map.remapColumns(column -> column == 1 ? -2 : column == 2 ? 1 : column);
+
+        TreeSet<Long> expected = new TreeSet<>();
+        for (int row = 0; row < 5; row++) {
+            expected.add(key(row, -2));
+            expected.add(key(row, 0));
+            expected.add(key(row, 1));
+        }
+        assertMatches(expected);
+
+        map.remapColumns(column -> column == -2 ? 1 : column == 1 ? 2 : column);
+
+        expected.clear();
+        for (int row = 0; row < 5; row++) {
+            for (int column = 0; column < 3; column++) {
+                expected.add(key(row, column));
+            }
+        }
+        assertMatches(expected);
+    }
+
+    @Test
+    public void testRemapColumnsWithoutChangeFiresNoEvent() {
+        int[] events = new int[1];
+        SelectedCellsMap<Pos> other = new SelectedCellsMap<Pos>(c -> events[0]++, Pos::new) {
+            @Override public boolean isCellSelectionEnabled() {
+                return true;
+            }
+        };
+        other.addAll(0, 5, 0, 2);
+        events[0] = 0;
+
+        other.remapColumns(column -> column < 2 ? column : SelectedCellsMap.DESELECTED);
+
+        assertEquals(0, events[0]);
+        assertEquals(10, other.size());
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.scene.control.skin;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.skin.ComboBoxListViewSkin;
+import javafx.scene.control.skin.ListViewSkin;
+import javafx.scene.control.skin.ListViewSkinShim;
+import javafx.scene.layout.HBox;
+
+import org.junit.jupiter.api.Test;
+
+import com.sun.javafx.scene.control.skin.CellPool;
+import com.sun.javafx.tk.Toolkit;
+
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CellPoolTest {
+
+    @Test
+    public void testBorrowCreatesCellsWhenEmpty() {
+        CellPool<ListCell<?>> pool = new CellPool<>(4);
+        ListCell<?> cell = pool.borrow(ListCell::new);
+        assertNotNull(cell);
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(0, pool.getReusedCount());
+    }
+
+    @Test
+    public void testReleasedCellIsReused() {
+        CellPool<ListCell<?>> pool = new CellPool<>(4);
+        ListCell<?> cell = pool.borrow(ListCell::new);
+        pool.release(cell);
+        assertEquals(1, pool.size());
+
+        assertSame(cell, pool.borrow(ListCell::new));
+        assertEquals(0, pool.size());
+        assertEquals(1, pool.getCreatedCount());
+        assertEquals(1, pool.getReusedCount());
+        assertEquals(1, pool.getReleasedCount());
+    }
+
+    @Test
+    public void testPoolIsBounded() {
+        CellPool<ListCell<?>> pool = new CellPool<>(2);
+        List<ListCell<?>> cells = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            cells.add(pool.borrow(ListCell::new));
+        }
+        cells.forEach(pool::release);
+        assertEquals(2, pool.size());
+        assertEquals(1, pool.getDiscardedCount());
+    }
+
+    @Test
+    public void testCustomizedCellsAreDiscarded() {
+        CellPool<ListCell<?>> pool = new CellPool<>(4);
+        ListCell<?> styled = pool.borrow(ListCell::new);
+        ListCell<?> styleClass = pool.borrow(ListCell::new);
+        ListCell<?> subclass = new ListCell<>() { };
+        styled.setStyle("-fx-background-color: red;");
+        styleClass.getStyleClass().add("custom");
+
+        pool.release(styled);
+        pool.release(styleClass);
+        pool.release(subclass);
+        assertEquals(0, pool.size());
+        assertEquals(3, pool.getDiscardedCount());
+    }
+
+    @Test
+    public void testBorrowResetsCellState() {
+        CellPool<ListCell<?>> pool = new CellPool<>(4);
+        ListCell<?> cell = pool.borrow(ListCell::new);
+        cell.updateIndex(3);
+        cell.updateSelected(true);
+        cell.setVisible(false);
+        pool.release(cell);
+
+        assertSame(cell, pool.borrow(ListCell::new));
+        assertEquals(-1, cell.getIndex());
+        assertFalse(cell.isSelected());
+        assertTrue(cell.isVisible());
+    }
+
+    @Test
+    public void testNegativeCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new CellPool<>(-1));
+    }
+
+    @Test
+    public void testListViewReusesDefaultCellsOfDisposedSkin() {
+        ListView<String> listView = new ListView<>();
+        for (int i = 0; i < 10; i++) {
+            listView.getItems().add("item " + i);
+        }
+        StageLoader sl = new StageLoader(listView);
+        Toolkit.getToolkit().firePulse();
+        List<Node> oldCells = new ArrayList<>(listView.lookupAll(".list-cell"));
+        assertFalse(oldCells.isEmpty());
+
+        CellPool<ListCell<?>> pool = ListViewSkinShim.getCellPool(listView);
+        pool.clear();
+        int reused = pool.getReusedCount();
+        listView.setSkin(new ListViewSkin<>(listView));
+        Toolkit.getToolkit().firePulse();
+        assertEquals(0, pool.size());
+        assertTrue(pool.getReusedCount() > reused);
+        for (Node cell : oldCells) {
+            // the cells of the disposed skin are used by the new one
+            assertSame(listView, ((ListCell<?>) cell).getListView());
+        }
+
+        sl.dispose();
+    }
+
+    @Test
+    public void testListViewsDoNotShareCells() {
+        ListView<String> listView = createListView();
+        ListView<String> other = createListView();
+        StageLoader sl = new StageLoader(new HBox(listView, other));
+        Toolkit.getToolkit().firePulse();
+        List<Node> oldCells = new ArrayList<>(listView.lookupAll(".list-cell"));
+
+        listView.setSkin(null);
+        assertTrue(ListViewSkinShim.getCellPool(listView).size() > 0);
+        assertNotSame(ListViewSkinShim.getCellPool(listView), ListViewSkinShim.getCellPool(other));
+
+        other.setSkin(new ListViewSkin<>(other));
+        Toolkit.getToolkit().firePulse();
+        for (Node cell : other.lookupAll(".list-cell")) {
+            assertFalse(oldCells.contains(cell));
+        }
+
+        sl.dispose();
+    }
+
+    @Test
+    public void testListViewDoesNotPoolCellsFromCellFactory() {
+        ListView<String> listView = new ListView<>();
+        listView.getItems().add("item");
+        listView.setCellFactory(lv -> new ListCell<>());
+        StageLoader sl = new StageLoader(listView);
+        Toolkit.getToolkit().firePulse();
+        List<Node> oldCells = new ArrayList<>(listView.lookupAll(".list-cell"));
+
+        listView.setSkin(new ListViewSkin<>(listView));
+        Toolkit.getToolkit().firePulse();
+        for (Node cell : listView.lookupAll(".list-cell")) {
+            assertFalse(oldCells.contains(cell));
+        }
+
+        sl.dispose();
+    }
+
+    @Test
+    public void testListViewReleasesDefaultCellsWhenCellFactoryIsSet() {
+        ListView<String> listView = createListView();
+        StageLoader sl = new StageLoader(listView);
+        Toolkit.getToolkit().firePulse();
+        List<Node> oldCells = new ArrayList<>(listView.lookupAll(".list-cell"));
+
+        CellPool<ListCell<?>> pool = ListViewSkinShim.getCellPool(listView);
+        pool.clear();
+        int released = pool.getReleasedCount();
+        listView.setCellFactory(lv -> new ListCell<>());
+        Toolkit.getToolkit().firePulse();
+        // the default cells discarded by the flow are kept by the pool
+        long detached = oldCells.stream().filter(cell -> ((ListCell<?>) cell).getListView() == null).count();
+        assertTrue(detached > 0);
+        assertEquals(detached, pool.getReleasedCount() - released);
+
+        int reused = pool.getReusedCount();
+        listView.setCellFactory(null);
+        Toolkit.getToolkit().firePulse();
+        assertTrue(pool.getReusedCount() > reused);
+        assertTrue(listView.lookupAll(".list-cell").stream().anyMatch(oldCells::contains));
+
+        sl.dispose();
+    }
+
+    @Test
+    public void testListViewReusesDefaultCellsWhenOrientationChanges() {
+        ListView<String> listView = createListView();
+        StageLoader sl = new StageLoader(listView);
+        Toolkit.getToolkit().firePulse();
+        List<Node> oldCells = new ArrayList<>(listView.lookupAll(".list-cell"));
+
+        CellPool<ListCell<?>> pool = ListViewSkinShim.getCellPool(listView);
+        pool.clear();
+        int created = pool.getCreatedCount();
+        listView.setOrientation(Orientation.HORIZONTAL);
+        Toolkit.getToolkit().firePulse();
+        for (Node cell : listView.lookupAll(".list-cell")) {
+            assertSame(listView, ((ListCell<?>) cell).getListView());
+            assertTrue(oldCells.contains(cell) || pool.getCreatedCount() > created);
+        }
+        assertTrue(listView.lookupAll(".list-cell").stream().anyMatch(oldCells::contains));
+
+        sl.dispose();
+    }
+
+    @Test
+    public void testComboBoxPopupReusesCellsAcrossShowAndHide() {
+        ComboBox<String> comboBox = new ComboBox<>();
+        for (int i = 0; i < 10_000; i++) {
+            comboBox.getItems().add("item " + i);
+        }
+        int[] created = new int[1];
+        comboBox.setCellFactory(lv -> {
+            created[0]++;
+            return new ListCell<>();
+        });
+        StageLoader sl = new StageLoader(comboBox);
+
+        comboBox.show();
+        Toolkit.getToolkit().firePulse();
+        int createdOnFirstShow = created[0];
+        assertTrue(createdOnFirstShow > 0);
+        Node popupContent = ((ComboBoxListViewSkin<?>) comboBox.getSkin()).getPopupContent();
+        List<Node> cells = new ArrayList<>(popupContent.lookupAll(".list-cell"));
+        assertTrue(cells.size() < 100);
+
+        for (int i = 0; i < 3; i++) {
+            comboBox.hide();
+            Toolkit.getToolkit().firePulse();
+            comboBox.show();
+            Toolkit.getToolkit().firePulse();
+            // the popup shows the cells it created when it was first shown
+            assertEquals(createdOnFirstShow, created[0]);
+            assertTrue(cells.containsAll(popupContent.lookupAll(".list-cell")));
+        }
+
+        sl.dispose();
+    }
+
+    private ListView<String> createListView() {
+        ListView<String> listView = new ListView<>();
+        for (int i = 0; i < 10; i++) {
+            listView.getItems().add("item " + i);
+        }
+        return listView;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -34,6 +34,7 @@ import javafx.scene.chart.AreaChart;
 import javafx.scene.chart.Axis;
 import javafx.scene.chart.CategoryAxis;
 import javafx.scene.chart.Chart;
+import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
 import javafx.scene.chart.XYChartShim;
@@ -48,6 +49,7 @@ import javafx.scene.shape.PathElement;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -516,6 +518,31 @@ public class AreaChartTest extends XYChartTestBase {
         assertEquals(0, lineElements.size());
     }
 
+    @Test
+    public void testMinMaxDecimationOfLargeSeries() {
+        startApp();
+        ac.setCreateSymbols(false);
+        ac.setDecimation(LineChart.Decimation.MIN_MAX);
+        List<XYChart.Data<Number, Number>> data = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            data.add(new XYChart.Data<>(i * 0.0009, i % 2 == 0 ? 5d : 25d));
+        }
+        series1.getData().setAll(data);
+        ac.getData().addAll(series1);
+        pulse();
+
+        final ObservableList<Node> children = ((Group) series1.getNode()).getChildren();
+        double width = ac.getXAxis().getWidth();
+        Path fillPath = (Path) children.get(0);
+        Path linePath = (Path) children.get(1);
+        assertTrue(linePath.getElements().size() <= 4 * (Math.ceil(width) + 1) + 1);
+        assertEquals(linePath.getElements().size() + 2, fillPath.getElements().size());
+
+        List<Point2D> points = findDataPointsFromPathLine(ac);
+        assertEquals(5, points.stream().mapToDouble(Point2D::getY).min().getAsDouble(), 0.01);
+        assertEquals(25, points.stream().mapToDouble(Point2D::getY).max().getAsDouble(), 0.01);
+    }
+
     private List<Point2D> convertSeriesDataToPoint2D(XYChart.Series<Number, Number> series) {
         return series.getData().stream()
                 .map(data -> new Point2D(data.getXValue().doubleValue(), data.getYValue().doubleValue()))
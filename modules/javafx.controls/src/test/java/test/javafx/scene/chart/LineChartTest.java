@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -33,12 +33,14 @@ import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
 import javafx.scene.chart.XYChartShim;
+import javafx.scene.layout.Region;
 import javafx.scene.shape.LineTo;
 import javafx.scene.shape.Path;
 import javafx.scene.shape.PathElement;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -692,6 +694,146 @@ public class LineChartTest extends XYChartTestBase {
         assertEquals(0, ((Path)series1.getNode()).getElements().size());
     }
 
+    @Test
+    public void testMinMaxDecimationKeepsSmallSeries() {
+        startApp();
+        lineChart.setDecimation(LineChart.Decimation.MIN_MAX);
+        lineChart.getData().addAll(series1);
+        pulse();
+
+        assertArrayEquals(convertSeriesDataToPoint2D(series1).toArray(), findDataPointsFromPathLine(lineChart).toArray());
+    }
+
+    @Test
+    public void testMinMaxDecimationOfLargeSeries() {
+        startApp();
+        lineChart.setCreateSymbols(false);
+        lineChart.setDecimation(LineChart.Decimation.MIN_MAX);
+        List<XYChart.Data<Number, Number>> data = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            data.add(new XYChart.Data<>(i * 0.0009, i % 2 == 0 ? 5d + i % 7 : 25d - i % 5));
+        }
+        series1.getData().setAll(data);
+        lineChart.getData().addAll(series1);
+        pulse();
+
+        Path line = (Path) series1.getNode();
+        double width = lineChart.getXAxis().getWidth();
+        assertTrue(line.getElements().size() <= 4 * (Math.ceil(width) + 1) + 1);
+
+        // the line still covers the full range of y
+        List<Point2D> points = findDataPointsFromPathLine(lineChart);
+        assertEquals(5, points.stream().mapToDouble(Point2D::getY).min().getAsDouble(), 0.01);
+        assertEquals(25, points.stream().mapToDouble(Point2D::getY).max().getAsDouble(), 0.01);
+        assertEquals(0, points.get(0).getX(), 0.01);
+        assertEquals(89.99, points.get(points.size() - 1).getX(), 0.01);
+    }
+
+    @Test
+    public void testLargestTriangleDecimationOfLargeSeries() {
+        startApp();
+        lineChart.setCreateSymbols(false);
+        lineChart.setDecimation(LineChart.Decimation.LARGEST_TRIANGLE_THREE_BUCKETS);
+        List<XYChart.Data<Number, Number>> data = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            data.add(new XYChart.Data<>(i * 0.0009, 15 + 10 * Math.sin(i / 1000.0)));
+        }
+        series1.getData().setAll(data);
+        lineChart.getData().addAll(series1);
+        pulse();
+
+        Path line = (Path) series1.getNode();
+        double width = lineChart.getXAxis().getWidth();
+        assertTrue(line.getElements().size() <= 2 * Math.ceil(width) + 1);
+
+        List<Point2D> points = findDataPointsFromPathLine(lineChart);
+        assertEquals(0, points.get(0).getX(), 0.01);
+        assertEquals(89.99, points.get(points.size() - 1).getX(), 0.01);
+        for (int i = 1; i < points.size(); i++) {
+            assertTrue(points.get(i - 1).getX() <= points.get(i).getX());
+        }
+    }
+
+    @Test
+    public void testDecimationIsIgnoredWithoutSortingByXAxis() {
+        startApp();
+        lineChart.setDecimation(LineChart.Decimation.MIN_MAX);
+        lineChart.setAxisSortingPolicy(LineChart.SortingPolicy.NONE);
+        List<XYChart.Data<Number, Number>> data = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            data.add(new XYChart.Data<>(i * 0.09, 15d));
+        }
+        series1.getData().setAll(data);
+        lineChart.getData().addAll(series1);
+        pulse();
+
+        assertEquals(1001, ((Path) series1.getNode()).getElements().size());
+    }
+
+    @Test
+    public void testDecimationSkipsSymbols() {
+        startApp();
+        lineChart.setDecimation(LineChart.Decimation.MIN_MAX);
+        lineChart.getData().addAll(series1);
+        pulse();
+        assertEquals(0, countSymbols(lineChart, "chart-line-symbol"));
+
+        lineChart.setDecimation(LineChart.Decimation.NONE);
+        pulse();
+        assertEquals(5, countSymbols(lineChart, "chart-line-symbol"));
+    }
+
+    @Test
+    public void testDecimatedLineIsExtendedWithAppendedData() {
+        startApp();
+        lineChart.setAnimated(false);
+        lineChart.setDecimation(LineChart.Decimation.MIN_MAX);
+        List<XYChart.Data<Number, Number>> data = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            data.add(new XYChart.Data<>(i * 0.004, 15 + 10 * Math.sin(i / 100.0)));
+        }
+        Region marker = new Region();
+        data.get(0).setNode(marker);
+        series1.getData().setAll(data);
+        lineChart.getData().addAll(series1);
+        pulse();
+        final double markerX = marker.getLayoutX();
+
+        // the data items that were already converted are not converted again
+        marker.relocate(-1000, -1000);
+        data.clear();
+        for (int i = 10_000; i < 20_000; i++) {
+            data.add(new XYChart.Data<>(i * 0.004, i == 15_000 ? 29 : 15 + 10 * Math.sin(i / 100.0)));
+        }
+        series1.getData().addAll(data);
+        pulse();
+        assertEquals(-1000, marker.getLayoutX(), 0);
+        List<Point2D> extended = findDataPointsFromPathLine(lineChart);
+        assertEquals(29, extended.stream().mapToDouble(Point2D::getY).max().getAsDouble(), 0.01);
+        assertEquals(79.996, extended.get(extended.size() - 1).getX(), 0.01);
+
+        // the extended line is the line of all data items
+        series1.getData().get(0).setYValue(15);
+        pulse();
+        assertEquals(markerX, marker.getLayoutX(), 0);
+        assertArrayEquals(extended.toArray(), findDataPointsFromPathLine(lineChart).toArray());
+    }
+
+    @Test
+    public void testDecimatedLineIsRecomputedWhenDataIsInserted() {
+        startApp();
+        lineChart.setAnimated(false);
+        lineChart.setDecimation(LineChart.Decimation.LARGEST_TRIANGLE_THREE_BUCKETS);
+        lineChart.getData().addAll(series1);
+        pulse();
+
+        series1.getData().add(1, new XYChart.Data<>(15d, 28d));
+        pulse();
+        List<Point2D> points = findDataPointsFromPathLine(lineChart);
+        assertEquals(6, points.size());
+        assertEquals(new Point2D(15, 28), points.get(1));
+    }
+
     private List<Point2D> convertSeriesDataToPoint2D(XYChart.Series<Number, Number> series) {
         return series.getData().stream()
                 .map(data -> new Point2D(data.getXValue().doubleValue(), data.getYValue().doubleValue()))
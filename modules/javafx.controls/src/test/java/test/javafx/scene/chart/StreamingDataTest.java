@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.chart;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.collections.ListChangeListener;
+import javafx.scene.chart.Chart;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.StreamingData;
+import javafx.scene.chart.XYChart;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingDataTest extends ChartTestBase {
+
+    private LineChart<Number, Number> lineChart;
+    private NumberAxis xAxis;
+    private NumberAxis yAxis;
+    private final StreamingData data = new StreamingData(5);
+
+    @Override protected Chart createChart() {
+        xAxis = new NumberAxis();
+        yAxis = new NumberAxis();
+        xAxis.setForceZeroInRange(false);
+        yAxis.setForceZeroInRange(false);
+        lineChart = new LineChart<>(xAxis, yAxis);
+        lineChart.setCreateSymbols(false);
+        return lineChart;
+    }
+
+    private static void assertValues(List<XYChart.Data<Number, Number>> data, double... xs) {
+        assertEquals(xs.length, data.size());
+        for (int i = 0; i < xs.length; i++) {
+            assertEquals(xs[i], data.get(i).getXValue().doubleValue(), 0);
+            assertEquals(xs[i] * 10, data.get(i).getYValue().doubleValue(), 0);
+        }
+    }
+
+    @Test
+    public void testAppend() {
+        data.append(1, 10);
+        data.append(2, 20);
+        assertValues(data, 1, 2);
+    }
+
+    @Test
+    public void testAppendEvictsOldestSamples() {
+        for (int i = 1; i <= 7; i++) {
+            data.append(i, i * 10);
+        }
+        assertEquals(5, data.getCapacity());
+        assertValues(data, 3, 4, 5, 6, 7);
+    }
+
+    @Test
+    public void testAppendAllIsOneChange() {
+        data.appendAll(new double[] { 1, 2, 3, 4 }, new double[] { 10, 20, 30, 40 });
+        List<XYChart.Data<Number, Number>> removed = new ArrayList<>();
+        List<XYChart.Data<Number, Number>> added = new ArrayList<>();
+        int[] changes = new int[1];
+        data.addListener((ListChangeListener<XYChart.Data<Number, Number>>) c -> {
+            changes[0]++;
+            while (c.next()) {
+                if (c.wasRemoved()) {
+                    assertEquals(0, c.getFrom());
+                    removed.addAll(c.getRemoved());
+                }
+                if (c.wasAdded()) {
+                    added.addAll(c.getAddedSubList());
+                }
+            }
+        });
+        XYChart.Data<Number, Number> first = data.get(0);
+        XYChart.Data<Number, Number> second = data.get(1);
+
+        data.appendAll(new double[] { 5, 6, 7 }, new double[] { 50, 60, 70 });
+
+        assertEquals(1, changes[0]);
+        assertEquals(List.of(first, second), removed);
+        assertValues(added, 5, 6, 7);
+        assertValues(data, 3, 4, 5, 6, 7);
+    }
+
+    @Test
+    public void testDataItemIsCreatedOnce() {
+        data.appendAll(new double[] { 1, 2 }, new double[] { 10, 20 });
+        assertSame(data.get(1), data.get(1));
+        assertEquals(List.of(data.get(0), data.get(1)), List.copyOf(data));
+    }
+
+    @Test
+    public void testRemovedSamplesThatWereNotAccessed() {
+        data.appendAll(new double[] { 1, 2, 3, 4, 5 }, new double[] { 10, 20, 30, 40, 50 });
+        XYChart.Data<Number, Number> second = data.get(1);
+        List<XYChart.Data<Number, Number>> removed = new ArrayList<>();
+        data.addListener((ListChangeListener<XYChart.Data<Number, Number>>) c -> {
+            while (c.next()) {
+                removed.addAll(c.getRemoved());
+            }
+        });
+
+        data.appendAll(new double[] { 6, 7, 8 }, new double[] { 60, 70, 80 });
+
+        assertValues(removed, 1, 2, 3);
+        assertSame(second, removed.get(1));
+    }
+
+    @Test
+    public void testAppendReplacingAllSamplesIsOneReplacement() {
+        data.appendAll(new double[] { 1, 2 }, new double[] { 10, 20 });
+        List<String> changes = new ArrayList<>();
+        data.addListener((ListChangeListener<XYChart.Data<Number, Number>>) c -> {
+            while (c.next()) {
+                changes.add(c.getFrom() + ".." + c.getTo() + " -" + c.getRemovedSize());
+            }
+        });
+
+        data.appendAll(new double[] { 3, 4, 5, 6, 7 }, new double[] { 30, 40, 50, 60, 70 });
+        assertEquals(List.of("0..5 -2"), changes);
+
+        changes.clear();
+        data.append(8, 80);
+        assertEquals(List.of("0..0 -1", "4..5 -0"), changes);
+    }
+
+    @Test
+    public void testAppendAllMoreThanCapacity() {
+        data.append(0, 0);
+        data.appendAll(new double[] { 1, 2, 3, 4, 5, 6, 7, 8 }, new double[] { 10, 20, 30, 40, 50, 60, 70, 80 });
+        assertValues(data, 4, 5, 6, 7, 8);
+    }
+
+    @Test
+    public void testClear() {
+        data.appendAll(new double[] { 1, 2, 3 }, new double[] { 10, 20, 30 });
+        data.clear();
+        assertTrue(data.isEmpty());
+
+        data.append(4, 40);
+        assertValues(data, 4);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testListCannotBeAddedToDirectly() {
+        data.add(new XYChart.Data<>(2, 20));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testListCannotBeRemovedFromDirectly() {
+        data.append(1, 10);
+        data.remove(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCapacityMustBePositive() {
+        new StreamingData(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAppendAllWithDifferentLengths() {
+        data.appendAll(new double[1], new double[2]);
+    }
+
+    @Test
+    public void testAxisRangeFollowsSamples() {
+        startApp();
+        lineChart.getData().add(new XYChart.Series<>("samples", data));
+        data.appendAll(new double[] { 100, 101, 102 }, new double[] { 900, 5, 7 });
+        pulse();
+
+        assertTrue(xAxis.getLowerBound() <= 100);
+        assertTrue(xAxis.getUpperBound() >= 102);
+        assertTrue(yAxis.getUpperBound() >= 900);
+
+        // the spike is evicted, and the range shrinks to the remaining samples
+        data.appendAll(new double[] { 103, 104, 105 }, new double[] { 8, 9, 10 });
+        pulse();
+
+        assertTrue(xAxis.getUpperBound() >= 105);
+        assertTrue(yAxis.getUpperBound() < 900);
+        assertTrue(yAxis.getUpperBound() >= 10);
+        assertTrue(yAxis.getLowerBound() <= 7);
+    }
+
+    @Test
+    public void testAxisRangeIgnoresNaN() {
+        startApp();
+        lineChart.getData().add(new XYChart.Series<>("samples", data));
+        data.appendAll(new double[] { 1, 2, 3 }, new double[] { 10, Double.NaN, 30 });
+        pulse();
+
+        assertTrue(yAxis.getLowerBound() <= 10);
+        assertTrue(yAxis.getUpperBound() >= 30);
+        assertFalse(Double.isNaN(yAxis.getUpperBound()));
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.chart;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javafx.collections.FXCollections;
+import javafx.scene.chart.CategoryAxis;
+import javafx.scene.chart.Chart;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.ValueAxisShim;
+import javafx.scene.chart.XYChart;
+import javafx.scene.chart.XYChartShim;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class XYChartAutoRangeTest extends ChartTestBase {
+
+    private LineChart<Number, Number> lineChart;
+    private NumberAxis xAxis;
+    private NumberAxis yAxis;
+    private final XYChart.Series<Number, Number> series = new XYChart.Series<>();
+
+    @Override protected Chart createChart() {
+        xAxis = new NumberAxis();
+        yAxis = new NumberAxis();
+        lineChart = new LineChart<>(xAxis, yAxis);
+        lineChart.setCreateSymbols(false);
+        return lineChart;
+    }
+
+    private void assertDataRange(double minX, double maxX, double minY, double maxY) {
+        pulse();
+        assertEquals(minX, ValueAxisShim.get_dataMinValue(xAxis), 0);
+        assertEquals(maxX, ValueAxisShim.get_dataMaxValue(xAxis), 0);
+        assertEquals(minY, ValueAxisShim.get_dataMinValue(yAxis), 0);
+        assertEquals(maxY, ValueAxisShim.get_dataMaxValue(yAxis), 0);
+    }
+
+    private void showSeries(double... ys) {
+        List<XYChart.Data<Number, Number>> data = new ArrayList<>();
+        for (int i = 0; i < ys.length; i++) {
+            data.add(new XYChart.Data<>(i, ys[i]));
+        }
+        series.getData().setAll(data);
+        lineChart.getData().add(series);
+        startApp();
+    }
+
+    @Test
+    public void testRangeOfAddedData() {
+        showSeries(5, 3, 8);
+        assertDataRange(0, 2, 3, 8);
+
+        series.getData().add(new XYChart.Data<>(3, 20));
+        assertDataRange(0, 3, 3, 20);
+
+        series.getData().add(0, new XYChart.Data<>(-1, -4));
+        assertDataRange(-1, 3, -4, 20);
+    }
+
+    @Test
+    public void testRangeShrinksWhenExtremeIsRemoved() {
+        showSeries(5, 30, 8, 2);
+        assertDataRange(0, 3, 2, 30);
+
+        series.getData().remove(1);
+        assertDataRange(0, 3, 2, 8);
+
+        series.getData().remove(2);
+        assertDataRange(0, 2, 5, 8);
+    }
+
+    @Test
+    public void testRangeAfterRemovingInnerValue() {
+        showSeries(5, 30, 8, 2);
+        series.getData().remove(2);
+        assertDataRange(0, 3, 2, 30);
+    }
+
+    @Test
+    public void testRangeFollowsChangedValues() {
+        showSeries(5, 30, 8);
+        series.getData().get(1).setYValue(6);
+        assertDataRange(0, 2, 5, 8);
+
+        series.getData().get(0).setYValue(-7);
+        series.getData().get(2).setXValue(10);
+        assertDataRange(0, 10, -7, 8);
+    }
+
+    @Test
+    public void testRangeOfReplacedData() {
+        showSeries(5, 30, 8);
+        series.getData().set(1, new XYChart.Data<>(1, 9));
+        assertDataRange(0, 2, 5, 9);
+
+        series.setData(FXCollections.observableArrayList(new XYChart.Data<>(4, 1), new XYChart.Data<>(6, 2)));
+        assertDataRange(4, 6, 1, 2);
+    }
+
+    @Test
+    public void testRangeWithNaN() {
+        showSeries(5, Double.NaN, 8);
+        assertDataRange(0, 2, Double.NaN, Double.NaN);
+
+        series.getData().remove(1);
+        assertDataRange(0, 2, 5, 8);
+    }
+
+    @Test
+    public void testSlidingWindowDoesNotRescanData() {
+        lineChart.setAnimated(false);
+        showSeries(new double[100]);
+        pulse();
+        final int scans = XYChartShim.Series_getRangeScanCount(series);
+
+        Random random = new Random(3);
+        for (int i = 100; i < 2100; i++) {
+            // the oldest item is often the smallest or the largest
+            series.getData().remove(0);
+            series.getData().add(new XYChart.Data<>(i, random.nextInt(1000) - i % 7 * 100));
+            if (i % 10 == 0) {
+                double minY = Double.POSITIVE_INFINITY;
+                double maxY = Double.NEGATIVE_INFINITY;
+                for (XYChart.Data<Number, Number> item : series.getData()) {
+                    minY = Math.min(minY, item.getYValue().doubleValue());
+                    maxY = Math.max(maxY, item.getYValue().doubleValue());
+                }
+                assertDataRange(i - 99, i, minY, maxY);
+            }
+        }
+        assertEquals(scans, XYChartShim.Series_getRangeScanCount(series));
+
+        // inserting in the middle still computes the range again
+        series.getData().add(50, new XYChart.Data<>(5000, 0));
+        pulse();
+        assertEquals(2000, ValueAxisShim.get_dataMinValue(xAxis), 0);
+        assertEquals(5000, ValueAxisShim.get_dataMaxValue(xAxis), 0);
+        assertTrue(XYChartShim.Series_getRangeScanCount(series) > scans);
+    }
+
+    @Test
+    public void testRangeOfSeveralSeries() {
+        showSeries(5, 30, 8);
+        XYChart.Series<Number, Number> other = new XYChart.Series<>();
+        other.getData().add(new XYChart.Data<>(-3, 50));
+        lineChart.getData().add(other);
+        assertDataRange(-3, 2, 5, 50);
+
+        lineChart.getData().remove(other);
+        assertDataRange(0, 2, 5, 30);
+    }
+
+    @Test
+    public void testCategoryOrderIsKept() {
+        CategoryAxis categoryAxis = new CategoryAxis();
+        LineChart<String, Number> chart = new LineChart<>(categoryAxis, new NumberAxis());
+        chart.setAnimated(false);
+        XYChart.Series<String, Number> categories = new XYChart.Series<>();
+        categories.getData().addAll(new XYChart.Data<>("B", 1), new XYChart.Data<>("C", 2), new XYChart.Data<>("B", 3));
+        chart.getData().add(categories);
+        startApp();
+        getTestScene().setRoot(chart);
+        pulse();
+        assertEquals(List.of("B", "C"), categoryAxis.getCategories());
+
+        categories.getData().add(0, new XYChart.Data<>("A", 4));
+        pulse();
+        assertEquals(List.of("A", "B", "C"), categoryAxis.getCategories());
+
+        categories.getData().remove(2);
+        pulse();
+        assertEquals(List.of("A", "B"), categoryAxis.getCategories());
+        assertEquals(0, categoryAxis.toNumericValue("A"), 0);
+        assertEquals(1, categoryAxis.toNumericValue("B"), 0);
+        assertEquals(-1, categoryAxis.toNumericValue("C"), 0);
+        assertTrue(categoryAxis.isValueOnAxis("B"));
+        assertTrue(Double.isNaN(categoryAxis.getDisplayPosition("C")));
+    }
+}
@@ -25,6 +25,7 @@
 
 package test.javafx.scene.control;
 
+import com.sun.javafx.scene.control.BackgroundExecutor;
 import com.sun.javafx.scene.control.behavior.FocusTraversalInputMap;
 import com.sun.javafx.scene.control.behavior.ListViewBehavior;
 import com.sun.javafx.scene.control.inputmap.InputMap;
@@ -41,6 +42,7 @@ import javafx.css.PseudoClass;
 import test.com.sun.javafx.scene.control.infrastructure.KeyEventFirer;
 import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
 import javafx.scene.control.skin.ComboBoxListViewSkin;
+import javafx.scene.control.skin.ComboBoxListViewSkinShim;
 
 import static test.com.sun.javafx.scene.control.infrastructure.ControlTestUtils.assertStyleClassContains;
 import static org.junit.Assert.*;
@@ -2318,4 +2320,138 @@ public class ComboBoxTest {
 
         assertEquals("ComboBox skinProperty changed more than once, which is not expected.", 1, skinChangedCount);
     }
+
+    @Test public void testTypeAheadSelectsItemByConverterText() {
+        ComboBox<Integer> cb = new ComboBox<>(FXCollections.observableArrayList(1, 2, 3));
+        cb.setConverter(new StringConverter<>() {
+            @Override public String toString(Integer value) {
+                return value == null ? null : new String[] { "", "one", "two", "three" }[value];
+            }
+            @Override public Integer fromString(String string) {
+                return null;
+            }
+        });
+        sl = new StageLoader(cb);
+        KeyEventFirer keyboard = new KeyEventFirer(cb);
+
+        keyboard.doKeyTyped(KeyCode.T);
+        assertEquals(Integer.valueOf(2), cb.getValue());
+        keyboard.doKeyTyped(KeyCode.H);
+        assertEquals(Integer.valueOf(3), cb.getValue());
+    }
+
+    @Test public void testTypeAheadIsNotUsedWhenEditable() {
+        ComboBox<String> cb = new ComboBox<>(FXCollections.observableArrayList("apple", "banana"));
+        cb.setEditable(true);
+        sl = new StageLoader(cb);
+        cb.requestFocus();
+        KeyEventFirer keyboard = new KeyEventFirer(cb);
+
+        keyboard.doKeyTyped(KeyCode.B);
+        assertNull(cb.getValue());
+        assertEquals("B", cb.getEditor().getText());
+    }
+
+    @Test public void testFilterableComboBoxFiltersPopupItems() {
+        ComboBox<String> cb = new ComboBox<>(FXCollections.observableArrayList("apple", "banana", "blueberry", "cherry"));
+        cb.setEditable(true);
+        cb.setFilterable(true);
+        sl = new StageLoader(cb);
+        cb.requestFocus();
+        ListView<String> listView = (ListView<String>) ((ComboBoxListViewSkin) cb.getSkin()).getPopupContent();
+        KeyEventFirer keyboard = new KeyEventFirer(cb);
+
+        keyboard.doKeyTyped(KeyCode.B);
+        assertTrue(cb.isShowing());
+        assertEquals(List.of("banana", "blueberry"), listView.getItems());
+        assertEquals(4, cb.getItems().size());
+
+        keyboard.doKeyTyped(KeyCode.L);
+        assertEquals(List.of("blueberry"), listView.getItems());
+
+        cb.getEditor().clear();
+        assertEquals(cb.getItems(), listView.getItems());
+    }
+
+    @Test public void testFilterableComboBoxSelectsFilteredItems() {
+        ComboBox<String> cb = new ComboBox<>(FXCollections.observableArrayList("apple", "banana", "avocado", "blueberry"));
+        cb.setEditable(true);
+        cb.setFilterable(true);
+        sl = new StageLoader(cb);
+        cb.requestFocus();
+        ListView<String> listView = (ListView<String>) ((ComboBoxListViewSkin) cb.getSkin()).getPopupContent();
+        KeyEventFirer keyboard = new KeyEventFirer(cb);
+
+        keyboard.doKeyTyped(KeyCode.B);
+        assertEquals(List.of("banana", "blueberry"), listView.getItems());
+
+        // the arrow keys move between the shown items
+        keyboard.doDownArrowPress();
+        assertEquals("banana", cb.getValue());
+        keyboard.doDownArrowPress();
+        assertEquals("blueberry", cb.getValue());
+        assertEquals(3, cb.getSelectionModel().getSelectedIndex());
+        assertEquals(1, listView.getSelectionModel().getSelectedIndex());
+        assertEquals(List.of("banana", "blueberry"), listView.getItems());
+
+        // selecting in the list view selects the corresponding item
+        listView.getSelectionModel().select(0);
+        assertEquals("banana", cb.getValue());
+        assertEquals(1, cb.getSelectionModel().getSelectedIndex());
+
+        // hiding the popup shows all items again
+        cb.hide();
+        assertEquals(cb.getItems(), listView.getItems());
+        assertEquals(1, listView.getSelectionModel().getSelectedIndex());
+    }
+
+    @Test public void testFilterableComboBoxFollowsItemChanges() {
+        ComboBox<String> cb = new ComboBox<>(FXCollections.observableArrayList("apple", "banana"));
+        cb.setEditable(true);
+        cb.setFilterable(true);
+        sl = new StageLoader(cb);
+        cb.requestFocus();
+        ListView<String> listView = (ListView<String>) ((ComboBoxListViewSkin) cb.getSkin()).getPopupContent();
+        KeyEventFirer keyboard = new KeyEventFirer(cb);
+
+        keyboard.doKeyTyped(KeyCode.B);
+        assertEquals(List.of("banana"), listView.getItems());
+
+        cb.getItems().add(0, "blueberry");
+        assertEquals(List.of("blueberry", "banana"), listView.getItems());
+    }
+
+    @Test public void testFilterableComboBoxFiltersLargeListsInBackground() {
+        Deque<Runnable> queue = new ArrayDeque<>();
+        BackgroundExecutor.setExecutor(queue::add);
+        try {
+            List<String> items = new ArrayList<>();
+            for (int i = 0; i < ComboBoxListViewSkinShim.MIN_BACKGROUND_FILTER_SIZE; i++) {
+                items.add((i % 2 == 0 ? "even " : "odd ") + i);
+            }
+            ComboBox<String> cb = new ComboBox<>(FXCollections.observableArrayList(items));
+            cb.setEditable(true);
+            cb.setFilterable(true);
+            sl = new StageLoader(cb);
+            cb.requestFocus();
+            ListView<String> listView = (ListView<String>) ((ComboBoxListViewSkin) cb.getSkin()).getPopupContent();
+            KeyEventFirer keyboard = new KeyEventFirer(cb);
+
+            keyboard.doKeyTyped(KeyCode.O);
+            assertEquals(1, queue.size());
+            assertEquals(items.size(), listView.getItems().size());
+
+            // a newer filter discards the result of an older one
+            keyboard.doKeyTyped(KeyCode.D);
+            assertEquals(2, queue.size());
+            queue.poll().run();
+            assertEquals(items.size(), listView.getItems().size());
+
+            queue.poll().run();
+            assertEquals(items.size() / 2, listView.getItems().size());
+            assertEquals("odd 1", listView.getItems().get(0));
+        } finally {
+            BackgroundExecutor.setExecutor(null);
+        }
+    }
 }
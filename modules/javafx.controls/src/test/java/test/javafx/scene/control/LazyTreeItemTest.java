@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package test.javafx.scene.control;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.control.LazyTreeItem;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.javafx.tk.Toolkit;
+
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LazyTreeItemTest {
+
+    private Deque<Runnable> queue;
+    private List<String> requests;
+    private int childCount;
+    private IOException failure;
+    private StageLoader stageLoader;
+
+    /**
+     * An executor that runs tasks only when asked to, so the tests can
+     * control when pages are loaded. Results are delivered through
+     * Platform.runLater, which the stub toolkit runs immediately.
+     */
+    private final Executor executor = r -> queue.add(r);
+
+    @BeforeEach
+    public void setup() {
+        queue = new ArrayDeque<>();
+        requests = new ArrayList<>();
+        childCount = 250;
+        failure = null;
+    }
+
+    @AfterEach
+    public void cleanup() {
+        if (stageLoader != null) {
+            stageLoader.dispose();
+        }
+    }
+
+    private LazyTreeItem<String> createItem() {
+        LazyTreeItem<String> item = new LazyTreeItem<>("root", (value, offset, count) -> {
+            requests.add(value + ":" + offset + ":" + count);
+            if (failure != null) {
+                throw failure;
+            }
+            List<TreeItem<String>> page = new ArrayList<>();
+            for (int i = offset; i < Math.min(childCount, offset + count); i++) {
+                page.add(new TreeItem<>("child " + i));
+            }
+            return page;
+        }, executor);
+        item.setPageSize(100);
+        return item;
+    }
+
+    private void runQueue() {
+        while (!queue.isEmpty()) {
+            queue.poll().run();
+        }
+    }
+
+    @Test
+    public void testPlaceholderBeforeLoading() {
+        LazyTreeItem<String> item = createItem();
+        assertEquals(1, item.getChildren().size());
+        assertTrue(LazyTreeItem.isPlaceholder(item.getChildren().get(0)));
+        assertFalse(item.isLeaf());
+        assertFalse(item.isLoading());
+        assertFalse(LazyTreeItem.isPlaceholder(item));
+        assertFalse(LazyTreeItem.isPlaceholder(null));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testDefaultLoaderThreadsAreReservedForBlockingWork() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        String[] threadName = new String[1];
+        LazyTreeItem<String> item = new LazyTreeItem<>("root", (value, offset, count) -> {
+            threadName[0] = Thread.currentThread().getName();
+            loaded.countDown();
+            return List.of();
+        });
+
+        item.setExpanded(true);
+
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        assertTrue(threadName[0].startsWith("JavaFX Control Loader-"), threadName[0]);
+    }
+
+    @Test
+    public void testExpandingLoadsFirstPage() {
+        LazyTreeItem<String> item = createItem();
+        item.setExpanded(true);
+        assertTrue(item.isLoading());
+        assertEquals(1, item.getChildren().size());
+
+        runQueue();
+        assertEquals(List.of("root:0:100"), requests);
+        assertFalse(item.isLoading());
+        assertEquals(101, item.getChildren().size());
+        assertEquals("child 0", item.getChildren().get(0).getValue());
+        assertTrue(LazyTreeItem.isPlaceholder(item.getChildren().get(100)));
+        assertFalse(item.isFullyLoaded());
+    }
+
+    @Test
+    public void testLoadingAllPagesRemovesPlaceholder() {
+        LazyTreeItem<String> item = createItem();
+        item.setExpanded(true);
+        runQueue();
+        item.loadNextPage();
+        runQueue();
+        item.loadNextPage();
+        runQueue();
+
+        assertEquals(List.of("root:0:100", "root:100:100", "root:200:100"), requests);
+        assertEquals(250, item.getChildren().size());
+        assertEquals("child 249", item.getChildren().get(249).getValue());
+        assertTrue(item.isFullyLoaded());
+
+        // nothing more to load
+        item.loadNextPage();
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testNoChildrenMakesItemLeaf() {
+        childCount = 0;
+        LazyTreeItem<String> item = createItem();
+        item.setExpanded(true);
+        runQueue();
+        assertTrue(item.getChildren().isEmpty());
+        assertTrue(item.isLeaf());
+        assertTrue(item.isFullyLoaded());
+    }
+
+    @Test
+    public void testLoadNextPageWhileLoadingIsIgnored() {
+        LazyTreeItem<String> item = createItem();
+        item.setExpanded(true);
+        item.loadNextPage();
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    public void testCollapsingCancelsLoad() {
+        LazyTreeItem<String> item = createItem();
+        item.setExpanded(true);
+        item.setExpanded(false);
+        assertFalse(item.isLoading());
+
+        runQueue();
+        assertTrue(requests.isEmpty());
+        assertEquals(1, item.getChildren().size());
+
+        // expanding again requests the first page again
+        item.setExpanded(true);
+        runQueue();
+        assertEquals(101, item.getChildren().size());
+    }
+
+    @Test
+    public void testResultOfCancelledLoadIsDiscarded() {
+        LazyTreeItem<String> item = createItem();
+        item.setExpanded(true);
+        Runnable task = queue.poll();
+        item.cancel();
+        task.run();
+        assertEquals(1, item.getChildren().size());
+        assertFalse(item.isLoading());
+    }
+
+    @Test
+    public void testFailedLoadSetsException() {
+        failure = new IOException("unavailable");
+        LazyTreeItem<String> item = createItem();
+        item.setExpanded(true);
+        runQueue();
+        assertSame(failure, item.getException());
+        assertFalse(item.isLoading());
+        assertEquals(1, item.getChildren().size());
+
+        failure = null;
+        item.loadNextPage();
+        assertNull(item.getException());
+        runQueue();
+        assertEquals(101, item.getChildren().size());
+    }
+
+    @Test
+    public void testPageSizeAppliesToNextPage() {
+        LazyTreeItem<String> item = createItem();
+        item.setExpanded(true);
+        runQueue();
+        item.setPageSize(20);
+        item.loadNextPage();
+        runQueue();
+        assertEquals(List.of("root:0:100", "root:100:20"), requests);
+        assertEquals(121, item.getChildren().size());
+    }
+
+    @Test
+    public void testReloadDiscardsChildren() {
+        LazyTreeItem<String> item = createItem();
+        item.setExpanded(true);
+        runQueue();
+        childCount = 5;
+        item.reload();
+        runQueue();
+        assertEquals(5, item.getChildren().size());
+        assertTrue(item.isFullyLoaded());
+    }
+
+    @Test
+    public void testTreeViewLoadsPagesAsPlaceholderIsShown() {
+        LazyTreeItem<String> root = createItem();
+        TreeView<String> treeView = new TreeView<>(root);
+        stageLoader = new StageLoader(treeView);
+        root.setExpanded(true);
+        runQueue();
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(102, treeView.getExpandedItemCount());
+        assertTrue(queue.isEmpty(), "the placeholder is not visible yet");
+
+        treeView.scrollTo(101);
+        Toolkit.getToolkit().firePulse();
+        assertEquals(1, queue.size());
+        runQueue();
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(202, treeView.getExpandedItemCount());
+        assertEquals("child 150", treeView.getTreeItem(151).getValue());
+        assertEquals(151, treeView.getRow(root.getChildren().get(150)));
+    }
+}
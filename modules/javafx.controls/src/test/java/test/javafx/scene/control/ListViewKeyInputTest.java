@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -32,7 +32,13 @@ import javafx.collections.ObservableList;
 import javafx.scene.Group;
 import javafx.scene.control.Button;
 import javafx.scene.input.KeyCode;
+import javafx.util.StringConverter;
+import javafx.util.converter.DefaultStringConverter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
+import com.sun.javafx.scene.control.BackgroundExecutor;
 import com.sun.javafx.PlatformUtil;
 import com.sun.javafx.util.Utils;
 import test.com.sun.javafx.scene.control.behavior.ListViewAnchorRetriever;
@@ -2412,4 +2418,124 @@ public class ListViewKeyInputTest {
 
         assertDoesNotThrow(() -> keyboard.doKeyPress(KeyCode.BACK_SLASH, KeyModifier.CTRL));
     }
+
+    /***************************************************************************
+     * Type-ahead
+     **************************************************************************/
+
+    private void enableTypeAhead() {
+        listView.setTypeAheadConverter(new DefaultStringConverter());
+    }
+
+    @Test public void testTypeAheadIsDisabledByDefault() {
+        listView.getItems().setAll("apple", "banana");
+
+        keyboard.doKeyTyped(KeyCode.B);
+        assertTrue(sm.getSelectedIndices().isEmpty());
+    }
+
+    @Test public void testTypeAheadSelectsItemStartingWithTypedText() {
+        enableTypeAhead();
+        listView.getItems().setAll("apple", "banana", "blueberry", "cherry");
+
+        keyboard.doKeyTyped(KeyCode.B);
+        assertTrue(debug(), isSelected(1));
+        assertEquals(1, fm.getFocusedIndex());
+
+        keyboard.doKeyTyped(KeyCode.L);
+        assertTrue(debug(), isSelected(2));
+        assertTrue(isNotSelected(0, 1, 3));
+    }
+
+    @Test public void testTypeAheadMatchesConverterText() {
+        listView.getItems().setAll("1", "2", "3");
+        listView.setTypeAheadConverter(new StringConverter<>() {
+            @Override public String toString(String item) {
+                return List.of("one", "two", "three").get(Integer.parseInt(item) - 1);
+            }
+
+            @Override public String fromString(String text) {
+                throw new UnsupportedOperationException();
+            }
+        });
+
+        keyboard.doKeyTyped(KeyCode.T);
+        assertTrue(debug(), isSelected(1));
+        keyboard.doKeyTyped(KeyCode.H);
+        assertTrue(debug(), isSelected(2));
+
+        // the text of the items themselves does not match
+        keyboard.doKeyTyped(KeyCode.DIGIT1);
+        assertTrue(debug(), isSelected(2));
+    }
+
+    @Test public void testTypeAheadRepeatedCharacterCyclesThroughItems() {
+        enableTypeAhead();
+        listView.getItems().setAll("b1", "a", "b2", "b3");
+        sm.clearAndSelect(1);
+
+        keyboard.doKeyTyped(KeyCode.B);
+        assertTrue(debug(), isSelected(2));
+        keyboard.doKeyTyped(KeyCode.B);
+        assertTrue(debug(), isSelected(3));
+        keyboard.doKeyTyped(KeyCode.B);
+        assertTrue(debug(), isSelected(0));
+        keyboard.doKeyTyped(KeyCode.B);
+        assertTrue(debug(), isSelected(2));
+    }
+
+    @Test public void testTypeAheadWithoutMatchKeepsSelection() {
+        enableTypeAhead();
+        listView.getItems().setAll("apple", "banana");
+        sm.clearAndSelect(1);
+
+        keyboard.doKeyTyped(KeyCode.Z);
+        assertTrue(debug(), isSelected(1));
+        assertEquals(1, sm.getSelectedIndices().size());
+    }
+
+    @Test public void testTypeAheadFollowsItemChanges() {
+        enableTypeAhead();
+        listView.getItems().setAll("apple", "banana");
+
+        keyboard.doKeyTyped(KeyCode.C);
+        assertTrue(sm.getSelectedIndices().isEmpty());
+
+        listView.getItems().add(0, "cherry");
+        keyboard.doKeyTyped(KeyCode.H);
+        assertTrue(debug(), isSelected(0));
+    }
+
+    @Test public void testTypeAheadIndexesLargeListsInBackgroundOnFocus() {
+        Deque<Runnable> queue = new ArrayDeque<>();
+        BackgroundExecutor.setExecutor(queue::add);
+        try {
+            List<String> items = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                items.add("item " + i);
+            }
+            items.add("zebra");
+            listView.getItems().setAll(items);
+            enableTypeAhead();
+
+            listView.requestFocus();
+            assertEquals(1, queue.size());
+
+            // until the index is ready, the items are searched one by one
+            keyboard.doKeyTyped(KeyCode.Z);
+            assertTrue(debug(), isSelected(20_000));
+
+            // a change of the items starts over
+            listView.getItems().add("zoo");
+            assertEquals(2, queue.size());
+            queue.poll().run();
+            queue.poll().run();
+
+            keyboard.doKeyTyped(KeyCode.O);
+            assertTrue(debug(), isSelected(20_001));
+            assertTrue(queue.isEmpty());
+        } finally {
+            BackgroundExecutor.setExecutor(null);
+        }
+    }
 }
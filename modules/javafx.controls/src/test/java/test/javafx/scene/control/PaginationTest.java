@@ -33,6 +33,9 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import java.util.ArrayList;
+import java.util.List;
+
 import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleIntegerProperty;
@@ -113,6 +116,14 @@ public class PaginationTest {
         assertEquals(pagination.getMaxPageIndicatorCount(), 10);
     }
 
+    @Test public void defaultPageCacheSize() {
+        assertEquals(0, pagination.getPageCacheSize());
+    }
+
+    @Test public void defaultPageFactoryExecutor() {
+        assertNull(pagination.getPageFactoryExecutor());
+    }
+
     /*********************************************************************
      * Tests for property binding                                        *
      ********************************************************************/
@@ -325,6 +336,149 @@ public class PaginationTest {
         return box;
     }
 
+    private void selectPage(int index) {
+        pagination.setCurrentPageIndex(index);
+        // let the page switch animation finish
+        long now = tk.getPrimaryTimer().nanos() / 1_000_000;
+        ((StubToolkit)tk).setAnimationTime(now + 1000);
+    }
+
+    private List<Integer> showPages(List<Node> pages) {
+        List<Integer> calls = new ArrayList<>();
+        pagination.setPageCount(10);
+        pagination.setPageFactory(index -> {
+            calls.add(index);
+            Node page = createPage(index);
+            pages.add(page);
+            return page;
+        });
+        root.setPrefSize(400, 400);
+        root.getChildren().add(pagination);
+        show();
+        tk.firePulse();
+        return calls;
+    }
+
+    @Test public void pagesAreCreatedAgainWithoutPageCache() {
+        List<Integer> calls = showPages(new ArrayList<>());
+        selectPage(1);
+        selectPage(0);
+        assertEquals(List.of(0, 1, 0), calls);
+    }
+
+    @Test public void pageCacheKeepsPreviousPages() {
+        pagination.setPageCacheSize(1);
+        List<Node> pages = new ArrayList<>();
+        List<Integer> calls = showPages(pages);
+        selectPage(1);
+        selectPage(0);
+        assertEquals(List.of(0, 1), calls);
+        assertSame(pagination, pages.get(0).getParent().getParent());
+
+        // page 1 is evicted when page 2 is shown
+        selectPage(2);
+        selectPage(1);
+        assertEquals(List.of(0, 1, 2, 1), calls);
+    }
+
+    @Test public void pageFactoryExecutorPrefetchesNextPages() {
+        List<Runnable> tasks = new ArrayList<>();
+        pagination.setPageFactoryExecutor(tasks::add);
+        List<Integer> calls = showPages(new ArrayList<>());
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        assertEquals(List.of(0, 1), calls);
+
+        selectPage(1);
+        assertEquals(List.of(0, 1), calls);
+        // page 0 is still cached, so only page 2 is prefetched
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        assertEquals(List.of(0, 1, 2), calls);
+
+        selectPage(2);
+        selectPage(1);
+        assertEquals(List.of(0, 1, 2), calls);
+    }
+
+    @Test public void prefetchedPagesAreDiscardedWhenPageFactoryChanges() {
+        List<Runnable> tasks = new ArrayList<>();
+        pagination.setPageFactoryExecutor(tasks::add);
+        showPages(new ArrayList<>());
+        Runnable staleTask = tasks.remove(0);
+
+        List<Integer> calls = new ArrayList<>();
+        pagination.setPageFactory(index -> {
+            calls.add(index);
+            return createPage(index);
+        });
+        staleTask.run();
+        selectPage(1);
+        assertEquals(List.of(0, 1), calls);
+    }
+
+    @Test public void resettingIndexesShowsPrefetchedPage() {
+        List<Runnable> tasks = new ArrayList<>();
+        pagination.setPageFactoryExecutor(tasks::add);
+        List<Node> pages = new ArrayList<>();
+        List<Integer> calls = showPages(pages);
+        tasks.remove(0).run();
+        selectPage(1);
+        tasks.remove(0).run();
+        assertEquals(List.of(0, 1, 2), calls);
+
+        // going back to page 0 without an animation puts page 1 into the
+        // full cache, which must not evict page 0
+        pagination.setMaxPageIndicatorCount(5);
+        assertEquals(0, pagination.getCurrentPageIndex());
+        assertEquals(List.of(0, 1, 2), calls);
+        assertSame(pagination, pages.get(0).getParent().getParent());
+    }
+
+    @Test public void prefetchFailuresAreReported() {
+        List<Runnable> tasks = new ArrayList<>();
+        pagination.setPageFactoryExecutor(tasks::add);
+        showPages(new ArrayList<>());
+        RuntimeException failure = new RuntimeException("page 1");
+        pagination.setPageFactory(index -> {
+            if (index == 1) {
+                throw failure;
+            }
+            return createPage(index);
+        });
+        tasks.clear();
+        pagination.setPageFactoryExecutor(tasks::add);
+
+        List<Throwable> errors = new ArrayList<>();
+        Thread thread = Thread.currentThread();
+        Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+        thread.setUncaughtExceptionHandler((t, e) -> errors.add(e));
+        try {
+            tasks.remove(0).run();
+        } finally {
+            thread.setUncaughtExceptionHandler(handler);
+        }
+        assertEquals(List.of(failure), errors);
+    }
+
+    @Test public void pendingPagesAreDroppedWhenExecutorChanges() {
+        List<Runnable> staleTasks = new ArrayList<>();
+        pagination.setPageFactoryExecutor(staleTasks::add);
+        List<Integer> calls = showPages(new ArrayList<>());
+        assertEquals(1, staleTasks.size());
+
+        // page 1 is prefetched again on the new executor
+        List<Runnable> tasks = new ArrayList<>();
+        pagination.setPageFactoryExecutor(tasks::add);
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        staleTasks.remove(0).run();
+        assertEquals(List.of(0, 1, 1), calls);
+
+        selectPage(1);
+        assertEquals(List.of(0, 1, 1), calls);
+    }
+
     /** JDK-8301797 */
     @Test
     public void testInitialPreferredSize() {
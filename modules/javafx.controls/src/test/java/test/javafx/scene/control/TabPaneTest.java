@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -67,6 +67,7 @@ import test.com.sun.javafx.pgstub.StubToolkit;
 import test.com.sun.javafx.scene.control.infrastructure.KeyEventFirer;
 import test.com.sun.javafx.scene.control.infrastructure.MouseEventGenerator;
 import com.sun.javafx.scene.input.KeyCodeMap;
+import com.sun.javafx.scene.control.TabPaneHelper;
 import com.sun.javafx.tk.Toolkit;
 
 import java.util.Arrays;
@@ -921,6 +922,116 @@ public class TabPaneTest {
         sl.dispose();
     }
 
+    @Test public void lazyContentIsFalseByDefault() {
+        assertFalse(tabPane.isLazyContent());
+    }
+
+    @Test public void lazyContentIsLoadedWhenTabIsFirstSelected() {
+        Button content1 = new Button("1");
+        Button content2 = new Button("2");
+        tab1.setContent(content1);
+        tab2.setContent(content2);
+        tabPane.setLazyContent(true);
+        tabPane.getTabs().addAll(tab1, tab2);
+
+        StageLoader sl = new StageLoader(tabPane);
+        assertNotNull(content1.getScene());
+        assertNull(content2.getScene());
+        assertNull(content2.getSkin());
+
+        tabPane.getSelectionModel().select(tab2);
+        Toolkit.getToolkit().firePulse();
+        assertNotNull(content2.getScene());
+        assertNotNull(content2.getSkin());
+
+        tabPane.getSelectionModel().select(tab1);
+        Toolkit.getToolkit().firePulse();
+        assertNotNull(content2.getScene());
+
+        sl.dispose();
+    }
+
+    @Test public void prewarmContentLoadsOneTabPerPulse() {
+        Button content1 = new Button("1");
+        Button content2 = new Button("2");
+        Button content3 = new Button("3");
+        tab1.setContent(content1);
+        tab2.setContent(content2);
+        tab3.setContent(content3);
+        tabPane.setLazyContent(true);
+        tabPane.getTabs().addAll(tab1, tab2, tab3);
+
+        StageLoader sl = new StageLoader(tabPane);
+        tabPane.prewarmContent();
+        assertTrue(tabPane.isNeedsLayout());
+
+        Toolkit.getToolkit().firePulse();
+        assertNotNull(content2.getScene());
+        assertNull(content3.getScene());
+        assertTrue(TabPaneHelper.prewarmContentProperty(tabPane).get());
+
+        Toolkit.getToolkit().firePulse();
+        assertNotNull(content3.getScene());
+        assertNull(content3.getSkin());
+        assertFalse(TabPaneHelper.prewarmContentProperty(tabPane).get());
+
+        // the skin is created when CSS is applied on the next pulse
+        Toolkit.getToolkit().firePulse();
+        assertNotNull(content3.getSkin());
+        assertSame(tab1, tabPane.getSelectionModel().getSelectedItem());
+
+        sl.dispose();
+    }
+
+    @Test public void prewarmContentStopsRequestingLayoutWhenAllTabsAreLoaded() {
+        tab1.setContent(new Button("1"));
+        tab2.setContent(new Button("2"));
+        tabPane.setLazyContent(true);
+        tabPane.getTabs().addAll(tab1, tab2);
+
+        StageLoader sl = new StageLoader(tabPane);
+        tabPane.prewarmContent();
+        Toolkit.getToolkit().firePulse();
+        assertFalse(TabPaneHelper.prewarmContentProperty(tabPane).get());
+
+        // the skin of the loaded content is created on the next pulse, after
+        // which no more layout passes are requested
+        Toolkit.getToolkit().firePulse();
+        Toolkit.getToolkit().firePulse();
+        assertFalse(tabPane.isNeedsLayout());
+
+        sl.dispose();
+    }
+
+    @Test public void prewarmContentBeforeSkinIsCreated() {
+        Button content2 = new Button("2");
+        tab2.setContent(content2);
+        tabPane.setLazyContent(true);
+        tabPane.getTabs().addAll(tab1, tab2);
+        tabPane.prewarmContent();
+
+        StageLoader sl = new StageLoader(tabPane);
+        Toolkit.getToolkit().firePulse();
+        assertNotNull(content2.getScene());
+
+        sl.dispose();
+    }
+
+    @Test public void disablingLazyContentLoadsAllTabs() {
+        Button content2 = new Button("2");
+        tab2.setContent(content2);
+        tabPane.setLazyContent(true);
+        tabPane.getTabs().addAll(tab1, tab2);
+
+        StageLoader sl = new StageLoader(tabPane);
+        assertNull(content2.getScene());
+
+        tabPane.setLazyContent(false);
+        assertNotNull(content2.getScene());
+
+        sl.dispose();
+    }
+
     @Test public void test_rt_36456_default_selectionMovesBackwardOne() {
         Tab tab0 = new Tab("Tab 0");
         Tab tab1 = new Tab("Tab 1");
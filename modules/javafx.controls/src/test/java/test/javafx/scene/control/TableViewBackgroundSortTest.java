@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.control;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.TableColumnHeader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
+import test.com.sun.javafx.scene.control.infrastructure.VirtualFlowTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TableViewBackgroundSortTest {
+
+    private static final int SIZE = 20_000;
+
+    private Deque<Runnable> queue;
+    private TableView<Integer> table;
+    private TableColumn<Integer, Integer> column;
+    private StageLoader stageLoader;
+
+    /**
+     * An executor that runs tasks only when asked to, so the tests can
+     * control when the sort completes. Results are delivered through
+     * Platform.runLater, which the stub toolkit runs immediately.
+     */
+    private final Executor executor = r -> queue.add(r);
+
+    @BeforeEach
+    public void setup() {
+        queue = new ArrayDeque<>();
+        table = new TableView<>();
+        column = new TableColumn<>("value");
+        column.setCellValueFactory(p -> new SimpleIntegerProperty(p.getValue()).asObject());
+        table.getColumns().add(column);
+        table.setItems(createItems(SIZE));
+        table.setSortPolicy(TableView.createBackgroundSortPolicy(executor));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        if (stageLoader != null) {
+            stageLoader.dispose();
+        }
+    }
+
+    // the numbers 0 to size - 1 in a shuffled, repeatable order
+    private static ObservableList<Integer> createItems(int size) {
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add((int) ((i * 7919L) % size));
+        }
+        return FXCollections.observableArrayList(values);
+    }
+
+    private static void assertSorted(List<Integer> items, boolean ascending) {
+        for (int i = 1; i < items.size(); i++) {
+            int result = Integer.compare(items.get(i - 1), items.get(i));
+            assertTrue(ascending ? result <= 0 : result >= 0, "not sorted at index " + i);
+        }
+    }
+
+    private void runQueue() {
+        while (!queue.isEmpty()) {
+            queue.poll().run();
+        }
+    }
+
+    @Test
+    public void testSortIsAppliedWhenBackgroundSortCompletes() {
+        List<Integer> before = new ArrayList<>(table.getItems());
+        table.getSortOrder().add(column);
+
+        assertEquals(before, table.getItems());
+        assertTrue(table.isSorting());
+        assertEquals(1, queue.size());
+
+        runQueue();
+
+        assertFalse(table.isSorting());
+        assertEquals(SIZE, table.getItems().size());
+        assertSorted(table.getItems(), true);
+    }
+
+    @Test
+    public void testSortIsAppliedAsOnePermutation() {
+        List<ListChangeListener.Change<? extends Integer>> changes = new ArrayList<>();
+        table.getItems().addListener((ListChangeListener<Integer>) c -> {
+            while (c.next()) {
+                assertTrue(c.wasPermutated());
+                assertEquals(0, c.getFrom());
+                assertEquals(SIZE, c.getTo());
+            }
+            changes.add(c);
+        });
+
+        table.getSortOrder().add(column);
+        runQueue();
+
+        assertEquals(1, changes.size());
+    }
+
+    @Test
+    public void testSortIsStable() {
+        // sorting by value / 10 keeps the values with the same key in their previous order
+        column.setCellValueFactory(p -> new SimpleIntegerProperty(p.getValue() / 10).asObject());
+        List<Integer> before = new ArrayList<>(table.getItems());
+        table.getSortOrder().add(column);
+        runQueue();
+
+        for (int i = 1; i < SIZE; i++) {
+            int a = table.getItems().get(i - 1);
+            int b = table.getItems().get(i);
+            assertTrue(a / 10 < b / 10 || (a / 10 == b / 10 && before.indexOf(a) < before.indexOf(b)));
+        }
+    }
+
+    @Test
+    public void testSelectionFollowsSortedItems() {
+        table.getSelectionModel().select(10);
+        Integer selected = table.getItems().get(10);
+
+        table.getSortOrder().add(column);
+        runQueue();
+
+        assertEquals(selected, table.getSelectionModel().getSelectedItem());
+        assertEquals((int) selected, table.getSelectionModel().getSelectedIndex());
+        assertEquals(1, table.getSelectionModel().getSelectedIndices().size());
+    }
+
+    @Test
+    public void testNewSortSupersedesRunningSort() {
+        table.getSortOrder().add(column);
+        Runnable first = queue.poll();
+
+        column.setSortType(TableColumn.SortType.DESCENDING);
+        assertTrue(table.isSorting());
+
+        // the result of the first sort is discarded
+        List<Integer> before = new ArrayList<>(table.getItems());
+        first.run();
+        assertEquals(before, table.getItems());
+        assertTrue(table.isSorting());
+
+        runQueue();
+        assertFalse(table.isSorting());
+        assertSorted(table.getItems(), false);
+    }
+
+    @Test
+    public void testClearingSortOrderCancelsRunningSort() {
+        table.getSortOrder().add(column);
+        table.getSortOrder().clear();
+        assertFalse(table.isSorting());
+
+        List<Integer> before = new ArrayList<>(table.getItems());
+        runQueue();
+        assertEquals(before, table.getItems());
+    }
+
+    @Test
+    public void testItemsModifiedWhileSortingAreSortedAgain() {
+        table.getSortOrder().add(column);
+        table.getItems().add(-1);
+
+        runQueue();
+
+        assertFalse(table.isSorting());
+        assertEquals(SIZE + 1, table.getItems().size());
+        assertEquals(-1, (int) table.getItems().get(0));
+        assertSorted(table.getItems(), true);
+    }
+
+    @Test
+    public void testItemsReplacedWhileSortingDiscardsResult() {
+        table.getSortOrder().add(column);
+        ObservableList<Integer> items = createItems(SIZE);
+        table.setItems(items);
+
+        List<Integer> before = new ArrayList<>(items);
+        runQueue();
+
+        assertFalse(table.isSorting());
+        assertEquals(before, table.getItems());
+    }
+
+    @Test
+    public void testSmallListsAreSortedImmediately() {
+        table.setItems(createItems(100));
+        table.getSortOrder().add(column);
+
+        assertTrue(queue.isEmpty());
+        assertFalse(table.isSorting());
+        assertSorted(table.getItems(), true);
+    }
+
+    @Test
+    public void testComparatorFailureIsReported() {
+        List<Throwable> errors = new ArrayList<>();
+        Thread.UncaughtExceptionHandler handler = Thread.currentThread().getUncaughtExceptionHandler();
+        Thread.currentThread().setUncaughtExceptionHandler((t, e) -> errors.add(e));
+        try {
+            column.setComparator((a, b) -> {
+                throw new IllegalStateException("failed");
+            });
+            table.getSortOrder().add(column);
+            runQueue();
+        } finally {
+            Thread.currentThread().setUncaughtExceptionHandler(handler);
+        }
+
+        assertFalse(table.isSorting());
+        assertEquals(1, errors.size());
+        assertEquals("failed", errors.get(0).getMessage());
+    }
+
+    @Test
+    public void testSortingPseudoClassOnColumnHeader() {
+        stageLoader = new StageLoader(table);
+        TableColumnHeader header = VirtualFlowTestUtils.getTableColumnHeader(table, column);
+        assertFalse(header.getPseudoClassStates().stream().anyMatch(p -> p.getPseudoClassName().equals("sorting")));
+
+        table.getSortOrder().add(column);
+        assertTrue(header.getPseudoClassStates().stream().anyMatch(p -> p.getPseudoClassName().equals("sorting")));
+
+        runQueue();
+        assertFalse(header.getPseudoClassStates().stream().anyMatch(p -> p.getPseudoClassName().equals("sorting")));
+    }
+}
@@ -6064,4 +6064,233 @@ public class TableViewTest {
         table.getSelectionModel().selectIndices(1, new int[]{1, 2});
         assertEquals(2, table.getSelectionModel().getSelectedIndex());
     }
+
+    @Test
+    public void testSelectAllCellsInLargeTable() {
+        final int rowCount = 200_000;
+        final int columnCount = 50;
+        TableView<Integer> tableView = new TableView<>();
+        for (int i = 0; i < rowCount; i++) {
+            tableView.getItems().add(i);
+        }
+        for (int i = 0; i < columnCount; i++) {
+            tableView.getColumns().add(new TableColumn<Integer, Integer>("c" + i));
+        }
+        TableView.TableViewSelectionModel<Integer> sm = tableView.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+        sm.setCellSelectionEnabled(true);
+
+        List<Integer> addedSizes = new ArrayList<>();
+        sm.getSelectedCells().addListener((ListChangeListener<TablePosition>) c -> {
+            while (c.next()) {
+                addedSizes.add(c.getAddedSize());
+            }
+        });
+
+        sm.selectAll();
+        assertEquals(rowCount * columnCount, sm.getSelectedCells().size());
+        assertEquals(rowCount, sm.getSelectedIndices().size());
+        assertEquals(List.of(rowCount * columnCount), addedSizes);
+        assertTrue(sm.isSelected(rowCount - 1, tableView.getColumns().get(columnCount - 1)));
+
+        TablePosition<Integer, ?> cell = sm.getSelectedCells().get(columnCount * 1000 + 7);
+        assertEquals(1000, cell.getRow());
+        assertSame(tableView.getColumns().get(7), cell.getTableColumn());
+
+        sm.clearAndSelect(5, tableView.getColumns().get(3));
+        assertEquals(1, sm.getSelectedCells().size());
+        assertEquals(List.of(5), sm.getSelectedIndices());
+        assertEquals(new TablePosition<>(tableView, 5, tableView.getColumns().get(3)), sm.getSelectedCells().get(0));
+
+        sm.selectRange(10, tableView.getColumns().get(0), rowCount - 1, tableView.getColumns().get(1));
+        assertEquals(1 + (rowCount - 10) * 2, sm.getSelectedCells().size());
+        assertEquals(rowCount - 9, sm.getSelectedIndices().size());
+
+        sm.clearSelection();
+        assertTrue(sm.getSelectedCells().isEmpty());
+        assertTrue(sm.getSelectedIndices().isEmpty());
+    }
+
+    private int fixedCellSizeUpdateCount;
+
+    @Test public void testReplacingItemWithFixedCellSizeOnlyUpdatesItsRow() {
+        ObservableList<String> items = FXCollections.observableArrayList();
+        for (int i = 0; i < 100; i++) {
+            items.add("item " + i);
+        }
+        TableView<String> table = new TableView<>(items);
+        table.setFixedCellSize(24);
+        TableColumn<String, String> column = new TableColumn<>("Column");
+        column.setCellValueFactory(param -> new ReadOnlyStringWrapper(param.getValue()));
+        column.setCellFactory(tv -> new TableCellShim<>() {
+            @Override public void updateItem(String item, boolean empty) {
+                fixedCellSizeUpdateCount++;
+                super.updateItem(item, empty);
+                setText(empty ? null : item);
+            }
+        });
+        table.getColumns().add(column);
+
+        StageLoader sl = new StageLoader(table);
+        fixedCellSizeUpdateCount = 0;
+        items.set(3, "replaced");
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(1, fixedCellSizeUpdateCount);
+        VirtualFlowTestUtils.assertTableCellTextEquals(table, 3, 0, "replaced");
+        VirtualFlowTestUtils.assertTableCellTextEquals(table, 4, 0, "item 4");
+
+        sl.dispose();
+    }
+
+    @Test public void testReplacingItemWithItselfWithFixedCellSize() {
+        ObservableList<AtomicLong> items = FXCollections.observableArrayList();
+        for (int i = 0; i < 10; i++) {
+            items.add(new AtomicLong(i));
+        }
+        TableView<AtomicLong> table = new TableView<>(items);
+        table.setFixedCellSize(24);
+        TableColumn<AtomicLong, String> column = new TableColumn<>();
+        column.setCellValueFactory(param -> new SimpleStringProperty(String.valueOf(param.getValue().get())));
+        table.getColumns().add(column);
+
+        StageLoader sl = new StageLoader(table);
+        VirtualFlowTestUtils.assertTableCellTextEquals(table, 2, 0, "2");
+
+        // RT-28397: the item is replaced with itself, with an updated value
+        items.get(2).set(42);
+        items.set(2, items.get(2));
+        Toolkit.getToolkit().firePulse();
+        VirtualFlowTestUtils.assertTableCellTextEquals(table, 2, 0, "42");
+
+        sl.dispose();
+    }
+
+    private TableView<Integer> createCellSelectionTable(int rowCount, int columnCount) {
+        TableView<Integer> tableView = new TableView<>();
+        for (int i = 0; i < rowCount; i++) {
+            tableView.getItems().add(i);
+        }
+        for (int i = 0; i < columnCount; i++) {
+            tableView.getColumns().add(new TableColumn<Integer, Integer>("c" + i));
+        }
+        tableView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        tableView.getSelectionModel().setCellSelectionEnabled(true);
+        return tableView;
+    }
+
+    private static void assertSelectedCellsHaveVisibleIndex(TableView<Integer> tableView) {
+        for (TablePosition<Integer, ?> cell : tableView.getSelectionModel().getSelectedCells()) {
+            assertEquals(tableView.getVisibleLeafIndex(cell.getTableColumn()), cell.getColumn());
+        }
+    }
+
+    @Test
+    public void testCellRangeSelectionFollowsReorderedColumns() {
+        TableView<Integer> tableView = createCellSelectionTable(10, 4);
+        TableView.TableViewSelectionModel<Integer> sm = tableView.getSelectionModel();
+        TableColumn<Integer, ?> c0 = tableView.getColumns().get(0);
+        TableColumn<Integer, ?> c1 = tableView.getColumns().get(1);
+        TableColumn<Integer, ?> c2 = tableView.getColumns().get(2);
+        sm.selectRange(0, c0, 9, c1);
+
+        // move c1 to the end
+        TableColumn<Integer, ?> c3 = tableView.getColumns().get(3);
+        tableView.getColumns().setAll(List.of(c0, c2, c3, c1));
+
+        assertEquals(20, sm.getSelectedCells().size());
+        assertEquals(10, sm.getSelectedIndices().size());
+        assertTrue(sm.isSelected(3, c0));
+        assertTrue(sm.isSelected(3, c1));
+        assertFalse(sm.isSelected(3, c2));
+        for (TablePosition<Integer, ?> cell : sm.getSelectedCells()) {
+            assertTrue(cell.getTableColumn() == c0 || cell.getTableColumn() == c1);
+        }
+        assertSelectedCellsHaveVisibleIndex(tableView);
+    }
+
+    @Test
+    public void testCellRangeSelectionFollowsHiddenColumns() {
+        TableView<Integer> tableView = createCellSelectionTable(10, 4);
+        TableView.TableViewSelectionModel<Integer> sm = tableView.getSelectionModel();
+        TableColumn<Integer, ?> c1 = tableView.getColumns().get(1);
+        TableColumn<Integer, ?> c2 = tableView.getColumns().get(2);
+        TableColumn<Integer, ?> c3 = tableView.getColumns().get(3);
+        sm.selectRange(0, c2, 4, c2);
+        sm.select(7, c1);
+
+        c1.setVisible(false);
+
+        // c2 is now at the index of c1, and c3 at that of c2
+        assertTrue(sm.isSelected(2, c2));
+        assertFalse(sm.isSelected(2, c3));
+        assertEquals(List.of(0, 1, 2, 3, 4, 7), List.copyOf(sm.getSelectedIndices()));
+        assertSelectedCellsHaveVisibleIndex(tableView);
+
+        c1.setVisible(true);
+
+        assertTrue(sm.isSelected(2, c2));
+        assertFalse(sm.isSelected(2, c3));
+        assertSelectedCellsHaveVisibleIndex(tableView);
+    }
+
+    @Test
+    public void testCellSelectionOfHiddenColumnIsKept() {
+        TableView<Integer> tableView = createCellSelectionTable(2, 3);
+        TableView.TableViewSelectionModel<Integer> sm = tableView.getSelectionModel();
+        TableColumn<Integer, ?> c1 = tableView.getColumns().get(1);
+        TableColumn<Integer, ?> c2 = tableView.getColumns().get(2);
+        sm.selectAll();
+
+        c1.setVisible(false);
+
+        assertEquals(6, sm.getSelectedCells().size());
+        for (int row = 0; row < 2; row++) {
+            List<TableColumn<Integer, ?>> columns = new ArrayList<>();
+            for (TablePosition<Integer, ?> cell : sm.getSelectedCells()) {
+                if (cell.getRow() == row) {
+                    columns.add(cell.getTableColumn());
+                }
+            }
+            assertEquals(3, columns.size());
+            assertTrue(columns.containsAll(tableView.getColumns()));
+        }
+        assertTrue(sm.isSelected(1, c2));
+        assertSelectedCellsHaveVisibleIndex(tableView);
+
+        c1.setVisible(true);
+
+        assertEquals(6, sm.getSelectedCells().size());
+        assertTrue(sm.isSelected(0, c1));
+        assertTrue(sm.isSelected(1, c1));
+        assertSelectedCellsHaveVisibleIndex(tableView);
+
+        // the cells of a column that is removed while hidden are deselected
+        c1.setVisible(false);
+        tableView.getColumns().remove(c1);
+
+        assertEquals(4, sm.getSelectedCells().size());
+        for (TablePosition<Integer, ?> cell : sm.getSelectedCells()) {
+            assertNotSame(c1, cell.getTableColumn());
+        }
+    }
+
+    @Test
+    public void testCellRangeSelectionOfRemovedColumnIsCleared() {
+        TableView<Integer> tableView = createCellSelectionTable(10, 4);
+        TableView.TableViewSelectionModel<Integer> sm = tableView.getSelectionModel();
+        TableColumn<Integer, ?> c0 = tableView.getColumns().get(0);
+        TableColumn<Integer, ?> c1 = tableView.getColumns().get(1);
+        TableColumn<Integer, ?> c2 = tableView.getColumns().get(2);
+        sm.selectRange(0, c0, 4, c0);
+        sm.selectRange(3, c2, 5, c2);
+
+        tableView.getColumns().remove(c0);
+
+        assertFalse(sm.isSelected(1, c1));
+        assertTrue(sm.isSelected(4, c2));
+        assertEquals(3, sm.getSelectedCells().size());
+        assertEquals(List.of(3, 4, 5), List.copyOf(sm.getSelectedIndices()));
+        assertSelectedCellsHaveVisibleIndex(tableView);
+    }
 }
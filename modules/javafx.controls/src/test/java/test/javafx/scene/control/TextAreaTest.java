@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2020, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,9 @@
 
 package test.javafx.scene.control;
 
+import java.util.Arrays;
+import java.util.Random;
+
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -34,6 +37,14 @@ import javafx.beans.property.StringProperty;
 import javafx.scene.Scene;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextInputControlShim;
+import javafx.scene.control.skin.TextAreaSkin;
+import javafx.scene.control.skin.TextInputControlSkin.Direction;
+import javafx.scene.control.skin.TextInputControlSkin.TextUnit;
+import javafx.scene.control.skin.TextInputSkinShim;
+import javafx.scene.text.HitInfo;
+import javafx.scene.text.Text;
+import com.sun.javafx.tk.Toolkit;
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -108,6 +119,10 @@ public class TextAreaTest {
         assertEquals(TextArea.DEFAULT_PREF_ROW_COUNT, 10);
     }
 
+    @Test public void checkDefaultVirtualized() {
+        assertFalse(txtArea.isVirtualized());
+    }
+
     @Test public void checkDefaultWrapText() {
         assertFalse(txtArea.isWrapText());
     }
@@ -261,6 +276,14 @@ public class TextAreaTest {
         assertEquals("prefColumnCount", txtArea.prefColumnCountProperty().getName());
     }
 
+    @Test public void virtualizedPropertyHasBeanReference() {
+        assertSame(txtArea, txtArea.virtualizedProperty().getBean());
+    }
+
+    @Test public void virtualizedPropertyHasName() {
+        assertEquals("virtualized", txtArea.virtualizedProperty().getName());
+    }
+
     @Test public void prefRowCountPropertyHasBeanReference() {
         assertSame(txtArea, txtArea.prefRowCountProperty().getBean());
     }
@@ -500,4 +523,240 @@ public class TextAreaTest {
         dummyTxtArea.deleteText(0,6);
         assertEquals(dummyTxtArea.getParagraphs().get(0).toString(), "another");
     }
+
+    @Test public void getTextAfterEditsAcrossManyParagraphs() {
+        StringBuilder expected = new StringBuilder();
+        TextArea textArea = new TextArea();
+        for (int i = 0; i < 200; i++) {
+            textArea.appendText("line " + i + "\n");
+            expected.append("line " + i + "\n");
+        }
+        assertEquals(expected.toString(), textArea.getText());
+
+        Random random = new Random(7);
+        String[] insertions = { "x", "\n", "ab\ncd", "\n\n", "" };
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(expected.length() + 1);
+            if (random.nextBoolean()) {
+                String text = insertions[random.nextInt(insertions.length)];
+                textArea.insertText(start, text);
+                expected.insert(start, text);
+            } else {
+                int end = Math.min(expected.length(), start + random.nextInt(20));
+                textArea.deleteText(start, end);
+                expected.delete(start, end);
+            }
+            assertEquals(expected.length(), textArea.getLength());
+            if (i % 50 == 0) {
+                assertEquals(expected.toString(), textArea.getText());
+            }
+        }
+        assertEquals(expected.toString(), textArea.getText());
+        assertEquals(Arrays.asList(expected.toString().split("\n", -1)),
+                textArea.getParagraphs().stream().map(CharSequence::toString).toList());
+
+        int start = expected.length() / 3;
+        int end = start + expected.length() / 3;
+        assertEquals(expected.substring(start, end), textArea.getText(start, end));
+    }
+
+    @Test public void getTextReflectsChangesWithoutNotification() {
+        txtArea.setText("one\ntwo");
+        assertEquals("one\ntwo", txtArea.getText());
+        TextInputControlShim.getContent_insert(txtArea, 3, "\nthree", false);
+        assertEquals("one\nthree\ntwo", txtArea.getText());
+        TextInputControlShim.getContent_delete(txtArea, 0, 4, false);
+        assertEquals("three\ntwo", txtArea.getText());
+    }
+
+    /*********************************************************************
+     * Tests for virtualized text areas                                  *
+     ********************************************************************/
+
+    private TextArea createVirtualizedTextArea(int paragraphCount) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < paragraphCount; i++) {
+            if (i > 0) text.append('\n');
+            text.append("line ").append(i);
+        }
+        TextArea textArea = new TextArea(text.toString());
+        textArea.setVirtualized(true);
+        return textArea;
+    }
+
+    private int paragraphOffset(TextArea textArea, int paragraph) {
+        int offset = 0;
+        for (int i = 0; i < paragraph; i++) {
+            offset += textArea.getParagraphs().get(i).length() + 1;
+        }
+        return offset;
+    }
+
+    private int firstShownParagraph(TextArea textArea) {
+        String text = TextInputSkinShim.getTextNode(textArea).getText();
+        int end = text.indexOf('\n');
+        return Integer.parseInt(end < 0 ? text.substring(5) : text.substring(5, end));
+    }
+
+    private double lineHeight(TextArea textArea) {
+        Text textNode = TextInputSkinShim.getTextNode(textArea);
+        return textNode.getLayoutBounds().getHeight() / textNode.getText().split("\n", -1).length;
+    }
+
+    @Test public void virtualizedTextAreaShowsOnlyTheParagraphsInView() {
+        TextArea textArea = createVirtualizedTextArea(10_000);
+        StageLoader sl = new StageLoader(textArea);
+        Toolkit.getToolkit().firePulse();
+
+        Text textNode = TextInputSkinShim.getTextNode(textArea);
+        assertEquals(0, firstShownParagraph(textArea));
+        int shownParagraphs = textNode.getText().split("\n").length;
+        assertTrue(shownParagraphs > textArea.getPrefRowCount());
+        assertTrue(shownParagraphs < 100);
+
+        // all the paragraphs are included in the height of the content
+        assertTrue(TextInputSkinShim.getScrollPane(textArea).getContent().getLayoutBounds().getHeight()
+                >= 10_000 * lineHeight(textArea));
+
+        sl.dispose();
+    }
+
+    @Test public void virtualizedTextAreaShowsTheParagraphsScrolledTo() {
+        TextArea textArea = createVirtualizedTextArea(10_000);
+        StageLoader sl = new StageLoader(textArea);
+        Toolkit.getToolkit().firePulse();
+
+        double lineHeight = lineHeight(textArea);
+        textArea.setScrollTop(5000 * lineHeight);
+        Toolkit.getToolkit().firePulse();
+
+        // the caret has not moved, so the text area is not scrolled back to it
+        assertEquals(5000 * lineHeight, textArea.getScrollTop(), 0.001);
+        assertEquals(0, textArea.getCaretPosition());
+
+        Text textNode = TextInputSkinShim.getTextNode(textArea);
+        assertTrue(textNode.getText().contains("\nline 5000\n"));
+        assertFalse(textNode.getText().contains("line 0\n"));
+        // paragraph 5000 is at the top of the viewport
+        double y = textNode.getLayoutY() + (5000 - firstShownParagraph(textArea)) * lineHeight;
+        assertEquals(5000 * lineHeight, y, lineHeight);
+
+        sl.dispose();
+    }
+
+    @Test public void virtualizedTextAreaScrollsToTheCaret() {
+        TextArea textArea = createVirtualizedTextArea(10_000);
+        StageLoader sl = new StageLoader(textArea);
+        Toolkit.getToolkit().firePulse();
+
+        textArea.end();
+        Toolkit.getToolkit().firePulse();
+
+        Text textNode = TextInputSkinShim.getTextNode(textArea);
+        assertTrue(textArea.getScrollTop() > 9000 * lineHeight(textArea));
+        assertTrue(textNode.getText().endsWith("\nline 9999"));
+        int first = paragraphOffset(textArea, firstShownParagraph(textArea));
+        assertEquals(textArea.getLength() - first, textNode.getCaretPosition());
+
+        sl.dispose();
+    }
+
+    @Test public void virtualizedTextAreaShowsEditedParagraphs() {
+        TextArea textArea = createVirtualizedTextArea(10_000);
+        StageLoader sl = new StageLoader(textArea);
+        Toolkit.getToolkit().firePulse();
+
+        textArea.insertText(paragraphOffset(textArea, 2), "new\n");
+        Text textNode = TextInputSkinShim.getTextNode(textArea);
+        assertTrue(textNode.getText().startsWith("line 0\nline 1\nnew\nline 2\n"));
+
+        textArea.deleteText(0, paragraphOffset(textArea, 1));
+        Toolkit.getToolkit().firePulse();
+        assertTrue(textNode.getText().startsWith("line 1\nnew\nline 2\n"));
+        assertEquals(10_000, textArea.getParagraphs().size());
+
+        sl.dispose();
+    }
+
+    @Test public void virtualizedTextAreaShowsTheSelectionInTheParagraphsShown() {
+        TextArea textArea = createVirtualizedTextArea(10_000);
+        StageLoader sl = new StageLoader(textArea);
+        Toolkit.getToolkit().firePulse();
+
+        int start = paragraphOffset(textArea, 5000) + 2;
+        int end = paragraphOffset(textArea, 5001) + 2;
+        textArea.selectRange(start, end);
+        Toolkit.getToolkit().firePulse();
+
+        // the selection is shown relative to the paragraphs shown by the text node
+        Text textNode = TextInputSkinShim.getTextNode(textArea);
+        assertTrue(textNode.getText().contains("\nline 5000\nline 5001\n"));
+        int first = paragraphOffset(textArea, firstShownParagraph(textArea));
+        assertEquals(start - first, textNode.getSelectionStart());
+        assertEquals(end - first, textNode.getSelectionEnd());
+        assertEquals(end - first, textNode.getCaretPosition());
+
+        sl.dispose();
+    }
+
+    @Test public void virtualizedTextAreaMovesTheCaretByParagraphs() {
+        TextArea textArea = createVirtualizedTextArea(10_000);
+        TextAreaSkin skin = new TextAreaSkin(textArea);
+        textArea.setSkin(skin);
+        StageLoader sl = new StageLoader(textArea);
+        Toolkit.getToolkit().firePulse();
+
+        textArea.positionCaret(paragraphOffset(textArea, 7000) + 3);
+        skin.moveCaret(TextUnit.PARAGRAPH, Direction.BEGINNING, false);
+        assertEquals(paragraphOffset(textArea, 7000), textArea.getCaretPosition());
+        skin.moveCaret(TextUnit.PARAGRAPH, Direction.UP, false);
+        assertEquals(paragraphOffset(textArea, 6999), textArea.getCaretPosition());
+        skin.moveCaret(TextUnit.PARAGRAPH, Direction.END, true);
+        assertEquals(paragraphOffset(textArea, 6999), textArea.getAnchor());
+        assertEquals("line 6999", textArea.getSelectedText().strip());
+
+        sl.dispose();
+    }
+
+    @Test public void virtualizedTextAreaHitTestsTheParagraphsScrolledTo() {
+        TextArea textArea = createVirtualizedTextArea(10_000);
+        TextAreaSkin skin = new TextAreaSkin(textArea);
+        textArea.setSkin(skin);
+        StageLoader sl = new StageLoader(textArea);
+        Toolkit.getToolkit().firePulse();
+
+        double lineHeight = lineHeight(textArea);
+        textArea.setScrollTop(3000 * lineHeight);
+        Toolkit.getToolkit().firePulse();
+
+        Text textNode = TextInputSkinShim.getTextNode(textArea);
+        double y = textNode.getLayoutY() + (3000 - firstShownParagraph(textArea) + 0.5) * lineHeight;
+        HitInfo hit = skin.getIndex(textNode.getLayoutX(), y);
+        assertEquals(paragraphOffset(textArea, 3000), hit.getCharIndex());
+
+        // a paragraph the text node does not show is hit tested too
+        y = textNode.getLayoutY() + (9000 - firstShownParagraph(textArea) + 0.5) * lineHeight;
+        hit = skin.getIndex(textNode.getLayoutX(), y);
+        assertEquals(paragraphOffset(textArea, 9000), hit.getCharIndex());
+
+        sl.dispose();
+    }
+
+    @Test public void textAreaShowsTheWholeTextWhenNotVirtualized() {
+        TextArea textArea = createVirtualizedTextArea(1000);
+        StageLoader sl = new StageLoader(textArea);
+        Toolkit.getToolkit().firePulse();
+        assertNotEquals(textArea.getText(), TextInputSkinShim.getTextNode(textArea).getText());
+
+        textArea.setVirtualized(false);
+        Toolkit.getToolkit().firePulse();
+        assertEquals(textArea.getText(), TextInputSkinShim.getTextNode(textArea).getText());
+
+        textArea.setVirtualized(true);
+        textArea.setWrapText(true);
+        Toolkit.getToolkit().firePulse();
+        assertEquals(textArea.getText(), TextInputSkinShim.getTextNode(textArea).getText());
+
+        sl.dispose();
+    }
 }
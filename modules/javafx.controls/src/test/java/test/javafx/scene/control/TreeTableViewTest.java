@@ -41,6 +41,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -7250,4 +7251,157 @@ public class TreeTableViewTest {
         treeTableView.getSelectionModel().selectIndices(1, new int[]{1, 2});
         assertEquals(2, treeTableView.getSelectionModel().getSelectedIndex());
     }
+
+    private static void flatten(TreeItem<String> item, boolean include, List<TreeItem<String>> rows) {
+        if (include) {
+            rows.add(item);
+        }
+        if (item.isExpanded()) {
+            for (TreeItem<String> child : item.getChildren()) {
+                flatten(child, true, rows);
+            }
+        }
+    }
+
+    @Test
+    public void testRowLookupAfterRandomTreeChanges() {
+        Random random = new Random(1);
+        TreeItem<String> rootNode = new TreeItem<>("root");
+        rootNode.setExpanded(true);
+        TreeTableView<String> table = new TreeTableView<>(rootNode);
+
+        List<TreeItem<String>> items = new ArrayList<>();
+        items.add(rootNode);
+        for (int step = 0; step < 300; step++) {
+            TreeItem<String> item = items.get(random.nextInt(items.size()));
+            if (random.nextInt(3) == 0 && item != rootNode) {
+                item.setExpanded(!item.isExpanded());
+            } else {
+                TreeItem<String> child = new TreeItem<>("item " + step);
+                child.setExpanded(random.nextBoolean());
+                item.getChildren().add(random.nextInt(item.getChildren().size() + 1), child);
+                items.add(child);
+            }
+
+            List<TreeItem<String>> rows = new ArrayList<>();
+            flatten(rootNode, true, rows);
+            assertEquals(rows.size(), table.getExpandedItemCount());
+            for (int row = 0; row < rows.size(); row++) {
+                assertSame(rows.get(row), table.getTreeItem(row));
+            }
+            for (TreeItem<String> treeItem : items) {
+                assertEquals(rows.indexOf(treeItem), table.getRow(treeItem));
+            }
+        }
+    }
+
+    @Test
+    public void testSelectAllCellsInLargeTree() {
+        final int childCount = 100_000;
+        final int columnCount = 20;
+        TreeItem<String> rootNode = new TreeItem<>("root");
+        rootNode.setExpanded(true);
+        for (int i = 0; i < childCount; i++) {
+            rootNode.getChildren().add(new TreeItem<>("item " + i));
+        }
+        TreeTableView<String> table = new TreeTableView<>(rootNode);
+        for (int i = 0; i < columnCount; i++) {
+            table.getColumns().add(new TreeTableColumn<String, String>("c" + i));
+        }
+        TreeTableView.TreeTableViewSelectionModel<String> sm = table.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+        sm.setCellSelectionEnabled(true);
+
+        sm.selectAll();
+        assertEquals((childCount + 1) * columnCount, sm.getSelectedCells().size());
+        assertEquals(childCount + 1, sm.getSelectedIndices().size());
+
+        TreeTablePosition<String, ?> cell = sm.getSelectedCells().get(columnCount * 1000 + 7);
+        assertEquals(1000, cell.getRow());
+        assertSame(rootNode.getChildren().get(999), cell.getTreeItem());
+        assertSame(table.getColumns().get(7), cell.getTableColumn());
+
+        sm.clearAndSelect(5, table.getColumns().get(3));
+        assertEquals(1, sm.getSelectedCells().size());
+        assertEquals(List.of(5), sm.getSelectedIndices());
+
+        sm.clearSelection();
+        assertTrue(sm.getSelectedCells().isEmpty());
+        assertTrue(sm.getSelectedIndices().isEmpty());
+    }
+
+    private int fixedCellSizeUpdateCount;
+
+    @Test public void testTreeItemValueChangeWithFixedCellSizeOnlyUpdatesItsRow() {
+        TreeItem<String> root = new TreeItem<>("root");
+        root.setExpanded(true);
+        for (int i = 0; i < 50; i++) {
+            root.getChildren().add(new TreeItem<>("item " + i));
+        }
+        TreeTableView<String> table = new TreeTableView<>(root);
+        table.setFixedCellSize(24);
+        TreeTableColumn<String, String> column = new TreeTableColumn<>("Column");
+        column.setCellValueFactory(param -> new ReadOnlyStringWrapper(param.getValue().getValue()));
+        column.setCellFactory(tv -> new TreeTableCellShim<>() {
+            @Override public void updateItem(String item, boolean empty) {
+                fixedCellSizeUpdateCount++;
+                super.updateItem(item, empty);
+                setText(empty ? null : item);
+            }
+        });
+        table.getColumns().add(column);
+
+        StageLoader sl = new StageLoader(table);
+        fixedCellSizeUpdateCount = 0;
+        root.getChildren().get(3).setValue("changed");
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(1, fixedCellSizeUpdateCount);
+        assertEquals("changed", VirtualFlowTestUtils.getCell(table, 4, 0).getText());
+        assertEquals("item 4", VirtualFlowTestUtils.getCell(table, 5, 0).getText());
+
+        sl.dispose();
+    }
+
+    @Test
+    public void testCellRangeSelectionFollowsColumnChanges() {
+        TreeItem<String> rootNode = new TreeItem<>("root");
+        rootNode.setExpanded(true);
+        for (int i = 0; i < 9; i++) {
+            rootNode.getChildren().add(new TreeItem<>("item " + i));
+        }
+        TreeTableView<String> table = new TreeTableView<>(rootNode);
+        for (int i = 0; i < 4; i++) {
+            table.getColumns().add(new TreeTableColumn<String, String>("c" + i));
+        }
+        TreeTableColumn<String, ?> c0 = table.getColumns().get(0);
+        TreeTableColumn<String, ?> c1 = table.getColumns().get(1);
+        TreeTableColumn<String, ?> c2 = table.getColumns().get(2);
+        TreeTableColumn<String, ?> c3 = table.getColumns().get(3);
+        TreeTableView.TreeTableViewSelectionModel<String> sm = table.getSelectionModel();
+        sm.setSelectionMode(SelectionMode.MULTIPLE);
+        sm.setCellSelectionEnabled(true);
+        sm.selectRange(0, c1, 9, c2);
+
+        // reorder
+        table.getColumns().setAll(List.of(c2, c0, c3, c1));
+        assertTrue(sm.isSelected(4, c1));
+        assertTrue(sm.isSelected(4, c2));
+        assertFalse(sm.isSelected(4, c0));
+        assertFalse(sm.isSelected(4, c3));
+
+        // hide
+        c0.setVisible(false);
+        assertTrue(sm.isSelected(4, c1));
+        assertFalse(sm.isSelected(4, c3));
+
+        // remove
+        table.getColumns().remove(c2);
+        assertTrue(sm.isSelected(4, c1));
+        assertEquals(10, sm.getSelectedCells().size());
+        for (TreeTablePosition<String, ?> cell : sm.getSelectedCells()) {
+            assertSame(c1, cell.getTableColumn());
+            assertEquals(table.getVisibleLeafIndex(c1), cell.getColumn());
+        }
+    }
 }
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
@@ -3941,6 +3942,149 @@ public class TreeViewTest {
         assertTrue(scrolledCell.isVisible());
     }
 
+    private static void flatten(TreeItem<String> item, boolean include, List<TreeItem<String>> rows) {
+        if (include) {
+            rows.add(item);
+        }
+        if (item.isExpanded()) {
+            for (TreeItem<String> child : item.getChildren()) {
+                flatten(child, true, rows);
+            }
+        }
+    }
+
+    private static void collect(TreeItem<String> item, List<TreeItem<String>> items) {
+        items.add(item);
+        for (TreeItem<String> child : item.getChildren()) {
+            collect(child, items);
+        }
+    }
+
+    private static void assertRowsMatchTree(TreeView<String> treeView) {
+        List<TreeItem<String>> rows = new ArrayList<>();
+        flatten(treeView.getRoot(), treeView.isShowRoot(), rows);
+        assertEquals(rows.size(), treeView.getExpandedItemCount());
+        for (int row = 0; row < rows.size(); row++) {
+            assertSame("row " + row, rows.get(row), treeView.getTreeItem(row));
+        }
+        assertNull(treeView.getTreeItem(rows.size()));
+
+        List<TreeItem<String>> items = new ArrayList<>();
+        collect(treeView.getRoot(), items);
+        for (TreeItem<String> item : items) {
+            assertEquals(item.getValue(), rows.indexOf(item), treeView.getRow(item));
+        }
+    }
+
+    @Test
+    public void testRowLookupAfterRandomTreeChanges() {
+        Random random = new Random(0);
+        TreeItem<String> rootNode = new TreeItem<>("root");
+        rootNode.setExpanded(true);
+        TreeView<String> treeView = new TreeView<>(rootNode);
+
+        List<TreeItem<String>> items = new ArrayList<>();
+        items.add(rootNode);
+        int count = 0;
+        for (int step = 0; step < 400; step++) {
+            TreeItem<String> item = items.get(random.nextInt(items.size()));
+            switch (random.nextInt(6)) {
+                case 0, 1 -> {
+                    TreeItem<String> child = new TreeItem<>("item " + count++);
+                    child.setExpanded(random.nextBoolean());
+                    item.getChildren().add(random.nextInt(item.getChildren().size() + 1), child);
+                    items.add(child);
+                }
+                case 2 -> {
+                    if (item != rootNode) {
+                        item.setExpanded(!item.isExpanded());
+                    }
+                }
+                case 3 -> {
+                    if (item != rootNode) {
+                        item.getParent().getChildren().remove(item);
+                        items.clear();
+                        collect(rootNode, items);
+                    }
+                }
+                case 4 -> FXCollections.reverse(item.getChildren());
+                case 5 -> treeView.setShowRoot(!treeView.isShowRoot());
+            }
+            if (step % 10 == 0) {
+                assertRowsMatchTree(treeView);
+            }
+        }
+        assertRowsMatchTree(treeView);
+    }
+
+    @Test
+    public void testRowLookupAfterMovingChildOutOfCollapsedParent() {
+        TreeItem<String> rootNode = new TreeItem<>("root");
+        TreeItem<String> p = new TreeItem<>("p");
+        TreeItem<String> c = new TreeItem<>("c");
+        TreeItem<String> q = new TreeItem<>("q");
+        TreeItem<String> tail = new TreeItem<>("tail");
+        p.getChildren().add(c);
+        rootNode.getChildren().addAll(p, q, tail);
+        rootNode.setExpanded(true);
+        p.setExpanded(true);
+        q.setExpanded(true);
+        c.setExpanded(true);
+        TreeView<String> treeView = new TreeView<>(rootNode);
+        assertEquals(5, treeView.getExpandedItemCount());
+
+        p.setExpanded(false);
+        assertEquals(4, treeView.getExpandedItemCount());
+
+        // c is now marked as changed in p, which is collapsed
+        c.getChildren().add(new TreeItem<>("c1"));
+        p.getChildren().remove(c);
+        q.getChildren().add(c);
+        assertRowsMatchTree(treeView);
+
+        c.getChildren().add(new TreeItem<>("c2"));
+        assertEquals(7, treeView.getExpandedItemCount());
+        assertEquals(6, treeView.getRow(tail));
+        assertRowsMatchTree(treeView);
+    }
+
+    @Test
+    public void testRowLookupInWideTree() {
+        TreeItem<String> rootNode = new TreeItem<>("root");
+        rootNode.setExpanded(true);
+        for (int i = 0; i < 1000; i++) {
+            TreeItem<String> child = new TreeItem<>("child " + i);
+            for (int j = 0; j < 10; j++) {
+                child.getChildren().add(new TreeItem<>("child " + i + "." + j));
+            }
+            rootNode.getChildren().add(child);
+        }
+        TreeView<String> treeView = new TreeView<>(rootNode);
+        assertEquals(1001, treeView.getExpandedItemCount());
+        assertEquals("child 500", treeView.getTreeItem(501).getValue());
+
+        // expanding a node only shifts the rows after it
+        rootNode.getChildren().get(10).setExpanded(true);
+        assertEquals(1011, treeView.getExpandedItemCount());
+        assertEquals("child 10.9", treeView.getTreeItem(21).getValue());
+        assertEquals("child 11", treeView.getTreeItem(22).getValue());
+        assertEquals(511, treeView.getRow(rootNode.getChildren().get(500)));
+        assertEquals(-1, treeView.getRow(rootNode.getChildren().get(500).getChildren().get(0)));
+
+        // changes deeper in the tree are reflected in all ancestors
+        TreeItem<String> grandChild = rootNode.getChildren().get(10).getChildren().get(5);
+        grandChild.getChildren().addAll(new TreeItem<>("a"), new TreeItem<>("b"));
+        grandChild.setExpanded(true);
+        assertEquals(1013, treeView.getExpandedItemCount());
+        assertEquals("b", treeView.getTreeItem(19).getValue());
+        assertEquals(513, treeView.getRow(rootNode.getChildren().get(500)));
+
+        rootNode.getChildren().get(10).setExpanded(false);
+        assertEquals(1001, treeView.getExpandedItemCount());
+        assertEquals(501, treeView.getRow(rootNode.getChildren().get(500)));
+        assertRowsMatchTree(treeView);
+    }
+
     public static class MisbehavingOnCancelTreeCell<S> extends TreeCell<S> {
 
         @Override
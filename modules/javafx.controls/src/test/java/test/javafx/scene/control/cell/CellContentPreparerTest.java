@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.javafx.scene.control.cell;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+import javafx.scene.control.IndexRange;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.cell.CellContentPreparer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CellContentPreparerTest {
+
+    private Deque<Runnable> queue;
+    private List<String> prepared;
+    private CellContentPreparer<String, String> preparer;
+
+    /**
+     * An executor that runs tasks only when asked to, so the tests can
+     * control when preparation finishes. Completions are delivered through
+     * Platform.runLater, which the stub toolkit runs immediately.
+     */
+    private final Executor executor = r -> queue.add(r);
+
+    @BeforeEach
+    public void setup() {
+        queue = new ArrayDeque<>();
+        prepared = new ArrayList<>();
+        preparer = new CellContentPreparer<>(item -> {
+            prepared.add(item);
+            return item.toUpperCase();
+        }, executor, 3);
+    }
+
+    private void runAll() {
+        while (!queue.isEmpty()) {
+            queue.poll().run();
+        }
+    }
+
+    private static class TestCell extends ListCell<String> {
+        String content;
+
+        void show(String item) {
+            updateItem(item, item == null);
+        }
+    }
+
+    @Test
+    public void testApplyWhenNotPreparedIsDeferred() {
+        TestCell cell = new TestCell();
+        cell.show("a");
+
+        assertFalse(preparer.apply(cell, "a", (c, r) -> c.content = r));
+        assertNull(cell.content);
+        assertEquals(1, queue.size());
+
+        runAll();
+        assertEquals("A", cell.content);
+        assertEquals("A", preparer.getPrepared("a"));
+    }
+
+    @Test
+    public void testApplyWhenPreparedIsImmediate() {
+        preparer.prepare("a");
+        runAll();
+
+        TestCell cell = new TestCell();
+        cell.show("a");
+        assertTrue(preparer.apply(cell, "a", (c, r) -> c.content = r));
+        assertEquals("A", cell.content);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testResultIsNotAppliedToReusedCell() {
+        TestCell cell = new TestCell();
+        cell.show("a");
+        preparer.apply(cell, "a", (c, r) -> c.content = r);
+
+        cell.show("b");
+        runAll();
+
+        assertNull(cell.content);
+        assertTrue(preparer.isPrepared("a"));
+    }
+
+    @Test
+    public void testResultIsNotAppliedToEmptyCell() {
+        TestCell cell = new TestCell();
+        cell.show("a");
+        preparer.apply(cell, "a", (c, r) -> c.content = r);
+
+        cell.show(null);
+        runAll();
+
+        assertNull(cell.content);
+    }
+
+    @Test
+    public void testItemIsOnlyPreparedOnce() {
+        TestCell cell1 = new TestCell();
+        TestCell cell2 = new TestCell();
+        cell1.show("a");
+        cell2.show("a");
+        preparer.prepare("a");
+        preparer.apply(cell1, "a", (c, r) -> c.content = r);
+        preparer.apply(cell2, "a", (c, r) -> c.content = r);
+        runAll();
+
+        assertEquals(List.of("a"), prepared);
+        assertEquals("A", cell1.content);
+        assertEquals("A", cell2.content);
+    }
+
+    @Test
+    public void testNullItemIsIgnored() {
+        TestCell cell = new TestCell();
+        assertFalse(preparer.apply(cell, null, (c, r) -> fail()));
+        preparer.prepare(null);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testPrefetchCancelsItemsNoLongerWanted() {
+        preparer.prefetch(List.of("a", "b"));
+        preparer.prefetch(List.of("b", "c"));
+        runAll();
+
+        assertEquals(List.of("b", "c"), prepared);
+        assertFalse(preparer.isPrepared("a"));
+        assertTrue(preparer.isPrepared("b"));
+        assertTrue(preparer.isPrepared("c"));
+    }
+
+    @Test
+    public void testPrefetchDoesNotCancelItemsCellsAreWaitingFor() {
+        TestCell cell = new TestCell();
+        cell.show("a");
+        preparer.apply(cell, "a", (c, r) -> c.content = r);
+        preparer.prefetch(List.of("b"));
+        runAll();
+
+        assertEquals("A", cell.content);
+        assertTrue(preparer.isPrepared("b"));
+    }
+
+    @Test
+    public void testPrefetchCancelsItemsOfRecycledCells() {
+        TestCell cell = new TestCell();
+        cell.show("a");
+        preparer.apply(cell, "a", (c, r) -> c.content = r);
+
+        // the cell now waits for b only, so a can be cancelled
+        cell.show("b");
+        preparer.apply(cell, "b", (c, r) -> c.content = r);
+        preparer.prefetch(List.of());
+        runAll();
+
+        assertEquals(List.of("b"), prepared);
+        assertEquals("B", cell.content);
+        assertFalse(preparer.isPrepared("a"));
+    }
+
+    @Test
+    public void testPrefetchCancelsItemsOfEmptiedCells() {
+        TestCell cell = new TestCell();
+        cell.show("a");
+        preparer.apply(cell, "a", (c, r) -> c.content = r);
+
+        cell.show(null);
+        preparer.apply(cell, null, (c, r) -> c.content = r);
+        preparer.prefetch(List.of());
+        runAll();
+
+        assertTrue(prepared.isEmpty());
+    }
+
+    @Test
+    public void testPrefetcherPreparesItemsInRange() {
+        List<String> items = List.of("a", "b", "c", "d");
+        Consumer<IndexRange> prefetcher = preparer.prefetcher(items::get);
+        prefetcher.accept(new IndexRange(1, 3));
+        runAll();
+
+        assertEquals(List.of("b", "c"), prepared);
+    }
+
+    @Test
+    public void testCacheEvictsLeastRecentlyUsed() {
+        preparer.prefetch(List.of("a", "b", "c"));
+        runAll();
+        preparer.getPrepared("a");
+        preparer.prepare("d");
+        runAll();
+
+        assertTrue(preparer.isPrepared("a"));
+        assertFalse(preparer.isPrepared("b"));
+        assertTrue(preparer.isPrepared("c"));
+        assertTrue(preparer.isPrepared("d"));
+    }
+
+    @Test
+    public void testInvalidateDiscardsResult() {
+        preparer.prepare("a");
+        runAll();
+        preparer.invalidate("a");
+
+        assertFalse(preparer.isPrepared("a"));
+        preparer.prepare("a");
+        runAll();
+        assertEquals(List.of("a", "a"), prepared);
+    }
+
+    @Test
+    public void testInvalidateWhilePendingReschedulesForWaitingCells() {
+        TestCell cell = new TestCell();
+        cell.show("a");
+        preparer.apply(cell, "a", (c, r) -> c.content = r);
+        preparer.invalidate("a");
+        assertEquals(2, queue.size());
+
+        runAll();
+        assertEquals(List.of("a"), prepared);
+        assertEquals("A", cell.content);
+    }
+
+    @Test
+    public void testClearCancelsPendingPreparation() {
+        TestCell cell = new TestCell();
+        cell.show("a");
+        preparer.apply(cell, "a", (c, r) -> c.content = r);
+        preparer.clear();
+        runAll();
+
+        assertTrue(prepared.isEmpty());
+        assertNull(cell.content);
+        assertFalse(preparer.isPrepared("a"));
+    }
+
+    @Test
+    public void testFailureIsReportedToUncaughtExceptionHandler() {
+        List<Throwable> errors = new ArrayList<>();
+        Thread.UncaughtExceptionHandler old = Thread.currentThread().getUncaughtExceptionHandler();
+        Thread.currentThread().setUncaughtExceptionHandler((t, e) -> errors.add(e));
+        try {
+            CellContentPreparer<String, String> failing = new CellContentPreparer<>(item -> {
+                throw new IllegalStateException(item);
+            }, executor, 3);
+            failing.prepare("a");
+            runAll();
+
+            assertEquals(1, errors.size());
+            assertTrue(errors.get(0) instanceof IllegalStateException);
+            assertFalse(failing.isPrepared("a"));
+
+            // a failed item can be prepared again
+            failing.prepare("a");
+            assertEquals(1, queue.size());
+        } finally {
+            Thread.currentThread().setUncaughtExceptionHandler(old);
+        }
+    }
+
+    @Test
+    public void testNegativeCacheSizeThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new CellContentPreparer<String, String>(s -> s, executor, -1));
+    }
+}
@@ -2093,6 +2093,24 @@ public class LabelSkinTest {
         assertEquals("foo __bar", LabelSkinBaseShim.getText(label).getText());
     }
 
+    @Test
+    public void testClippedTextDependsOnWidthStyleAndEllipsis() {
+        final String string = "The quick brown fox jumps over the lazy dog";
+        final Font font = label.getFont();
+        final double width = Utils.computeTextWidth(font, string, 0) / 2;
+
+        String clipped = Utils.computeClippedText(font, string, width, OverrunStyle.ELLIPSIS, "...");
+        assertTrue(clipped.endsWith("..."));
+        assertTrue(clipped.length() < string.length());
+        assertEquals(clipped, Utils.computeClippedText(font, string, width, OverrunStyle.ELLIPSIS, "..."));
+
+        assertTrue(Utils.computeClippedText(font, string, width, OverrunStyle.LEADING_ELLIPSIS, "...").startsWith("..."));
+        assertTrue(Utils.computeClippedText(font, string, width, OverrunStyle.ELLIPSIS, "~").endsWith("~"));
+        assertTrue(Utils.computeClippedText(font, string, width / 2, OverrunStyle.ELLIPSIS, "...").length() < clipped.length());
+        assertEquals(string, Utils.computeClippedText(font, string, width * 3, OverrunStyle.ELLIPSIS, "..."));
+        assertEquals(clipped, Utils.computeClippedText(font, string, width, OverrunStyle.ELLIPSIS, "..."));
+    }
+
     /*********************************************************************
      *
      * Tests for bug reports                                             *
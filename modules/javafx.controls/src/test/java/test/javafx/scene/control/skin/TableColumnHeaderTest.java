@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2018, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,7 @@
 
 package test.javafx.scene.control.skin;
 
+import com.sun.javafx.scene.control.BackgroundExecutor;
 import com.sun.javafx.tk.Toolkit;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -40,6 +41,11 @@ import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.HBox;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
 import org.junit.Before;
 import org.junit.After;
 import org.junit.Test;
@@ -58,6 +64,7 @@ public class TableColumnHeaderTest {
     private TableColumnHeader firstColumnHeader;
     private TableView<Person> tableView;
     private StageLoader sl;
+    private final Deque<Runnable> queue = new ArrayDeque<>();
     private static String NAME0 = "Humphrey McPhee";
     private static String NAME1 = "Justice Caldwell";
     private static String NAME2 = "Orrin Davies";
@@ -89,6 +96,7 @@ public class TableColumnHeaderTest {
 
     @After
     public void after() {
+        BackgroundExecutor.setExecutor(null);
         sl.dispose();
     }
 
@@ -283,6 +291,153 @@ public class TableColumnHeaderTest {
         assertTrue(width > 0);
     }
 
+    private ObservableList<Person> createLargeModel() {
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            persons.add(new Person(i % 2 == 0 ? NAME2 : NAME3, i));
+        }
+        return FXCollections.observableArrayList(persons);
+    }
+
+    private void runQueue() {
+        while (!queue.isEmpty()) {
+            queue.poll().run();
+        }
+    }
+
+    /** The text of the rows of large columns is measured in the background */
+    @Test
+    public void test_resizeColumnToFitContentLargeColumn() {
+        TableColumn column = tableView.getColumns().get(0);
+        BackgroundExecutor.setExecutor(queue::add);
+
+        tableView.setItems(createLargeModel());
+        tableView.getItems().get(0).setFirstName("This is a big text inside that column");
+        TableColumnHeaderShim.resizeColumnToFitContent(firstColumnHeader, -1);
+        runQueue();
+        double expectedWidth = column.getWidth();
+
+        tableView.getItems().get(0).setFirstName(NAME2);
+        TableColumnHeaderShim.resizeColumnToFitContent(firstColumnHeader, -1);
+        runQueue();
+        double smallWidth = column.getWidth();
+        assertTrue("Column width must be smaller", smallWidth < expectedWidth);
+
+        tableView.getItems().get(15_000).setFirstName("This is a big text inside that column");
+        TableColumnHeaderShim.resizeColumnToFitContent(firstColumnHeader, -1);
+        assertEquals("Width must not change before the text is measured",
+                smallWidth, column.getWidth(), 0.001);
+        assertEquals(1, queue.size());
+
+        runQueue();
+        assertEquals("Width must be the same as when measured with a cell",
+                expectedWidth, column.getWidth(), 1);
+    }
+
+    /** The column keeps a width given by the user while its text is measured */
+    @Test
+    public void test_resizeColumnToFitContentLargeColumnResizedByUser() {
+        TableColumn column = tableView.getColumns().get(0);
+        BackgroundExecutor.setExecutor(queue::add);
+
+        tableView.setItems(createLargeModel());
+        tableView.getItems().get(15_000).setFirstName("This is a big text inside that column");
+        TableColumnHeaderShim.resizeColumnToFitContent(firstColumnHeader, -1);
+
+        tableView.resizeColumn(column, 5);
+        double width = column.getWidth();
+        runQueue();
+        assertEquals("Width must be the one given by the user",
+                width, column.getWidth(), 0.001);
+    }
+
+    /** The measured text is discarded when the items change during the measurement */
+    @Test
+    public void test_resizeColumnToFitContentLargeColumnItemsModified() {
+        TableColumn column = tableView.getColumns().get(0);
+        BackgroundExecutor.setExecutor(queue::add);
+
+        tableView.setItems(createLargeModel());
+        tableView.getItems().get(15_000).setFirstName("This is a big text inside that column");
+        TableColumnHeaderShim.resizeColumnToFitContent(firstColumnHeader, -1);
+        double width = column.getWidth();
+
+        tableView.getItems().remove(15_000);
+        runQueue();
+        assertEquals("Width must not change", width, column.getWidth(), 0.001);
+    }
+
+    /** The last measurement of unmodified items is applied while they are measured again */
+    @Test
+    public void test_resizeColumnToFitContentLargeColumnReusesLastMeasurement() {
+        TableColumn column = tableView.getColumns().get(0);
+        BackgroundExecutor.setExecutor(queue::add);
+
+        tableView.setItems(createLargeModel());
+        tableView.getItems().get(15_000).setFirstName("This is a big text inside that column");
+        TableColumnHeaderShim.resizeColumnToFitContent(firstColumnHeader, -1);
+        runQueue();
+        double width = column.getWidth();
+
+        tableView.resizeColumn(column, -20);
+        TableColumnHeaderShim.resizeColumnToFitContent(firstColumnHeader, -1);
+        assertEquals("Width of the last measurement must be applied",
+                width, column.getWidth(), 0.001);
+        assertEquals(1, queue.size());
+
+        runQueue();
+        assertEquals(width, column.getWidth(), 0.001);
+    }
+
+    /** The text of the rows of large columns is read a chunk at a time */
+    @Test
+    public void test_resizeColumnToFitContentLargeColumnReadsRowsInChunks() {
+        TableColumn<Person, String> column = (TableColumn<Person, String>) tableView.getColumns().get(0);
+        int[] reads = new int[1];
+        column.setCellValueFactory(data -> {
+            reads[0]++;
+            return data.getValue().firstNameProperty();
+        });
+        BackgroundExecutor.setExecutor(queue::add);
+
+        tableView.setItems(createLargeModel());
+        reads[0] = 0;
+        TableColumnHeaderShim.resizeColumnToFitContent(firstColumnHeader, -1);
+        int firstReads = reads[0];
+        assertTrue("Only the first chunk of rows must be read", firstReads < 10_000);
+        assertEquals(1, queue.size());
+
+        queue.poll().run();
+        assertTrue("The next chunk of rows must be read", reads[0] > firstReads);
+        assertEquals(1, queue.size());
+
+        runQueue();
+        assertTrue("All rows must be read", reads[0] >= 20_000);
+    }
+
+    /** The constrained resize policies take the measured width from the other columns */
+    @Test
+    public void test_resizeColumnToFitContentLargeColumnConstrained() {
+        TableColumn column = tableView.getColumns().get(0);
+        TableColumn<Person, String> lastColumn = new TableColumn<>("Last");
+        lastColumn.setCellValueFactory(new PropertyValueFactory<>("lastName"));
+        tableView.getColumns().add(lastColumn);
+        tableView.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY_FLEX_LAST_COLUMN);
+        Toolkit.getToolkit().firePulse();
+        BackgroundExecutor.setExecutor(queue::add);
+
+        tableView.setItems(createLargeModel());
+        tableView.getItems().get(15_000).setFirstName("This is a big text inside that column");
+        TableColumnHeaderShim.resizeColumnToFitContent(firstColumnHeader, -1);
+        double width = column.getWidth();
+        double totalWidth = width + lastColumn.getWidth();
+
+        runQueue();
+        assertTrue("Column width must grow", column.getWidth() > width);
+        assertEquals("Columns must keep their total width",
+                totalWidth, column.getWidth() + lastColumn.getWidth(), 1);
+    }
+
     private TableRow<Person> createCustomRow(TableView<Person> tableView) {
         TableRow<Person> row = new TableRow<>() {
             protected Skin<?> createDefaultSkin() {
@@ -26,30 +26,50 @@
 package test.javafx.scene.control.skin;
 
 import com.sun.javafx.tk.Toolkit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.AccessibleAttribute;
 import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.Skin;
 import javafx.scene.control.TableCell;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableRow;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.control.skin.NestedTableColumnHeader;
 import javafx.scene.control.skin.TableColumnHeader;
 import javafx.scene.control.skin.TableColumnHeaderShim;
+import javafx.scene.control.skin.TableHeaderRow;
+import javafx.scene.control.skin.TableHeaderRowShim;
 import javafx.scene.control.skin.TableRowSkin;
+import javafx.scene.control.skin.TableSkinShim;
+import javafx.scene.control.skin.VirtualFlowShim;
+import javafx.scene.paint.Color;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import test.com.sun.javafx.scene.control.infrastructure.KeyModifier;
+import test.com.sun.javafx.scene.control.infrastructure.MouseEventFirer;
 import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
 import test.com.sun.javafx.scene.control.infrastructure.VirtualFlowTestUtils;
 import test.com.sun.javafx.scene.control.test.Person;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class TableRowSkinTest {
@@ -316,11 +336,369 @@ public class TableRowSkinTest {
         invisibleColumnsShouldRemoveCorrespondingCellsInRowImpl();
     }
 
+    @Test
+    public void fixedCellSizeRowOnlyHasCellsForColumnsInViewport() {
+        TableView<Person> wideTable = createWideTable(100, null);
+        TableRow<?> row = (TableRow<?>) VirtualFlowTestUtils.getCell(wideTable, 0);
+
+        // 300px viewport, 100px columns
+        List<TableCell<?, ?>> cells = getTableCells(row);
+        assertTrue("cells: " + cells.size(), cells.size() <= 4);
+        assertSame(wideTable.getColumns().get(0), cells.get(0).getTableColumn());
+    }
+
+    @Test
+    public void fixedCellSizeRowUpdatesCellsOnHorizontalScroll() {
+        TableView<Person> wideTable = createWideTable(100, null);
+        ScrollBar hbar = VirtualFlowShim.getHBar(VirtualFlowTestUtils.getVirtualFlow(wideTable));
+
+        hbar.setValue(5000);
+        Toolkit.getToolkit().firePulse();
+
+        TableRow<?> row = (TableRow<?>) VirtualFlowTestUtils.getCell(wideTable, 0);
+        List<TableCell<?, ?>> cells = getTableCells(row);
+        assertTrue("cells: " + cells.size(), cells.size() <= 4);
+        for (TableCell<?, ?> cell : cells) {
+            int column = wideTable.getVisibleLeafIndex((TableColumn) cell.getTableColumn());
+            assertTrue("column " + column, column >= 49 && column <= 53);
+            assertEquals(row.getIndex(), cell.getIndex());
+            assertEquals(row.getItem(), cell.getTableRow().getItem());
+            assertEquals(column * 100, cell.getLayoutX(), 0);
+        }
+    }
+
+    @Test
+    public void fixedCellSizeRowOnlyCreatesCellsForColumnsInViewport() {
+        int[] created = new int[1];
+        TableView<Person> wideTable = createWideTable(100, () -> created[0]++);
+        int initial = created[0];
+        assertTrue("created: " + initial, initial < 100);
+
+        ScrollBar hbar = VirtualFlowShim.getHBar(VirtualFlowTestUtils.getVirtualFlow(wideTable));
+        hbar.setValue(hbar.getMax());
+        Toolkit.getToolkit().firePulse();
+
+        // only the columns at the end have been added
+        assertTrue("created: " + created[0], created[0] < 2 * initial);
+    }
+
+    @Test
+    public void fixedCellSizeRowReusesDefaultCellsAcrossColumns() {
+        TableView<Person> wideTable = createWideTable(100, null);
+        TableRow<?> row = (TableRow<?>) VirtualFlowTestUtils.getCell(wideTable, 0);
+        Set<TableCell<?, ?>> before = Collections.newSetFromMap(new IdentityHashMap<>());
+        before.addAll(getTableCells(row));
+
+        ScrollBar hbar = VirtualFlowShim.getHBar(VirtualFlowTestUtils.getVirtualFlow(wideTable));
+        hbar.setValue(3000);
+        Toolkit.getToolkit().firePulse();
+
+        row = (TableRow<?>) VirtualFlowTestUtils.getCell(wideTable, 0);
+        for (TableCell<?, ?> cell : getTableCells(row)) {
+            assertTrue(before.contains(cell));
+            // the style class of the old column has been replaced by that of the new one
+            int column = wideTable.getVisibleLeafIndex((TableColumn) cell.getTableColumn());
+            assertEquals(List.of("c" + column),
+                    cell.getStyleClass().stream().filter(c -> c.matches("c\\d+")).toList());
+        }
+    }
+
+    @Test
+    public void fixedCellSizeRowPrefWidthIncludesAllColumns() {
+        TableView<Person> wideTable = createWideTable(100, null);
+        TableRow<?> row = (TableRow<?>) VirtualFlowTestUtils.getCell(wideTable, 0);
+        assertEquals(100 * 100, row.prefWidth(-1), 0);
+    }
+
+    @Test
+    public void columnHeadersAreNotVirtualizedByDefault() {
+        TableView<Person> wideTable = createWideTable(100, null);
+        NestedTableColumnHeader rootHeader = TableSkinShim.getTableHeaderRow(wideTable).getRootHeader();
+
+        assertEquals(100, rootHeader.getColumnHeaders().size());
+        assertEquals(100, getHeadersInSceneGraph(rootHeader).size());
+    }
+
+    @Test
+    public void virtualizedHeaderOnlyShowsHeadersForColumnsInViewport() {
+        TableView<Person> wideTable = createWideTable(100, null);
+        NestedTableColumnHeader rootHeader = TableSkinShim.getTableHeaderRow(wideTable).getRootHeader();
+
+        wideTable.setVirtualizeColumnHeaders(true);
+        Toolkit.getToolkit().firePulse();
+
+        // 300px viewport, 100px columns
+        List<TableColumnHeader> headers = getHeadersInSceneGraph(rootHeader);
+        assertTrue("headers: " + headers.size(), headers.size() <= 4);
+        assertSame(wideTable.getColumns().get(0), headers.get(0).getTableColumn());
+        assertEquals(100, rootHeader.getColumnHeaders().size());
+        assertEquals(100 * 100, rootHeader.prefWidth(-1), 0);
+
+        wideTable.setVirtualizeColumnHeaders(false);
+        Toolkit.getToolkit().firePulse();
+        assertEquals(100, getHeadersInSceneGraph(rootHeader).size());
+    }
+
+    @Test
+    public void virtualizedHeaderUpdatesHeadersOnHorizontalScroll() {
+        TableView<Person> wideTable = createWideTable(100, null);
+        wideTable.setVirtualizeColumnHeaders(true);
+        Toolkit.getToolkit().firePulse();
+        TableHeaderRow headerRow = TableSkinShim.getTableHeaderRow(wideTable);
+        ScrollBar hbar = VirtualFlowShim.getHBar(VirtualFlowTestUtils.getVirtualFlow(wideTable));
+
+        hbar.setValue(5000);
+        Toolkit.getToolkit().firePulse();
+
+        List<TableColumnHeader> headers = getHeadersInSceneGraph(headerRow.getRootHeader());
+        assertTrue("headers: " + headers.size(), headers.size() <= 4);
+        for (TableColumnHeader header : headers) {
+            int column = wideTable.getVisibleLeafIndex((TableColumn) header.getTableColumn());
+            assertTrue("column " + column, column >= 49 && column <= 53);
+            assertEquals(column * 100, header.getLayoutX(), 0);
+        }
+
+        // the headers outside the viewport are still there
+        TableColumnHeader first = TableHeaderRowShim.getColumnHeaderFor(headerRow, wideTable.getColumns().get(0));
+        assertNotNull(first);
+        assertNull(first.getParent());
+    }
+
+    @Test
+    public void virtualizedHeaderUpdatesHeadersWhenColumnsAreResized() {
+        TableView<Person> wideTable = createWideTable(100, null);
+        wideTable.setVirtualizeColumnHeaders(true);
+        Toolkit.getToolkit().firePulse();
+        NestedTableColumnHeader rootHeader = TableSkinShim.getTableHeaderRow(wideTable).getRootHeader();
+
+        wideTable.getColumns().get(0).setPrefWidth(20);
+        wideTable.getColumns().get(1).setPrefWidth(20);
+        Toolkit.getToolkit().firePulse();
+
+        // two more columns now fit in the viewport
+        List<TableColumnHeader> headers = getHeadersInSceneGraph(rootHeader);
+        assertTrue("headers: " + headers.size(), headers.size() >= 5 && headers.size() <= 6);
+        assertEquals(40, headers.get(2).getLayoutX(), 0);
+    }
+
+    @Test
+    public void virtualizedHeaderScrollToColumnOutsideViewport() {
+        TableView<Person> wideTable = createWideTable(100, null);
+        wideTable.setVirtualizeColumnHeaders(true);
+        Toolkit.getToolkit().firePulse();
+        ScrollBar hbar = VirtualFlowShim.getHBar(VirtualFlowTestUtils.getVirtualFlow(wideTable));
+
+        wideTable.scrollToColumnIndex(80);
+        Toolkit.getToolkit().firePulse();
+
+        assertEquals(8000, hbar.getValue(), 0);
+        TableHeaderRow headerRow = TableSkinShim.getTableHeaderRow(wideTable);
+        TableColumnHeader header = TableHeaderRowShim.getColumnHeaderFor(headerRow, wideTable.getColumns().get(80));
+        assertSame(headerRow.getRootHeader(), header.getParent());
+    }
+
+    @Test
+    public void virtualizedHeadersSizeAllColumnsToFitWhenShown() {
+        stageLoader.dispose();
+        TableView<Person> wideTable = new TableView<>(tableView.getItems());
+        wideTable.setVirtualizeColumnHeaders(true);
+        for (int i = 0; i < 20; i++) {
+            TableColumn<Person, String> column = new TableColumn<>("C" + i);
+            column.setCellValueFactory(new PropertyValueFactory<>("firstName"));
+            wideTable.getColumns().add(column);
+        }
+        wideTable.setPrefSize(300, 300);
+        stageLoader = new StageLoader(wideTable);
+        Toolkit.getToolkit().firePulse();
+
+        NestedTableColumnHeader rootHeader = TableSkinShim.getTableHeaderRow(wideTable).getRootHeader();
+        assertTrue(getHeadersInSceneGraph(rootHeader).size() < 20);
+
+        // the columns outside the viewport are sized to fit as well
+        double width = wideTable.getColumns().get(0).getWidth();
+        assertNotEquals(80, width, 0);
+        assertEquals(width, wideTable.getColumns().get(19).getWidth(), 0);
+    }
+
+    @Test
+    public void lightweightRowsDrawOntoCanvasInsteadOfCells() {
+        TableView<Person> wideTable = createWideTable(100, null);
+        wideTable.setLightweightRows(true);
+        Toolkit.getToolkit().firePulse();
+
+        TableRow<?> row = (TableRow<?>) VirtualFlowTestUtils.getCell(wideTable, 0);
+        assertTrue(getTableCells(row).isEmpty());
+        assertEquals(1, row.getChildrenUnmodifiable().size());
+        Canvas canvas = (Canvas) row.getChildrenUnmodifiable().get(0);
+        // the canvas only covers the columns in the 300px viewport
+        assertEquals(0, canvas.getLayoutX(), 0);
+        assertTrue("width: " + canvas.getWidth(), canvas.getWidth() > 0 && canvas.getWidth() <= 400);
+        assertEquals(24, canvas.getHeight(), 0);
+        assertEquals(100 * 100, row.prefWidth(-1), 0);
+    }
+
+    @Test
+    public void lightweightRowsCreateNoCells() {
+        int[] created = new int[1];
+        TableView<Person> wideTable = createWideTable(100, () -> created[0]++);
+        wideTable.setLightweightRows(true);
+        Toolkit.getToolkit().firePulse();
+        created[0] = 0;
+
+        ScrollBar hbar = VirtualFlowShim.getHBar(VirtualFlowTestUtils.getVirtualFlow(wideTable));
+        hbar.setValue(5000);
+        Toolkit.getToolkit().firePulse();
+        wideTable.getItems().set(0, new Person("a", "b", "c", 5));
+        Toolkit.getToolkit().firePulse();
+        assertEquals(0, created[0]);
+
+        TableRow<?> row = (TableRow<?>) VirtualFlowTestUtils.getCell(wideTable, 0);
+        Canvas canvas = (Canvas) row.getChildrenUnmodifiable().get(0);
+        assertEquals(4900, canvas.getLayoutX(), 100);
+    }
+
+    @Test
+    public void lightweightRowsRequireFixedCellSize() {
+        TableView<Person> wideTable = createWideTable(10, null);
+        wideTable.setLightweightRows(true);
+        wideTable.setFixedCellSize(-1);
+        Toolkit.getToolkit().firePulse();
+
+        TableRow<?> row = (TableRow<?>) VirtualFlowTestUtils.getCell(wideTable, 0);
+        assertEquals(10, getTableCells(row).size());
+    }
+
+    @Test
+    public void lightweightRowsShowCellsAgainWhenTurnedOff() {
+        TableView<Person> wideTable = createWideTable(100, null);
+        wideTable.setLightweightRows(true);
+        Toolkit.getToolkit().firePulse();
+        wideTable.setLightweightRows(false);
+        Toolkit.getToolkit().firePulse();
+
+        TableRow<?> row = (TableRow<?>) VirtualFlowTestUtils.getCell(wideTable, 0);
+        List<TableCell<?, ?>> cells = getTableCells(row);
+        assertTrue("cells: " + cells.size(), cells.size() > 0 && cells.size() <= 4);
+        assertEquals("firstName1", cells.get(0).getText());
+        assertTrue(row.getChildrenUnmodifiable().stream().noneMatch(node -> node instanceof Canvas));
+    }
+
+    @Test
+    public void lightweightRowsReportTheirTextToAccessibility() {
+        TableView<Person> wideTable = createWideTable(3, null);
+        wideTable.setLightweightRows(true);
+        Toolkit.getToolkit().firePulse();
+
+        TableRow<?> row = (TableRow<?>) VirtualFlowTestUtils.getCell(wideTable, 1);
+        assertEquals("firstName2 firstName2 firstName2", row.queryAccessibleAttribute(AccessibleAttribute.TEXT));
+    }
+
+    @Test
+    public void lightweightRowsSelectRowsOnClick() {
+        TableView<Person> wideTable = createWideTable(100, null);
+        wideTable.setLightweightRows(true);
+        Toolkit.getToolkit().firePulse();
+
+        TableRow<?> row = (TableRow<?>) VirtualFlowTestUtils.getCell(wideTable, 2);
+        new MouseEventFirer(row).fireMousePressAndRelease(1, 150 - row.getWidth() / 2, 0);
+        assertEquals(2, wideTable.getSelectionModel().getSelectedIndex());
+        assertTrue(row.isSelected());
+    }
+
+    @Test
+    public void lightweightRowsSelectCellsOnClick() {
+        TableView<Person> wideTable = createWideTable(100, null);
+        wideTable.setLightweightRows(true);
+        wideTable.getSelectionModel().setCellSelectionEnabled(true);
+        Toolkit.getToolkit().firePulse();
+
+        TableRow<?> row = (TableRow<?>) VirtualFlowTestUtils.getCell(wideTable, 2);
+        new MouseEventFirer(row).fireMousePressAndRelease(1, 150 - row.getWidth() / 2, 0);
+        TableColumn<Person, ?> column = wideTable.getVisibleLeafColumn(1);
+        assertTrue(wideTable.getSelectionModel().isSelected(2, column));
+        assertEquals(1, wideTable.getSelectionModel().getSelectedCells().size());
+
+        new MouseEventFirer(row).fireMousePressAndRelease(1, 150 - row.getWidth() / 2, 0, KeyModifier.getShortcutKey());
+        assertFalse(wideTable.getSelectionModel().isSelected(2, column));
+    }
+
+    @Test
+    public void lightweightRowsLookUpSelectionColorsFromCss() {
+        TableView<Person> wideTable = createWideTable(3, null);
+        wideTable.setStyle("-fx-selection-bar: black; -fx-selection-bar-non-focused: black;");
+        Toolkit.getToolkit().firePulse();
+
+        TableRow<Person> row = (TableRow<Person>) VirtualFlowTestUtils.getCell(wideTable, 0);
+        assertEquals(Color.BLACK, TableSkinShim.getCellSelectionFill(row));
+        assertEquals(Color.WHITE, TableSkinShim.getCellSelectionTextFill(row));
+    }
+
+    @Test
+    public void lightweightRowsTakeAlignmentFromInlineStyleOfColumn() {
+        TableView<Person> wideTable = createWideTable(3, null);
+        wideTable.getColumns().get(1).setStyle("-fx-text-fill: red; -fx-alignment: center-right;");
+        Toolkit.getToolkit().firePulse();
+
+        TableRow<Person> row = (TableRow<Person>) VirtualFlowTestUtils.getCell(wideTable, 0);
+        assertEquals(Pos.CENTER_LEFT, TableSkinShim.getCellAlignment(row, wideTable.getColumns().get(0)));
+        assertEquals(Pos.CENTER_RIGHT, TableSkinShim.getCellAlignment(row, wideTable.getColumns().get(1)));
+
+        row.setAlignment(Pos.TOP_CENTER);
+        assertEquals(Pos.TOP_CENTER, TableSkinShim.getCellAlignment(row, wideTable.getColumns().get(0)));
+        assertEquals(Pos.CENTER_RIGHT, TableSkinShim.getCellAlignment(row, wideTable.getColumns().get(1)));
+    }
+
     @After
     public void after() {
         stageLoader.dispose();
     }
 
+    private TableView<Person> createWideTable(int columns, Runnable onCellCreated) {
+        stageLoader.dispose();
+
+        TableView<Person> wideTable = new TableView<>(tableView.getItems());
+        wideTable.setFixedCellSize(24);
+        for (int i = 0; i < columns; i++) {
+            TableColumn<Person, String> column = new TableColumn<>("C" + i);
+            column.getStyleClass().add("c" + i);
+            column.setPrefWidth(100);
+            column.setCellValueFactory(new PropertyValueFactory<>("firstName"));
+            if (onCellCreated != null) {
+                column.setCellFactory(c -> {
+                    onCellCreated.run();
+                    return new TableCell<>();
+                });
+            }
+            wideTable.getColumns().add(column);
+        }
+        wideTable.setPrefSize(300, 300);
+
+        stageLoader = new StageLoader(wideTable);
+        Toolkit.getToolkit().firePulse();
+        return wideTable;
+    }
+
+    private static List<TableColumnHeader> getHeadersInSceneGraph(NestedTableColumnHeader rootHeader) {
+        List<TableColumnHeader> headers = new ArrayList<>();
+        for (Node node : rootHeader.getChildrenUnmodifiable()) {
+            if (node instanceof TableColumnHeader header && header.getTableColumn() != null) {
+                headers.add(header);
+            }
+        }
+        return headers;
+    }
+
+    private static List<TableCell<?, ?>> getTableCells(TableRow<?> row) {
+        List<TableCell<?, ?>> cells = new ArrayList<>();
+        for (Node node : row.getChildrenUnmodifiable()) {
+            if (node instanceof TableCell<?, ?> cell) {
+                cells.add(cell);
+            }
+        }
+        cells.sort((a, b) -> Double.compare(a.getLayoutX(), b.getLayoutX()));
+        return cells;
+    }
+
     private void invisibleColumnsShouldRemoveCorrespondingCellsInRowImpl() {
         // Set the last 2 columns invisible.
         tableView.getColumns().get(tableView.getColumns().size() - 1).setVisible(false);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2017, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -25,6 +25,7 @@
 
 package test.javafx.scene.control.skin;
 
+import com.sun.javafx.scene.NodeHelper;
 import com.sun.javafx.tk.Toolkit;
 import javafx.scene.Scene;
 import javafx.scene.control.TableColumn;
@@ -32,7 +33,10 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.skin.TableHeaderRow;
 import javafx.stage.Stage;
 import org.junit.Test;
+import test.com.sun.javafx.scene.control.infrastructure.StageLoader;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class TableViewSkinTest {
     @Test
@@ -61,4 +65,24 @@ public class TableViewSkinTest {
         assertEquals("Table Header height specified in CSS",
                       100.0, header.getHeight(), 0.001);
     }
+
+    @Test
+    public void cacheStaticContentCachesTheHeaderRowOnly() {
+        TableView<String> tableView = new TableView<>();
+        tableView.getColumns().add(new TableColumn<>("Col"));
+        StageLoader sl = new StageLoader(tableView);
+        try {
+            TableHeaderRow header = (TableHeaderRow)tableView.lookup("TableHeaderRow");
+            assertFalse(NodeHelper.isCacheStaticContent(header));
+
+            tableView.setCacheStaticContent(true);
+            assertTrue(NodeHelper.isCacheStaticContent(header));
+            assertFalse(NodeHelper.isCacheStaticContent(tableView));
+
+            tableView.setCacheStaticContent(false);
+            assertFalse(NodeHelper.isCacheStaticContent(header));
+        } finally {
+            sl.dispose();
+        }
+    }
 }
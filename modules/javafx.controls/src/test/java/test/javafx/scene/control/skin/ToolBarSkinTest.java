@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,10 +26,16 @@
 package test.javafx.scene.control.skin;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import com.sun.javafx.scene.NodeHelper;
 
 import javafx.beans.value.ObservableValue;
 import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.ToolBar;
 import javafx.scene.control.skin.ToolBarSkin;
@@ -67,6 +73,23 @@ public class ToolBarSkinTest {
         assertEquals(100, toolbar.maxWidth(-1), 0);
     }
 
+    @Test public void cacheStaticContentCachesTheItemsOnly() {
+        assertFalse(NodeHelper.isCacheStaticContent(toolbar.lookup(".container")));
+        toolbar.setCacheStaticContent(true);
+        assertTrue(NodeHelper.isCacheStaticContent(toolbar.lookup(".container")));
+        assertFalse(NodeHelper.isCacheStaticContent(toolbar));
+        toolbar.setCacheStaticContent(false);
+        assertFalse(NodeHelper.isCacheStaticContent(toolbar.lookup(".container")));
+    }
+
+    @Test public void cacheStaticContentIsKeptWhenOrientationChanges() {
+        toolbar.setCacheStaticContent(true);
+        Node box = toolbar.lookup(".container");
+        toolbar.setOrientation(Orientation.VERTICAL);
+        assertNotSame(box, toolbar.lookup(".container"));
+        assertTrue(NodeHelper.isCacheStaticContent(toolbar.lookup(".container")));
+    }
+
     public static final class ToolBarSkinMock extends ToolBarSkin {
         boolean propertyChanged = false;
         int propertyChangeCount = 0;
@@ -31,11 +31,14 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.Skin;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeTableCell;
@@ -43,9 +46,11 @@ import javafx.scene.control.TreeTableColumn;
 import javafx.scene.control.TreeTableRow;
 import javafx.scene.control.TreeTableView;
 import javafx.scene.control.cell.TreeItemPropertyValueFactory;
+import javafx.scene.control.skin.NestedTableColumnHeader;
 import javafx.scene.control.skin.TableColumnHeader;
 import javafx.scene.control.skin.TableColumnHeaderShim;
 import javafx.scene.control.skin.TreeTableRowSkin;
+import javafx.scene.control.skin.VirtualFlowShim;
 import javafx.scene.shape.Rectangle;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -403,6 +408,73 @@ public class TreeTableRowSkinTest {
         assertEquals(treeItemSubNodeAfterExpand, treeItemSubNode.getGraphic().localToScene(treeItemSubNode.getGraphic().getBoundsInLocal()).getMinY());
     }
 
+    @Test
+    public void fixedCellSizeRowOnlyHasCellsForColumnsInViewport() {
+        stageLoader.dispose();
+        treeTableView.getColumns().clear();
+        for (int i = 0; i < 100; i++) {
+            TreeTableColumn<Person, String> column = new TreeTableColumn<>("C" + i);
+            column.setPrefWidth(100);
+            column.setCellValueFactory(new TreeItemPropertyValueFactory<>("firstName"));
+            treeTableView.getColumns().add(column);
+        }
+        treeTableView.setFixedCellSize(24);
+        treeTableView.setPrefSize(300, 300);
+        stageLoader = new StageLoader(treeTableView);
+        Toolkit.getToolkit().firePulse();
+
+        ScrollBar hbar = VirtualFlowShim.getHBar(VirtualFlowTestUtils.getVirtualFlow(treeTableView));
+        hbar.setValue(5000);
+        Toolkit.getToolkit().firePulse();
+
+        TreeTableRow<?> row = (TreeTableRow<?>) VirtualFlowTestUtils.getCell(treeTableView, 0);
+        int cellCount = 0;
+        for (Node node : row.getChildrenUnmodifiable()) {
+            if (node instanceof TreeTableCell<?, ?> cell) {
+                cellCount++;
+                int column = treeTableView.getVisibleLeafIndex((TreeTableColumn) cell.getTableColumn());
+                assertTrue(column >= 49 && column <= 53, "column " + column);
+                assertEquals("firstName1", cell.getText());
+            }
+        }
+        assertTrue(cellCount > 0 && cellCount <= 4, "cells: " + cellCount);
+        assertEquals(100 * 100, row.prefWidth(-1), 0);
+    }
+
+    @Test
+    public void virtualizedHeaderOnlyShowsHeadersForColumnsInViewport() {
+        stageLoader.dispose();
+        treeTableView.getColumns().clear();
+        for (int i = 0; i < 100; i++) {
+            TreeTableColumn<Person, String> column = new TreeTableColumn<>("C" + i);
+            column.setPrefWidth(100);
+            column.setCellValueFactory(new TreeItemPropertyValueFactory<>("firstName"));
+            treeTableView.getColumns().add(column);
+        }
+        treeTableView.setVirtualizeColumnHeaders(true);
+        treeTableView.setPrefSize(300, 300);
+        stageLoader = new StageLoader(treeTableView);
+        Toolkit.getToolkit().firePulse();
+
+        ScrollBar hbar = VirtualFlowShim.getHBar(VirtualFlowTestUtils.getVirtualFlow(treeTableView));
+        hbar.setValue(5000);
+        Toolkit.getToolkit().firePulse();
+
+        NestedTableColumnHeader rootHeader = VirtualFlowTestUtils.getTableHeaderRow(treeTableView).getRootHeader();
+        assertEquals(100, rootHeader.getColumnHeaders().size());
+        List<TableColumnHeader> headers = new ArrayList<>();
+        for (Node node : rootHeader.getChildrenUnmodifiable()) {
+            if (node instanceof TableColumnHeader header && header.getTableColumn() != null) {
+                headers.add(header);
+            }
+        }
+        assertTrue(headers.size() > 0 && headers.size() <= 4, "headers: " + headers.size());
+        for (TableColumnHeader header : headers) {
+            int column = treeTableView.getVisibleLeafIndex((TreeTableColumn) header.getTableColumn());
+            assertTrue(column >= 49 && column <= 53, "column " + column);
+        }
+    }
+
     @AfterEach
     public void after() {
         if (stageLoader != null) {
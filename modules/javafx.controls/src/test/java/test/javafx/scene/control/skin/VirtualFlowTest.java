@@ -35,11 +35,13 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 
 import javafx.beans.InvalidationListener;
 import javafx.event.Event;
+import javafx.scene.control.IndexRange;
 import javafx.scene.control.IndexedCell;
 import javafx.scene.Node;
 import javafx.scene.Scene;
@@ -1838,6 +1840,86 @@ assertEquals(0, firstCell.getIndex());
         assertEquals(3, flow.getFirstVisibleCell().getIndex());
     }
 
+    @Test
+    public void testPrefetchHandlerIsNotCalledByDefault() {
+        List<IndexRange> ranges = new ArrayList<>();
+        flow.setPrefetchHandler(ranges::add);
+        flow.scrollPixels(100);
+        pulse();
+
+        assertEquals(0, flow.getPrefetchCount());
+        assertTrue(ranges.isEmpty());
+    }
+
+    @Test
+    public void testPrefetchHandlerReportsCellsAfterViewport() {
+        List<IndexRange> ranges = new ArrayList<>();
+        flow.setPrefetchCount(5);
+        flow.setPrefetchHandler(ranges::add);
+        flow.requestLayout();
+        pulse();
+
+        int last = flow.getLastVisibleCell().getIndex();
+        assertEquals(1, ranges.size());
+        assertEquals(new IndexRange(last + 1, last + 6), ranges.get(0));
+
+        // no change, no notification
+        flow.requestLayout();
+        pulse();
+        assertEquals(1, ranges.size());
+
+        flow.scrollPixels(60);
+        pulse();
+        last = flow.getLastVisibleCell().getIndex();
+        assertEquals(new IndexRange(last + 1, last + 6), ranges.get(ranges.size() - 1));
+    }
+
+    @Test
+    public void testPrefetchHandlerReportsCellsBeforeViewportWhenScrollingBackwards() {
+        List<IndexRange> ranges = new ArrayList<>();
+        flow.scrollTo(50);
+        pulse();
+        flow.setPrefetchCount(5);
+        flow.setPrefetchHandler(ranges::add);
+
+        flow.scrollPixels(-60);
+        pulse();
+
+        int first = flow.getFirstVisibleCell().getIndex();
+        assertEquals(new IndexRange(first - 5, first), ranges.get(ranges.size() - 1));
+    }
+
+    @Test
+    public void testPrefetchRangeIsReportedAgainWhenCellsAreRecreated() {
+        List<IndexRange> ranges = new ArrayList<>();
+        flow.setPrefetchCount(5);
+        flow.setPrefetchHandler(ranges::add);
+        flow.requestLayout();
+        pulse();
+        assertEquals(1, ranges.size());
+
+        // the items may have changed, so the same range is reported again
+        flow.recreateCells();
+        pulse();
+        assertEquals(2, ranges.size());
+        assertEquals(ranges.get(0), ranges.get(1));
+    }
+
+    @Test
+    public void testPrefetchRangeIsClampedToCellCount() {
+        List<IndexRange> ranges = new ArrayList<>();
+        flow.setPrefetchCount(5);
+        flow.setPrefetchHandler(ranges::add);
+        flow.scrollTo(97);
+        pulse();
+
+        int last = flow.getLastVisibleCell().getIndex();
+        assertEquals(99, last);
+        for (IndexRange range : ranges) {
+            assertTrue(range.getEnd() <= 100);
+        }
+    }
+
 }
 
 class GraphicalCellStub extends IndexedCellShim<Node> {
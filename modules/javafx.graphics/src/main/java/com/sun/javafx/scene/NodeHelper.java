@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -312,6 +312,14 @@ public abstract class NodeHelper {
         nodeAccessor.requestFocusVisible(node);
     }
 
+    public static void setCacheStaticContent(Node node, boolean value) {
+        nodeAccessor.setCacheStaticContent(node, value);
+    }
+
+    public static boolean isCacheStaticContent(Node node) {
+        return nodeAccessor.isCacheStaticContent(node);
+    }
+
     public static void setNodeAccessor(final NodeAccessor newAccessor) {
         if (nodeAccessor != null) {
             throw new IllegalStateException();
@@ -372,6 +380,8 @@ public abstract class NodeHelper {
         Map<StyleableProperty<?>,List<Style>> findStyles(Node node,
                 Map<StyleableProperty<?>,List<Style>> styleMap);
         void requestFocusVisible(Node node);
+        void setCacheStaticContent(Node node, boolean value);
+        boolean isCacheStaticContent(Node node);
     }
 
 }
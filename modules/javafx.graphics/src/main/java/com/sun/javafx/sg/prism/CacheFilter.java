@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2017, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -124,6 +124,16 @@ public class CacheFilter {
     // regenerate the cache next time.
     private boolean wasUnsupported = false;
 
+    // Static content (see NGNode.setCacheStaticContent) is only worth caching
+    // while it does not change. When it has changed for STATIC_CONTENT_RENDERS
+    // consecutive renders, the cache is bypassed until the content has not
+    // changed for as many renders.
+    static final int STATIC_CONTENT_RENDERS = 3;
+    private boolean staticContent;
+    private boolean staticContentBypassed;
+    private boolean contentChanged = true;
+    private int staticContentRenders;
+
     /**
      * Compute the dirty region that must be re-rendered after scrolling
      */
@@ -160,6 +170,37 @@ public class CacheFilter {
                            cacheHint == CacheHint.SCALE_AND_ROTATE);
     }
 
+    void setStaticContent(boolean staticContent) {
+        this.staticContent = staticContent;
+        staticContentBypassed = false;
+        staticContentRenders = 0;
+    }
+
+    /**
+     * Called on every render of static content to determine whether the cache
+     * is to be used, or bypassed because the content keeps changing.
+     */
+    boolean updateStaticContentState() {
+        // Count the consecutive renders that do not match the current mode
+        if (contentChanged != staticContentBypassed) {
+            staticContentRenders++;
+        } else {
+            staticContentRenders = 0;
+        }
+        contentChanged = false;
+        if (staticContentRenders >= STATIC_CONTENT_RENDERS) {
+            staticContentBypassed = !staticContentBypassed;
+            staticContentRenders = 0;
+            if (staticContentBypassed) {
+                imageDataUnref();
+                if (PulseLogger.PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("CacheFilter bypassed for changing static content");
+                }
+            }
+        }
+        return !staticContentBypassed;
+    }
+
     // These two methods exist only for the sake of testing.
     final boolean isScaleHint() { return scaleHint; }
     final boolean isRotateHint() { return rotateHint; }
@@ -318,6 +359,7 @@ public class CacheFilter {
     }
 
     public void invalidate() {
+        contentChanged = true;
         if (scrollCacheState == ScrollCacheState.ENABLED) {
             scrollCacheState = ScrollCacheState.CHECKING_PRECONDITIONS;
         }
@@ -523,6 +565,11 @@ public class CacheFilter {
     }
 
     void render(Graphics g) {
+        if (staticContent && !updateStaticContentState()) {
+            renderNodeToScreen(g);
+            return;
+        }
+
         // The following is safe; xform will not be mutated below
         BaseTransform xform = g.getTransformNoClone();
         FilterContext fctx = PrFilterContext.getInstance(g.getAssociatedScreen()); // getFilterContext
@@ -631,6 +678,8 @@ public class CacheFilter {
             renderCacheToScreen(g, implImage, mxt, myt);
             implImage.unlock();
         }
+        // Rebuilding the cache is not a change of the content
+        contentChanged = false;
     }
 
     /**
@@ -554,6 +554,18 @@ public abstract class NGNode {
         }
     }
 
+    /**
+     * Called by the FX scene graph after setCachedAsBitmap to indicate whether
+     * the node is only cached because its content is expected to rarely change,
+     * in which case the cache is bypassed while the content keeps changing.
+     * @param staticContent whether the node is cached as static content
+     */
+    public void setCacheStaticContent(boolean staticContent) {
+        if (cacheFilter != null) {
+            cacheFilter.setStaticContent(staticContent);
+        }
+    }
+
     /**
      * Called by the FX scene graph to set the effect.
      * @param effect the effect (can be null to clear it)
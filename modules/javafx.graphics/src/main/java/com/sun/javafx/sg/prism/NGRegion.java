@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2011, 2019, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2011, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -197,6 +197,19 @@ public class NGRegion extends NGGroup {
      */
     private Integer cacheKey;
 
+    /**
+     * Determined when a border is set on the region, this flag indicates whether the
+     * border can be cached. Only solid strokes of a single color with fixed widths and
+     * rounded corners are cached, as square corners are cheap enough to draw directly.
+     */
+    private boolean borderCacheable;
+
+    /**
+     * Is the key into the image cache that identifies the required border
+     * for the region.
+     */
+    private Integer borderCacheKey;
+
     /**
      * Simple Helper Function for cleanup.
      */
@@ -236,6 +249,7 @@ public class NGRegion extends NGGroup {
         // is also called, so this will get invalidated twice.
         invalidateOpaqueRegion();
         cacheKey = null;
+        borderCacheKey = null;
         visualsChanged();
     }
 
@@ -251,6 +265,7 @@ public class NGRegion extends NGGroup {
         this.height = height;
         invalidateOpaqueRegion();
         cacheKey = null;
+        borderCacheKey = null;
         visualsChanged();
         // We only have to clear the background insets when the size changes if the
         // background has fills who's insets are dependent on the size (as would be
@@ -280,6 +295,8 @@ public class NGRegion extends NGGroup {
         // Make sure that the border instance we store on this NGRegion is never null
         final Border old = border;
         border = b == null ? Border.EMPTY : b;
+        borderCacheable = !PrismSettings.disableRegionCaching && isCacheable(border);
+        borderCacheKey = null;
 
         // Determine whether the geometry has changed, or if only the visuals have
         // changed. Geometry changes will require more work, and an equals check
@@ -460,8 +477,7 @@ public class NGRegion extends NGGroup {
         final Screen screen = g.getAssociatedScreen();
         RegionImageCache cache = imageCacheMap.get(screen);
         if (cache != null) {
-            RTTexture tex = cache.getBackingStore();
-            if (tex.isSurfaceLost()) {
+            if (cache.isSurfaceLost()) {
                 imageCacheMap.remove(screen);
                 cache = null;
             }
@@ -486,6 +502,48 @@ public class NGRegion extends NGGroup {
         return cacheKey;
     }
 
+    private Integer getBorderCacheKey(int w, int h) {
+        if (borderCacheKey == null) {
+            int key = 31 * w;
+            key = key * 37 + h;
+            key = key * 53 + border.hashCode();
+            borderCacheKey = key;
+        }
+        return borderCacheKey;
+    }
+
+    private static boolean isCacheable(Border border) {
+        if (border.isEmpty() || !border.getImages().isEmpty()) {
+            return false;
+        }
+        boolean rounded = false;
+        final List<BorderStroke> strokes = border.getStrokes();
+        for (int i = 0, max = strokes.size(); i < max; i++) {
+            final BorderStroke stroke = strokes.get(i);
+            final BorderWidths widths = stroke.getWidths();
+            final CornerRadii radii = stroke.getRadii();
+            // Dashed strokes depend on the length of the border, and percentage
+            // based widths and radii depend on the size of the region
+            if (!stroke.isStrokeUniform() ||
+                    !BorderStrokeStyle.SOLID.equals(stroke.getTopStyle()) ||
+                    !(stroke.getTopStroke() instanceof Color) ||
+                    widths.isTopAsPercentage() || widths.isRightAsPercentage() ||
+                    widths.isBottomAsPercentage() || widths.isLeftAsPercentage() ||
+                    isPercentageBased(radii)) {
+                return false;
+            }
+            rounded |= !radii.isUniform() || radii.getTopLeftHorizontalRadius() != 0;
+        }
+        return rounded;
+    }
+
+    private static boolean isPercentageBased(CornerRadii radii) {
+        return radii.isTopLeftHorizontalRadiusAsPercentage() || radii.isTopLeftVerticalRadiusAsPercentage() ||
+               radii.isTopRightVerticalRadiusAsPercentage() || radii.isTopRightHorizontalRadiusAsPercentage() ||
+               radii.isBottomRightHorizontalRadiusAsPercentage() || radii.isBottomRightVerticalRadiusAsPercentage() ||
+               radii.isBottomLeftVerticalRadiusAsPercentage() || radii.isBottomLeftHorizontalRadiusAsPercentage();
+    }
+
     @Override protected boolean supportsOpaqueRegions() { return true; }
 
     @Override
@@ -619,12 +677,14 @@ public class NGRegion extends NGGroup {
                     final Integer key = getCacheKey(textureWidth, textureHeight);
                     rect = TEMP_RECT;
                     rect.setBounds(0, 0, textureWidth + border, textureHeight + border);
-                    boolean render = imageCache.getImageLocation(key, rect, background, shape, g);
-                    if (!rect.isEmpty()) {
-                        // An empty rect indicates a failure occurred in the imageCache
-                        cached = imageCache.getBackingStore();
+                    final RegionImageCache.CachedImage image =
+                            imageCache.getImageLocation(key, rect, background, shape, g);
+                    if (image != null) {
+                        // A null image indicates a failure occurred in the imageCache
+                        cached = image.getBackingStore();
                     }
-                    if (cached != null && render) {
+                    if (cached != null && !image.rendered) {
+                        image.rendered = true;
                         Graphics cachedGraphics = cached.createGraphics();
 
                         // Have to move the origin such that when rendering to x=0, we actually end up rendering
@@ -817,12 +877,14 @@ public class NGRegion extends NGGroup {
                 final Integer key = getCacheKey(textureWidth, textureHeight);
                 rect = TEMP_RECT;
                 rect.setBounds(0, 0, textureWidth + border, textureHeight + border);
-                boolean render = imageCache.getImageLocation(key, rect, background, shape, g);
-                if (!rect.isEmpty()) {
-                    // An empty rect indicates a failure occurred in the imageCache
-                    cached = imageCache.getBackingStore();
+                final RegionImageCache.CachedImage image =
+                        imageCache.getImageLocation(key, rect, background, shape, g);
+                if (image != null) {
+                    // A null image indicates a failure occurred in the imageCache
+                    cached = image.getBackingStore();
                 }
-                if (cached != null && render) {
+                if (cached != null && !image.rendered) {
+                    image.rendered = true;
                     Graphics cacheGraphics = cached.createGraphics();
 
                     // Have to move the origin such that when rendering to x=0, we actually end up rendering
@@ -843,10 +905,13 @@ public class NGRegion extends NGGroup {
         // "cached" might not be null if either there was a cached image, or we just created one.
         // In either case, we need to now render from the cached texture to the graphics
         if (cached != null) {
-            renderBackgroundRectangleFromCache(
+            renderRectangleFromCache(
                     g, cached, rect, textureWidth, textureHeight,
                     topInset, rightInset, bottomInset, leftInset,
                     outsetsTop, outsetsRight, outsetsBottom, outsetsLeft);
+            if (PULSE_LOGGING_ENABLED) {
+                PulseLogger.incrementCounter("Cached region background image used");
+            }
         } else {
             // no cache, rendering backgrounds directly to graphics
             renderBackgroundRectanglesDirectly(g, width, height);
@@ -978,7 +1043,7 @@ public class NGRegion extends NGGroup {
         }
     }
 
-    private void renderBackgroundRectangleFromCache(
+    private void renderRectangleFromCache(
             Graphics g, RTTexture cached, Rectangle rect, int textureWidth, int textureHeight,
             double topInset, double rightInset, double bottomInset, double leftInset,
             int outsetsTop, int outsetsRight, int outsetsBottom, int outsetsLeft) {
@@ -1073,10 +1138,6 @@ public class NGRegion extends NGGroup {
                                 dstLeftX, dstTopY, dstRightX, dstBottomY,
                                 srcLeftX, srcTopY, srcRightX, srcBottomY);
         }
-
-        if (PULSE_LOGGING_ENABLED) {
-            PulseLogger.incrementCounter("Cached region background image used");
-        }
     }
 
     private void renderBackgroundRectanglesDirectly(Graphics g, float width, float height) {
@@ -1138,6 +1199,77 @@ public class NGRegion extends NGGroup {
     }
 
     private void renderBorderRectangle(Graphics g) {
+        // See if we have a cached representation for this region border already. Borders
+        // are sliced like backgrounds, where the slices are wide enough to hold the insets,
+        // widths, and radii of all strokes, so that rounded borders of all sizes can be
+        // drawn from the same cached image.
+        if (borderCacheable &&
+                g.getTransformNoClone().isTranslateOrIdentity() &&
+                !(g instanceof PrinterGraphics)) {
+            double top = 0, right = 0, bottom = 0, left = 0;
+            final List<BorderStroke> strokes = border.getStrokes();
+            for (int i = 0, max = strokes.size(); i < max; i++) {
+                final BorderStroke stroke = strokes.get(i);
+                final Insets insets = stroke.getInsets();
+                final BorderWidths widths = stroke.getWidths();
+                final CornerRadii radii = stroke.getRadii();
+                top = Math.max(top, insets.getTop() + widths.getTop() +
+                        Math.max(radii.getTopLeftVerticalRadius(), radii.getTopRightVerticalRadius()));
+                right = Math.max(right, insets.getRight() + widths.getRight() +
+                        Math.max(radii.getTopRightHorizontalRadius(), radii.getBottomRightHorizontalRadius()));
+                bottom = Math.max(bottom, insets.getBottom() + widths.getBottom() +
+                        Math.max(radii.getBottomLeftVerticalRadius(), radii.getBottomRightVerticalRadius()));
+                left = Math.max(left, insets.getLeft() + widths.getLeft() +
+                        Math.max(radii.getTopLeftHorizontalRadius(), radii.getBottomLeftHorizontalRadius()));
+            }
+            final double leftInset = left + 1;
+            final double rightInset = right + 1;
+            final double topInset = top + 1;
+            final double bottomInset = bottom + 1;
+            final int cacheWidth = Math.min(roundUp(width), (int) (leftInset + rightInset));
+            final int cacheHeight = Math.min(roundUp(height), (int) (topInset + bottomInset));
+
+            final Insets outsets = border.getOutsets();
+            final int outsetsTop = roundUp(outsets.getTop());
+            final int outsetsRight = roundUp(outsets.getRight());
+            final int outsetsBottom = roundUp(outsets.getBottom());
+            final int outsetsLeft = roundUp(outsets.getLeft());
+            final int textureWidth = outsetsLeft + cacheWidth + outsetsRight;
+            final int textureHeight = outsetsTop + cacheHeight + outsetsBottom;
+
+            final RegionImageCache imageCache = getImageCache(g);
+            if (imageCache.isImageCachable(textureWidth, textureHeight)) {
+                final Integer key = getBorderCacheKey(textureWidth, textureHeight);
+                final Rectangle rect = TEMP_RECT;
+                rect.setBounds(0, 0, textureWidth + 1, textureHeight + 1);
+                final RegionImageCache.CachedImage image = imageCache.getImageLocation(key, rect, border, g);
+                if (image != null) {
+                    final RTTexture cached = image.getBackingStore();
+                    if (!image.rendered) {
+                        image.rendered = true;
+                        Graphics cacheGraphics = cached.createGraphics();
+                        cacheGraphics.translate(rect.x + outsetsLeft, rect.y + outsetsTop);
+                        renderBorderRectangleDirectly(cacheGraphics, cacheWidth, cacheHeight);
+                        if (PULSE_LOGGING_ENABLED) {
+                            PulseLogger.incrementCounter("Rendering region border image to cache");
+                        }
+                    }
+                    renderRectangleFromCache(
+                            g, cached, rect, textureWidth, textureHeight,
+                            topInset, rightInset, bottomInset, leftInset,
+                            outsetsTop, outsetsRight, outsetsBottom, outsetsLeft);
+                    if (PULSE_LOGGING_ENABLED) {
+                        PulseLogger.incrementCounter("Cached region border image used");
+                    }
+                    return;
+                }
+            }
+        }
+
+        renderBorderRectangleDirectly(g, width, height);
+    }
+
+    private void renderBorderRectangleDirectly(Graphics g, float width, float height) {
         final List<BorderImage> images = border.getImages();
         final List<BorderStroke> strokes = images.isEmpty() ? border.getStrokes() : Collections.emptyList();
         for (int i = 0, max = strokes.size(); i < max; i++) {
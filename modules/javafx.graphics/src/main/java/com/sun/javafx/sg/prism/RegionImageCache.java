@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2014, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -26,7 +26,10 @@
 package com.sun.javafx.sg.prism;
 
 import javafx.scene.layout.Background;
+import javafx.scene.layout.Border;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import com.sun.javafx.geom.Rectangle;
 import com.sun.javafx.geom.Shape;
 import com.sun.javafx.logging.PulseLogger;
@@ -35,13 +38,17 @@ import com.sun.prism.Graphics;
 import com.sun.prism.RTTexture;
 import com.sun.prism.ResourceFactory;
 import com.sun.prism.Texture.WrapMode;
+import com.sun.prism.impl.PrismSettings;
 import com.sun.prism.impl.packrect.RectanglePacker;
 
 /**
- * RegionImageCache - A fixed pixel count sized cache of Images keyed by arbitrary set of arguments. All images are held with
- * SoftReferences so they will be dropped by the GC if heap memory gets tight. When our size hits max pixel count least
- * recently requested images are removed first.
+ * RegionImageCache - A cache of Region background and border images keyed by arbitrary set of arguments.
+ * The images are packed into pages, each of which is a texture of a fixed size. Pages are only allocated
+ * when the images no longer fit into the existing pages, up to a total size of {@code prism.regionCacheSize}.
+ * When that size is reached, the least recently used page is cleared and reused.
  *
+ * The first page is the region texture of the resource factory, which the super shader relies upon.
+ * A cache is shared by all the scenes that render to the same screen.
  */
 class RegionImageCache {
 
@@ -50,16 +57,36 @@ class RegionImageCache {
     private static final int WIDTH = 1024;
     private static final int HEIGHT = 1024;
 
-    private HashMap<Integer, CachedImage> imageMap;
-    private RTTexture backingStore;
-    private RectanglePacker hPacker;
-    private RectanglePacker vPacker;
+    // Size of a page in bytes
+    private static final long PAGE_SIZE = 4L * (WIDTH + WIDTH) * HEIGHT;
 
+    private final ResourceFactory factory;
+    private final WrapMode mode;
+    private final int pad;
+    private final int maxPages;
+    private final HashMap<Integer, CachedImage> imageMap;
+    // Borders are kept apart from backgrounds, so that their keys cannot collide
+    private final HashMap<Integer, CachedImage> borderMap;
+    private final List<Page> pages;
+
+    // Incremented on every request, used to find the least recently used page
+    private long useCount;
+
+    // Statistics, which are also reported to the PulseLogger
+    private int hitCount;
+    private int missCount;
+    private int evictionCount;
 
     RegionImageCache(final ResourceFactory factory) {
+        this(factory, (int) Math.max(1, PrismSettings.regionCacheSize / PAGE_SIZE));
+    }
+
+    RegionImageCache(final ResourceFactory factory, int maxPages) {
+        this.factory = factory;
+        this.maxPages = maxPages;
         imageMap = new HashMap<>();
-        WrapMode mode;
-        int pad;
+        borderMap = new HashMap<>();
+        pages = new ArrayList<>(maxPages);
         if (factory.isWrapModeSupported(WrapMode.CLAMP_TO_ZERO)) {
             mode = WrapMode.CLAMP_TO_ZERO;
             pad = 0;
@@ -67,19 +94,9 @@ class RegionImageCache {
             mode = WrapMode.CLAMP_NOT_NEEDED;
             pad = 1;
         }
-        backingStore = factory.createRTTexture(WIDTH + WIDTH, HEIGHT, mode);
-        backingStore.contentsUseful();
-        backingStore.makePermanent();
-        factory.setRegionTexture(backingStore);
-        // Subdivide the texture in two halves where on half is used to store
-        // horizontal regions and the other vertical regions. Otherwise, mixing
-        // horizontal and vertical regions on the same area, would result in
-        // a lot of waste texture space.
-        // Note that requests are already padded on the right and bottom edges
-        // (and that includes the gap between the caches) so we only have to
-        // pad top and left edges if CLAMP_TO_ZERO needs to be simulated.
-        hPacker = new RectanglePacker(backingStore, pad, pad, WIDTH-pad, HEIGHT-pad, false);
-        vPacker = new RectanglePacker(backingStore, WIDTH, pad, WIDTH, HEIGHT-pad, true);
+        Page page = new Page();
+        factory.setRegionTexture(page.backingStore);
+        pages.add(page);
     }
 
     /**
@@ -96,7 +113,42 @@ class RegionImageCache {
     }
 
     RTTexture getBackingStore() {
-        return backingStore;
+        return pages.get(0).backingStore;
+    }
+
+    /**
+     * Check if the content of any of the pages has been lost, in which
+     * case the cache must be discarded.
+     *
+     * @return true if the surface of any page is lost
+     */
+    boolean isSurfaceLost() {
+        for (int i = 0, max = pages.size(); i < max; i++) {
+            if (pages.get(i).backingStore.isSurfaceLost()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int getPageCount() {
+        return pages.size();
+    }
+
+    int getMaxPages() {
+        return maxPages;
+    }
+
+    int getHitCount() {
+        return hitCount;
+    }
+
+    int getMissCount() {
+        return missCount;
+    }
+
+    int getEvictionCount() {
+        return evictionCount;
     }
 
     /**
@@ -112,59 +164,157 @@ class RegionImageCache {
      * @param background the background used to validated if the correct image was found
      * @param shape the shape used to validated if the correct image was found
      * @param g the graphics to flush if the texture needs to be restarted
-     * @return true means to caller needs to render to rect to initialize the content.
+     * @return the cached image, which the caller needs to render unless it has already
+     *         been rendered, or null if caching must be disabled
+     */
+    CachedImage getImageLocation(Integer key, Rectangle rect, Background background,
+                                 Shape shape, Graphics g) {
+        return getImageLocation(imageMap, key, rect, background, null, shape, g);
+    }
+
+    /**
+     * Search the cache for a border image representing the arguments.
+     *
+     * @param key the hash key for the image
+     * @param rect the rect image, see {@link #getImageLocation(Integer, Rectangle, Background, Shape, Graphics)}
+     * @param border the border used to validated if the correct image was found
+     * @param g the graphics to flush if the texture needs to be restarted
+     * @return the cached image, or null if caching must be disabled
      */
-    boolean getImageLocation(Integer key, Rectangle rect, Background background,
-                             Shape shape, Graphics g) {
-        CachedImage cache = imageMap.get(key);
+    CachedImage getImageLocation(Integer key, Rectangle rect, Border border, Graphics g) {
+        return getImageLocation(borderMap, key, rect, null, border, null, g);
+    }
+
+    private CachedImage getImageLocation(HashMap<Integer, CachedImage> map,
+                                         Integer key, Rectangle rect, Background background,
+                                         Border border, Shape shape, Graphics g) {
+        useCount++;
+        CachedImage cache = map.get(key);
         if (cache != null) {
-            if (cache.equals(rect.width, rect.height, background, shape)) {
+            if (cache.equals(rect.width, rect.height, background, border, shape)) {
                 rect.x = cache.x;
                 rect.y = cache.y;
-                return false;
+                cache.page.lastUsed = useCount;
+                hitCount++;
+                if (PULSE_LOGGING_ENABLED) {
+                    PulseLogger.incrementCounter("Region image cache hit");
+                }
+                return cache;
             }
             // hash collision, mark rectangle empty indicates the caller to
             // disable caching
             rect.width = rect.height = -1;
-            return false;
+            return null;
+        }
+        missCount++;
+        if (PULSE_LOGGING_ENABLED) {
+            PulseLogger.incrementCounter("Region image cache miss");
+        }
+
+        Page page = null;
+        for (int i = 0, max = pages.size(); i < max; i++) {
+            if (pages.get(i).add(rect)) {
+                page = pages.get(i);
+                break;
+            }
+        }
+        if (page == null) {
+            if (pages.size() < maxPages) {
+                page = new Page();
+                pages.add(page);
+            } else {
+                page = getLeastRecentlyUsedPage();
+                g.sync();
+                page.clear();
+            }
+            page.add(rect);
         }
-        boolean vertical = rect.height > 64;
-        RectanglePacker packer = vertical ? vPacker : hPacker;
+        page.lastUsed = useCount;
+        cache = new CachedImage(rect, page, background, border, shape);
+        map.put(key, cache);
+        return cache;
+    }
+
+    private Page getLeastRecentlyUsedPage() {
+        Page lru = pages.get(0);
+        for (int i = 1, max = pages.size(); i < max; i++) {
+            if (pages.get(i).lastUsed < lru.lastUsed) {
+                lru = pages.get(i);
+            }
+        }
+        return lru;
+    }
+
+    private class Page {
+        final RTTexture backingStore;
+        final RectanglePacker hPacker;
+        final RectanglePacker vPacker;
+        long lastUsed;
 
-        if (!packer.add(rect)) {
-            g.sync();
+        Page() {
+            backingStore = factory.createRTTexture(WIDTH + WIDTH, HEIGHT, mode);
+            backingStore.contentsUseful();
+            backingStore.makePermanent();
+            // Subdivide the texture in two halves where on half is used to store
+            // horizontal regions and the other vertical regions. Otherwise, mixing
+            // horizontal and vertical regions on the same area, would result in
+            // a lot of waste texture space.
+            // Note that requests are already padded on the right and bottom edges
+            // (and that includes the gap between the caches) so we only have to
+            // pad top and left edges if CLAMP_TO_ZERO needs to be simulated.
+            hPacker = new RectanglePacker(backingStore, pad, pad, WIDTH-pad, HEIGHT-pad, false);
+            vPacker = new RectanglePacker(backingStore, WIDTH, pad, WIDTH, HEIGHT-pad, true);
+        }
+
+        boolean add(Rectangle rect) {
+            boolean vertical = rect.height > 64;
+            RectanglePacker packer = vertical ? vPacker : hPacker;
+            return packer.add(rect);
+        }
 
+        void clear() {
             vPacker.clear();
             hPacker.clear();
-            imageMap.clear();
-            packer.add(rect);
+            imageMap.values().removeIf(image -> image.page == this);
+            borderMap.values().removeIf(image -> image.page == this);
             backingStore.createGraphics().clear();
+            evictionCount++;
             if (PULSE_LOGGING_ENABLED) {
                 PulseLogger.incrementCounter("Region image cache flushed");
             }
         }
-        imageMap.put(key, new CachedImage(rect, background, shape));
-        return true;
     }
 
     static class CachedImage {
+        final Page page;
         Background background;
+        Border border;
         Shape shape;
         int x, y, width, height;
 
-        CachedImage(Rectangle rect, Background background, Shape shape) {
+        // Set by the caller once it has rendered the image into the page
+        boolean rendered;
+
+        CachedImage(Rectangle rect, Page page, Background background, Border border, Shape shape) {
             this.x = rect.x;
             this.y = rect.y;
             this.width = rect.width;
             this.height = rect.height;
+            this.page = page;
             this.background = background;
+            this.border = border;
             this.shape = shape;
         }
 
-        public boolean equals(int width, int height, Background background, Shape shape) {
+        RTTexture getBackingStore() {
+            return page.backingStore;
+        }
+
+        public boolean equals(int width, int height, Background background, Border border, Shape shape) {
             return this.width == width &&
                    this.height == height &&
                    (this.background == null ? background == null : this.background.equals(background)) &&
+                   (this.border == null ? border == null : this.border.equals(border)) &&
                    (this.shape == null ? shape == null : this.shape.equals(shape));
         }
     }
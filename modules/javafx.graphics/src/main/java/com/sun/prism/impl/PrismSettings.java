@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2010, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2010, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -66,6 +66,7 @@ public final class PrismSettings {
     public static final int maxTextureSize;
     public static final int primTextureSize;
     public static final boolean disableRegionCaching;
+    public static final long regionCacheSize;
     public static final boolean forcePow2;
     public static final boolean noClampToZero;
     public static final boolean disableD3D9Ex;
@@ -326,6 +327,15 @@ public final class PrismSettings {
                                           "prism.disableRegionCaching",
                                           false);
 
+        /*
+         * Maximum size of the textures used to cache Region backgrounds and
+         * borders, per screen. The cache allocates its 8M pages on demand.
+         * The default is a single page, which is the texture the cache has
+         * always used; larger sizes let it evict pages instead of flushing.
+         */
+        regionCacheSize = getLong(systemProperties, "prism.regionCacheSize", 8 * 1024 * 1024,
+                                  "Try -Dprism.regionCacheSize=<long>[kKmMgG]");
+
         disableD3D9Ex = getBoolean(systemProperties, "prism.disableD3D9Ex", false);
 
         disableEffects = getBoolean(systemProperties, "prism.disableEffects", false);
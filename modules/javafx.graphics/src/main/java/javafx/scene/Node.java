@@ -624,6 +624,16 @@ public abstract class Node implements EventTarget, Styleable {
             public void requestFocusVisible(Node node) {
                 node.requestFocusVisible();
             }
+
+            @Override
+            public void setCacheStaticContent(Node node, boolean value) {
+                node.setCacheStaticContent(value);
+            }
+
+            @Override
+            public boolean isCacheStaticContent(Node node) {
+                return node.cacheStaticContent;
+            }
         });
     }
 
@@ -831,7 +841,8 @@ public abstract class Node implements EventTarget, Styleable {
         }
 
         if (isDirty(DirtyBits.NODE_CACHE)) {
-            peer.setCachedAsBitmap(isCache(), getCacheHint());
+            peer.setCachedAsBitmap(isCache() || cacheStaticContent, getCacheHint());
+            peer.setCacheStaticContent(!isCache() && cacheStaticContent);
         }
 
         if (isDirty(DirtyBits.NODE_CLIP)) {
@@ -1577,6 +1588,20 @@ public abstract class Node implements EventTarget, Styleable {
         return getMiscProperties().clipProperty();
     }
 
+    /**
+     * Whether the content of this node is expected to rarely change, so that
+     * it is cached as a bitmap as long as it does not change. This is set by
+     * control skins, and is independent of the cache property.
+     */
+    private boolean cacheStaticContent;
+
+    private void setCacheStaticContent(boolean value) {
+        if (cacheStaticContent != value) {
+            cacheStaticContent = value;
+            NodeHelper.markDirty(this, DirtyBits.NODE_CACHE);
+        }
+    }
+
     public final void setCache(boolean value) {
         cacheProperty().set(value);
     }
@@ -25,12 +25,20 @@
 
 package javafx.scene.text;
 
+import com.sun.javafx.scene.text.HitInfoHelper;
+
 /**
  * Represents the hit information in a Text node.
  *
  * @since 9
  */
 public class HitInfo {
+    static {
+        // This is used by classes in different packages to get access to
+        // private and package private methods.
+        HitInfoHelper.setHitInfoAccessor(HitInfo::new);
+    }
+
     private final int charIndex;
     private final boolean leading;
     private final int insertionIndex;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2015, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -50,4 +50,14 @@ public class CacheFilterShim {
         return new CacheFilter(node, cacheHint);
     }
 
+    public static final int STATIC_CONTENT_RENDERS = CacheFilter.STATIC_CONTENT_RENDERS;
+
+    public static void setStaticContent(CacheFilter cf, boolean staticContent) {
+        cf.setStaticContent(staticContent);
+    }
+
+    public static boolean updateStaticContentState(CacheFilter cf) {
+        return cf.updateStaticContentState();
+    }
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2012, 2022, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -126,7 +126,8 @@ public class StubTextLayout implements TextLayout {
             return new GlyphList[0];
         }
         @Override public RectBounds getBounds() {
-            return new RectBounds();
+            final double fontSize = (font == null ? nullFontSize : font.getSize());
+            return new RectBounds(0, (float)-fontSize, 0, 0);
         }
         @Override public float getLeftSideBearing() {
             return 0;
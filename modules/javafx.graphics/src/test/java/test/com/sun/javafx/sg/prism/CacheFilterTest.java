@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2013, 2015, Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2013, 2023, Oracle and/or its affiliates. All rights reserved.
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
  *
  * This code is free software; you can redistribute it and/or modify it
@@ -158,4 +158,69 @@ public class CacheFilterTest {
         CacheFilterShim.computeDirtyBounds(cf, result, BaseTransform.IDENTITY_TRANSFORM, new GeneralTransform3D());
         assertEquals(new RectBounds(0, 0, 111, 131), result);
     }
+
+    /******************************************************************
+     *                                                                *
+     *  Tests for caching static content, which is bypassed while     *
+     *  the content keeps changing.                                   *
+     *                                                                *
+     *****************************************************************/
+
+    @Test public void staticContentIsCachedWhileUnchanged() {
+        NGRectangle r = new NGRectangle();
+        CacheFilter cf = CacheFilterShim.getCacheFilter(r, CacheHint.DEFAULT);
+        CacheFilterShim.setStaticContent(cf, true);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(CacheFilterShim.updateStaticContentState(cf));
+        }
+    }
+
+    @Test public void staticContentIsCachedWhenChangingOccasionally() {
+        NGRectangle r = new NGRectangle();
+        CacheFilter cf = CacheFilterShim.getCacheFilter(r, CacheHint.DEFAULT);
+        CacheFilterShim.setStaticContent(cf, true);
+        for (int i = 0; i < 10; i++) {
+            if (i % 2 == 0) {
+                cf.invalidate();
+            }
+            assertTrue(CacheFilterShim.updateStaticContentState(cf));
+        }
+    }
+
+    @Test public void changingStaticContentBypassesCache() {
+        NGRectangle r = new NGRectangle();
+        CacheFilter cf = CacheFilterShim.getCacheFilter(r, CacheHint.DEFAULT);
+        CacheFilterShim.setStaticContent(cf, true);
+        for (int i = 1; i < CacheFilterShim.STATIC_CONTENT_RENDERS; i++) {
+            cf.invalidate();
+            assertTrue(CacheFilterShim.updateStaticContentState(cf));
+        }
+        cf.invalidate();
+        assertFalse(CacheFilterShim.updateStaticContentState(cf));
+
+        // the cache is used again once the content stops changing
+        for (int i = 1; i < CacheFilterShim.STATIC_CONTENT_RENDERS; i++) {
+            assertFalse(CacheFilterShim.updateStaticContentState(cf));
+        }
+        cf.invalidate();
+        assertFalse(CacheFilterShim.updateStaticContentState(cf));
+        for (int i = 1; i < CacheFilterShim.STATIC_CONTENT_RENDERS; i++) {
+            assertFalse(CacheFilterShim.updateStaticContentState(cf));
+        }
+        assertTrue(CacheFilterShim.updateStaticContentState(cf));
+    }
+
+    @Test public void changingContentDoesNotBypassCacheUnlessStatic() {
+        NGRectangle r = new NGRectangle();
+        CacheFilter cf = CacheFilterShim.getCacheFilter(r, CacheHint.DEFAULT);
+        CacheFilterShim.setStaticContent(cf, true);
+        for (int i = 0; i < CacheFilterShim.STATIC_CONTENT_RENDERS; i++) {
+            cf.invalidate();
+            CacheFilterShim.updateStaticContentState(cf);
+        }
+        CacheFilterShim.setStaticContent(cf, false);
+        CacheFilterShim.setStaticContent(cf, true);
+        cf.invalidate();
+        assertTrue(CacheFilterShim.updateStaticContentState(cf));
+    }
 }
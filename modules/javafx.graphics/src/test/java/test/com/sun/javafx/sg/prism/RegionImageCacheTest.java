@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package test.com.sun.javafx.sg.prism;
+
+import com.sun.javafx.geom.Rectangle;
+import com.sun.javafx.sg.prism.RegionImageCacheShim;
+import com.sun.prism.Graphics;
+import com.sun.prism.RTTexture;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderStroke;
+import javafx.scene.layout.BorderStrokeStyle;
+import javafx.scene.layout.BorderWidths;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.paint.Color;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class RegionImageCacheTest {
+
+    // number of 256x64 images that fit into the horizontal half of a page
+    private static final int IMAGES_PER_PAGE = 64;
+
+    private final Graphics g = TestGraphics.TEST_GRAPHICS;
+    private final Background background = Background.fill(Color.RED);
+    private RegionImageCacheShim cache;
+
+    @Before public void setup() {
+        cache = new RegionImageCacheShim(g.getResourceFactory(), 2);
+    }
+
+    private RTTexture getImage(int key) {
+        return cache.getImage(key, new Rectangle(0, 0, 256, 64), background, g);
+    }
+
+    @Test public void sameImageIsOnlyRenderedOnce() {
+        Rectangle first = new Rectangle(0, 0, 256, 64);
+        Rectangle second = new Rectangle(0, 0, 256, 64);
+        RTTexture texture = cache.getImage(1, first, background, g);
+        assertSame(cache.getBackingStore(), texture);
+        assertSame(texture, cache.getImage(1, second, background, g));
+        assertEquals(first, second);
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test public void hashCollisionDisablesCaching() {
+        getImage(1);
+        Rectangle rect = new Rectangle(0, 0, 256, 64);
+        assertNull(cache.getImage(1, rect, Background.fill(Color.BLUE), g));
+        assertEquals(-1, rect.width);
+    }
+
+    @Test public void bordersAndBackgroundsWithTheSameKeyAreBothCached() {
+        Border border = new Border(new BorderStroke(Color.RED, BorderStrokeStyle.SOLID,
+                new CornerRadii(3), BorderWidths.DEFAULT));
+        getImage(1);
+        assertNotNull(cache.getImage(1, new Rectangle(0, 0, 256, 64), border, g));
+        assertNotNull(cache.getImage(1, new Rectangle(0, 0, 256, 64), border, g));
+        assertNotNull(getImage(1));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test public void pagesAreAddedWhenFull() {
+        for (int i = 0; i < IMAGES_PER_PAGE; i++) {
+            assertSame(cache.getBackingStore(), getImage(i));
+        }
+        assertEquals(1, cache.getPageCount());
+
+        RTTexture texture = getImage(IMAGES_PER_PAGE);
+        assertNotSame(cache.getBackingStore(), texture);
+        assertEquals(2, cache.getPageCount());
+        assertEquals(0, cache.getEvictionCount());
+
+        // the images on the first page are still cached
+        for (int i = 0; i < IMAGES_PER_PAGE; i++) {
+            assertSame(cache.getBackingStore(), getImage(i));
+        }
+        assertEquals(IMAGES_PER_PAGE, cache.getHitCount());
+    }
+
+    @Test public void leastRecentlyUsedPageIsEvicted() {
+        for (int i = 0; i < 2 * IMAGES_PER_PAGE; i++) {
+            getImage(i);
+        }
+        assertEquals(2, cache.getPageCount());
+        RTTexture secondPage = getImage(IMAGES_PER_PAGE);
+
+        // using the first page makes the second one the least recently used
+        getImage(0);
+        assertSame(secondPage, getImage(2 * IMAGES_PER_PAGE));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.getPageCount());
+
+        int misses = cache.getMissCount();
+        assertSame(cache.getBackingStore(), getImage(IMAGES_PER_PAGE - 1));
+        assertEquals(misses, cache.getMissCount());
+        assertSame(secondPage, getImage(IMAGES_PER_PAGE + 1));
+        assertEquals(misses + 1, cache.getMissCount());
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Scene;
+import javafx.scene.control.IndexRange;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.CellContentPreparer;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+/**
+ * Scrolls a TableView with 40 columns whose cell text is expensive to
+ * compute, once computing the text in updateItem and once preparing it on
+ * background threads with a CellContentPreparer that is fed by the prefetch
+ * handler of the VirtualFlow. Reports the time spent per frame to scroll and
+ * lay out the cells, and how many cells were shown before their content was
+ * ready.
+ */
+public class AsyncCellsBenchmark extends Application {
+
+    private static final int ROWS = 100_000;
+    private static final int COLUMNS = 40;
+    private static final int FRAMES = 300;
+    private static final int PREFETCH = 40;
+
+    private final StackPane root = new StackPane();
+    private final List<Runnable> scenarios = new ArrayList<>();
+    private int placeholders;
+
+    @Override
+    public void start(Stage stage) {
+        ObservableList<Integer> items = FXCollections.observableArrayList();
+        for (int i = 0; i < ROWS; i++) {
+            items.add(i);
+        }
+
+        TableView<Integer> syncTable = createTable(items, null);
+        CellContentPreparer<Integer, String[]> preparer = new CellContentPreparer<>(AsyncCellsBenchmark::formatRow);
+        TableView<Integer> asyncTable = createTable(items, preparer);
+
+        scenarios.add(() -> {
+            root.getChildren().setAll(syncTable);
+            run("synchronous updateItem", syncTable, null);
+        });
+        scenarios.add(() -> {
+            root.getChildren().setAll(asyncTable);
+            run("prepared, prefetch " + PREFETCH, asyncTable, preparer.prefetcher(items::get));
+        });
+        scenarios.add(Platform::exit);
+
+        stage.setScene(new Scene(root, 1200, 800));
+        stage.show();
+        next();
+    }
+
+    private TableView<Integer> createTable(ObservableList<Integer> items, CellContentPreparer<Integer, String[]> preparer) {
+        TableView<Integer> tableView = new TableView<>(items);
+        for (int c = 0; c < COLUMNS; c++) {
+            final int column = c;
+            TableColumn<Integer, Integer> tableColumn = new TableColumn<>("C" + c);
+            tableColumn.setPrefWidth(60);
+            tableColumn.setCellValueFactory(f -> new ReadOnlyObjectWrapper<>(f.getValue()));
+            tableColumn.setCellFactory(tc -> new TableCell<>() {
+                @Override
+                protected void updateItem(Integer item, boolean empty) {
+                    super.updateItem(item, empty);
+                    if (empty || item == null) {
+                        setText(null);
+                    } else if (preparer == null) {
+                        setText(formatCell(item, column));
+                    } else if (!preparer.apply(this, item, (cell, row) -> cell.setText(row[column]))) {
+                        placeholders++;
+                        setText("...");
+                    }
+                }
+            });
+            tableView.getColumns().add(tableColumn);
+        }
+        return tableView;
+    }
+
+    /**
+     * Simulates expensive formatting, such as number formatting with
+     * locale-sensitive rules or parsing of rich data.
+     */
+    private static String formatCell(int row, int column) {
+        double value = row * 31.0 + column;
+        for (int i = 0; i < 200; i++) {
+            value = Math.sqrt(value * value + i) + Math.sin(value);
+        }
+        return String.format("%.3f", value);
+    }
+
+    private static String[] formatRow(Integer row) {
+        String[] texts = new String[COLUMNS];
+        for (int c = 0; c < COLUMNS; c++) {
+            texts[c] = formatCell(row, c);
+        }
+        return texts;
+    }
+
+    private void run(String name, TableView<Integer> table, Consumer<IndexRange> prefetcher) {
+        new AnimationTimer() {
+            private int frame = -10; // warm up
+            private long total;
+            private long max;
+
+            @Override
+            public void handle(long now) {
+                VirtualFlow<?> flow = (VirtualFlow<?>) table.lookup(".virtual-flow");
+                if (flow == null) {
+                    return;
+                }
+                if (prefetcher != null && flow.getPrefetchHandler() == null) {
+                    flow.setPrefetchCount(PREFETCH);
+                    flow.setPrefetchHandler(prefetcher);
+                }
+                if (frame == 0) {
+                    placeholders = 0;
+                }
+                long start = System.nanoTime();
+                flow.scrollPixels(48);
+                flow.layout();
+                long time = System.nanoTime() - start;
+                if (frame >= 0) {
+                    total += time;
+                    max = Math.max(max, time);
+                }
+                if (++frame == FRAMES) {
+                    stop();
+                    System.out.printf("%-28s: %6.3f ms/frame avg, %6.3f ms max, %d placeholder cells%n",
+                            name, total / 1e6 / FRAMES, max / 1e6, placeholders);
+                    Platform.runLater(AsyncCellsBenchmark.this::next);
+                }
+            }
+        }.start();
+    }
+
+    private void next() {
+        scenarios.remove(0).run();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package binding;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.value.ChangeListener;
+
+/**
+ * Measures the cost of dispatching invalidation and change events to a
+ * varying number of listeners, including the cases where listeners are
+ * added or removed during notification and where weak listeners have been
+ * garbage collected.
+ *
+ * Run with the JavaFX base module on the module path, for example:
+ * <pre>
+ * java --module-path build/sdk/lib --add-modules javafx.base -cp bin binding.DispatchBenchmark
+ * </pre>
+ */
+public class DispatchBenchmark {
+
+    private static final int[] FAN_OUT = { 1, 2, 5, 10, 20 };
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 2_000_000;
+
+    private static double sink;
+
+    public static void main(String[] args) {
+        for (int fanOut : FAN_OUT) {
+            run("invalidation", fanOut, DispatchBenchmark::invalidation);
+            run("change", fanOut, DispatchBenchmark::change);
+            run("remove during dispatch", fanOut, DispatchBenchmark::removeDuringDispatch);
+            run("stale weak listeners", fanOut, DispatchBenchmark::staleWeakListeners);
+        }
+    }
+
+    private interface Scenario {
+        Runnable setUp(int fanOut);
+    }
+
+    private static void run(String name, int fanOut, Scenario scenario) {
+        Runnable task = scenario.setUp(fanOut);
+        for (int i = 0; i < WARMUP; i++) {
+            task.run();
+        }
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        long t1 = System.nanoTime();
+        System.out.printf("%-24s listeners=%2d: %6.1f ns/op\n", name, fanOut, (t1 - t0) / (double) ITERATIONS);
+    }
+
+    private static Runnable invalidation(int fanOut) {
+        DoubleProperty property = new SimpleDoubleProperty();
+        for (int i = 0; i < fanOut; i++) {
+            property.addListener(obs -> sink++);
+        }
+        return () -> {
+            property.set(property.get() + 1);
+            property.get();
+        };
+    }
+
+    private static Runnable change(int fanOut) {
+        DoubleProperty property = new SimpleDoubleProperty();
+        for (int i = 0; i < fanOut; i++) {
+            property.addListener((obs, oldValue, newValue) -> sink += newValue.doubleValue());
+        }
+        return () -> property.set(property.get() + 1);
+    }
+
+    private static Runnable removeDuringDispatch(int fanOut) {
+        DoubleProperty property = new SimpleDoubleProperty();
+        ChangeListener<Number> transientListener = (obs, oldValue, newValue) -> sink++;
+        property.addListener((obs, oldValue, newValue) -> {
+            // re-adds and removes a listener on every notification
+            property.removeListener(transientListener);
+            property.addListener(transientListener);
+        });
+        for (int i = 1; i < fanOut; i++) {
+            property.addListener((obs, oldValue, newValue) -> sink += newValue.doubleValue());
+        }
+        return () -> property.set(property.get() + 1);
+    }
+
+    private static Runnable staleWeakListeners(int fanOut) {
+        DoubleProperty property = new SimpleDoubleProperty();
+        List<InvalidationListener> strong = new ArrayList<>();
+        for (int i = 0; i < fanOut; i++) {
+            InvalidationListener listener = obs -> sink++;
+            strong.add(listener);
+            property.addListener(new WeakInvalidationListener(listener));
+        }
+        // drop half of the referents so dispatch encounters collected listeners
+        for (int i = 0; i < fanOut / 2; i++) {
+            strong.set(i, null);
+        }
+        System.gc();
+        return () -> {
+            property.set(property.get() + 1);
+            property.get();
+            if (strong.isEmpty()) {
+                throw new AssertionError();
+            }
+        };
+    }
+}
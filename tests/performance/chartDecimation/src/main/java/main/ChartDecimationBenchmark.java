@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
+import javafx.scene.shape.Path;
+import javafx.stage.Stage;
+
+/**
+ * Lays out a LineChart with a single series of 100k, 1M and 10M data items,
+ * which follow a random walk, for each {@link LineChart.Decimation} mode, and
+ * reports the time taken by a layout of the plot and the number of elements of
+ * the series line.
+ * <p>
+ * The sizes can be set with {@code -Dpoints=n,m,...}. The 10M series needs a
+ * heap of several gigabytes, for example {@code -Xmx8g}.
+ */
+public class ChartDecimationBenchmark extends Application {
+
+    private static final String POINTS = System.getProperty("points", "100000,1000000,10000000");
+    private static final int ITERATIONS = 10;
+
+    private LineChart<Number, Number> chart;
+    private boolean resized;
+
+    @Override
+    public void start(Stage stage) {
+        chart = new LineChart<>(new NumberAxis(), new NumberAxis());
+        chart.setAnimated(false);
+        chart.setCreateSymbols(false);
+        stage.setScene(new Scene(chart, 1200, 800));
+        stage.show();
+
+        Platform.runLater(() -> {
+            for (String points : POINTS.split(",")) {
+                run(Integer.parseInt(points.trim()));
+            }
+            Platform.exit();
+        });
+    }
+
+    private void run(int points) {
+        Random random = new Random(0);
+        List<XYChart.Data<Number, Number>> data = new ArrayList<>(points);
+        double y = 0;
+        for (int i = 0; i < points; i++) {
+            y += random.nextGaussian();
+            data.add(new XYChart.Data<>(i, y));
+        }
+        XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.getData().setAll(data);
+        chart.getData().setAll(List.of(series));
+
+        for (LineChart.Decimation decimation : LineChart.Decimation.values()) {
+            chart.setDecimation(decimation);
+            // warm up once, then measure
+            layout();
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                layout();
+            }
+            long time = System.nanoTime() - start;
+            int elements = ((Path) series.getNode()).getElements().size();
+            System.out.printf("%,12d points %-31s: %10.3f ms/layout, %,10d path elements%n",
+                    points, decimation, time / 1e6 / ITERATIONS, elements);
+        }
+        chart.getData().clear();
+    }
+
+    // alternates the width of the chart, so that each layout lays out the plot again
+    private void layout() {
+        resized = !resized;
+        chart.resize(resized ? 1199 : 1200, 800);
+        chart.layout();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.scene.control.CheckBoxTreeItem;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+import javafx.scene.control.cell.CheckBoxTreeCell;
+import javafx.stage.Stage;
+
+/**
+ * Builds a TreeView of CheckBoxTreeItems with about two million expanded
+ * items, and reports the time taken to look up tree items by row and rows by
+ * tree item, to expand and collapse items close to the root, and to add items
+ * deep in the tree, each followed by a recount of the expanded items.
+ * <p>
+ * The size of the tree can be set with {@code -Dbranches=n} (the number of
+ * children of the root) and {@code -Dleaves=n} (the number of children of
+ * each branch).
+ */
+public class LargeTreeBenchmark extends Application {
+
+    private static final int BRANCHES = Integer.getInteger("branches", 2_000);
+    private static final int LEAVES = Integer.getInteger("leaves", 1_000);
+    private static final int ITERATIONS = 10_000;
+
+    private final Random random = new Random(0);
+    private final List<TreeItem<String>> items = new ArrayList<>();
+    private TreeView<String> treeView;
+
+    @Override
+    public void start(Stage stage) {
+        CheckBoxTreeItem<String> root = new CheckBoxTreeItem<>("root");
+        root.setExpanded(true);
+        for (int i = 0; i < BRANCHES; i++) {
+            CheckBoxTreeItem<String> branch = new CheckBoxTreeItem<>("branch " + i);
+            branch.setExpanded(true);
+            List<TreeItem<String>> leaves = new ArrayList<>(LEAVES);
+            for (int j = 0; j < LEAVES; j++) {
+                leaves.add(new CheckBoxTreeItem<>("leaf " + i + "." + j));
+            }
+            branch.getChildren().setAll(leaves);
+            root.getChildren().add(branch);
+            items.add(branch);
+            items.addAll(leaves);
+        }
+
+        treeView = new TreeView<>(root);
+        treeView.setCellFactory(CheckBoxTreeCell.forTreeView());
+        stage.setScene(new Scene(treeView, 400, 600));
+        stage.show();
+
+        Platform.runLater(() -> {
+            run();
+            Platform.exit();
+        });
+    }
+
+    private void run() {
+        int rows = treeView.getExpandedItemCount();
+        System.out.printf("%d rows%n", rows);
+
+        // warm up and measure twice, so that the second pass reports steady state
+        for (int pass = 0; pass < 2; pass++) {
+            measure("getTreeItem(random row)", () -> treeView.getTreeItem(random.nextInt(rows)));
+            measure("getRow(random item)", () -> treeView.getRow(randomItem()));
+            measure("toggle branch + count", () -> {
+                TreeItem<String> branch = treeView.getRoot().getChildren().get(random.nextInt(100));
+                branch.setExpanded(!branch.isExpanded());
+                treeView.getExpandedItemCount();
+            });
+            measure("add leaf + getTreeItem", () -> {
+                TreeItem<String> branch = treeView.getRoot().getChildren().get(random.nextInt(BRANCHES));
+                branch.getChildren().add(new CheckBoxTreeItem<>("new leaf"));
+                treeView.getTreeItem(rows - 1);
+            });
+        }
+    }
+
+    private TreeItem<String> randomItem() {
+        return items.get(random.nextInt(items.size()));
+    }
+
+    private static void measure(String name, Runnable task) {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            task.run();
+        }
+        long time = System.nanoTime() - start;
+        System.out.printf("%-28s: %10.3f us/op%n", name, time / 1e3 / ITERATIONS);
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package binding;
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.StringBinding;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.beans.value.ObservableValue;
+
+import com.sun.javafx.property.PropertyReference;
+
+/**
+ * Measures the cost of re-evaluating a select binding of depth four after
+ * its root changes, which forces every step of the chain to be resolved
+ * again. The select binding, which uses cached property accessors, is
+ * compared with resolving the same chain through {@link PropertyReference}
+ * (the way select bindings used to resolve their steps) and with a chain of
+ * fluent bindings that needs no reflection at all.
+ *
+ * Run with the JavaFX base module on the module path, for example:
+ * <pre>
+ * java --module-path build/sdk/lib --add-modules javafx.base \
+ *     --add-exports javafx.base/com.sun.javafx.property=ALL-UNNAMED \
+ *     -cp bin binding.SelectBenchmark
+ * </pre>
+ */
+public class SelectBenchmark {
+
+    private static final String[] STEPS = { "customer", "address", "city", "name" };
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 2_000_000;
+
+    private static int sink;
+
+    public static class Form {
+        private final ObjectProperty<Customer> customer = new SimpleObjectProperty<>(new Customer());
+        public ObjectProperty<Customer> customerProperty() { return customer; }
+    }
+
+    public static class Customer {
+        private final ObjectProperty<Address> address = new SimpleObjectProperty<>(new Address());
+        public ObjectProperty<Address> addressProperty() { return address; }
+    }
+
+    public static class Address {
+        private final ObjectProperty<City> city = new SimpleObjectProperty<>(new City());
+        public ObjectProperty<City> cityProperty() { return city; }
+    }
+
+    public static class City {
+        private final StringProperty name = new SimpleStringProperty("city");
+        public StringProperty nameProperty() { return name; }
+    }
+
+    public static void main(String[] args) {
+        for (int i = 0; i < 3; i++) {
+            run("select binding", SelectBenchmark::selectBinding);
+            run("property references", SelectBenchmark::propertyReferences);
+            run("fluent bindings", SelectBenchmark::fluentBindings);
+        }
+    }
+
+    private interface Scenario {
+        Runnable setUp(ObjectProperty<Form> root, Form[] forms);
+    }
+
+    private static void run(String name, Scenario scenario) {
+        ObjectProperty<Form> root = new SimpleObjectProperty<>();
+        Form[] forms = { new Form(), new Form() };
+        Runnable task = scenario.setUp(root, forms);
+        for (int i = 0; i < WARMUP; i++) {
+            root.set(forms[i & 1]);
+            task.run();
+        }
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            root.set(forms[i & 1]);
+            task.run();
+        }
+        long t1 = System.nanoTime();
+        System.out.printf("%-20s: %6.1f ns/op\n", name, (t1 - t0) / (double) ITERATIONS);
+    }
+
+    private static Runnable selectBinding(ObjectProperty<Form> root, Form[] forms) {
+        StringBinding binding = Bindings.selectString(root, STEPS);
+        return () -> sink += binding.get().length();
+    }
+
+    /*
+     * Resolves the chain the way select bindings did before accessors were
+     * cached: a new PropertyReference per step, invoked reflectively.
+     */
+    private static Runnable propertyReferences(ObjectProperty<Form> root, Form[] forms) {
+        return () -> {
+            Object value = root.get();
+            for (String step : STEPS) {
+                ReadOnlyProperty<?> property = new PropertyReference<>(value.getClass(), step).getProperty(value);
+                value = property.getValue();
+            }
+            sink += ((String) value).length();
+        };
+    }
+
+    private static Runnable fluentBindings(ObjectProperty<Form> root, Form[] forms) {
+        ObservableValue<String> binding = root
+                .flatMap(Form::customerProperty)
+                .flatMap(Customer::addressProperty)
+                .flatMap(Address::cityProperty)
+                .flatMap(City::nameProperty);
+        binding.addListener(obs -> {});
+        return () -> sink += binding.getValue().length();
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Scene;
+import javafx.scene.control.Control;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+
+/**
+ * Scrolls a ListView and a TableView with a million rows of varying height,
+ * by jumping to random rows, by scrolling pixel by pixel and by jumping close
+ * to the end, and reports the time the VirtualFlow spends per frame to scroll
+ * and lay out its cells.
+ */
+public class VariableHeightScrollBenchmark extends Application {
+
+    private static final int ROWS = 1_000_000;
+    private static final int FRAMES = 300;
+
+    private final Random random = new Random(0);
+    private final StackPane root = new StackPane();
+    private final List<Runnable> scenarios = new ArrayList<>();
+
+    @Override
+    public void start(Stage stage) {
+        ObservableList<Integer> items = FXCollections.observableArrayList();
+        for (int i = 0; i < ROWS; i++) {
+            items.add(i);
+        }
+
+        ListView<Integer> listView = new ListView<>(items);
+        listView.setCellFactory(lv -> new ListCell<>() {
+            @Override
+            protected void updateItem(Integer item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : "Row " + item);
+                setPrefHeight(empty ? USE_COMPUTED_SIZE : rowHeight(item));
+            }
+        });
+
+        TableView<Integer> tableView = new TableView<>(items);
+        TableColumn<Integer, Integer> column = new TableColumn<>("Row");
+        column.setPrefWidth(200);
+        column.setCellValueFactory(f -> new ReadOnlyObjectWrapper<>(f.getValue()));
+        column.setCellFactory(c -> new TableCell<>() {
+            @Override
+            protected void updateItem(Integer item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : "Row " + item);
+                setPrefHeight(empty ? USE_COMPUTED_SIZE : rowHeight(item));
+            }
+        });
+        tableView.getColumns().add(column);
+
+        addScenarios("ListView", listView);
+        addScenarios("TableView", tableView);
+        scenarios.add(Platform::exit);
+
+        stage.setScene(new Scene(root, 400, 600));
+        stage.show();
+        next();
+    }
+
+    private static double rowHeight(int index) {
+        return 20 + (index * 7919 % 5) * 8;
+    }
+
+    private void addScenarios(String name, Control control) {
+        scenarios.add(() -> {
+            root.getChildren().setAll(control);
+            run(name + " jump to random row", control, flow -> flow.scrollTo(random.nextInt(ROWS)));
+        });
+        scenarios.add(() -> run(name + " scroll by pixels", control, flow -> flow.scrollPixels(53)));
+        scenarios.add(() -> run(name + " scroll to end", control, flow -> flow.scrollTo(ROWS - 1 - random.nextInt(100))));
+    }
+
+    private interface Step {
+        void run(VirtualFlow<?> flow);
+    }
+
+    private void run(String name, Control control, Step step) {
+        new AnimationTimer() {
+            private int frame = -10; // warm up
+            private long total;
+            private long max;
+
+            @Override
+            public void handle(long now) {
+                VirtualFlow<?> flow = (VirtualFlow<?>) control.lookup(".virtual-flow");
+                if (flow == null) {
+                    return;
+                }
+                long start = System.nanoTime();
+                step.run(flow);
+                flow.layout();
+                long time = System.nanoTime() - start;
+                if (frame >= 0) {
+                    total += time;
+                    max = Math.max(max, time);
+                }
+                if (++frame == FRAMES) {
+                    stop();
+                    System.out.printf("%-36s: %6.3f ms/frame avg, %6.3f ms max%n",
+                            name, total / 1e6 / FRAMES, max / 1e6);
+                    Platform.runLater(VariableHeightScrollBenchmark.this::next);
+                }
+            }
+        }.start();
+    }
+
+    private void next() {
+        scenarios.remove(0).run();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
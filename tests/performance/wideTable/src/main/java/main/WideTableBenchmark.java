@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2023, Oracle and/or its affiliates. All rights reserved.
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS FILE HEADER.
+ *
+ * This code is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License version 2 only, as
+ * published by the Free Software Foundation.  Oracle designates this
+ * particular file as subject to the "Classpath" exception as provided
+ * by Oracle in the LICENSE file that accompanied this code.
+ *
+ * This code is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License
+ * version 2 for more details (a copy is included in the LICENSE file that
+ * accompanied this code).
+ *
+ * You should have received a copy of the GNU General Public License version
+ * 2 along with this work; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin St, Fifth Floor, Boston, MA 02110-1301 USA.
+ *
+ * Please contact Oracle, 500 Oracle Parkway, Redwood Shores, CA 94065 USA
+ * or visit www.oracle.com if you need additional information or have any
+ * questions.
+ */
+package main;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+import javafx.stage.Stage;
+
+/**
+ * Scrolls a fixed cell size TableView with thousands of columns vertically
+ * and horizontally, and reports the time spent per frame to scroll and lay
+ * out the rows. Only the cells of the columns in the viewport should be
+ * created and laid out, so the frame time should not depend on the number
+ * of columns.
+ * <p>
+ * The number of columns can be set with {@code -Dcolumns=n}.
+ */
+public class WideTableBenchmark extends Application {
+
+    private static final int ROWS = 10_000;
+    private static final int COLUMNS = Integer.getInteger("columns", 5_000);
+    private static final int FRAMES = 300;
+
+    private TableView<Integer> tableView;
+    private int scenario;
+
+    @Override
+    public void start(Stage stage) {
+        ObservableList<Integer> items = FXCollections.observableArrayList();
+        for (int i = 0; i < ROWS; i++) {
+            items.add(i);
+        }
+
+        tableView = new TableView<>(items);
+        tableView.setFixedCellSize(24);
+        for (int c = 0; c < COLUMNS; c++) {
+            final int column = c;
+            TableColumn<Integer, String> tc = new TableColumn<>("C" + c);
+            tc.setPrefWidth(80);
+            tc.setCellValueFactory(f -> new ReadOnlyObjectWrapper<>(f.getValue() + ":" + column));
+            tableView.getColumns().add(tc);
+        }
+
+        long start = System.nanoTime();
+        stage.setScene(new Scene(tableView, 1200, 800));
+        stage.show();
+        Platform.runLater(() -> {
+            System.out.printf("%-36s: %8.1f ms%n", "initial show (" + COLUMNS + " columns)",
+                    (System.nanoTime() - start) / 1e6);
+            next();
+        });
+    }
+
+    private void next() {
+        switch (scenario++) {
+            case 0 -> run("scroll vertically", flow -> flow.scrollPixels(48));
+            case 1 -> run("scroll horizontally", flow -> {
+                ScrollBar hbar = horizontalScrollBar(flow);
+                hbar.setValue(hbar.getValue() >= hbar.getMax() ? 0 : hbar.getValue() + 200);
+            });
+            case 2 -> run("scroll diagonally", flow -> {
+                flow.scrollPixels(48);
+                ScrollBar hbar = horizontalScrollBar(flow);
+                hbar.setValue(hbar.getValue() >= hbar.getMax() ? 0 : hbar.getValue() + 200);
+            });
+            default -> Platform.exit();
+        }
+    }
+
+    private static ScrollBar horizontalScrollBar(VirtualFlow<?> flow) {
+        for (Node node : flow.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar sb && sb.getOrientation() == Orientation.HORIZONTAL) {
+                return sb;
+            }
+        }
+        throw new IllegalStateException("no horizontal scroll bar");
+    }
+
+    private interface Step {
+        void run(VirtualFlow<?> flow);
+    }
+
+    private void run(String name, Step step) {
+        new AnimationTimer() {
+            private int frame = -10; // warm up
+            private long total;
+            private long max;
+
+            @Override
+            public void handle(long now) {
+                VirtualFlow<?> flow = (VirtualFlow<?>) tableView.lookup(".virtual-flow");
+                long start = System.nanoTime();
+                step.run(flow);
+                tableView.layout();
+                long time = System.nanoTime() - start;
+                if (frame >= 0) {
+                    total += time;
+                    max = Math.max(max, time);
+                }
+                if (++frame == FRAMES) {
+                    stop();
+                    System.out.printf("%-36s: %8.3f ms/frame avg, %8.3f ms max%n",
+                            name, total / 1e6 / FRAMES, max / 1e6);
+                    Platform.runLater(WideTableBenchmark.this::next);
+                }
+            }
+        }.start();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}